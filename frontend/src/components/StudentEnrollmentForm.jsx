@@ -1,4 +1,5 @@
 import React, { useState, useEffect } from 'react';
+import { fetchAllPages } from '../services/paging';
 
 const StudentEnrollmentForm = () => {
   const [formData, setFormData] = useState({
@@ -32,28 +33,20 @@ const StudentEnrollmentForm = () => {
   const fetchStudents = async () => {
     setStudentsLoading(true);
     try {
-      const response = await fetch('/api/teacher/students', {
-        method: 'GET',
-        headers: {
-          'Authorization': `Bearer ${teacherToken}`,
-          'Content-Type': 'application/json',
-        }
+      const data = await fetchAllPages('/api/teacher/students', {
+        'Authorization': `Bearer ${teacherToken}`,
+        'Content-Type': 'application/json',
+      }, 'students');
+      setStudents(data.students);
+      setTeacherInfo({
+        name: data.teacherName,
+        email: data.teacherEmail,
+        totalStudents: data.students.length
       });
-
-      if (response.ok) {
-        const data = await response.json();
-        setStudents(data.students || []);
-        setTeacherInfo({
-          name: data.teacherName,
-          email: data.teacherEmail,
-          totalStudents: data.totalStudents
-        });
-      } else {
-        const errorData = await response.text();
-        setError(`Failed to load students: ${errorData}`);
-      }
     } catch (err) {
-      setError('Network error. Please check if the backend server is running.');
+      setError(err.status
+        ? `Failed to load students: ${err.message}`
+        : 'Network error. Please check if the backend server is running.');
     } finally {
       setStudentsLoading(false);
     }
@@ -1,4 +1,5 @@
 import React, { useState, useEffect } from 'react';
+import { fetchAllPages } from '../services/paging';
 
 const StudentReport = () => {
   const [students, setStudents] = useState([]);
@@ -34,28 +35,20 @@ const StudentReport = () => {
   const fetchStudents = async () => {
     setStudentsLoading(true);
     try {
-      const response = await fetch('/api/teacher/students', {
-        method: 'GET',
-        headers: {
-          'Authorization': `Bearer ${teacherToken}`,
-          'Content-Type': 'application/json',
-        }
+      const data = await fetchAllPages('/api/teacher/students', {
+        'Authorization': `Bearer ${teacherToken}`,
+        'Content-Type': 'application/json',
+      }, 'students');
+      setStudents(data.students);
+      setTeacherInfo({
+        name: data.teacherName,
+        email: data.teacherEmail,
+        totalStudents: data.students.length
       });
-
-      if (response.ok) {
-        const data = await response.json();
-        setStudents(data.students || []);
-        setTeacherInfo({
-          name: data.teacherName,
-          email: data.teacherEmail,
-          totalStudents: data.totalStudents
-        });
-      } else {
-        const errorData = await response.text();
-        setError(`Failed to load students: ${errorData}`);
-      }
     } catch (err) {
-      setError('Network error. Please check if the backend server is running.');
+      setError(err.status
+        ? `Failed to load students: ${err.message}`
+        : 'Network error. Please check if the backend server is running.');
     } finally {
       setStudentsLoading(false);
     }
@@ -65,40 +58,36 @@ const StudentReport = () => {
     setLoading(true);
     setError('');
     
+    const headers = {
+      'Authorization': `Bearer ${teacherToken}`,
+      'Content-Type': 'application/json',
+    };
+    
     try {
-      // Fetch both marks and report data simultaneously
-      const [marksResponse, reportResponse] = await Promise.all([
-        fetch(`/api/teacher/students/${selectedStudentId}/marks`, {
-          method: 'GET',
-          headers: {
-            'Authorization': `Bearer ${teacherToken}`,
-            'Content-Type': 'application/json',
-          }
-        }),
+      // Fetch all pages of marks and the report simultaneously
+      const [marksResult, reportResponse] = await Promise.all([
+        fetchAllPages(`/api/teacher/students/${selectedStudentId}/marks`, headers, 'marks')
+          .catch((err) => err),
         fetch(`/api/teacher/students/${selectedStudentId}/report`, {
           method: 'GET',
-          headers: {
-            'Authorization': `Bearer ${teacherToken}`,
-            'Content-Type': 'application/json',
-          }
+          headers
         })
       ]);
 
-      if (marksResponse.ok && reportResponse.ok) {
-        const marksData = await marksResponse.json();
+      if (marksResult instanceof Error) {
+        if (!marksResult.status) {
+          throw marksResult;
+        }
+        setError(`Failed to load student marks: ${marksResult.message}`);
+      } else if (reportResponse.ok) {
         const reportData = await reportResponse.json();
         
-        setStudentMarks(marksData.marks || []);
+        setStudentMarks(marksResult.marks);
         setStudentReport(reportData);
-      } else {
-        if (!marksResponse.ok) {
-          const errorData = await marksResponse.text();
-          setError(`Failed to load student marks: ${errorData}`);
-        }
-        if (!reportResponse.ok) {
-          const errorData = await reportResponse.text();
-          setError(`Failed to load student report: ${errorData}`);
-        }
+      }
+      if (!reportResponse.ok) {
+        const errorData = await reportResponse.text();
+        setError(`Failed to load student report: ${errorData}`);
       }
     } catch (err) {
       setError('Network error. Please check if the backend server is running.');
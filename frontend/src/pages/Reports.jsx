@@ -173,9 +173,9 @@ const Reports = () => {
               <Download className="h-4 w-4 mr-2" />
               PDF
             </Button>
-            <Button variant="outline" onClick={() => handleExport('excel')}>
+            <Button variant="outline" onClick={() => handleExport('csv')}>
               <Download className="h-4 w-4 mr-2" />
-              Excel
+              CSV
             </Button>
           </div>
         </div>
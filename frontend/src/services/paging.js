@@ -0,0 +1,44 @@
+/**
+ * Cursor Paging Helpers
+ * 
+ * Listing endpoints return one page at a time with a nextCursor; these helpers
+ * follow the cursors so screens that need a complete list (dropdowns, reports)
+ * get every item.
+ * 
+ * @author EduGrowHub Development Team
+ * @version 1.0.0
+ */
+
+// Largest page the backend accepts (CursorPage.MAX_LIMIT)
+export const PAGE_LIMIT = 200;
+
+/**
+ * Fetch every page of a listing with fetch()
+ * @param {string} url - Listing URL without limit or cursor
+ * @param {Object} headers - Request headers
+ * @param {string} itemsKey - Response field holding the items
+ * @returns {Promise<Object>} First page's response with all items under itemsKey
+ * @throws {Error} With the response text and status if a page fails
+ */
+export async function fetchAllPages(url, headers, itemsKey) {
+  const items = [];
+  let first = null;
+  let cursor = null;
+  do {
+    const params = new URLSearchParams({ limit: PAGE_LIMIT });
+    if (cursor) {
+      params.set('cursor', cursor);
+    }
+    const response = await fetch(`${url}?${params}`, { method: 'GET', headers });
+    if (!response.ok) {
+      const error = new Error(await response.text());
+      error.status = response.status;
+      throw error;
+    }
+    const data = await response.json();
+    first = first || data;
+    items.push(...(data[itemsKey] || []));
+    cursor = data.nextCursor;
+  } while (cursor);
+  return { ...first, [itemsKey]: items, count: items.length, nextCursor: null };
+}
@@ -9,6 +9,7 @@
  */
 
 import { api } from './api';
+import { PAGE_LIMIT } from './paging';
 
 /**
  * Teacher service class
@@ -42,13 +43,23 @@ export class TeacherService {
   }
 
   /**
-   * Get list of enrolled students
-   * @returns {Promise<Array>} List of students
+   * Get list of enrolled students, following every page of the listing
+   * @returns {Promise<Object>} Teacher details and all students
    */
   static async getStudents() {
     try {
-      const response = await api.get('/teacher/students');
-      return response.data;
+      const students = [];
+      let first = null;
+      let cursor = null;
+      do {
+        const response = await api.get('/teacher/students', {
+          params: { limit: PAGE_LIMIT, ...(cursor ? { cursor } : {}) }
+        });
+        first = first || response.data;
+        students.push(...(response.data.students || []));
+        cursor = response.data.nextCursor;
+      } while (cursor);
+      return { ...first, students, count: students.length, nextCursor: null };
     } catch (error) {
       throw new Error(error.message || 'Failed to fetch students');
     }
@@ -132,7 +143,7 @@ export class TeacherService {
   /**
    * Export reports in specified format
    * @param {Object} filters - Report filters
-   * @param {string} format - Export format (pdf, excel)
+   * @param {string} format - Export format (csv, ndjson)
    * @returns {Promise<Blob>} Report file
    */
   static async exportReports(filters, format) {
@@ -1,23 +1,68 @@
 package com.edugrowhub.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Application Configuration
  * 
- * Provides beans for common dependencies like RestTemplate
+ * Provides beans for common dependencies like executors.
+ * Scheduling is enabled here for background jobs such as the notification outbox dispatcher.
+ * The scheduler pool is sized by spring.task.scheduling.pool.size, one thread per job.
  */
 @Configuration
+@EnableScheduling
 public class AppConfig {
 
     /**
-     * RestTemplate bean for making HTTP requests
-     * Used by services like WhatsAppNotificationService
+     * Bounded executor for BCrypt password verification
+     * Used by LoginService; a full queue rejects new logins instead of queueing forever.
+     * Queue depth and active threads are published as executor metrics named "login".
+     */
+    @Bean(name = "loginExecutor", destroyMethod = "shutdown")
+    public ExecutorService loginExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${auth.login.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int threads,
+            @Value("${auth.login.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("login-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "login");
+    }
+
+    /**
+     * Bounded executor for performance-report chunks
+     * Used by PerformanceReportJob; when the queue is full the submitting thread runs the
+     * chunk itself, which keeps it from queueing every chunk of a large run at once.
+     * Published as executor metrics named "performance-report".
      */
-    @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    @Bean(name = "performanceReportExecutor", destroyMethod = "shutdown")
+    public ExecutorService performanceReportExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${reports.performance.threads:4}") int threads) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads),
+                new CustomizableThreadFactory("performance-report-"),
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "performance-report");
     }
 }
@@ -1,7 +1,5 @@
 package com.edugrowhub.config;
 
-import com.edugrowhub.entity.User;
-import com.edugrowhub.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,12 +15,11 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
-import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {    private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, 
@@ -31,39 +28,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {    private f
         
         final String authorizationHeader = request.getHeader("Authorization");
         
-        String username = null;
-        String jwt = null;
+        VerifiedToken token = null;
         
         // Check for Bearer token
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            try {
-                username = jwtUtil.extractUsername(jwt);
-            } catch (Exception e) {
-                logger.error("Cannot extract username from JWT token: " + e.getMessage());
+            String jwt = authorizationHeader.substring(7);
+            // Single parse: verifies signature and expiry
+            token = jwtUtil.verify(jwt).orElse(null);
+            if (token == null) {
+                logger.error("Cannot verify JWT token: invalid or expired");
             }
         }
         
-        // Validate token and authenticate user
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        // Authenticate user from the cached principal (no DB work on a cache hit)
+        if (token != null && token.subject() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
             
-            // Find user in database
-            Optional<User> userOptional = userRepository.findByEmail(username);
-            
-            if (userOptional.isPresent() && jwtUtil.validateToken(jwt, username)) {
-                User user = userOptional.get();
-                
-                // Create authentication token with user role
-                UsernamePasswordAuthenticationToken authToken = 
-                    new UsernamePasswordAuthenticationToken(
-                        user.getEmail(), 
-                        null, 
-                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
-                    );
-                
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+            principalCache.resolve(token.subject(), token.role(), token.userId(), token.issuedAt())
+                .ifPresent(principal -> {
+                    // Create authentication token with user role
+                    UsernamePasswordAuthenticationToken authToken = 
+                        new UsernamePasswordAuthenticationToken(
+                            principal.email(), 
+                            null, 
+                            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + principal.role().name()))
+                        );
+                    
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                });
         }        
         filterChain.doFilter(request, response);
     }
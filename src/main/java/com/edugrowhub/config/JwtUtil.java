@@ -1,42 +1,144 @@
 package com.edugrowhub.config;
 
+import com.edugrowhub.entity.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
+    // Claim names carrying the principal so the filter does not need a DB lookup
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_USER_ID = "uid";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    // Maximum number of verified tokens kept in memory (0 disables the cache)
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
+    // Built once at startup; both are immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    // Verified tokens keyed by SHA-256 digest, each expiring with its token
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        if (verifiedCacheMaxSize > 0) {
+            verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(verifiedCacheMaxSize)
+                    .expireAfter(new Expiry<String, VerifiedToken>() {
+                        @Override
+                        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                            long remainingMillis = token.expiresAt().toEpochMilli() - System.currentTimeMillis();
+                            return Math.max(0, remainingMillis) * 1_000_000L;
+                        }
+
+                        @Override
+                        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime,
+                                                      long currentDuration) {
+                            return currentDuration;
+                        }
+
+                        @Override
+                        public long expireAfterRead(String key, VerifiedToken token, long currentTime,
+                                                    long currentDuration) {
+                            return currentDuration;
+                        }
+                    })
+                    .build();
+        }
     }
 
     // Generate token from user email
     public String generateToken(String email) {
-        return createToken(email);
+        return createToken(email, null, null);
+    }
+
+    // Generate token with role and id embedded as claims
+    public String generateToken(String email, Role role, Long userId) {
+        return createToken(email, role, userId);
     }
 
     // Create token with claims
-    private String createToken(String subject) {
-        return Jwts.builder()
+    private String createToken(String subject, Role role, Long userId) {
+        JwtBuilder builder = Jwts.builder();
+        if (role != null) {
+            builder.claim(CLAIM_ROLE, role.name());
+        }
+        if (userId != null) {
+            builder.claim(CLAIM_USER_ID, userId);
+        }
+        return builder
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Verify a token with a single parse
+     *
+     * Checks the signature and expiry once and returns an immutable view of the
+     * claims. Tokens that were already verified are served from a bounded cache
+     * keyed by the token digest until they expire.
+     *
+     * @param token Compact JWT string
+     * @return Verified token, or empty if the token is invalid or expired
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+
+        String digest = verifiedTokens != null ? digest(token) : null;
+        if (digest != null) {
+            VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+            if (cached != null) {
+                return cached.isExpiredAt(Instant.now()) ? Optional.empty() : Optional.of(cached);
+            }
+        }
+
+        VerifiedToken verified;
+        try {
+            verified = toVerifiedToken(parser.parseClaimsJws(token).getBody());
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        if (digest != null) {
+            verifiedTokens.put(digest, verified);
+        }
+        return Optional.of(verified);
+    }
+
     // Extract username/email from token
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -53,46 +155,63 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
-    // Extract all claims from token
-    private Claims extractAllClaims(String token) {
+    // Extract all claims from token (verifies signature and expiry)
+    public Claims extractAllClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return parser.parseClaimsJws(token).getBody();
         } catch (JwtException e) {
             throw new RuntimeException("Invalid JWT token", e);
         }
     }
 
-    // Check if token is expired
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    // Extract role claim, or null for tokens issued without one
+    public Role extractRole(Claims claims) {
+        String role = claims.get(CLAIM_ROLE, String.class);
+        return role != null ? Role.valueOf(role) : null;
+    }
+
+    // Extract user id claim, or null for tokens issued without one
+    public Long extractUserId(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        return userId != null ? userId.longValue() : null;
     }
 
     // Validate token
     public Boolean validateToken(String token, String username) {
-        try {
-            final String extractedUsername = extractUsername(token);
-            return (extractedUsername.equals(username) && !isTokenExpired(token));
-        } catch (Exception e) {
-            return false;
-        }
+        return verify(token)
+                .map(verified -> verified.subject().equals(username))
+                .orElse(false);
     }
 
     // Validate token without username check
     public Boolean validateToken(String token) {
-        try {
-            extractAllClaims(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
-        }
+        return verify(token).isPresent();
     }
 
     // Get expiration time in milliseconds
     public Long getExpirationTime() {
         return expiration;
     }
+
+    // Build the immutable view from parsed claims
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        return new VerifiedToken(
+                claims.getSubject(),
+                extractRole(claims),
+                extractUserId(claims),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+        );
+    }
+
+    // SHA-256 digest of the token, used as the cache key instead of the raw token
+    private static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = messageDigest.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
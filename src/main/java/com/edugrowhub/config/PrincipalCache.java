@@ -0,0 +1,158 @@
+package com.edugrowhub.config;
+
+import com.edugrowhub.entity.Role;
+import com.edugrowhub.entity.Student;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.repository.StudentRepository;
+import com.edugrowhub.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+/**
+ * Authenticated Principal Cache
+ *
+ * Bounded, expiry-aware cache of authenticated principals keyed by role and id.
+ * Students and users live in separate tables, each with its own unique emails,
+ * so the same email can belong to a student and to a teacher; the email alone
+ * never identifies an account. Tokens carry the role and id as signed claims;
+ * on a cache miss the account is loaded by primary key from the table of its
+ * role, and the token is only accepted if the account still has that email and
+ * role. Legacy tokens without those claims are looked up by email.
+ *
+ * A cached principal carries its account's credentials_changed_at, which is
+ * set in the same transaction as a password change. Tokens issued before it
+ * are rejected for the rest of their lifetime, on every instance and across
+ * restarts. {@link #invalidate(Role, Long)} drops the cached principal so this
+ * instance reloads it at once; other instances pick up the change when their
+ * entry expires (auth.principal-cache.ttl).
+ *
+ * Hit/miss/eviction metrics are published under the cache name "auth.principals".
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class PrincipalCache {
+
+    /**
+     * Principal resolved for an authenticated request
+     */
+    public record AuthenticatedPrincipal(Long id, String email, Role role, Instant credentialsChangedAt) {
+    }
+
+    private static final String LEGACY_KEY_PREFIX = "legacy:";
+
+    private final UserRepository userRepository;
+    private final StudentRepository studentRepository;
+    private final Cache<String, AuthenticatedPrincipal> principals;
+    private final Counter databaseLookups;
+
+    public PrincipalCache(UserRepository userRepository,
+                          StudentRepository studentRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${auth.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${auth.principal-cache.ttl:PT10M}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.studentRepository = studentRepository;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.databaseLookups = Counter.builder("auth.principals.db.lookups")
+                .description("Principals loaded from the database on a cache miss")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "auth.principals");
+    }
+
+    /**
+     * Resolve the principal for a verified token
+     *
+     * @param subject Token subject (email)
+     * @param role Role claim, or null for legacy tokens
+     * @param userId User id claim, or null for legacy tokens
+     * @param issuedAt Token issue time
+     * @return The principal, or empty if the token predates a credential change
+     *         or no longer matches its account
+     */
+    public Optional<AuthenticatedPrincipal> resolve(String subject, Role role, Long userId, Instant issuedAt) {
+        boolean claims = role != null && userId != null;
+        // Legacy tokens predate student logins and name a staff user
+        String key = claims ? key(role, userId) : LEGACY_KEY_PREFIX + subject;
+        AuthenticatedPrincipal principal = principals.getIfPresent(key);
+        if (principal == null) {
+            databaseLookups.increment();
+            principal = (claims ? load(role, userId) : userRepository.findByEmail(subject).map(PrincipalCache::principal))
+                    .orElse(null);
+            if (principal == null) {
+                return Optional.empty();
+            }
+            principals.put(key, principal);
+        }
+
+        if (!principal.email().equals(subject) || (claims && principal.role() != role)) {
+            log.debug("Rejecting token that no longer matches its account");
+            return Optional.empty();
+        }
+
+        Instant changedAt = principal.credentialsChangedAt();
+        if (changedAt != null && (issuedAt == null || issuedAt.isBefore(changedAt))) {
+            log.debug("Rejecting token issued before credential change");
+            return Optional.empty();
+        }
+        return Optional.of(principal);
+    }
+
+    /**
+     * Drop an account's cached principal after a password or role change
+     *
+     * Call once the change, including credentials_changed_at, is saved.
+     *
+     * @param role Role of the account (STUDENT for students, otherwise the user's role)
+     * @param id Student or user id
+     */
+    public void invalidate(Role role, Long id) {
+        principals.invalidate(key(role, id));
+        principals.asMap().values().removeIf(principal -> principal.role() == role && principal.id().equals(id));
+    }
+
+    private Optional<AuthenticatedPrincipal> load(Role role, Long id) {
+        return role == Role.STUDENT
+                ? studentRepository.findById(id).map(PrincipalCache::principal)
+                : userRepository.findById(id).map(PrincipalCache::principal);
+    }
+
+    private static AuthenticatedPrincipal principal(Student student) {
+        return new AuthenticatedPrincipal(student.getId(), student.getEmail(), Role.STUDENT,
+                changeInstant(student.getCredentialsChangedAt()));
+    }
+
+    private static AuthenticatedPrincipal principal(User user) {
+        return new AuthenticatedPrincipal(user.getId(), user.getEmail(), user.getRole(),
+                changeInstant(user.getCredentialsChangedAt()));
+    }
+
+    // JWT issue times have second precision
+    private static Instant changeInstant(LocalDateTime changedAt) {
+        return changedAt == null ? null
+                : changedAt.atZone(ZoneId.systemDefault()).toInstant().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private static String key(Role role, Long id) {
+        return role.name() + ":" + id;
+    }
+}
@@ -100,6 +100,16 @@ public class TwilioConfig {
         return accountSid;
     }
 
+    /**
+     * Getter for Twilio Auth Token
+     * Used to verify the signature of Twilio webhook requests
+     * 
+     * @return The configured Twilio Auth Token
+     */
+    public String getAuthToken() {
+        return authToken;
+    }
+
     /**
      * Mask phone number for logging purposes
      * Shows only the first 3 and last 2 characters of the phone number
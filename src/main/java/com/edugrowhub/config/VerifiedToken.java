@@ -0,0 +1,30 @@
+package com.edugrowhub.config;
+
+import com.edugrowhub.entity.Role;
+
+import java.time.Instant;
+
+/**
+ * Verified JWT Token
+ *
+ * Immutable view of a token whose signature has been verified. Produced once by
+ * {@link JwtUtil#verify(String)} so callers never need to re-parse the token.
+ *
+ * @param subject Token subject (email)
+ * @param role Role claim, or null for tokens issued without one
+ * @param userId User id claim, or null for tokens issued without one
+ * @param issuedAt Issue time
+ * @param expiresAt Expiry time
+ */
+public record VerifiedToken(String subject, Role role, Long userId, Instant issuedAt, Instant expiresAt) {
+
+    /**
+     * Check whether the token has expired at the given instant
+     *
+     * @param now Current time
+     * @return true if the token is expired
+     */
+    public boolean isExpiredAt(Instant now) {
+        return expiresAt == null || !expiresAt.isAfter(now);
+    }
+}
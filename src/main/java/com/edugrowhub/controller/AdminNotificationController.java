@@ -0,0 +1,191 @@
+package com.edugrowhub.controller;
+
+import com.edugrowhub.entity.Broadcast;
+import com.edugrowhub.entity.Role;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.repository.UserRepository;
+import com.edugrowhub.service.BroadcastService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/admin/notifications")
+@RequiredArgsConstructor
+public class AdminNotificationController {
+
+    private final UserRepository userRepository;
+    private final BroadcastService broadcastService;
+
+    /**
+     * Announce a message to every student in the school
+     *
+     * The broadcast is sent in the background; poll GET /system/{id} for progress.
+     */
+    @PostMapping("/system")
+    public ResponseEntity<?> sendSystemNotification(@RequestBody Map<String, String> notificationRequest) {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Authentication required");
+            }
+
+            Optional<User> adminOptional = userRepository.findByEmail(authentication.getName());
+
+            if (adminOptional.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Superadmin not found");
+            }
+
+            User admin = adminOptional.get();
+
+            if (admin.getRole() != Role.SUPERADMIN) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body("Access denied. Superadmin access required.");
+            }
+
+            String validationError = BroadcastController.validateBroadcastRequest(notificationRequest);
+            if (validationError != null) {
+                return ResponseEntity.badRequest().body(validationError);
+            }
+
+            Broadcast broadcast = broadcastService.createSystemBroadcast(admin,
+                    notificationRequest.get("title").trim(), notificationRequest.get("message").trim());
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(BroadcastController.toResponse(broadcast));
+
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Failed to send system notification: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/system")
+    public ResponseEntity<?> getSystemNotifications() {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Authentication required");
+            }
+
+            Optional<User> adminOptional = userRepository.findByEmail(authentication.getName());
+
+            if (adminOptional.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Superadmin not found");
+            }
+
+            User admin = adminOptional.get();
+
+            if (admin.getRole() != Role.SUPERADMIN) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body("Access denied. Superadmin access required.");
+            }
+
+            List<Map<String, Object>> broadcasts = broadcastService.getBroadcasts(admin.getId(), BroadcastController.LIST_LIMIT)
+                .stream()
+                .map(BroadcastController::toResponse)
+                .toList();
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("broadcasts", broadcasts);
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Failed to retrieve system notifications: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/system/{broadcastId}")
+    public ResponseEntity<?> getSystemNotification(@PathVariable Long broadcastId) {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Authentication required");
+            }
+
+            Optional<User> adminOptional = userRepository.findByEmail(authentication.getName());
+
+            if (adminOptional.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Superadmin not found");
+            }
+
+            User admin = adminOptional.get();
+
+            if (admin.getRole() != Role.SUPERADMIN) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body("Access denied. Superadmin access required.");
+            }
+
+            Optional<Broadcast> broadcast = broadcastService.getBroadcast(broadcastId, admin.getId());
+            if (broadcast.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("System notification not found");
+            }
+
+            return ResponseEntity.ok(BroadcastController.toResponse(broadcast.get()));
+
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Failed to retrieve system notification: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stop a system notification that is still being sent
+     */
+    @PostMapping("/system/{broadcastId}/cancel")
+    public ResponseEntity<?> cancelSystemNotification(@PathVariable Long broadcastId) {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Authentication required");
+            }
+
+            Optional<User> adminOptional = userRepository.findByEmail(authentication.getName());
+
+            if (adminOptional.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Superadmin not found");
+            }
+
+            User admin = adminOptional.get();
+
+            if (admin.getRole() != Role.SUPERADMIN) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body("Access denied. Superadmin access required.");
+            }
+
+            if (!broadcastService.cancel(broadcastId, admin.getId())) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("System notification not found or already finished");
+            }
+
+            return ResponseEntity.ok(BroadcastController.toResponse(
+                    broadcastService.getBroadcast(broadcastId, admin.getId()).orElseThrow()));
+
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Failed to cancel system notification: " + e.getMessage());
+        }
+    }
+}
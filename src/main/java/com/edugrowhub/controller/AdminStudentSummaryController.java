@@ -0,0 +1,93 @@
+package com.edugrowhub.controller;
+
+import com.edugrowhub.entity.Role;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.repository.UserRepository;
+import com.edugrowhub.service.StudentSummaryRebuilder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/admin/student-summaries")
+@RequiredArgsConstructor
+public class AdminStudentSummaryController {
+
+    private final UserRepository userRepository;
+    private final StudentSummaryRebuilder studentSummaryRebuilder;
+
+    /**
+     * Recompute every student summary from the test results
+     *
+     * The rebuild runs in the background; poll GET /rebuild for progress.
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<?> rebuildSummaries() {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Authentication required");
+            }
+
+            Optional<User> adminOptional = userRepository.findByEmail(authentication.getName());
+
+            if (adminOptional.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Superadmin not found");
+            }
+
+            if (adminOptional.get().getRole() != Role.SUPERADMIN) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body("Access denied. Superadmin access required.");
+            }
+
+            if (!studentSummaryRebuilder.start()) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("A student summary rebuild is already running");
+            }
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(studentSummaryRebuilder.getStatus());
+
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Failed to start student summary rebuild: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/rebuild")
+    public ResponseEntity<?> getRebuildStatus() {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Authentication required");
+            }
+
+            Optional<User> adminOptional = userRepository.findByEmail(authentication.getName());
+
+            if (adminOptional.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Superadmin not found");
+            }
+
+            if (adminOptional.get().getRole() != Role.SUPERADMIN) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body("Access denied. Superadmin access required.");
+            }
+
+            return ResponseEntity.ok(studentSummaryRebuilder.getStatus());
+
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Failed to retrieve student summary rebuild status: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.edugrowhub.controller;
+
+import com.edugrowhub.entity.Role;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.repository.UserRepository;
+import com.edugrowhub.service.WhatsAppStatsRebuilder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/admin/whatsapp-stats")
+@RequiredArgsConstructor
+public class AdminWhatsAppStatsController {
+
+    private final UserRepository userRepository;
+    private final WhatsAppStatsRebuilder whatsAppStatsRebuilder;
+
+    /**
+     * Recompute the daily WhatsApp statistics from the logged and archived messages
+     *
+     * The rebuild runs in the background; poll GET /rebuild for progress.
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<?> rebuildStats() {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Authentication required");
+            }
+
+            Optional<User> adminOptional = userRepository.findByEmail(authentication.getName());
+
+            if (adminOptional.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Superadmin not found");
+            }
+
+            if (adminOptional.get().getRole() != Role.SUPERADMIN) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body("Access denied. Superadmin access required.");
+            }
+
+            if (!whatsAppStatsRebuilder.start()) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("A WhatsApp statistics rebuild is already running");
+            }
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(whatsAppStatsRebuilder.getStatus());
+
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Failed to start WhatsApp statistics rebuild: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/rebuild")
+    public ResponseEntity<?> getRebuildStatus() {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Authentication required");
+            }
+
+            Optional<User> adminOptional = userRepository.findByEmail(authentication.getName());
+
+            if (adminOptional.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Superadmin not found");
+            }
+
+            if (adminOptional.get().getRole() != Role.SUPERADMIN) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body("Access denied. Superadmin access required.");
+            }
+
+            return ResponseEntity.ok(whatsAppStatsRebuilder.getStatus());
+
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Failed to retrieve WhatsApp statistics rebuild status: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.edugrowhub.controller;
+
+import com.edugrowhub.entity.Broadcast;
+import com.edugrowhub.entity.Role;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.repository.UserRepository;
+import com.edugrowhub.service.BroadcastService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/teacher/broadcasts")
+@RequiredArgsConstructor
+public class BroadcastController {
+
+    private final UserRepository userRepository;
+    private final BroadcastService broadcastService;
+
+    // Longest title and message a broadcast may have (WhatsApp caps a message at 1600 characters)
+    static final int MAX_TITLE_LENGTH = 100;
+    static final int MAX_MESSAGE_LENGTH = 1000;
+
+    // Broadcasts returned by the list endpoints
+    static final int LIST_LIMIT = 50;
+
+    /**
+     * Announce a message to every student of the teacher
+     *
+     * The broadcast is sent in the background; poll GET /{id} for progress.
+     */
+    @PostMapping
+    public ResponseEntity<?> createBroadcast(@RequestBody Map<String, String> broadcastRequest) {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Authentication required");
+            }
+
+            Optional<User> teacherOptional = userRepository.findByEmail(authentication.getName());
+
+            if (teacherOptional.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Teacher not found");
+            }
+
+            User teacher = teacherOptional.get();
+
+            if (teacher.getRole() != Role.TEACHER) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body("Access denied. Teacher access required.");
+            }
+
+            String validationError = validateBroadcastRequest(broadcastRequest);
+            if (validationError != null) {
+                return ResponseEntity.badRequest().body(validationError);
+            }
+
+            Broadcast broadcast = broadcastService.createTeacherBroadcast(teacher,
+                    broadcastRequest.get("title").trim(), broadcastRequest.get("message").trim());
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(toResponse(broadcast));
+
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Failed to create broadcast: " + e.getMessage());
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getBroadcasts() {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Authentication required");
+            }
+
+            Optional<User> teacherOptional = userRepository.findByEmail(authentication.getName());
+
+            if (teacherOptional.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Teacher not found");
+            }
+
+            User teacher = teacherOptional.get();
+
+            if (teacher.getRole() != Role.TEACHER) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body("Access denied. Teacher access required.");
+            }
+
+            List<Map<String, Object>> broadcasts = broadcastService.getBroadcasts(teacher.getId(), LIST_LIMIT)
+                .stream()
+                .map(BroadcastController::toResponse)
+                .toList();
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("teacherName", teacher.getName());
+            response.put("broadcasts", broadcasts);
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Failed to retrieve broadcasts: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{broadcastId}")
+    public ResponseEntity<?> getBroadcast(@PathVariable Long broadcastId) {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Authentication required");
+            }
+
+            Optional<User> teacherOptional = userRepository.findByEmail(authentication.getName());
+
+            if (teacherOptional.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Teacher not found");
+            }
+
+            User teacher = teacherOptional.get();
+
+            if (teacher.getRole() != Role.TEACHER) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body("Access denied. Teacher access required.");
+            }
+
+            Optional<Broadcast> broadcast = broadcastService.getBroadcast(broadcastId, teacher.getId());
+            if (broadcast.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Broadcast not found");
+            }
+
+            return ResponseEntity.ok(toResponse(broadcast.get()));
+
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Failed to retrieve broadcast: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stop a broadcast that is still being sent
+     */
+    @PostMapping("/{broadcastId}/cancel")
+    public ResponseEntity<?> cancelBroadcast(@PathVariable Long broadcastId) {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Authentication required");
+            }
+
+            Optional<User> teacherOptional = userRepository.findByEmail(authentication.getName());
+
+            if (teacherOptional.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Teacher not found");
+            }
+
+            User teacher = teacherOptional.get();
+
+            if (teacher.getRole() != Role.TEACHER) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body("Access denied. Teacher access required.");
+            }
+
+            if (!broadcastService.cancel(broadcastId, teacher.getId())) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Broadcast not found or already finished");
+            }
+
+            return ResponseEntity.ok(toResponse(broadcastService.getBroadcast(broadcastId, teacher.getId()).orElseThrow()));
+
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Failed to cancel broadcast: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Check the title and message of a broadcast request
+     *
+     * @return Error message, or null if the request is valid
+     */
+    static String validateBroadcastRequest(Map<String, String> broadcastRequest) {
+        String title = broadcastRequest.get("title");
+        String message = broadcastRequest.get("message");
+        if (title == null || title.trim().isEmpty()) {
+            return "Title is required";
+        }
+        if (message == null || message.trim().isEmpty()) {
+            return "Message is required";
+        }
+        if (title.trim().length() > MAX_TITLE_LENGTH) {
+            return "Title must be at most " + MAX_TITLE_LENGTH + " characters";
+        }
+        if (message.trim().length() > MAX_MESSAGE_LENGTH) {
+            return "Message must be at most " + MAX_MESSAGE_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    /**
+     * Broadcast and its progress as returned by the API
+     */
+    static Map<String, Object> toResponse(Broadcast broadcast) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", broadcast.getId());
+        response.put("scope", broadcast.getScope());
+        response.put("title", broadcast.getTitle());
+        response.put("message", broadcast.getMessage());
+        response.put("status", broadcast.getStatus());
+        response.put("totalRecipients", broadcast.getTotalRecipients());
+        response.put("processedCount", broadcast.getProcessedCount());
+        response.put("sentCount", broadcast.getSentCount());
+        response.put("failedCount", broadcast.getFailedCount());
+        response.put("suppressedCount", broadcast.getSuppressedCount());
+        response.put("skippedCount", broadcast.getSkippedCount());
+        response.put("createdAt", broadcast.getCreatedAt());
+        response.put("startedAt", broadcast.getStartedAt());
+        response.put("completedAt", broadcast.getCompletedAt());
+        return response;
+    }
+}
@@ -0,0 +1,127 @@
+package com.edugrowhub.controller;
+
+import com.edugrowhub.entity.Role;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.repository.UserRepository;
+import com.edugrowhub.service.GradebookExportService;
+import com.edugrowhub.service.GradebookWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+@RestController
+@RequestMapping("/api/teacher/reports")
+@RequiredArgsConstructor
+public class GradebookExportController {
+
+    private static final String EXPORT_SLOT = GradebookExportController.class.getName() + ".EXPORT_SLOT";
+
+    private final UserRepository userRepository;
+    private final GradebookExportService gradebookExportService;
+
+    /**
+     * Download all of the teacher's test results
+     *
+     * The file is streamed while it is read from the database, so the response
+     * has no Content-Length and a failure part-way through ends it early.
+     *
+     * @param format csv or ndjson
+     * @param gzip Whether to gzip the file
+     */
+    @GetMapping("/export/{format}")
+    public ResponseEntity<StreamingResponseBody> exportGradebook(
+            @PathVariable String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletRequest request) {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return message(HttpStatus.UNAUTHORIZED, "Authentication required");
+            }
+
+            Optional<User> teacherOptional = userRepository.findByEmail(authentication.getName());
+
+            if (teacherOptional.isEmpty()) {
+                return message(HttpStatus.NOT_FOUND, "Teacher not found");
+            }
+
+            User teacher = teacherOptional.get();
+
+            if (teacher.getRole() != Role.TEACHER) {
+                return message(HttpStatus.FORBIDDEN, "Access denied. Teacher access required.");
+            }
+
+            GradebookWriter.Format exportFormat;
+            try {
+                exportFormat = GradebookWriter.Format.of(format);
+            } catch (IllegalArgumentException e) {
+                return message(HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+
+            Optional<GradebookExportService.ExportSlot> slotOptional = gradebookExportService.tryAcquire();
+            if (slotOptional.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body(text("Too many exports in progress. Please try again shortly."));
+            }
+
+            GradebookExportService.ExportSlot slot = slotOptional.get();
+            try {
+                // The body may never run (e.g. the request times out or fails first); the slot is freed
+                // when the async request completes in any way, or by the export, whichever comes first
+                WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(EXPORT_SLOT,
+                    new CallableProcessingInterceptor() {
+                        @Override
+                        public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                            slot.release();
+                        }
+                    });
+
+                Long teacherId = teacher.getId();
+                StreamingResponseBody body = out -> gradebookExportService.export(teacherId, exportFormat, gzip, slot, out);
+                String filename = "gradebook_" + LocalDate.now() + "." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+
+                return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                    .body(body);
+            } catch (RuntimeException e) {
+                slot.release();
+                throw e;
+            }
+
+        } catch (Exception e) {
+            return message(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to export gradebook: " + e.getMessage());
+        }
+    }
+
+    // Handlers returning StreamingResponseBody cannot answer with a plain String body
+    private static ResponseEntity<StreamingResponseBody> message(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+            .contentType(MediaType.TEXT_PLAIN)
+            .body(text(message));
+    }
+
+    private static StreamingResponseBody text(String message) {
+        return out -> out.write(message.getBytes(StandardCharsets.UTF_8));
+    }
+}
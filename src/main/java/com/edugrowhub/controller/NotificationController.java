@@ -0,0 +1,291 @@
+package com.edugrowhub.controller;
+
+import com.edugrowhub.dto.ArchivedWhatsAppLog;
+import com.edugrowhub.dto.CursorPage;
+import com.edugrowhub.dto.PageCursor;
+import com.edugrowhub.entity.NotificationOutbox;
+import com.edugrowhub.entity.Role;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.repository.UserRepository;
+import com.edugrowhub.repository.WhatsAppStatsDailyRepository;
+import com.edugrowhub.entity.WhatsAppLog;
+import com.edugrowhub.service.NotificationOutboxService;
+import com.edugrowhub.service.WhatsAppLogArchiveService;
+import com.edugrowhub.service.WhatsAppService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/teacher/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private final UserRepository userRepository;
+    private final NotificationOutboxService notificationOutboxService;
+    private final WhatsAppService whatsAppService;
+    private final WhatsAppLogArchiveService whatsAppLogArchiveService;
+    private final WhatsAppStatsDailyRepository whatsAppStatsDailyRepository;
+
+    // Longest date range a history request may cover
+    private static final long MAX_HISTORY_DAYS = 366;
+
+    @GetMapping("/pending")
+    public ResponseEntity<?> getPendingNotifications() {
+        try {
+            // Get authenticated teacher
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Authentication required");
+            }
+
+            String teacherEmail = authentication.getName();
+
+            // Find teacher in database
+            Optional<User> teacherOptional = userRepository.findByEmail(teacherEmail);
+
+            if (teacherOptional.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Teacher not found");
+            }
+
+            User teacher = teacherOptional.get();
+
+            // Verify user is a teacher
+            if (teacher.getRole() != Role.TEACHER) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body("Access denied. Teacher access required.");
+            }
+
+            // Messages queued by this teacher that have not been sent yet
+            List<NotificationOutbox> unsent = notificationOutboxService.getUnsentForTeacher(teacher.getId());
+
+            List<Map<String, Object>> notifications = unsent.stream()
+                .map(entry -> {
+                    Map<String, Object> notification = new HashMap<>();
+                    notification.put("id", entry.getId());
+                    notification.put("messageType", entry.getMessageType());
+                    notification.put("status", entry.getStatus());
+                    notification.put("recipientPhone", entry.getMaskedRecipientPhone());
+                    notification.put("studentId", entry.getStudent() != null ? entry.getStudent().getId() : null);
+                    notification.put("studentName", entry.getStudent() != null ? entry.getStudent().getName() : null);
+                    notification.put("queuedAt", entry.getCreatedAt());
+                    notification.put("claimedAt", entry.getClaimedAt());
+                    return notification;
+                })
+                .toList();
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("teacherName", teacher.getName());
+            response.put("pendingCount", notifications.size());
+            response.put("notifications", notifications);
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Failed to retrieve pending notifications: " + e.getMessage());
+        }
+    }
+
+    /**
+     * WhatsApp messages sent by the teacher between two dates (inclusive)
+     *
+     * Only recent messages are returned unless includeArchive=true, which also
+     * reads archived messages in the range. Most recent first, limit messages
+     * per page; pass nextCursor as cursor to get the next page.
+     */
+    @GetMapping("/history")
+    public ResponseEntity<?> getNotificationHistory(@RequestParam(required = false) LocalDate from,
+                                                    @RequestParam(required = false) LocalDate to,
+                                                    @RequestParam(defaultValue = "false") boolean includeArchive,
+                                                    @RequestParam(required = false) Integer limit,
+                                                    @RequestParam(required = false) String cursor) {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Authentication required");
+            }
+
+            Optional<User> teacherOptional = userRepository.findByEmail(authentication.getName());
+
+            if (teacherOptional.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Teacher not found");
+            }
+
+            User teacher = teacherOptional.get();
+
+            if (teacher.getRole() != Role.TEACHER) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body("Access denied. Teacher access required.");
+            }
+
+            LocalDate endDate = to != null ? to : LocalDate.now();
+            LocalDate startDate = from != null ? from : endDate.minusDays(30);
+            if (startDate.isAfter(endDate) || ChronoUnit.DAYS.between(startDate, endDate) > MAX_HISTORY_DAYS) {
+                return ResponseEntity.badRequest()
+                    .body("from must not be after to, and the range may cover at most " + MAX_HISTORY_DAYS + " days");
+            }
+            LocalDateTime start = startDate.atStartOfDay();
+            LocalDateTime end = endDate.plusDays(1).atStartOfDay().minusNanos(1);
+
+            int pageLimit;
+            PageCursor after;
+            CursorPage<WhatsAppLog> logs;
+            try {
+                pageLimit = CursorPage.limit(limit);
+                after = cursor != null ? PageCursor.decode(cursor) : null;
+                logs = whatsAppService.getTeacherMessageLogs(teacher.getId(), start, end, after, pageLimit);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+
+            List<Map<String, Object>> messages = new ArrayList<>();
+            for (WhatsAppLog logEntry : logs.items()) {
+                Map<String, Object> message = new HashMap<>();
+                message.put("id", logEntry.getId());
+                message.put("messageType", logEntry.getMessageType());
+                message.put("status", logEntry.getMessageStatus());
+                message.put("recipientPhone", logEntry.getMaskedRecipientPhone());
+                message.put("studentId", logEntry.getStudent() != null ? logEntry.getStudent().getId() : null);
+                message.put("content", logEntry.getRenderedContent());
+                message.put("sentAt", logEntry.getSentAt());
+                message.put("archived", false);
+                messages.add(message);
+            }
+
+            String nextCursor = logs.nextCursor();
+            if (includeArchive) {
+                // The page is the newest messages of both pages combined
+                for (ArchivedWhatsAppLog archived : whatsAppLogArchiveService.findArchivedPage(start, end, teacher.getId(),
+                        after, pageLimit + 1)) {
+                    Map<String, Object> message = new HashMap<>();
+                    message.put("id", archived.id());
+                    message.put("messageType", archived.messageType());
+                    message.put("status", archived.messageStatus());
+                    message.put("recipientPhone", archived.maskedRecipientPhone());
+                    message.put("studentId", archived.studentId());
+                    message.put("content", archived.renderedContent());
+                    message.put("sentAt", archived.sentAt());
+                    message.put("archived", true);
+                    messages.add(message);
+                }
+                messages.sort(Comparator.comparing((Map<String, Object> message) -> (LocalDateTime) message.get("sentAt"))
+                    .thenComparing(message -> (Long) message.get("id"))
+                    .reversed());
+                boolean more = nextCursor != null || messages.size() > pageLimit;
+                if (messages.size() > pageLimit) {
+                    messages = messages.subList(0, pageLimit);
+                }
+                Map<String, Object> last = messages.isEmpty() ? null : messages.get(messages.size() - 1);
+                nextCursor = more ? PageCursor.of(last.get("sentAt"), (Long) last.get("id")).encode() : null;
+            }
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("teacherName", teacher.getName());
+            response.put("from", startDate);
+            response.put("to", endDate);
+            response.put("includeArchive", includeArchive);
+            response.put("count", messages.size());
+            response.put("messages", messages);
+            response.put("nextCursor", nextCursor);
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Failed to retrieve notification history: " + e.getMessage());
+        }
+    }
+
+    /**
+     * WhatsApp message counts for the teacher between two dates (inclusive)
+     *
+     * Read from the daily rollup, including archived messages; counts can lag
+     * the latest sends by about a second.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<?> getNotificationStats(@RequestParam(required = false) LocalDate from,
+                                                  @RequestParam(required = false) LocalDate to) {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Authentication required");
+            }
+
+            Optional<User> teacherOptional = userRepository.findByEmail(authentication.getName());
+
+            if (teacherOptional.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Teacher not found");
+            }
+
+            User teacher = teacherOptional.get();
+
+            if (teacher.getRole() != Role.TEACHER) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body("Access denied. Teacher access required.");
+            }
+
+            LocalDate endDate = to != null ? to : LocalDate.now();
+            LocalDate startDate = from != null ? from : endDate.minusDays(30);
+            if (startDate.isAfter(endDate)) {
+                return ResponseEntity.badRequest().body("from must not be after to");
+            }
+
+            Map<String, Long> byStatus = new HashMap<>();
+            long total = 0;
+            for (Object[] row : whatsAppStatsDailyRepository.getMessageStatisticsByTeacher(teacher.getId(), startDate, endDate)) {
+                long count = ((Number) row[1]).longValue();
+                byStatus.put((String) row[0], count);
+                total += count;
+            }
+
+            Map<String, Long> byType = new HashMap<>();
+            for (Object[] row : whatsAppStatsDailyRepository.getMessageTypeStatisticsByTeacher(teacher.getId(), startDate, endDate)) {
+                byType.put((String) row[0], ((Number) row[1]).longValue());
+            }
+
+            Map<LocalDate, Long> daily = new LinkedHashMap<>();
+            for (Object[] row : whatsAppStatsDailyRepository.getDailyMessageCountsByTeacher(teacher.getId(), startDate, endDate)) {
+                daily.put((LocalDate) row[0], ((Number) row[1]).longValue());
+            }
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("teacherName", teacher.getName());
+            response.put("from", startDate);
+            response.put("to", endDate);
+            response.put("totalMessages", total);
+            response.put("byStatus", byStatus);
+            response.put("byType", byType);
+            response.put("daily", daily);
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Failed to retrieve notification statistics: " + e.getMessage());
+        }
+    }
+}
@@ -1,16 +1,27 @@
 package com.edugrowhub.controller;
 
 import com.edugrowhub.config.JwtUtil;
+import com.edugrowhub.config.PrincipalCache;
+import com.edugrowhub.dto.LoginResult;
+import com.edugrowhub.dto.MarkView;
+import com.edugrowhub.dto.StudentListItem;
+import com.edugrowhub.dto.StudentProfile;
+import com.edugrowhub.dto.StudentTestResults;
+import com.edugrowhub.entity.Role;
 import com.edugrowhub.entity.Student;
 import com.edugrowhub.repository.StudentRepository;
+import com.edugrowhub.repository.TestResultRepository;
+import com.edugrowhub.service.LoginService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -43,8 +54,11 @@ import java.util.Optional;
 public class StudentAuthController {
 
     private final StudentRepository studentRepository;
+    private final TestResultRepository testResultRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final PrincipalCache principalCache;
+    private final LoginService loginService;
 
     /**
      * Student Login Endpoint
@@ -83,49 +97,43 @@ public class StudentAuthController {
 
             log.info("Student login attempt for email: {}", maskEmail(email));
 
-            // Find student by email
-            Optional<Student> studentOptional = studentRepository.findByEmail(email);
-
-            if (studentOptional.isEmpty()) {
-                log.warn("Student login failed: Student not found for email: {}", maskEmail(email));
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(createErrorResponse("Invalid email or password"));
-            }
-
-            Student student = studentOptional.get();
-
-            // Check if student has a password set
-            if (student.getPassword() == null || student.getPassword().trim().isEmpty()) {
-                log.warn("Student login failed: No password set for student ID: {}", student.getId());
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(createErrorResponse("Account not activated. Please contact your teacher."));
+            // Single lookup and single BCrypt verification
+            LoginResult result = loginService.login(Role.STUDENT, email, password);
+
+            switch (result.status()) {
+                case SUCCESS:
+                    break;
+                case NOT_ACTIVATED:
+                    log.warn("Student login failed: No password set for email: {}", maskEmail(email));
+                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(createErrorResponse("Account not activated. Please contact your teacher."));
+                case BUSY:
+                    log.warn("Student login rejected: login queue is full");
+                    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .body(createErrorResponse("Login service is busy. Please try again shortly."));
+                default:
+                    log.warn("Student login failed: Invalid credentials for email: {}", maskEmail(email));
+                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(createErrorResponse("Invalid email or password"));
             }
 
-            // Verify password
-            if (!passwordEncoder.matches(password, student.getPassword())) {
-                log.warn("Student login failed: Invalid password for email: {}", maskEmail(email));
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(createErrorResponse("Invalid email or password"));
-            }            // Generate JWT token
-            String token = jwtUtil.generateToken(student.getEmail());
-
             log.info("Student login successful for email: {}, ID: {}", 
-                    maskEmail(email), student.getId());
+                    maskEmail(email), result.id());
 
             // Build success response
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Login successful");
-            response.put("token", token);
+            response.put("token", result.token());
             response.put("tokenType", "Bearer");
             response.put("expiresIn", jwtUtil.getExpirationTime());
             
             // Student information (excluding sensitive data)
             Map<String, Object> studentInfo = new HashMap<>();
-            studentInfo.put("id", student.getId());
-            studentInfo.put("name", student.getName());
-            studentInfo.put("email", student.getEmail());
-            studentInfo.put("enrolledDate", student.getEnrolledDate());
-            studentInfo.put("teacherName", student.getTeacher().getName());
+            studentInfo.put("id", result.id());
+            studentInfo.put("name", result.name());
+            studentInfo.put("email", result.email());
+            studentInfo.put("enrolledDate", result.enrolledDate());
+            studentInfo.put("teacherName", result.teacherName());
             
             response.put("student", studentInfo);
 
@@ -161,41 +169,22 @@ public class StudentAuthController {
                     .body(createErrorResponse("Authentication required"));
             }
 
-            // Find student by email
-            Optional<Student> studentOptional = studentRepository.findByEmail(studentEmail);
+            // Find the student's profile by email (teacher and result count in the same query)
+            Optional<StudentProfile> profileOptional = studentRepository.findProfileByEmail(studentEmail);
 
-            if (studentOptional.isEmpty()) {
+            if (profileOptional.isEmpty()) {
                 log.warn("Student profile access failed: Student not found for email: {}", 
                         maskEmail(studentEmail));
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(createErrorResponse("Student profile not found"));
             }
 
-            Student student = studentOptional.get();
+            StudentProfile profile = profileOptional.get();
 
             log.info("Student profile accessed by: {}, ID: {}", 
-                    maskEmail(studentEmail), student.getId());
-
-            // Build profile response
-            Map<String, Object> response = new HashMap<>();
-            response.put("id", student.getId());
-            response.put("name", student.getName());
-            response.put("email", student.getEmail());
-            response.put("phoneNumber", student.getPhoneNumber());
-            response.put("enrolledDate", student.getEnrolledDate());
-            
-            // Teacher information
-            Map<String, Object> teacherInfo = new HashMap<>();
-            teacherInfo.put("id", student.getTeacher().getId());
-            teacherInfo.put("name", student.getTeacher().getName());
-            teacherInfo.put("email", student.getTeacher().getEmail());
-            
-            response.put("teacher", teacherInfo);
-
-            // Test results count
-            response.put("totalTestResults", student.getTestResults().size());
+                    maskEmail(studentEmail), profile.id());
 
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(profile);
 
         } catch (Exception e) {
             log.error("Error retrieving student profile: {}", e.getMessage(), e);
@@ -263,7 +252,10 @@ public class StudentAuthController {
 
             // Update password
             student.setPassword(passwordEncoder.encode(newPassword));
+            // Tokens issued before the change are no longer accepted, on any instance
+            student.setCredentialsChangedAt(java.time.LocalDateTime.now());
             studentRepository.save(student);
+            principalCache.invalidate(Role.STUDENT, student.getId());
 
             log.info("Password changed successfully for student ID: {}", student.getId());
 
@@ -281,7 +273,7 @@ public class StudentAuthController {
     /**
      * Get Student Test Results
      * 
-     * Returns all test results for the authenticated student.
+     * Returns all test results for the authenticated student, latest test first.
      * 
      * @return ResponseEntity with test results list
      */
@@ -299,35 +291,17 @@ public class StudentAuthController {
             }
 
             // Find student
-            Optional<Student> studentOptional = studentRepository.findByEmail(studentEmail);
+            Optional<StudentListItem> studentOptional = studentRepository.findListItemByEmail(studentEmail);
             if (studentOptional.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(createErrorResponse("Student not found"));
             }
 
-            Student student = studentOptional.get();
-
-            // Build test results response
-            Map<String, Object> response = new HashMap<>();
-            response.put("studentId", student.getId());
-            response.put("studentName", student.getName());
-            response.put("totalResults", student.getTestResults().size());
-            response.put("testResults", student.getTestResults().stream()
-                .map(testResult -> {
-                    Map<String, Object> result = new HashMap<>();
-                    result.put("id", testResult.getId());
-                    result.put("subject", testResult.getSubject());
-                    result.put("score", testResult.getScore());
-                    result.put("maxScore", testResult.getMaxScore());
-                    result.put("percentage", testResult.getPercentage());
-                    result.put("grade", testResult.getGrade());
-                    result.put("passed", testResult.isPassed());
-                    result.put("testDate", testResult.getTestDate());
-                    return result;
-                })
-                .toList());
+            StudentListItem student = studentOptional.get();
 
-            return ResponseEntity.ok(response);
+            List<MarkView> testResults = testResultRepository.findMarksByStudentId(student.id(), Pageable.unpaged());
+            return ResponseEntity.ok(new StudentTestResults(student.id(), student.name(), testResults.size(),
+                    testResults));
 
         } catch (Exception e) {
             log.error("Error retrieving student test results: {}", e.getMessage(), e);
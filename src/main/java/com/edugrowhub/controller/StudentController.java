@@ -1,5 +1,9 @@
 package com.edugrowhub.controller;
 
+import com.edugrowhub.dto.CursorPage;
+import com.edugrowhub.dto.PageCursor;
+import com.edugrowhub.dto.StudentListItem;
+import com.edugrowhub.dto.TeacherStudentsPage;
 import com.edugrowhub.entity.Role;
 import com.edugrowhub.entity.Student;
 import com.edugrowhub.entity.User;
@@ -7,6 +11,7 @@ import com.edugrowhub.repository.StudentRepository;
 import com.edugrowhub.repository.UserRepository;
 import com.edugrowhub.service.WhatsAppNotificationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -92,7 +97,7 @@ public class StudentController {
             );
             
             // Save student
-            Student savedStudent = studentRepository.save(student);            // Send WhatsApp notification to teacher (optional)
+            Student savedStudent = studentRepository.save(student);            // Queue WhatsApp notification to teacher (optional, sent in the background)
             try {
                 whatsAppNotificationService.notifyTeacherEnrollment(
                     teacher.getPhoneNumber(), 
@@ -122,8 +127,14 @@ public class StudentController {
         }
     }
 
+    /**
+     * The teacher's students, in enrolment (ID) order
+     *
+     * limit students per page; pass nextCursor as cursor to get the next page.
+     */
     @GetMapping("/students")
-    public ResponseEntity<?> getTeacherStudents() {
+    public ResponseEntity<?> getTeacherStudents(@RequestParam(required = false) Integer limit,
+                                                @RequestParam(required = false) String cursor) {
         try {
             // Get authenticated teacher
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -151,28 +162,23 @@ public class StudentController {
                     .body("Access denied. Teacher access required.");
             }
             
-            // Get all students for this teacher
-            List<Student> students = studentRepository.findByTeacher(teacher);
+            // Get the page of students for this teacher, keyset-paged on ID
+            List<StudentListItem> students;
+            int pageLimit;
+            try {
+                pageLimit = CursorPage.limit(limit);
+                long afterId = cursor != null ? PageCursor.decode(cursor).id() : 0L;
+                students = studentRepository.findListItemsByTeacherId(teacher.getId(), afterId,
+                    PageRequest.of(0, pageLimit + 1));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+            CursorPage<StudentListItem> studentsPage = CursorPage.of(students, pageLimit,
+                student -> PageCursor.of(null, student.id()));
             
-            // Build response with student details
-            Map<String, Object> response = new HashMap<>();
-            response.put("teacherName", teacher.getName());
-            response.put("teacherEmail", teacher.getEmail());
-            response.put("totalStudents", students.size());
-            
-            // Transform students to response format (avoid circular reference)
-            List<Map<String, Object>> studentList = students.stream()
-                .map(student -> {
-                    Map<String, Object> studentData = new HashMap<>();
-                    studentData.put("id", student.getId());
-                    studentData.put("name", student.getName());
-                    studentData.put("email", student.getEmail());
-                    studentData.put("enrolledDate", student.getEnrolledDate());
-                    return studentData;
-                })
-                .toList();
-            
-            response.put("students", studentList);
+            TeacherStudentsPage response = new TeacherStudentsPage(teacher.getName(), teacher.getEmail(),
+                studentRepository.countByTeacherId(teacher.getId()), studentsPage.items().size(),
+                studentsPage.nextCursor(), studentsPage.items());
             
             return ResponseEntity.ok(response);
             
@@ -1,16 +1,23 @@
 package com.edugrowhub.controller;
 
+import com.edugrowhub.dto.BatchMarksResult;
+import com.edugrowhub.dto.CursorPage;
+import com.edugrowhub.dto.MarkView;
+import com.edugrowhub.dto.PageCursor;
+import com.edugrowhub.dto.StudentMarksPage;
+import com.edugrowhub.entity.NotificationOutbox;
 import com.edugrowhub.entity.Role;
 import com.edugrowhub.entity.Student;
 import com.edugrowhub.entity.TestResult;
 import com.edugrowhub.entity.User;
-import com.edugrowhub.entity.WhatsAppLog;
 import com.edugrowhub.repository.StudentRepository;
 import com.edugrowhub.repository.TestResultRepository;
 import com.edugrowhub.repository.UserRepository;
-import com.edugrowhub.service.WhatsAppService;
+import com.edugrowhub.service.StudentReportCache;
+import com.edugrowhub.service.TestResultService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -32,7 +39,8 @@ public class TestResultController {
     private final TestResultRepository testResultRepository;
     private final StudentRepository studentRepository;
     private final UserRepository userRepository;
-    private final WhatsAppService whatsAppService;
+    private final TestResultService testResultService;
+    private final StudentReportCache studentReportCache;
 
     @PostMapping("/students/{studentId}/marks")
     public ResponseEntity<?> addTestResult(
@@ -160,39 +168,17 @@ public class TestResultController {
                     .body("Test date cannot be in the future");
             }
             
-            // Create new test result
-            TestResult testResult = new TestResult(
+            // Save test result and queue the WhatsApp notification in one transaction
+            TestResultService.AddedResult added = testResultService.addResult(
+                student,
+                teacher,
                 subject.trim(),
                 score,
                 maxScore,
-                testDate,
-                student
+                testDate
             );
-              // Save test result
-            TestResult savedTestResult = testResultRepository.save(testResult);
-            
-            // Send WhatsApp notification to student (if phone number is available)
-            WhatsAppLog whatsAppLog = null;
-            try {
-                if (student.getPhoneNumber() != null && !student.getPhoneNumber().trim().isEmpty()) {
-                    log.info("Sending WhatsApp notification for test result to student ID: {}", student.getId());
-                    whatsAppLog = whatsAppService.sendTestResultNotification(
-                        student, 
-                        teacher, 
-                        savedTestResult.getSubject(),
-                        savedTestResult.getScore(),
-                        savedTestResult.getMaxScore(),
-                        savedTestResult.getPercentage(),
-                        savedTestResult.getGrade()
-                    );
-                    log.info("WhatsApp notification sent successfully. Log ID: {}", whatsAppLog.getId());
-                } else {
-                    log.warn("Cannot send WhatsApp notification: Student ID {} has no phone number", student.getId());
-                }
-            } catch (Exception whatsAppException) {
-                // Log WhatsApp error but don't fail the test result creation
-                log.error("Failed to send WhatsApp notification for test result: {}", whatsAppException.getMessage());
-            }
+            TestResult savedTestResult = added.testResult();
+            NotificationOutbox notification = added.notification();
             
             // Build response
             Map<String, Object> response = new HashMap<>();
@@ -209,19 +195,17 @@ public class TestResultController {
             response.put("teacherName", teacher.getName());
             response.put("message", "Test result added successfully");
             
-            // Add WhatsApp notification status to response
-            if (whatsAppLog != null) {
+            // Add WhatsApp notification status to response; the message is sent in the background
+            if (notification != null) {
                 Map<String, Object> whatsAppStatus = new HashMap<>();
-                whatsAppStatus.put("sent", whatsAppLog.isSuccessful());
-                whatsAppStatus.put("status", whatsAppLog.getMessageStatus());
-                whatsAppStatus.put("recipientPhone", whatsAppLog.getMaskedRecipientPhone());
-                if (whatsAppLog.isFailed()) {
-                    whatsAppStatus.put("error", whatsAppLog.getErrorMessage());
-                }
+                whatsAppStatus.put("queued", true);
+                whatsAppStatus.put("status", notification.getStatus());
+                whatsAppStatus.put("notificationId", notification.getId());
+                whatsAppStatus.put("recipientPhone", notification.getMaskedRecipientPhone());
                 response.put("whatsAppNotification", whatsAppStatus);
             } else {
                 response.put("whatsAppNotification", Map.of(
-                    "sent", false, 
+                    "queued", false, 
                     "reason", "No phone number available"
                 ));
             }
@@ -234,8 +218,72 @@ public class TestResultController {
         }
     }
     
+    @PostMapping("/marks/batch")
+    public ResponseEntity<?> addTestResultsBatch(@RequestBody Map<String, Object> batchRequest) {
+        
+        try {
+            // Get authenticated teacher
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Authentication required");
+            }
+            
+            String teacherEmail = authentication.getName();
+            
+            // Find teacher in database
+            Optional<User> teacherOptional = userRepository.findByEmail(teacherEmail);
+            
+            if (teacherOptional.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Teacher not found");
+            }
+            
+            User teacher = teacherOptional.get();
+            
+            // Verify user is a teacher
+            if (teacher.getRole() != Role.TEACHER) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body("Access denied. Teacher access required.");
+            }
+            
+            Object marksObj = batchRequest.get("marks");
+            if (!(marksObj instanceof List<?> marksList)) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Marks list is required");
+            }
+            
+            List<Map<String, Object>> rows = new java.util.ArrayList<>(marksList.size());
+            for (Object row : marksList) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> rowMap = row instanceof Map ? (Map<String, Object>) row : null;
+                rows.add(rowMap);
+            }
+            
+            // Validate, check ownership and insert in JDBC batches
+            BatchMarksResult result = testResultService.saveBatch(teacher, rows);
+            
+            return ResponseEntity.ok(result);
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Failed to add test results: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * A student's marks, latest test first
+     *
+     * limit marks per page; pass nextCursor as cursor to get the next page.
+     */
     @GetMapping("/students/{studentId}/marks")
-    public ResponseEntity<?> getStudentMarks(@PathVariable Long studentId) {
+    public ResponseEntity<?> getStudentMarks(@PathVariable Long studentId,
+                                             @RequestParam(required = false) Integer limit,
+                                             @RequestParam(required = false) String cursor) {
         try {
             // Get authenticated teacher
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -279,33 +327,27 @@ public class TestResultController {
                     .body("Access denied. You can only view marks for your own students.");
             }
             
-            // Get all test results for the student
-            List<TestResult> testResults = testResultRepository.findByStudentIdOrderByTestDateDesc(studentId);
-            
-            // Transform test results to response format
-            List<Map<String, Object>> marksData = testResults.stream()
-                .map(testResult -> {
-                    Map<String, Object> markData = new HashMap<>();
-                    markData.put("id", testResult.getId());
-                    markData.put("subject", testResult.getSubject());
-                    markData.put("score", testResult.getScore());
-                    markData.put("maxScore", testResult.getMaxScore());
-                    markData.put("testDate", testResult.getTestDate());
-                    markData.put("percentage", testResult.getPercentage());
-                    markData.put("grade", testResult.getGrade());
-                    markData.put("passed", testResult.isPassed());
-                    return markData;
-                })
-                .toList();
+            // Get the page of marks, keyset-paged on (test date, ID)
+            List<MarkView> marks;
+            int pageLimit;
+            try {
+                pageLimit = CursorPage.limit(limit);
+                PageRequest page = PageRequest.of(0, pageLimit + 1);
+                if (cursor == null) {
+                    marks = testResultRepository.findMarksByStudentId(studentId, page);
+                } else {
+                    PageCursor after = PageCursor.decode(cursor);
+                    marks = testResultRepository.findMarksByStudentIdBefore(studentId, after.dateKey(), after.id(), page);
+                }
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+            CursorPage<MarkView> marksPage = CursorPage.of(marks, pageLimit,
+                mark -> PageCursor.of(mark.testDate(), mark.id()));
             
-            // Build response
-            Map<String, Object> response = new HashMap<>();
-            response.put("studentId", student.getId());
-            response.put("studentName", student.getName());
-            response.put("studentEmail", student.getEmail());
-            response.put("teacherName", teacher.getName());
-            response.put("totalMarks", marksData.size());
-            response.put("marks", marksData);
+            StudentMarksPage response = new StudentMarksPage(student.getId(), student.getName(), student.getEmail(),
+                teacher.getName(), testResultRepository.countByStudentId(studentId), marksPage.items().size(),
+                marksPage.items(), marksPage.nextCursor());
             
             return ResponseEntity.ok(response);
             
@@ -360,153 +402,8 @@ public class TestResultController {
                     .body("Access denied. You can only view reports for your own students.");
             }
             
-            // Get all test results for the student
-            List<TestResult> testResults = testResultRepository.findByStudentId(studentId);
-            
-            if (testResults.isEmpty()) {
-                // Return empty report if no test results
-                Map<String, Object> emptyReport = new HashMap<>();
-                emptyReport.put("studentId", student.getId());
-                emptyReport.put("studentName", student.getName());
-                emptyReport.put("studentEmail", student.getEmail());
-                emptyReport.put("teacherName", teacher.getName());
-                emptyReport.put("totalTests", 0);
-                emptyReport.put("averageScore", 0.0);
-                emptyReport.put("averagePercentage", 0.0);
-                emptyReport.put("failedSubjects", 0);
-                emptyReport.put("highestScore", 0.0);
-                emptyReport.put("lowestScore", 0.0);
-                emptyReport.put("passedTests", 0);
-                emptyReport.put("failedTests", 0);
-                emptyReport.put("message", "No test results found for this student");
-                
-                return ResponseEntity.ok(emptyReport);
-            }
-            
-            // Calculate report statistics
-            int totalTests = testResults.size();
-            
-            // Calculate average score
-            double totalScore = testResults.stream()
-                .mapToDouble(TestResult::getScore)
-                .sum();
-            double averageScore = totalScore / totalTests;
-            
-            // Calculate average percentage
-            double totalPercentage = testResults.stream()
-                .mapToDouble(TestResult::getPercentage)
-                .sum();
-            double averagePercentage = totalPercentage / totalTests;
-            
-            // Count failed subjects (percentage < 35%)
-            long failedSubjects = testResults.stream()
-                .filter(testResult -> testResult.getPercentage() < 35.0)
-                .count();
-            
-            // Find highest and lowest scores
-            double highestScore = testResults.stream()
-                .mapToDouble(TestResult::getScore)
-                .max()
-                .orElse(0.0);
-            
-            double lowestScore = testResults.stream()
-                .mapToDouble(TestResult::getScore)
-                .min()
-                .orElse(0.0);
-            
-            // Count passed and failed tests (using 60% threshold)
-            long passedTests = testResults.stream()
-                .filter(TestResult::isPassed)
-                .count();
-            
-            long failedTests = totalTests - passedTests;
-            
-            // Get best and worst performing subjects
-            TestResult bestTest = testResults.stream()
-                .max((t1, t2) -> Double.compare(t1.getPercentage(), t2.getPercentage()))
-                .orElse(null);
-            
-            TestResult worstTest = testResults.stream()
-                .min((t1, t2) -> Double.compare(t1.getPercentage(), t2.getPercentage()))
-                .orElse(null);
-            
-            // Build subject-wise performance
-            Map<String, List<TestResult>> subjectWiseResults = testResults.stream()
-                .collect(java.util.stream.Collectors.groupingBy(TestResult::getSubject));
-            
-            List<Map<String, Object>> subjectPerformance = subjectWiseResults.entrySet().stream()
-                .map(entry -> {
-                    String subject = entry.getKey();
-                    List<TestResult> subjectTests = entry.getValue();
-                    
-                    double subjectAvgScore = subjectTests.stream()
-                        .mapToDouble(TestResult::getScore)
-                        .average()
-                        .orElse(0.0);
-                    
-                    double subjectAvgPercentage = subjectTests.stream()
-                        .mapToDouble(TestResult::getPercentage)
-                        .average()
-                        .orElse(0.0);
-                    
-                    Map<String, Object> subjectData = new HashMap<>();
-                    subjectData.put("subject", subject);
-                    subjectData.put("testsCount", subjectTests.size());
-                    subjectData.put("averageScore", Math.round(subjectAvgScore * 100.0) / 100.0);
-                    subjectData.put("averagePercentage", Math.round(subjectAvgPercentage * 100.0) / 100.0);
-                    subjectData.put("grade", getGradeFromPercentage(subjectAvgPercentage));
-                    
-                    return subjectData;
-                })
-                .toList();
-            
-            // Build comprehensive report response
-            Map<String, Object> report = new HashMap<>();
-            report.put("studentId", student.getId());
-            report.put("studentName", student.getName());
-            report.put("studentEmail", student.getEmail());
-            report.put("enrolledDate", student.getEnrolledDate());
-            report.put("teacherName", teacher.getName());
-            
-            // Overall Statistics
-            report.put("totalTests", totalTests);
-            report.put("averageScore", Math.round(averageScore * 100.0) / 100.0);
-            report.put("averagePercentage", Math.round(averagePercentage * 100.0) / 100.0);
-            report.put("overallGrade", getGradeFromPercentage(averagePercentage));
-            report.put("failedSubjects", failedSubjects);
-            report.put("highestScore", highestScore);
-            report.put("lowestScore", lowestScore);
-            report.put("passedTests", passedTests);
-            report.put("failedTests", failedTests);
-            report.put("passRate", Math.round(((double) passedTests / totalTests) * 100.0));
-            
-            // Best and Worst Performance
-            if (bestTest != null) {
-                Map<String, Object> bestPerformance = new HashMap<>();
-                bestPerformance.put("subject", bestTest.getSubject());
-                bestPerformance.put("score", bestTest.getScore());
-                bestPerformance.put("maxScore", bestTest.getMaxScore());
-                bestPerformance.put("percentage", bestTest.getPercentage());
-                bestPerformance.put("grade", bestTest.getGrade());
-                bestPerformance.put("testDate", bestTest.getTestDate());
-                report.put("bestPerformance", bestPerformance);
-            }
-            
-            if (worstTest != null) {
-                Map<String, Object> worstPerformance = new HashMap<>();
-                worstPerformance.put("subject", worstTest.getSubject());
-                worstPerformance.put("score", worstTest.getScore());
-                worstPerformance.put("maxScore", worstTest.getMaxScore());
-                worstPerformance.put("percentage", worstTest.getPercentage());
-                worstPerformance.put("grade", worstTest.getGrade());
-                worstPerformance.put("testDate", worstTest.getTestDate());
-                report.put("worstPerformance", worstPerformance);
-            }
-            
-            // Subject-wise Performance
-            report.put("subjectWisePerformance", subjectPerformance);
-            
-            return ResponseEntity.ok(report);
+            return ResponseEntity.ok(studentReportCache.get(student.getId(),
+                () -> testResultService.getStudentReport(student, teacher)));
             
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -514,15 +411,6 @@ public class TestResultController {
         }
     }
     
-    // Helper method to get grade from percentage
-    private String getGradeFromPercentage(double percentage) {
-        if (percentage >= 90) return "A";
-        else if (percentage >= 80) return "B";
-        else if (percentage >= 70) return "C";
-        else if (percentage >= 60) return "D";
-        else return "F";
-    }
-
     @PutMapping("/students/{studentId}/marks/{markId}")
     public ResponseEntity<?> editTestResult(
             @PathVariable Long studentId,
@@ -665,14 +553,9 @@ public class TestResultController {
                     .body("Test date cannot be in the future");
             }
             
-            // Update test result
-            testResult.setSubject(subject.trim());
-            testResult.setScore(score);
-            testResult.setMaxScore(maxScore);
-            testResult.setTestDate(testDate);
-            
-            // Save updated test result
-            TestResult updatedTestResult = testResultRepository.save(testResult);
+            // Update test result (and the student's summary)
+            TestResult updatedTestResult = testResultService.updateResult(
+                studentId, markId, subject.trim(), score, maxScore, testDate);
             
             // Build response
             Map<String, Object> response = new HashMap<>();
@@ -767,8 +650,8 @@ public class TestResultController {
             Double deletedMaxScore = testResult.getMaxScore();
             LocalDate deletedTestDate = testResult.getTestDate();
             
-            // Delete test result
-            testResultRepository.delete(testResult);
+            // Delete test result (and update the student's summary)
+            testResultService.deleteResult(studentId, markId);
             
             // Build response
             Map<String, Object> response = new HashMap<>();
@@ -0,0 +1,85 @@
+package com.edugrowhub.controller;
+
+import com.edugrowhub.config.TwilioConfig;
+import com.edugrowhub.service.messaging.DeliveryStatus;
+import com.edugrowhub.service.messaging.DeliveryStatusBuffer;
+import com.twilio.security.RequestValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Twilio message status callbacks
+ *
+ * Twilio posts a form-encoded callback every time a message changes state.
+ * Callbacks are checked, buffered in DeliveryStatusBuffer and acknowledged
+ * immediately; the database is updated in batches in the background.
+ */
+@RestController
+@RequestMapping("/api/public/twilio")
+@Slf4j
+public class TwilioStatusCallbackController {
+
+    private final DeliveryStatusBuffer deliveryStatusBuffer;
+    private final RequestValidator requestValidator;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${whatsapp.status-callback.validate-signature:true}")
+    private boolean validateSignature;
+
+    @Value("${whatsapp.status-callback.public-url:}")
+    private String publicUrl;
+
+    public TwilioStatusCallbackController(DeliveryStatusBuffer deliveryStatusBuffer,
+                                          TwilioConfig twilioConfig,
+                                          MeterRegistry meterRegistry) {
+        this.deliveryStatusBuffer = deliveryStatusBuffer;
+        this.requestValidator = new RequestValidator(twilioConfig.getAuthToken());
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostMapping(value = "/status", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public ResponseEntity<?> handleStatusCallback(@RequestParam Map<String, String> params,
+                                                  @RequestHeader(value = "X-Twilio-Signature", required = false) String signature,
+                                                  HttpServletRequest request) {
+        // Twilio signs the URL it called; behind a proxy that is the configured public URL
+        if (validateSignature) {
+            String url = publicUrl.isBlank() ? request.getRequestURL().toString() : publicUrl;
+            if (signature == null || !requestValidator.validate(url, params, signature)) {
+                log.warn("Rejected status callback with invalid signature from {}", request.getRemoteAddr());
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Invalid signature");
+            }
+        }
+
+        String messageSid = params.get("MessageSid");
+        if (messageSid == null || messageSid.isBlank()) {
+            return ResponseEntity.badRequest().body("MessageSid is required");
+        }
+
+        DeliveryStatus status = DeliveryStatus.fromTwilio(params.get("MessageStatus"));
+        meterRegistry.counter("whatsapp.status.callbacks", "status", status != null ? status.name() : "IGNORED")
+                .increment();
+
+        // Messages are stored as SENT already, so earlier states carry nothing to record
+        if (status == null || status == DeliveryStatus.SENT) {
+            return ResponseEntity.noContent().build();
+        }
+
+        String errorCode = params.get("ErrorCode");
+        String errorMessage = errorCode != null && !errorCode.isBlank() ? "Twilio error " + errorCode : null;
+        if (!deliveryStatusBuffer.offer(messageSid, status, errorMessage)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("Status buffer is full");
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.edugrowhub.dto;
+
+import com.edugrowhub.service.messaging.MessageTemplates;
+
+import java.time.LocalDateTime;
+
+/**
+ * A whatsapp_logs row as stored in the archive
+ *
+ * Student and teacher are kept as IDs; the rows they refer to may have been
+ * deleted since the message was archived.
+ *
+ * @param id Original whatsapp_logs ID
+ * @param recipientPhone Recipient phone number
+ * @param messageContent Text of a free-text message, null for templated messages
+ * @param templateId Versioned template ID, null for free text
+ * @param templateParams Template parameters as a JSON array
+ * @param messageStatus Final message status
+ * @param twilioMessageSid Twilio message SID
+ * @param messageType Message type
+ * @param studentId Student ID (optional)
+ * @param teacherId Teacher ID (optional)
+ * @param sentAt When the message was sent
+ * @param errorMessage Last error (optional)
+ * @param metadata JSON metadata (optional)
+ * @param attemptCount Number of send attempts
+ */
+public record ArchivedWhatsAppLog(Long id, String recipientPhone, String messageContent, String templateId,
+                                  String templateParams, String messageStatus, String twilioMessageSid,
+                                  String messageType, Long studentId, Long teacherId, LocalDateTime sentAt,
+                                  String errorMessage, String metadata, int attemptCount) {
+
+    /**
+     * Text of the message, rendered from its template if needed
+     */
+    public String renderedContent() {
+        return MessageTemplates.restore(templateId, templateParams, messageContent).text();
+    }
+
+    /**
+     * Recipient phone number masked for responses (e.g. +91***1234)
+     */
+    public String maskedRecipientPhone() {
+        if (recipientPhone == null || recipientPhone.length() < 6) {
+            return "***";
+        }
+        return recipientPhone.substring(0, 3) + "***" + recipientPhone.substring(recipientPhone.length() - 4);
+    }
+}
@@ -0,0 +1,24 @@
+package com.edugrowhub.dto;
+
+import java.util.List;
+
+/**
+ * Result of a bulk marks entry request
+ *
+ * @param received Number of rows in the request
+ * @param saved Number of rows inserted
+ * @param rejected Number of rows rejected
+ * @param errors Per-row errors, indexed by position in the request
+ */
+public record BatchMarksResult(int received, int saved, int rejected, List<RowError> errors) {
+
+    /**
+     * Validation or ownership error for a single row
+     *
+     * @param index Zero-based position of the row in the request
+     * @param studentId Student id from the row, if present
+     * @param message Error message
+     */
+    public record RowError(int index, Long studentId, String message) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.edugrowhub.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paged listing
+ *
+ * Queries fetch one item more than the page size; if it is there, the page is
+ * cut to size and nextCursor points after its last item.
+ *
+ * @param items Items of the page, in listing order
+ * @param nextCursor Encoded PageCursor of the next page, or null on the last page
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    /**
+     * Page size requested by a client
+     *
+     * @param limit limit parameter, or null for the default
+     * @throws IllegalArgumentException if the limit is out of range
+     */
+    public static int limit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+
+    /**
+     * Build a page from up to limit + 1 fetched items
+     *
+     * @param fetched Items fetched with a query limit of limit + 1
+     * @param limit Page size
+     * @param cursorOf Cursor positioned at an item
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int limit, Function<T, PageCursor> cursorOf) {
+        if (fetched.size() <= limit) {
+            return new CursorPage<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, limit);
+        return new CursorPage<>(items, cursorOf.apply(items.get(limit - 1)).encode());
+    }
+}
@@ -0,0 +1,36 @@
+package com.edugrowhub.dto;
+
+import com.edugrowhub.entity.TestResult;
+
+import java.time.LocalDate;
+
+/**
+ * One line of a teacher's gradebook export
+ *
+ * Read straight from the JDBC result set; the percentage, grade and pass
+ * status are derived as TestResult derives them.
+ *
+ * @param resultId Test result ID
+ * @param studentId Student ID
+ * @param studentName Student name
+ * @param studentEmail Student email
+ * @param subject Subject
+ * @param score Score
+ * @param maxScore Maximum score
+ * @param testDate Test date
+ */
+public record GradebookRow(long resultId, long studentId, String studentName, String studentEmail,
+                           String subject, double score, double maxScore, LocalDate testDate) {
+
+    public double percentage() {
+        return TestResult.percentageOf(score, maxScore);
+    }
+
+    public String grade() {
+        return TestResult.gradeFor(percentage());
+    }
+
+    public boolean passed() {
+        return TestResult.passedFor(percentage());
+    }
+}
@@ -0,0 +1,38 @@
+package com.edugrowhub.dto;
+
+import com.edugrowhub.entity.Role;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a login attempt handled by LoginService
+ *
+ * Account fields are only populated when status is SUCCESS.
+ * enrolledDate and teacherName are only set for students.
+ */
+public record LoginResult(
+        Status status,
+        Long id,
+        String email,
+        String name,
+        Role role,
+        String token,
+        LocalDateTime enrolledDate,
+        String teacherName) {
+
+    public enum Status {
+        SUCCESS,
+        INVALID_CREDENTIALS,
+        ROLE_MISMATCH,
+        NOT_ACTIVATED,
+        BUSY
+    }
+
+    public static LoginResult failure(Status status) {
+        return new LoginResult(status, null, null, null, null, null, null, null);
+    }
+
+    public boolean isSuccess() {
+        return status == Status.SUCCESS;
+    }
+}
@@ -0,0 +1,33 @@
+package com.edugrowhub.dto;
+
+import com.edugrowhub.entity.TestResult;
+
+import java.time.LocalDate;
+
+/**
+ * A test result as listed to teachers and students
+ *
+ * Selected by TestResultRepository as a projection of the stored columns; the
+ * percentage, grade and pass status are derived as TestResult derives them.
+ *
+ * @param id Test result ID
+ * @param subject Subject
+ * @param score Score
+ * @param maxScore Maximum score
+ * @param testDate Test date
+ * @param percentage Percentage
+ * @param grade Letter grade
+ * @param passed Whether the percentage reaches the pass mark
+ */
+public record MarkView(Long id, String subject, Double score, Double maxScore, LocalDate testDate,
+                       double percentage, String grade, boolean passed) {
+
+    public MarkView(Long id, String subject, Double score, Double maxScore, LocalDate testDate) {
+        this(id, subject, score, maxScore, testDate, TestResult.percentageOf(score, maxScore));
+    }
+
+    private MarkView(Long id, String subject, Double score, Double maxScore, LocalDate testDate, double percentage) {
+        this(id, subject, score, maxScore, testDate, percentage, TestResult.gradeFor(percentage),
+                TestResult.passedFor(percentage));
+    }
+}
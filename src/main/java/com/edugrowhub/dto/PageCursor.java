@@ -0,0 +1,76 @@
+package com.edugrowhub.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in a paged listing
+ *
+ * The sort key and ID of the last item on a page; the next page starts after
+ * it. Clients receive it encoded as nextCursor and send it back unchanged as
+ * the cursor parameter, so its format can change without breaking them.
+ *
+ * @param key Sort key of the item (ISO date or date-time), empty when the
+ *            listing is sorted by ID alone
+ * @param id ID of the item, the tie-breaker for equal sort keys
+ */
+public record PageCursor(String key, long id) {
+
+    private static final String INVALID = "Invalid cursor";
+
+    public static PageCursor of(Object key, long id) {
+        return new PageCursor(key == null ? "" : key.toString(), id);
+    }
+
+    /**
+     * Opaque, URL-safe form of the cursor
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Read a cursor sent by a client
+     *
+     * @throws IllegalArgumentException if the cursor was not produced by encode
+     */
+    public static PageCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('|');
+            return new PageCursor(decoded.substring(0, separator), Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException(INVALID);
+        }
+    }
+
+    /**
+     * Sort key of a listing ordered by date
+     *
+     * @throws IllegalArgumentException if the key is not a date
+     */
+    public LocalDate dateKey() {
+        try {
+            return LocalDate.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(INVALID);
+        }
+    }
+
+    /**
+     * Sort key of a listing ordered by date and time
+     *
+     * @throws IllegalArgumentException if the key is not a date-time
+     */
+    public LocalDateTime dateTimeKey() {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(INVALID);
+        }
+    }
+}
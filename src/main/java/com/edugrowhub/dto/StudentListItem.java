@@ -0,0 +1,14 @@
+package com.edugrowhub.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A student as listed to their teacher
+ *
+ * @param id Student ID
+ * @param name Student name
+ * @param email Student email
+ * @param enrolledDate Enrolment date
+ */
+public record StudentListItem(Long id, String name, String email, LocalDateTime enrolledDate) {
+}
@@ -0,0 +1,19 @@
+package com.edugrowhub.dto;
+
+import java.util.List;
+
+/**
+ * Page of a student's marks, as returned by GET /students/{id}/marks
+ *
+ * @param studentId Student ID
+ * @param studentName Student name
+ * @param studentEmail Student email
+ * @param teacherName Name of the student's teacher
+ * @param totalMarks All of the student's marks
+ * @param count Marks on this page
+ * @param marks Marks, latest test first
+ * @param nextCursor Cursor of the next page, or null on the last page
+ */
+public record StudentMarksPage(Long studentId, String studentName, String studentEmail, String teacherName,
+                               long totalMarks, int count, List<MarkView> marks, String nextCursor) {
+}
@@ -0,0 +1,29 @@
+package com.edugrowhub.dto;
+
+import com.edugrowhub.entity.TestResult;
+
+/**
+ * A student's test results aggregated in the database
+ *
+ * @param studentId Student ID
+ * @param studentName Student name
+ * @param phoneNumber Student phone number as entered
+ * @param teacherId Teacher who enrolled the student
+ * @param totalTests Number of test results
+ * @param averagePercentage Mean of the results' percentages
+ * @param passedTests Results at or above the 60% pass mark
+ */
+public record StudentPerformanceSummary(Long studentId, String studentName, String phoneNumber, Long teacherId,
+                                        Long totalTests, Double averagePercentage, Long passedTests) {
+
+    public long failedTests() {
+        return totalTests - passedTests;
+    }
+
+    /**
+     * Letter grade of the average percentage
+     */
+    public String overallGrade() {
+        return TestResult.gradeFor(averagePercentage);
+    }
+}
@@ -0,0 +1,37 @@
+package com.edugrowhub.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A student's own profile, as returned by GET /api/student/profile
+ *
+ * Selected by StudentRepository in one query, with the test results counted
+ * rather than loaded.
+ *
+ * @param id Student ID
+ * @param name Student name
+ * @param email Student email
+ * @param phoneNumber Student phone number
+ * @param enrolledDate Enrolment date
+ * @param teacher The student's teacher
+ * @param totalTestResults Number of test results
+ */
+public record StudentProfile(Long id, String name, String email, String phoneNumber, LocalDateTime enrolledDate,
+                             TeacherInfo teacher, long totalTestResults) {
+
+    /**
+     * The teacher of a student
+     *
+     * @param id Teacher ID
+     * @param name Teacher name
+     * @param email Teacher email
+     */
+    public record TeacherInfo(Long id, String name, String email) {
+    }
+
+    public StudentProfile(Long id, String name, String email, String phoneNumber, LocalDateTime enrolledDate,
+                          Long teacherId, String teacherName, String teacherEmail, Long totalTestResults) {
+        this(id, name, email, phoneNumber, enrolledDate, new TeacherInfo(teacherId, teacherName, teacherEmail),
+                totalTestResults);
+    }
+}
@@ -0,0 +1,124 @@
+package com.edugrowhub.dto;
+
+import com.edugrowhub.entity.Student;
+import com.edugrowhub.entity.StudentSubjectSummary;
+import com.edugrowhub.entity.StudentSummary;
+import com.edugrowhub.entity.TestResult;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Performance report of one student, as returned by GET /students/{id}/report
+ *
+ * Built from the student's StudentSummary; averages are rounded to two
+ * decimals. Fields that do not apply (the grade, pass rate and best or worst
+ * result of a student without results) are left out of the JSON.
+ *
+ * @param studentId Student ID
+ * @param studentName Student name
+ * @param studentEmail Student email
+ * @param enrolledDate Enrolment date
+ * @param teacherName Name of the student's teacher
+ * @param totalTests Number of test results
+ * @param averageScore Mean score
+ * @param averagePercentage Mean of the results' percentages
+ * @param overallGrade Letter grade of the average percentage
+ * @param failedSubjects Results below 35%
+ * @param highestScore Highest score
+ * @param lowestScore Lowest score
+ * @param passedTests Results at or above the 60% pass mark
+ * @param failedTests Results below the pass mark
+ * @param passRate Passed results in percent, rounded
+ * @param bestPerformance Result with the highest percentage
+ * @param worstPerformance Result with the lowest percentage
+ * @param subjectWisePerformance Figures per subject, by subject name
+ * @param message Note for a student without results
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record StudentReport(Long studentId, String studentName, String studentEmail, LocalDateTime enrolledDate,
+                            String teacherName, long totalTests, double averageScore, double averagePercentage,
+                            String overallGrade, long failedSubjects, double highestScore, double lowestScore,
+                            long passedTests, long failedTests, Long passRate, TestPerformance bestPerformance,
+                            TestPerformance worstPerformance, List<SubjectPerformance> subjectWisePerformance,
+                            String message) {
+
+    /**
+     * Figures of one subject
+     *
+     * @param subject Subject
+     * @param testsCount Number of test results
+     * @param averageScore Mean score
+     * @param averagePercentage Mean of the results' percentages
+     * @param grade Letter grade of the average percentage
+     */
+    public record SubjectPerformance(String subject, long testsCount, double averageScore, double averagePercentage,
+                                     String grade) {
+    }
+
+    /**
+     * A single test result
+     *
+     * @param subject Subject
+     * @param score Score
+     * @param maxScore Maximum score
+     * @param percentage Percentage
+     * @param grade Letter grade
+     * @param testDate Test date
+     */
+    public record TestPerformance(String subject, Double score, Double maxScore, Double percentage, String grade,
+                                  LocalDate testDate) {
+
+        public static TestPerformance of(TestResult testResult) {
+            if (testResult == null) {
+                return null;
+            }
+            return new TestPerformance(testResult.getSubject(), testResult.getScore(), testResult.getMaxScore(),
+                    testResult.getPercentage(), testResult.getGrade(), testResult.getTestDate());
+        }
+    }
+
+    /**
+     * Report of a student without test results
+     */
+    public static StudentReport empty(Student student, String teacherName) {
+        return new StudentReport(student.getId(), student.getName(), student.getEmail(), null, teacherName,
+                0, 0.0, 0.0, null, 0, 0.0, 0.0, 0, 0, null, null, null, null,
+                "No test results found for this student");
+    }
+
+    /**
+     * Build the report from the student's summary
+     *
+     * @param summary Totals of the student's results, at least one
+     * @param subjects Per-subject rows of the summary
+     * @param best Result with the highest percentage
+     * @param worst Result with the lowest percentage
+     */
+    public static StudentReport of(Student student, String teacherName, StudentSummary summary,
+                                   List<StudentSubjectSummary> subjects, TestResult best, TestResult worst) {
+        List<SubjectPerformance> subjectWisePerformance = new ArrayList<>(subjects.size());
+        for (StudentSubjectSummary subject : subjects) {
+            double subjectPercentage = subject.getTotalPercentage() / subject.getTestsCount();
+            subjectWisePerformance.add(new SubjectPerformance(subject.getSubject(), subject.getTestsCount(),
+                    round2(subject.getTotalScore() / subject.getTestsCount()), round2(subjectPercentage),
+                    TestResult.gradeFor(subjectPercentage)));
+        }
+
+        long totalTests = summary.getTestsCount();
+        double averagePercentage = summary.getTotalPercentage() / totalTests;
+        return new StudentReport(student.getId(), student.getName(), student.getEmail(), student.getEnrolledDate(),
+                teacherName, totalTests, round2(summary.getTotalScore() / totalTests), round2(averagePercentage),
+                TestResult.gradeFor(averagePercentage), summary.getFailingTests(), summary.getMaxScore(),
+                summary.getMinScore(), summary.getPassedTests(), totalTests - summary.getPassedTests(),
+                Math.round((double) summary.getPassedTests() / totalTests * 100.0),
+                TestPerformance.of(best), TestPerformance.of(worst), subjectWisePerformance, null);
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
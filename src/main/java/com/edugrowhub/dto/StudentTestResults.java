@@ -0,0 +1,14 @@
+package com.edugrowhub.dto;
+
+import java.util.List;
+
+/**
+ * A student's own test results, as returned by GET /api/student/test-results
+ *
+ * @param studentId Student ID
+ * @param studentName Student name
+ * @param totalResults Number of test results
+ * @param testResults Test results, latest test first
+ */
+public record StudentTestResults(Long studentId, String studentName, int totalResults, List<MarkView> testResults) {
+}
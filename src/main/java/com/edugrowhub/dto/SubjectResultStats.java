@@ -0,0 +1,17 @@
+package com.edugrowhub.dto;
+
+/**
+ * A student's test results in one subject, aggregated in the database
+ *
+ * @param subject Subject
+ * @param testsCount Number of test results
+ * @param totalScore Sum of the scores
+ * @param totalPercentage Sum of the results' percentages
+ * @param lowestScore Lowest score
+ * @param highestScore Highest score
+ * @param passedTests Results at or above the 60% pass mark
+ * @param failingTests Results below 35%
+ */
+public record SubjectResultStats(String subject, Long testsCount, Double totalScore, Double totalPercentage,
+                                 Double lowestScore, Double highestScore, Long passedTests, Long failingTests) {
+}
@@ -0,0 +1,17 @@
+package com.edugrowhub.dto;
+
+import java.util.List;
+
+/**
+ * Page of a teacher's students, as returned by GET /students
+ *
+ * @param teacherName Teacher name
+ * @param teacherEmail Teacher email
+ * @param totalStudents All of the teacher's students
+ * @param count Students on this page
+ * @param nextCursor Cursor of the next page, or null on the last page
+ * @param students Students, in ID order
+ */
+public record TeacherStudentsPage(String teacherName, String teacherEmail, long totalStudents, int count, String nextCursor,
+                                  List<StudentListItem> students) {
+}
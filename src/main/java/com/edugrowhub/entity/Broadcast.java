@@ -0,0 +1,156 @@
+package com.edugrowhub.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Broadcast Entity
+ *
+ * An announcement sent to every student of a teacher (TEACHER scope) or to
+ * every student in the school (SYSTEM scope, sent by a superadmin).
+ * BroadcastRunner fans it out one page of students at a time, in student ID
+ * order; lastStudentId is the keyset cursor saved after each page, so an
+ * interrupted broadcast resumes where it stopped.
+ *
+ * Lifecycle:
+ * - PENDING: created, no page sent yet
+ * - RUNNING: at least one page sent; claimed by a runner while leaseUntil is in the future
+ * - COMPLETED: every student was processed
+ * - CANCELLED: stopped by the sender; pages already sent are not recalled
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Entity
+@Table(name = "broadcasts", indexes = {
+        @Index(name = "idx_broadcast_status_id", columnList = "status, id"),
+        @Index(name = "idx_broadcast_sender_created", columnList = "sender_id, created_at")
+})
+@Data
+@NoArgsConstructor
+public class Broadcast {
+
+    public static final String SCOPE_TEACHER = "TEACHER";
+    public static final String SCOPE_SYSTEM = "SYSTEM";
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_CANCELLED = "CANCELLED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "broadcast_id")
+    @TableGenerator(name = "broadcast_id", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "broadcasts", allocationSize = 50)
+    private Long id;
+
+    /**
+     * Teacher or superadmin who created the broadcast; messages are logged under this user
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "sender_id", nullable = false, foreignKey = @ForeignKey(name = "fk_broadcast_sender"))
+    private User sender;
+
+    /**
+     * TEACHER (the sender's students) or SYSTEM (all students)
+     */
+    @Column(name = "scope", nullable = false, length = 20)
+    private String scope;
+
+    @Column(name = "title", nullable = false, length = 100)
+    private String title;
+
+    @Column(name = "message", nullable = false, columnDefinition = "TEXT")
+    private String message;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    /**
+     * Highest student ID already processed (keyset cursor), 0 before the first page
+     */
+    @Column(name = "last_student_id", nullable = false)
+    private long lastStudentId;
+
+    /**
+     * Students in scope when the broadcast was created
+     */
+    @Column(name = "total_recipients", nullable = false)
+    private long totalRecipients;
+
+    @Column(name = "processed_count", nullable = false)
+    private long processedCount;
+
+    @Column(name = "sent_count", nullable = false)
+    private long sentCount;
+
+    /**
+     * First attempts that failed; retryable ones are retried from the WhatsApp log
+     */
+    @Column(name = "failed_count", nullable = false)
+    private long failedCount;
+
+    /**
+     * Messages suppressed as duplicates of one sent moments before (e.g. a page resent after a crash)
+     */
+    @Column(name = "suppressed_count", nullable = false)
+    private long suppressedCount;
+
+    /**
+     * Students without a phone number
+     */
+    @Column(name = "skipped_count", nullable = false)
+    private long skippedCount;
+
+    /**
+     * Random token of the runner that holds the broadcast
+     */
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    /**
+     * Until when the claim is held; a runner that died mid-page loses it after this
+     */
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public Broadcast(User sender, String scope, String title, String message, long totalRecipients) {
+        this.sender = sender;
+        this.scope = scope;
+        this.title = title;
+        this.message = message;
+        this.totalRecipients = totalRecipients;
+        this.status = STATUS_PENDING;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (status == null) {
+            status = STATUS_PENDING;
+        }
+    }
+
+    /**
+     * Whether the broadcast will not send any more messages
+     */
+    public boolean isFinished() {
+        return STATUS_COMPLETED.equals(status) || STATUS_CANCELLED.equals(status);
+    }
+}
@@ -0,0 +1,156 @@
+package com.edugrowhub.entity;
+
+import com.edugrowhub.service.messaging.MessageTemplates;
+import com.edugrowhub.service.messaging.RenderedMessage;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notification Outbox Entity
+ *
+ * A WhatsApp message waiting to be sent. Rows are written in the same
+ * transaction as the change that triggers them (e.g. a new test result), so a
+ * notification exists if and only if that change was committed.
+ *
+ * Lifecycle:
+ * - PENDING: written by the request, waiting for the dispatcher
+ * - PROCESSING: claimed by a dispatcher; the Twilio call is in progress
+ * - PROCESSED: handed to WhatsAppService; the outcome is in whatsAppLogId
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "idx_outbox_status_id", columnList = "status, id"),
+        @Index(name = "idx_outbox_teacher_status", columnList = "teacher_id, status")
+})
+@Data
+@NoArgsConstructor
+public class NotificationOutbox {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_PROCESSING = "PROCESSING";
+    public static final String STATUS_PROCESSED = "PROCESSED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "notification_outbox_id")
+    @TableGenerator(name = "notification_outbox_id", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "notification_outbox", allocationSize = 50)
+    private Long id;
+
+    /**
+     * Message type, one of the WhatsAppService MESSAGE_TYPE_* constants
+     */
+    @Column(name = "message_type", nullable = false, length = 50)
+    private String messageType;
+
+    /**
+     * Recipient phone number as entered on the student record
+     */
+    @Column(name = "recipient_phone", nullable = false, length = 20)
+    private String recipientPhone;
+
+    /**
+     * Message body of a free-text notification; null when the message uses a template
+     */
+    @Column(name = "message_content", columnDefinition = "TEXT")
+    private String messageContent;
+
+    /**
+     * Versioned MessageTemplates ID the message is rendered from, null for free text
+     */
+    @Column(name = "template_id", length = 50)
+    private String templateId;
+
+    /**
+     * Template parameters as a JSON array, copied to the WhatsApp log
+     */
+    @Column(name = "template_params", columnDefinition = "TEXT")
+    private String templateParams;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", foreignKey = @ForeignKey(name = "fk_outbox_student"))
+    private Student student;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "teacher_id", foreignKey = @ForeignKey(name = "fk_outbox_teacher"))
+    private User teacher;
+
+    /**
+     * Structured context copied to the WhatsApp log, e.g. {"testResultId": 12, "subject": "Maths"}
+     */
+    @Column(name = "metadata", columnDefinition = "TEXT")
+    private String metadata;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Random token of the dispatcher run that claimed this row
+     */
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    /**
+     * WhatsApp log written for this row once processed
+     */
+    @Column(name = "whatsapp_log_id")
+    private Long whatsAppLogId;
+
+    public NotificationOutbox(String messageType, String recipientPhone, RenderedMessage message,
+                              Student student, User teacher, String metadata) {
+        this.messageType = messageType;
+        this.recipientPhone = recipientPhone;
+        this.messageContent = message.isTemplated() ? null : message.text();
+        this.templateId = message.templateId();
+        this.templateParams = message.parametersJson();
+        this.student = student;
+        this.teacher = teacher;
+        this.metadata = metadata;
+        this.status = STATUS_PENDING;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * Get the message to send, rendered from its template if needed
+     */
+    public RenderedMessage toRenderedMessage() {
+        return MessageTemplates.restore(templateId, templateParams, messageContent);
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (status == null) {
+            status = STATUS_PENDING;
+        }
+    }
+
+    /**
+     * Get a masked version of the recipient phone number for responses and logs
+     *
+     * @return Masked phone number (e.g., +91***1234)
+     */
+    public String getMaskedRecipientPhone() {
+        if (recipientPhone == null || recipientPhone.length() < 6) {
+            return "***";
+        }
+        return recipientPhone.substring(0, 3) + "***" + recipientPhone.substring(recipientPhone.length() - 4);
+    }
+}
@@ -0,0 +1,71 @@
+package com.edugrowhub.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Performance Report Chunk Entity
+ *
+ * A range of student IDs within a performance-report run, and its checkpoint.
+ * A chunk is marked DONE in the same transaction that queues its reports in
+ * the notification outbox, so after a crash it is either fully queued or still
+ * PENDING and processed again.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Entity
+@Table(name = "performance_report_chunks", indexes = {
+        @Index(name = "idx_performance_report_chunk_run_status", columnList = "run_id, status")
+})
+@Data
+@NoArgsConstructor
+public class PerformanceReportChunk {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_DONE = "DONE";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "performance_report_chunk_id")
+    @TableGenerator(name = "performance_report_chunk_id", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "performance_report_chunks", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "first_student_id", nullable = false)
+    private Long firstStudentId;
+
+    @Column(name = "last_student_id", nullable = false)
+    private Long lastStudentId;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    /**
+     * Reports queued for the chunk's students (those with results and a phone number)
+     */
+    @Column(name = "report_count", nullable = false)
+    private int reportCount;
+
+    /**
+     * Time to aggregate and queue the chunk
+     */
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    public PerformanceReportChunk(Long runId, Long firstStudentId, Long lastStudentId) {
+        this.runId = runId;
+        this.firstStudentId = firstStudentId;
+        this.lastStudentId = lastStudentId;
+        this.status = STATUS_PENDING;
+    }
+}
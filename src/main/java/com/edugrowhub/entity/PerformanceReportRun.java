@@ -0,0 +1,80 @@
+package com.edugrowhub.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Performance Report Run Entity
+ *
+ * One run of the scheduled performance-report job. The students are split
+ * into PerformanceReportChunk rows when the run starts; the run stays RUNNING
+ * until every chunk is done, across restarts.
+ *
+ * activeKey is ACTIVE while the run is RUNNING and null afterwards. Its
+ * unique index allows a single running run, so instances starting the job at
+ * the same time join the same run instead of starting their own.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Entity
+@Table(name = "performance_report_runs", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_performance_report_run_active", columnNames = "active_key")
+})
+@Data
+@NoArgsConstructor
+public class PerformanceReportRun {
+
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+
+    public static final String ACTIVE = "ACTIVE";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "performance_report_run_id")
+    @TableGenerator(name = "performance_report_run_id", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "performance_report_runs", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "active_key", length = 10)
+    private String activeKey;
+
+    @Column(name = "chunk_count", nullable = false)
+    private int chunkCount;
+
+    /**
+     * Reports queued in the outbox, set when the run completes
+     */
+    @Column(name = "report_count", nullable = false)
+    private long reportCount;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    /**
+     * Wall-clock time from start to completion, including any restarts
+     */
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    @PrePersist
+    protected void onCreate() {
+        if (startedAt == null) {
+            startedAt = LocalDateTime.now();
+        }
+        if (status == null) {
+            status = STATUS_RUNNING;
+            activeKey = ACTIVE;
+        }
+    }
+}
@@ -16,8 +16,12 @@ import java.util.List;
 @AllArgsConstructor
 public class Student {
     
+    // Table-backed pooled ids keep JDBC insert batching enabled (IDENTITY disables it)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "student_id")
+    @TableGenerator(name = "student_id", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "students", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -31,6 +35,10 @@ public class Student {
     @Column(name = "password")
     private String password;
     
+    // Last password change; tokens issued before it are rejected (see PrincipalCache)
+    @Column(name = "credentials_changed_at")
+    private LocalDateTime credentialsChangedAt;
+    
     @Column(nullable = false)
     private LocalDateTime enrolledDate;
     
@@ -0,0 +1,109 @@
+package com.edugrowhub.entity;
+
+import com.edugrowhub.dto.SubjectResultStats;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Student Subject Summary Entity
+ *
+ * Running totals of one student's test results in one subject; the per-subject
+ * rows of a StudentSummary.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Entity
+@Table(name = "student_subject_summaries", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_student_subject_summary", columnNames = {"student_id", "subject"})
+})
+@Data
+@NoArgsConstructor
+public class StudentSubjectSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "student_subject_summary_id")
+    @TableGenerator(name = "student_subject_summary_id", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "student_subject_summaries", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(name = "tests_count", nullable = false)
+    private long testsCount;
+
+    @Column(name = "total_score", nullable = false)
+    private double totalScore;
+
+    @Column(name = "total_percentage", nullable = false)
+    private double totalPercentage;
+
+    @Column(name = "passed_tests", nullable = false)
+    private long passedTests;
+
+    @Column(name = "failing_tests", nullable = false)
+    private long failingTests;
+
+    public StudentSubjectSummary(Long studentId, String subject) {
+        this.studentId = studentId;
+        this.subject = subject;
+    }
+
+    /**
+     * Add a result to the totals
+     */
+    public void add(TestResult testResult) {
+        testsCount++;
+        totalScore += testResult.getScore();
+        totalPercentage += testResult.getPercentage();
+        if (testResult.isPassed()) {
+            passedTests++;
+        }
+        if (testResult.getPercentage() < TestResult.FAILING_PERCENTAGE) {
+            failingTests++;
+        }
+    }
+
+    /**
+     * Remove a result, as it was counted, from the totals
+     */
+    public void subtract(TestResult testResult) {
+        testsCount--;
+        totalScore -= testResult.getScore();
+        totalPercentage -= testResult.getPercentage();
+        if (testResult.isPassed()) {
+            passedTests--;
+        }
+        if (testResult.getPercentage() < TestResult.FAILING_PERCENTAGE) {
+            failingTests--;
+        }
+    }
+
+    /**
+     * Replace the totals with the subject's aggregates
+     */
+    public void reset(SubjectResultStats stats) {
+        testsCount = stats.testsCount();
+        totalScore = stats.totalScore();
+        totalPercentage = stats.totalPercentage();
+        passedTests = stats.passedTests();
+        failingTests = stats.failingTests();
+    }
+
+    /**
+     * Add another group of the subject's aggregates to the totals
+     */
+    public void merge(SubjectResultStats stats) {
+        testsCount += stats.testsCount();
+        totalScore += stats.totalScore();
+        totalPercentage += stats.totalPercentage();
+        passedTests += stats.passedTests();
+        failingTests += stats.failingTests();
+    }
+}
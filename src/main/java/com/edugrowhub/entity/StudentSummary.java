@@ -0,0 +1,173 @@
+package com.edugrowhub.entity;
+
+import com.edugrowhub.dto.SubjectResultStats;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Student Summary Entity
+ *
+ * Running totals of one student's test results, keyed by student ID, with one
+ * StudentSubjectSummary per subject. Maintained by StudentSummaryService in
+ * the transaction that adds, edits or deletes a result, so the student report
+ * is a primary-key lookup instead of an aggregate over test_results.
+ *
+ * Percentages follow TestResult.getPercentage(); the best and worst results
+ * are the highest and lowest percentage, the lower ID winning a tie.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Entity
+@Table(name = "student_summaries")
+@Data
+@NoArgsConstructor
+public class StudentSummary {
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    @Column(name = "tests_count", nullable = false)
+    private long testsCount;
+
+    @Column(name = "total_score", nullable = false)
+    private double totalScore;
+
+    @Column(name = "total_percentage", nullable = false)
+    private double totalPercentage;
+
+    @Column(name = "min_score")
+    private Double minScore;
+
+    @Column(name = "max_score")
+    private Double maxScore;
+
+    /**
+     * Results at or above the 60% pass mark
+     */
+    @Column(name = "passed_tests", nullable = false)
+    private long passedTests;
+
+    /**
+     * Results below 35%
+     */
+    @Column(name = "failing_tests", nullable = false)
+    private long failingTests;
+
+    @Column(name = "best_result_id")
+    private Long bestResultId;
+
+    @Column(name = "best_percentage")
+    private Double bestPercentage;
+
+    @Column(name = "worst_result_id")
+    private Long worstResultId;
+
+    @Column(name = "worst_percentage")
+    private Double worstPercentage;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public StudentSummary(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    /**
+     * Add a result to the totals
+     */
+    public void add(TestResult testResult) {
+        double score = testResult.getScore();
+        double percentage = testResult.getPercentage();
+        testsCount++;
+        totalScore += score;
+        totalPercentage += percentage;
+        if (testResult.isPassed()) {
+            passedTests++;
+        }
+        if (percentage < TestResult.FAILING_PERCENTAGE) {
+            failingTests++;
+        }
+        minScore = minScore == null ? score : Math.min(minScore, score);
+        maxScore = maxScore == null ? score : Math.max(maxScore, score);
+        if (bestResultId == null || percentage > bestPercentage
+                || (percentage == bestPercentage && testResult.getId() < bestResultId)) {
+            bestResultId = testResult.getId();
+            bestPercentage = percentage;
+        }
+        if (worstResultId == null || percentage < worstPercentage
+                || (percentage == worstPercentage && testResult.getId() < worstResultId)) {
+            worstResultId = testResult.getId();
+            worstPercentage = percentage;
+        }
+    }
+
+    /**
+     * Remove a result from the totals
+     *
+     * Only valid if the result is not an extreme (see isExtreme); removing an
+     * extreme needs the summary recomputed to find the next one.
+     *
+     * @param testResult The result as it was counted
+     */
+    public void subtract(TestResult testResult) {
+        testsCount--;
+        totalScore -= testResult.getScore();
+        totalPercentage -= testResult.getPercentage();
+        if (testResult.isPassed()) {
+            passedTests--;
+        }
+        if (testResult.getPercentage() < TestResult.FAILING_PERCENTAGE) {
+            failingTests--;
+        }
+    }
+
+    /**
+     * Whether the result is the best or worst result or holds the lowest or highest score
+     */
+    public boolean isExtreme(TestResult testResult) {
+        return testResult.getId().equals(bestResultId) || testResult.getId().equals(worstResultId)
+                || testResult.getScore().equals(minScore) || testResult.getScore().equals(maxScore);
+    }
+
+    /**
+     * Replace the totals with the student's per-subject aggregates
+     *
+     * @param subjects Aggregates of every subject the student has results in
+     * @param best Result with the highest percentage
+     * @param worst Result with the lowest percentage
+     */
+    public void reset(List<SubjectResultStats> subjects, TestResult best, TestResult worst) {
+        testsCount = 0;
+        totalScore = 0;
+        totalPercentage = 0;
+        passedTests = 0;
+        failingTests = 0;
+        minScore = null;
+        maxScore = null;
+        for (SubjectResultStats stats : subjects) {
+            testsCount += stats.testsCount();
+            totalScore += stats.totalScore();
+            totalPercentage += stats.totalPercentage();
+            passedTests += stats.passedTests();
+            failingTests += stats.failingTests();
+            minScore = minScore == null ? stats.lowestScore() : Math.min(minScore, stats.lowestScore());
+            maxScore = maxScore == null ? stats.highestScore() : Math.max(maxScore, stats.highestScore());
+        }
+        bestResultId = best.getId();
+        bestPercentage = best.getPercentage();
+        worstResultId = worst.getId();
+        worstPercentage = worst.getPercentage();
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -8,14 +8,23 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "test_results")
+@Table(name = "test_results", indexes = {
+        @Index(name = "idx_test_result_student_date", columnList = "student_id, test_date, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class TestResult {
     
+    // Results below this percentage count as failing in reports
+    public static final double FAILING_PERCENTAGE = 35.0;
+    
+    // Table-backed pooled ids keep JDBC insert batching enabled (IDENTITY disables it)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "test_result_id")
+    @TableGenerator(name = "test_result_id", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "test_results", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -27,7 +36,7 @@ public class TestResult {
     @Column(nullable = false)
     private Double maxScore;
     
-    @Column(nullable = false)
+    @Column(name = "test_date", nullable = false)
     private LocalDate testDate;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -46,6 +55,11 @@ public class TestResult {
     // Calculated property for percentage
     @Transient
     public Double getPercentage() {
+        return percentageOf(score, maxScore);
+    }
+    
+    // Percentage of a score, also used by projections that do not load the entity
+    public static double percentageOf(Double score, Double maxScore) {
         if (maxScore != null && maxScore > 0) {
             return (score / maxScore) * 100;
         }
@@ -55,7 +69,11 @@ public class TestResult {
     // Calculated property for grade
     @Transient
     public String getGrade() {
-        Double percentage = getPercentage();
+        return gradeFor(getPercentage());
+    }
+    
+    // Letter grade for a percentage, also used for overall grades of averaged results
+    public static String gradeFor(double percentage) {
         if (percentage >= 90) return "A";
         else if (percentage >= 80) return "B";
         else if (percentage >= 70) return "C";
@@ -66,6 +84,11 @@ public class TestResult {
     // Calculated property for pass status
     @Transient
     public Boolean isPassed() {
-        return getPercentage() >= 60; // Assuming 60% is passing grade
+        return passedFor(getPercentage());
+    }
+    
+    // Pass status for a percentage
+    public static boolean passedFor(double percentage) {
+        return percentage >= 60; // Assuming 60% is passing grade
     }
 }
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -15,8 +16,12 @@ import java.util.List;
 @AllArgsConstructor
 public class User {
     
+    // Table-backed pooled ids keep JDBC insert batching enabled (IDENTITY disables it)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "user_id")
+    @TableGenerator(name = "user_id", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "users", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -35,6 +40,10 @@ public class User {
     @Column(nullable = false)
     private Role role;
     
+    // Last password or role change; tokens issued before it are rejected (see PrincipalCache)
+    @Column(name = "credentials_changed_at")
+    private LocalDateTime credentialsChangedAt;
+    
     // One teacher can have many students
     @OneToMany(mappedBy = "teacher", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Student> students = new ArrayList<>();
@@ -1,5 +1,6 @@
 package com.edugrowhub.entity;
 
+import com.edugrowhub.service.messaging.MessageTemplates;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -18,12 +19,21 @@ import java.time.LocalDateTime;
  * - Tracks message metadata including recipient, content, and delivery status
  * - Provides audit trail for compliance and troubleshooting
  * - Links messages to specific students for better tracking
+ * - Holds recent messages only; finished messages older than
+ *   whatsapp.archive.hot-retention are moved to WhatsAppLogArchive
  * 
  * @author EduGrowHub Development Team
  * @version 1.0
  */
 @Entity
-@Table(name = "whatsapp_logs")
+@Table(name = "whatsapp_logs", indexes = {
+        @Index(name = "idx_whatsapp_log_phone_type_sent", columnList = "recipient_phone, message_type, sent_at"),
+        @Index(name = "idx_whatsapp_log_status_next_attempt", columnList = "message_status, next_attempt_at"),
+        @Index(name = "idx_whatsapp_log_twilio_sid", columnList = "twilio_message_sid"),
+        @Index(name = "idx_whatsapp_log_sent_at", columnList = "sent_at"),
+        @Index(name = "idx_whatsapp_log_teacher_sent", columnList = "teacher_id, sent_at, id"),
+        @Index(name = "idx_whatsapp_log_student_sent", columnList = "student_id, sent_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -31,10 +41,14 @@ public class WhatsAppLog {
 
     /**
      * Primary key for the WhatsApp log entry
-     * Auto-generated using database identity strategy
+     * Allocated in pooled blocks from the id_generators table so log
+     * inserts can be batched
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "whatsapp_log_id")
+    @TableGenerator(name = "whatsapp_log_id", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "whatsapp_logs", allocationSize = 50)
     private Long id;
 
     /**
@@ -50,14 +64,31 @@ public class WhatsAppLog {
      * Content of the WhatsApp message that was sent
      * Stored as TEXT to accommodate longer messages
      * 
-     * Required field for tracking message content
+     * Null for messages built from a registered template; use getRenderedContent
+     * to read the text of any entry
      */
-    @Column(name = "message_content", nullable = false, columnDefinition = "TEXT")
+    @Column(name = "message_content", columnDefinition = "TEXT")
     private String messageContent;
 
+    /**
+     * Versioned ID of the MessageTemplates template the message was rendered from
+     * e.g. "test_result.v1"; null for free-text messages
+     */
+    @Column(name = "template_id", length = 50)
+    private String templateId;
+
+    /**
+     * Template parameters as a JSON array, in the template's declared order
+     * e.g. ["Asha", "Mathematics", 78.0, 100.0, 78.0, "B", "PASSED"]
+     */
+    @Column(name = "template_params", columnDefinition = "TEXT")
+    private String templateParams;
+
     /**
      * Status of the message delivery
-     * Possible values: SENT, FAILED, PENDING, DELIVERED, READ
+     * Possible values: SENT, FAILED, RETRYING, DEAD, PENDING, DELIVERED, READ, UNDELIVERED
+     * (RETRYING while the retry scheduler resends it, DEAD once retries are exhausted;
+     * DELIVERED, READ and UNDELIVERED come from Twilio status callbacks)
      * 
      * Required field with maximum length of 20 characters
      */
@@ -66,7 +97,7 @@ public class WhatsAppLog {
 
     /**
      * Twilio Message SID (unique identifier from Twilio)
-     * Used for tracking message status and troubleshooting
+     * Used for tracking message status and troubleshooting; indexed for status callbacks
      * 
      * Optional field as it may not be available for failed messages
      */
@@ -130,6 +161,22 @@ public class WhatsAppLog {
     @Column(name = "metadata", columnDefinition = "TEXT")
     private String metadata;
 
+    /**
+     * Number of send attempts made for this message, including the first
+     * Retries update this row rather than adding a new one
+     */
+    @Column(name = "attempt_count", nullable = false)
+    private int attemptCount = 1;
+
+    /**
+     * When the retry scheduler should next try a FAILED message
+     * 
+     * Null when no automatic retry is planned (sent, permanent failure or dead-lettered).
+     * While the message is RETRYING, holds the end of the scheduler's claim.
+     */
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
     /**
      * Constructor for creating a WhatsApp log entry
      * 
@@ -179,13 +226,22 @@ public class WhatsAppLog {
         }
     }
 
+    /**
+     * Get the text of the message, rendering it from its template if needed
+     * 
+     * @return Message text as sent
+     */
+    public String getRenderedContent() {
+        return MessageTemplates.restore(templateId, templateParams, messageContent).text();
+    }
+
     /**
      * Check if the message was successfully sent
      * 
-     * @return true if message status is SENT or DELIVERED, false otherwise
+     * @return true if message status is SENT, DELIVERED or READ, false otherwise
      */
     public boolean isSuccessful() {
-        return "SENT".equals(messageStatus) || "DELIVERED".equals(messageStatus);
+        return "SENT".equals(messageStatus) || "DELIVERED".equals(messageStatus) || "READ".equals(messageStatus);
     }
 
     /**
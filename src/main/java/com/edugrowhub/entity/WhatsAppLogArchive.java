@@ -0,0 +1,71 @@
+package com.edugrowhub.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * WhatsApp Log Archive Entity
+ *
+ * A compressed chunk of WhatsApp log rows moved out of whatsapp_logs by
+ * WhatsAppLogArchiveService. The rows are stored as gzip-compressed
+ * newline-delimited JSON, one ArchivedWhatsAppLog per line. Each chunk holds
+ * rows from a single calendar month, and the sent_at range is kept
+ * uncompressed so lookups only inflate the chunks that overlap the requested range.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Entity
+@Table(name = "whatsapp_log_archive", indexes = {
+        @Index(name = "idx_whatsapp_archive_first_sent", columnList = "first_sent_at"),
+        @Index(name = "idx_whatsapp_archive_last_sent", columnList = "last_sent_at")
+})
+@Data
+@NoArgsConstructor
+public class WhatsAppLogArchive {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "whatsapp_log_archive_id")
+    @TableGenerator(name = "whatsapp_log_archive_id", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "whatsapp_log_archive", allocationSize = 50)
+    private Long id;
+
+    /**
+     * Calendar month of the rows in this chunk, e.g. "2026-03"
+     */
+    @Column(name = "archive_month", nullable = false, length = 7)
+    private String archiveMonth;
+
+    @Column(name = "first_sent_at", nullable = false)
+    private LocalDateTime firstSentAt;
+
+    @Column(name = "last_sent_at", nullable = false)
+    private LocalDateTime lastSentAt;
+
+    @Column(name = "row_count", nullable = false)
+    private int rowCount;
+
+    /**
+     * Gzip-compressed NDJSON of the archived rows
+     */
+    @Lob
+    @Column(name = "payload", nullable = false)
+    private byte[] payload;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    public WhatsAppLogArchive(String archiveMonth, LocalDateTime firstSentAt, LocalDateTime lastSentAt,
+                              int rowCount, byte[] payload) {
+        this.archiveMonth = archiveMonth;
+        this.firstSentAt = firstSentAt;
+        this.lastSentAt = lastSentAt;
+        this.rowCount = rowCount;
+        this.payload = payload;
+        this.archivedAt = LocalDateTime.now();
+    }
+}
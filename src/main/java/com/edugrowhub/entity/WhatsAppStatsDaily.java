@@ -0,0 +1,69 @@
+package com.edugrowhub.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * WhatsApp Statistics Rollup Entity
+ *
+ * Number of WhatsApp messages per (teacher, day sent, message type, status).
+ * Maintained incrementally by MessageStatsBuffer as messages are logged,
+ * retried and updated by Twilio status callbacks, so statistics never scan
+ * whatsapp_logs. Counts survive log archival.
+ *
+ * Messages without a teacher are counted under teacher ID 0, and a message
+ * being retried (RETRYING) is still counted as FAILED.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Entity
+@Table(name = "whatsapp_stats_daily")
+@IdClass(WhatsAppStatsDaily.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WhatsAppStatsDaily {
+
+    /**
+     * Teacher ID used for messages not sent on behalf of a teacher
+     */
+    public static final long NO_TEACHER = 0L;
+
+    @Id
+    @Column(name = "teacher_id", nullable = false)
+    private Long teacherId;
+
+    @Id
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Id
+    @Column(name = "message_type", nullable = false, length = 50)
+    private String messageType;
+
+    @Id
+    @Column(name = "message_status", nullable = false, length = 20)
+    private String messageStatus;
+
+    @Column(name = "message_count", nullable = false)
+    private long messageCount;
+
+    /**
+     * Composite primary key
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long teacherId;
+        private LocalDate statDate;
+        private String messageType;
+        private String messageStatus;
+    }
+}
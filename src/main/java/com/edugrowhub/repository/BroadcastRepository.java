@@ -0,0 +1,106 @@
+package com.edugrowhub.repository;
+
+import com.edugrowhub.entity.Broadcast;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for broadcast announcements
+ *
+ * A runner claims a broadcast for one page with a conditional UPDATE on its
+ * lease, so several application instances never send the same page at once.
+ * Progress updates only apply while the runner still holds its claim token.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Repository
+public interface BroadcastRepository extends JpaRepository<Broadcast, Long> {
+
+    /**
+     * Unfinished broadcasts no runner currently holds, oldest first
+     */
+    @Query("SELECT b.id FROM Broadcast b WHERE b.status IN ('PENDING', 'RUNNING') " +
+           "AND (b.leaseUntil IS NULL OR b.leaseUntil < :now) ORDER BY b.id")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Claim a broadcast for one page
+     *
+     * @return 1 if claimed, 0 if another runner holds it or it has finished
+     */
+    @Modifying
+    @Query("UPDATE Broadcast b SET b.status = 'RUNNING', b.claimToken = :claimToken, b.leaseUntil = :leaseUntil, " +
+           "b.startedAt = COALESCE(b.startedAt, :now) " +
+           "WHERE b.id = :id AND b.status IN ('PENDING', 'RUNNING') AND (b.leaseUntil IS NULL OR b.leaseUntil < :now)")
+    int claim(@Param("id") Long id, @Param("claimToken") String claimToken,
+              @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Claimed broadcast with its sender loaded
+     */
+    @Query("SELECT b FROM Broadcast b JOIN FETCH b.sender WHERE b.id = :id AND b.claimToken = :claimToken")
+    Optional<Broadcast> findClaimed(@Param("id") Long id, @Param("claimToken") String claimToken);
+
+    /**
+     * Save the cursor and outcome counts of a finished page and release the claim
+     *
+     * @param status RUNNING, or COMPLETED after the last page
+     * @param completedAt Completion time after the last page, otherwise null
+     * @return 1 if recorded, 0 if the claim was lost or the broadcast was cancelled meanwhile
+     */
+    @Modifying
+    @Query("UPDATE Broadcast b SET b.lastStudentId = :lastStudentId, " +
+           "b.processedCount = b.processedCount + :sent + :failed + :suppressed + :skipped, " +
+           "b.sentCount = b.sentCount + :sent, b.failedCount = b.failedCount + :failed, " +
+           "b.suppressedCount = b.suppressedCount + :suppressed, b.skippedCount = b.skippedCount + :skipped, " +
+           "b.status = :status, b.completedAt = :completedAt, " +
+           "b.claimToken = NULL, b.leaseUntil = NULL " +
+           "WHERE b.id = :id AND b.claimToken = :claimToken AND b.status = 'RUNNING'")
+    int recordPage(@Param("id") Long id, @Param("claimToken") String claimToken,
+                   @Param("lastStudentId") long lastStudentId,
+                   @Param("sent") long sent, @Param("failed") long failed,
+                   @Param("suppressed") long suppressed, @Param("skipped") long skipped,
+                   @Param("status") String status, @Param("completedAt") LocalDateTime completedAt);
+
+    /**
+     * Extend the lease of a claimed broadcast while its page is being sent
+     *
+     * @return 1 if extended, 0 if the claim was lost or the broadcast cancelled
+     */
+    @Modifying
+    @Query("UPDATE Broadcast b SET b.leaseUntil = :leaseUntil " +
+           "WHERE b.id = :id AND b.claimToken = :claimToken AND b.status = 'RUNNING'")
+    int renewClaim(@Param("id") Long id, @Param("claimToken") String claimToken,
+                   @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Give up a claim without recording a page
+     */
+    @Modifying
+    @Query("UPDATE Broadcast b SET b.claimToken = NULL, b.leaseUntil = NULL " +
+           "WHERE b.id = :id AND b.claimToken = :claimToken")
+    int release(@Param("id") Long id, @Param("claimToken") String claimToken);
+
+    /**
+     * Stop an unfinished broadcast; messages of a page already being sent still go out
+     *
+     * @return 1 if cancelled, 0 if not found for this sender or already finished
+     */
+    @Modifying
+    @Query("UPDATE Broadcast b SET b.status = 'CANCELLED', b.completedAt = :now " +
+           "WHERE b.id = :id AND b.sender.id = :senderId AND b.status IN ('PENDING', 'RUNNING')")
+    int cancel(@Param("id") Long id, @Param("senderId") Long senderId, @Param("now") LocalDateTime now);
+
+    Optional<Broadcast> findByIdAndSender_Id(Long id, Long senderId);
+
+    List<Broadcast> findBySender_IdOrderByCreatedAtDesc(Long senderId, Pageable pageable);
+}
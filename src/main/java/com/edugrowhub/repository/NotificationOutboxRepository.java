@@ -0,0 +1,91 @@
+package com.edugrowhub.repository;
+
+import com.edugrowhub.entity.NotificationOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for the WhatsApp notification outbox
+ *
+ * Rows are claimed with a conditional UPDATE (status = 'PENDING') so that
+ * several application instances can drain the same table without sending a
+ * message twice.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    /**
+     * Oldest pending rows, candidates for the next claim
+     *
+     * Test results are only due once they are older than the coalescing cutoff,
+     * so results entered together can be sent as one digest.
+     */
+    @Query("SELECT o.id FROM NotificationOutbox o WHERE o.status = 'PENDING' " +
+           "AND (o.messageType <> 'TEST_RESULT' OR o.createdAt <= :coalesceCutoff) ORDER BY o.id")
+    List<Long> findPendingIds(@Param("coalesceCutoff") LocalDateTime coalesceCutoff, Pageable pageable);
+
+    /**
+     * Claim pending rows for one dispatcher run
+     *
+     * @return Number of rows actually claimed; rows claimed by another run are skipped
+     */
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.status = 'PROCESSING', o.claimToken = :claimToken, o.claimedAt = :now " +
+           "WHERE o.id IN :ids AND o.status = 'PENDING'")
+    int claim(@Param("ids") Collection<Long> ids, @Param("claimToken") String claimToken, @Param("now") LocalDateTime now);
+
+    /**
+     * Claim the other pending test results for recipients already in a dispatcher run
+     *
+     * @return Number of rows claimed
+     */
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.status = 'PROCESSING', o.claimToken = :claimToken, o.claimedAt = :now " +
+           "WHERE o.recipientPhone IN :phones AND o.messageType = 'TEST_RESULT' AND o.status = 'PENDING'")
+    int claimTestResultCompanions(@Param("phones") Collection<String> phones, @Param("claimToken") String claimToken,
+                                  @Param("now") LocalDateTime now);
+
+    /**
+     * Rows claimed by a dispatcher run, with student and teacher loaded
+     */
+    @Query("SELECT o FROM NotificationOutbox o LEFT JOIN FETCH o.student LEFT JOIN FETCH o.teacher " +
+           "WHERE o.claimToken = :claimToken AND o.status = 'PROCESSING' ORDER BY o.id")
+    List<NotificationOutbox> findClaimed(@Param("claimToken") String claimToken);
+
+    /**
+     * Mark a claimed row as processed and link the WhatsApp log written for it
+     */
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.status = 'PROCESSED', o.processedAt = :now, o.whatsAppLogId = :logId " +
+           "WHERE o.id = :id AND o.claimToken = :claimToken")
+    int markProcessed(@Param("id") Long id, @Param("claimToken") String claimToken,
+                      @Param("logId") Long logId, @Param("now") LocalDateTime now);
+
+    /**
+     * Return rows whose dispatcher died mid-run to the queue
+     */
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.status = 'PENDING', o.claimToken = NULL, o.claimedAt = NULL " +
+           "WHERE o.status = 'PROCESSING' AND o.claimedAt < :cutoff")
+    int releaseStaleClaims(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Messages a teacher triggered that have not been sent yet
+     */
+    @Query("SELECT o FROM NotificationOutbox o LEFT JOIN FETCH o.student " +
+           "WHERE o.teacher.id = :teacherId AND o.status IN ('PENDING', 'PROCESSING') ORDER BY o.id")
+    List<NotificationOutbox> findUnsentByTeacherId(@Param("teacherId") Long teacherId);
+
+    long countByStatus(String status);
+}
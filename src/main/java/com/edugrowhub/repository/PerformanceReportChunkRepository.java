@@ -0,0 +1,55 @@
+package com.edugrowhub.repository;
+
+import com.edugrowhub.entity.PerformanceReportChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for performance-report chunks (the job's checkpoints)
+ *
+ * A chunk is claimed by setting it DONE at the start of the transaction that
+ * queues its reports. The row lock taken by that update makes a concurrent
+ * claim on another instance wait, then find the chunk already DONE; if the
+ * transaction rolls back the chunk is PENDING again.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Repository
+public interface PerformanceReportChunkRepository extends JpaRepository<PerformanceReportChunk, Long> {
+
+    /**
+     * IDs of a run's chunks still to be processed, in student order
+     */
+    @Query("SELECT c.id FROM PerformanceReportChunk c WHERE c.runId = :runId AND c.status = 'PENDING' ORDER BY c.firstStudentId")
+    List<Long> findPendingIds(@Param("runId") Long runId);
+
+    /**
+     * Claim a pending chunk for the current transaction
+     *
+     * @return 1 if claimed, 0 if it was already processed
+     */
+    @Modifying
+    @Query("UPDATE PerformanceReportChunk c SET c.status = 'DONE', c.processedAt = :now " +
+           "WHERE c.id = :id AND c.status = 'PENDING'")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Record what a claimed chunk queued
+     */
+    @Modifying
+    @Query("UPDATE PerformanceReportChunk c SET c.reportCount = :reportCount, c.durationMs = :durationMs WHERE c.id = :id")
+    int recordOutcome(@Param("id") Long id, @Param("reportCount") int reportCount, @Param("durationMs") long durationMs);
+
+    /**
+     * Reports queued by a run's processed chunks
+     */
+    @Query("SELECT COALESCE(SUM(c.reportCount), 0) FROM PerformanceReportChunk c WHERE c.runId = :runId")
+    long sumReportCount(@Param("runId") Long runId);
+}
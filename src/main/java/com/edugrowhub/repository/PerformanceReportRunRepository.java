@@ -0,0 +1,39 @@
+package com.edugrowhub.repository;
+
+import com.edugrowhub.entity.PerformanceReportRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository for performance-report job runs
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Repository
+public interface PerformanceReportRunRepository extends JpaRepository<PerformanceReportRun, Long> {
+
+    /**
+     * The run still in progress, if any
+     */
+    Optional<PerformanceReportRun> findByActiveKey(String activeKey);
+
+    /**
+     * Mark a run completed once none of its chunks is pending
+     *
+     * @return 1 if completed, 0 if chunks are still pending or another instance completed it
+     */
+    @Modifying
+    @Query("UPDATE PerformanceReportRun r SET r.status = 'COMPLETED', r.activeKey = NULL, r.reportCount = :reportCount, " +
+           "r.completedAt = :now, r.durationMs = :durationMs " +
+           "WHERE r.id = :id AND r.status = 'RUNNING' AND NOT EXISTS " +
+           "(SELECT c.id FROM PerformanceReportChunk c WHERE c.runId = :id AND c.status = 'PENDING')")
+    int complete(@Param("id") Long id, @Param("reportCount") long reportCount,
+                 @Param("durationMs") long durationMs, @Param("now") LocalDateTime now);
+}
@@ -1,13 +1,19 @@
 package com.edugrowhub.repository;
 
+import com.edugrowhub.dto.StudentListItem;
+import com.edugrowhub.dto.StudentProfile;
 import com.edugrowhub.entity.Student;
 import com.edugrowhub.entity.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,12 +23,48 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     // Find student by email
     Optional<Student> findByEmail(String email);
     
+    // Find student by email with the teacher loaded in the same query (used by login)
+    @Query("SELECT s FROM Student s LEFT JOIN FETCH s.teacher WHERE s.email = :email")
+    Optional<Student> findByEmailWithTeacher(@Param("email") String email);
+    
     // Find all students enrolled by a specific teacher
     List<Student> findByTeacher(User teacher);
     
     // Find all students enrolled by a specific teacher ID
     List<Student> findByTeacherId(Long teacherId);
     
+    // Next page of a teacher's students after a student ID (keyset paging on the teacher_id index)
+    List<Student> findByTeacherIdAndIdGreaterThanOrderByIdAsc(Long teacherId, Long afterId, Pageable pageable);
+    
+    // Next page of a teacher's students as listed to the teacher, after a student ID
+    @Query("SELECT new com.edugrowhub.dto.StudentListItem(s.id, s.name, s.email, s.enrolledDate) " +
+           "FROM Student s WHERE s.teacher.id = :teacherId AND s.id > :afterId ORDER BY s.id")
+    List<StudentListItem> findListItemsByTeacherId(@Param("teacherId") Long teacherId, @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+    
+    // A student as listed, by email
+    @Query("SELECT new com.edugrowhub.dto.StudentListItem(s.id, s.name, s.email, s.enrolledDate) " +
+           "FROM Student s WHERE s.email = :email")
+    Optional<StudentListItem> findListItemByEmail(@Param("email") String email);
+    
+    // A student's profile with their teacher and test result count, in one query
+    @Query("SELECT new com.edugrowhub.dto.StudentProfile(s.id, s.name, s.email, s.phoneNumber, s.enrolledDate, " +
+           "t.id, t.name, t.email, (SELECT COUNT(tr) FROM TestResult tr WHERE tr.student.id = s.id)) " +
+           "FROM Student s JOIN s.teacher t WHERE s.email = :email")
+    Optional<StudentProfile> findProfileByEmail(@Param("email") String email);
+    
+    // Next page of all students after a student ID (keyset paging on the primary key)
+    List<Student> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+    
+    // Next page of student IDs after a student ID (keyset paging on the primary key)
+    @Query("SELECT s.id FROM Student s WHERE s.id > :afterId ORDER BY s.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // Lock students for the rest of the transaction, in ID order so concurrent lockers cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Student s WHERE s.id IN :studentIds ORDER BY s.id")
+    List<Student> lockByIds(@Param("studentIds") Collection<Long> studentIds);
+    
     // Find students by name containing (case insensitive)
     List<Student> findByNameContainingIgnoreCase(String name);
     
@@ -45,6 +87,10 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     @Query("SELECT s FROM Student s JOIN FETCH s.teacher WHERE s.teacher.id = :teacherId")
     List<Student> findStudentsWithTeacherByTeacherId(@Param("teacherId") Long teacherId);
     
+    // Ownership check for a whole set of students in one query
+    @Query("SELECT s FROM Student s WHERE s.teacher.id = :teacherId AND s.id IN :studentIds")
+    List<Student> findByTeacherIdAndIdIn(@Param("teacherId") Long teacherId, @Param("studentIds") Collection<Long> studentIds);
+    
     // Find students by teacher email
     @Query("SELECT s FROM Student s WHERE s.teacher.email = :teacherEmail")
     List<Student> findByTeacherEmail(@Param("teacherEmail") String teacherEmail);
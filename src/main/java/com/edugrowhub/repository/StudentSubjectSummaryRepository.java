@@ -0,0 +1,22 @@
+package com.edugrowhub.repository;
+
+import com.edugrowhub.entity.StudentSubjectSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for per-subject rows of the student summaries
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Repository
+public interface StudentSubjectSummaryRepository extends JpaRepository<StudentSubjectSummary, Long> {
+
+    /**
+     * A student's subject rows, by subject name
+     */
+    List<StudentSubjectSummary> findByStudentIdOrderBySubjectAsc(Long studentId);
+}
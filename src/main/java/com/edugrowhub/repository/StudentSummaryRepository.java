@@ -0,0 +1,15 @@
+package com.edugrowhub.repository;
+
+import com.edugrowhub.entity.StudentSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for per-student test result summaries, keyed by student ID
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Repository
+public interface StudentSummaryRepository extends JpaRepository<StudentSummary, Long> {
+}
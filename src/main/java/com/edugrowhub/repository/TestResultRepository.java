@@ -1,7 +1,11 @@
 package com.edugrowhub.repository;
 
+import com.edugrowhub.dto.MarkView;
+import com.edugrowhub.dto.StudentPerformanceSummary;
+import com.edugrowhub.dto.SubjectResultStats;
 import com.edugrowhub.entity.Student;
 import com.edugrowhub.entity.TestResult;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,7 +16,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TestResultRepository extends JpaRepository<TestResult, Long> {
+public interface TestResultRepository extends JpaRepository<TestResult, Long>, TestResultRepositoryCustom {
     
     // Find all test results for a specific student
     List<TestResult> findByStudent(Student student);
@@ -52,6 +56,20 @@ public interface TestResultRepository extends JpaRepository<TestResult, Long> {
     
     // Find test results by student ID ordered by test date descending
     List<TestResult> findByStudentIdOrderByTestDateDesc(Long studentId);
+
+    // A student's marks, latest first (keyset order: test date, then ID); only the listed columns are selected
+    @Query("SELECT new com.edugrowhub.dto.MarkView(tr.id, tr.subject, tr.score, tr.maxScore, tr.testDate) " +
+           "FROM TestResult tr WHERE tr.student.id = :studentId " +
+           "ORDER BY tr.testDate DESC, tr.id DESC")
+    List<MarkView> findMarksByStudentId(@Param("studentId") Long studentId, Pageable pageable);
+
+    // Next page of a student's marks after the last (test date, ID) of the previous page
+    @Query("SELECT new com.edugrowhub.dto.MarkView(tr.id, tr.subject, tr.score, tr.maxScore, tr.testDate) " +
+           "FROM TestResult tr WHERE tr.student.id = :studentId " +
+           "AND (tr.testDate < :testDate OR (tr.testDate = :testDate AND tr.id < :id)) " +
+           "ORDER BY tr.testDate DESC, tr.id DESC")
+    List<MarkView> findMarksByStudentIdBefore(@Param("studentId") Long studentId, @Param("testDate") LocalDate testDate,
+                                              @Param("id") Long id, Pageable pageable);
     
     // Find latest test result for a student in a specific subject
     Optional<TestResult> findFirstByStudentAndSubjectOrderByTestDateDesc(Student student, String subject);
@@ -62,6 +80,9 @@ public interface TestResultRepository extends JpaRepository<TestResult, Long> {
     // Count test results by student ID
     long countByStudentId(Long studentId);
     
+    // Whether a student has any test result
+    boolean existsByStudentId(Long studentId);
+    
     // Count test results by subject
     long countBySubject(String subject);
     
@@ -101,6 +122,35 @@ public interface TestResultRepository extends JpaRepository<TestResult, Long> {
     @Query("SELECT tr FROM TestResult tr WHERE tr.testDate >= :date ORDER BY tr.testDate DESC")
     List<TestResult> findRecentTestResults(@Param("date") LocalDate date);
     
+    // Performance summaries of every student in an ID range with at least one result, aggregated in one query
+    @Query("SELECT new com.edugrowhub.dto.StudentPerformanceSummary(s.id, s.name, s.phoneNumber, s.teacher.id, COUNT(tr), " +
+           "AVG(CASE WHEN tr.maxScore > 0 THEN tr.score * 100.0 / tr.maxScore ELSE 0.0 END), " +
+           "SUM(CASE WHEN tr.maxScore > 0 AND tr.score * 100.0 >= tr.maxScore * 60 THEN 1 ELSE 0 END)) " +
+           "FROM TestResult tr JOIN tr.student s WHERE s.id BETWEEN :firstStudentId AND :lastStudentId " +
+           "GROUP BY s.id, s.name, s.phoneNumber, s.teacher.id ORDER BY s.id")
+    List<StudentPerformanceSummary> summarizeStudentsBetween(@Param("firstStudentId") Long firstStudentId,
+                                                             @Param("lastStudentId") Long lastStudentId);
+    
+    // Per-subject aggregates of a student's results for the student report, in one query
+    // (integer literals keep the arithmetic in DOUBLE; decimal literals make it DECIMAL)
+    @Query("SELECT new com.edugrowhub.dto.SubjectResultStats(tr.subject, COUNT(tr), SUM(tr.score), " +
+           "SUM(CASE WHEN tr.maxScore > 0 THEN tr.score * 100 / tr.maxScore ELSE 0 END), " +
+           "MIN(tr.score), MAX(tr.score), " +
+           "COUNT(CASE WHEN tr.maxScore > 0 AND tr.score * 100 >= tr.maxScore * 60 THEN 1 END), " +
+           "COUNT(CASE WHEN tr.maxScore <= 0 OR tr.score * 100 < tr.maxScore * 35 THEN 1 END)) " +
+           "FROM TestResult tr WHERE tr.student.id = :studentId GROUP BY tr.subject ORDER BY tr.subject")
+    List<SubjectResultStats> summarizeSubjectsByStudentId(@Param("studentId") Long studentId);
+    
+    // A student's results by percentage, highest first (pass PageRequest.of(0, 1) for the best one)
+    @Query("SELECT tr FROM TestResult tr WHERE tr.student.id = :studentId " +
+           "ORDER BY CASE WHEN tr.maxScore > 0 THEN tr.score / tr.maxScore ELSE 0 END DESC, tr.id")
+    List<TestResult> findByStudentIdOrderByPercentageDesc(@Param("studentId") Long studentId, Pageable pageable);
+    
+    // A student's results by percentage, lowest first (pass PageRequest.of(0, 1) for the worst one)
+    @Query("SELECT tr FROM TestResult tr WHERE tr.student.id = :studentId " +
+           "ORDER BY CASE WHEN tr.maxScore > 0 THEN tr.score / tr.maxScore ELSE 0 END, tr.id")
+    List<TestResult> findByStudentIdOrderByPercentageAsc(@Param("studentId") Long studentId, Pageable pageable);
+    
     // Custom query to get subject-wise performance for a student
     @Query("SELECT tr.subject, AVG(tr.score), AVG((tr.score / tr.maxScore) * 100) FROM TestResult tr WHERE tr.student = :student GROUP BY tr.subject")
     List<Object[]> findSubjectWisePerformanceByStudent(@Param("student") Student student);
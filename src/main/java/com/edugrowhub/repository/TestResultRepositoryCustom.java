@@ -0,0 +1,32 @@
+package com.edugrowhub.repository;
+
+import com.edugrowhub.dto.GradebookRow;
+
+import java.util.function.Consumer;
+
+/**
+ * Test result reads that stream rows instead of loading them
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+public interface TestResultRepositoryCustom {
+
+    /**
+     * Walk every test result of a teacher's students, one row at a time
+     *
+     * The same results as findTestResultsByTeacherId, read through a
+     * forward-only, read-only cursor that holds at most fetchSize rows in
+     * memory. Rows are grouped by student. The connection stays open until the
+     * last row has been handed to the action, so keep the action fast.
+     *
+     * On MySQL the cursor is only used with useCursorFetch=true on the
+     * connection; without it the driver reads the whole result first.
+     *
+     * @param teacherId Teacher ID
+     * @param fetchSize Rows fetched from the database per round trip
+     * @param action Called once per row, in order; exceptions abort the walk
+     * @return Number of rows handed to the action
+     */
+    long streamGradebook(Long teacherId, int fetchSize, Consumer<GradebookRow> action);
+}
@@ -0,0 +1,55 @@
+package com.edugrowhub.repository;
+
+import com.edugrowhub.dto.GradebookRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * JDBC implementation of TestResultRepositoryCustom
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@RequiredArgsConstructor
+public class TestResultRepositoryCustomImpl implements TestResultRepositoryCustom {
+
+    // Ordered by student only: MySQL walks the teacher's students by primary key and
+    // each student's results through idx_test_result_student_date, without a filesort
+    private static final String GRADEBOOK_SQL =
+            "SELECT tr.id, s.id, s.name, s.email, tr.subject, tr.score, tr.max_score, tr.test_date " +
+            "FROM students s JOIN test_results tr ON tr.student_id = s.id " +
+            "WHERE s.teacher_id = ? ORDER BY s.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // No transaction: the single statement reads a consistent snapshot, and an export aborted by
+    // the client should only close the cursor
+    @Override
+    public long streamGradebook(Long teacherId, int fetchSize, Consumer<GradebookRow> action) {
+        long[] rows = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(GRADEBOOK_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, teacherId);
+            return statement;
+        }, resultSet -> {
+            action.accept(new GradebookRow(
+                    resultSet.getLong(1),
+                    resultSet.getLong(2),
+                    resultSet.getString(3),
+                    resultSet.getString(4),
+                    resultSet.getString(5),
+                    resultSet.getDouble(6),
+                    resultSet.getDouble(7),
+                    resultSet.getObject(8, LocalDate.class)));
+            rows[0]++;
+        });
+        return rows[0];
+    }
+}
@@ -0,0 +1,76 @@
+package com.edugrowhub.repository;
+
+import com.edugrowhub.entity.WhatsAppLogArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for archived WhatsApp log chunks
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Repository
+public interface WhatsAppLogArchiveRepository extends JpaRepository<WhatsAppLogArchive, Long> {
+
+    /**
+     * Find archive chunks holding messages sent within a date range
+     *
+     * @param startDate Start date and time
+     * @param endDate End date and time
+     * @return Overlapping chunks, oldest first
+     */
+    @Query("SELECT a FROM WhatsAppLogArchive a WHERE a.lastSentAt >= :startDate AND a.firstSentAt <= :endDate " +
+           "ORDER BY a.firstSentAt")
+    List<WhatsAppLogArchive> findOverlapping(@Param("startDate") LocalDateTime startDate,
+                                             @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Time range of an archive chunk, without its payload
+     */
+    interface ChunkRange {
+        Long getId();
+
+        LocalDateTime getLastSentAt();
+    }
+
+    /**
+     * Find the ranges of archive chunks holding messages sent within a date range
+     *
+     * @param startDate Start date and time
+     * @param endDate End date and time
+     * @return Overlapping chunk ranges, newest last message first
+     */
+    @Query("SELECT a.id AS id, a.lastSentAt AS lastSentAt FROM WhatsAppLogArchive a " +
+           "WHERE a.lastSentAt >= :startDate AND a.firstSentAt <= :endDate ORDER BY a.lastSentAt DESC, a.id DESC")
+    List<ChunkRange> findOverlappingRangesNewestFirst(@Param("startDate") LocalDateTime startDate,
+                                                     @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Find the compressed rows of an archive chunk
+     *
+     * @param id Chunk ID
+     * @return Payload, empty if the chunk has been purged
+     */
+    @Query("SELECT a.payload FROM WhatsAppLogArchive a WHERE a.id = :id")
+    Optional<byte[]> findPayloadById(@Param("id") Long id);
+
+    /**
+     * Delete archive chunks whose newest message is older than the retention cutoff
+     *
+     * @param cutoff Retention cutoff
+     * @return Number of chunks deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM WhatsAppLogArchive a WHERE a.lastSentAt < :cutoff")
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
+}
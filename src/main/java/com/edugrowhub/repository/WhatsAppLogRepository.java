@@ -3,12 +3,16 @@ package com.edugrowhub.repository;
 import com.edugrowhub.entity.WhatsAppLog;
 import com.edugrowhub.entity.Student;
 import com.edugrowhub.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,13 +26,16 @@ import java.util.Optional;
  * - Basic CRUD operations via JpaRepository
  * - Custom queries for filtering and analytics
  * - Methods for tracking message delivery status
+ * - Batched delivery status updates from Twilio callbacks (WhatsAppLogRepositoryCustom)
+ * - Queries only see messages still in whatsapp_logs; older ones are moved to
+ *   whatsapp_log_archive by WhatsAppLogArchiveService and read from there
  * - Support for audit and compliance reporting
  * 
  * @author EduGrowHub Development Team
  * @version 1.0
  */
 @Repository
-public interface WhatsAppLogRepository extends JpaRepository<WhatsAppLog, Long> {
+public interface WhatsAppLogRepository extends JpaRepository<WhatsAppLog, Long>, WhatsAppLogRepositoryCustom {
 
     /**
      * Find all WhatsApp logs for a specific student
@@ -46,6 +53,30 @@ public interface WhatsAppLogRepository extends JpaRepository<WhatsAppLog, Long>
      */
     List<WhatsAppLog> findByStudent_IdOrderBySentAtDesc(Long studentId);
 
+    /**
+     * First page of a student's WhatsApp logs, most recent first
+     *
+     * @param studentId The student ID
+     * @param pageable Page size
+     * @return WhatsApp logs ordered by sent timestamp, then ID, descending
+     */
+    List<WhatsAppLog> findByStudent_IdOrderBySentAtDescIdDesc(Long studentId, Pageable pageable);
+
+    /**
+     * Next page of a student's WhatsApp logs after the last (sent timestamp, ID) of the previous page
+     *
+     * @param studentId The student ID
+     * @param sentAt Sent timestamp of the previous page's last log
+     * @param id ID of the previous page's last log
+     * @param pageable Page size
+     * @return WhatsApp logs ordered by sent timestamp, then ID, descending
+     */
+    @Query("SELECT w FROM WhatsAppLog w WHERE w.student.id = :studentId " +
+           "AND (w.sentAt < :sentAt OR (w.sentAt = :sentAt AND w.id < :id)) " +
+           "ORDER BY w.sentAt DESC, w.id DESC")
+    List<WhatsAppLog> findByStudentIdBefore(@Param("studentId") Long studentId, @Param("sentAt") LocalDateTime sentAt,
+                                            @Param("id") Long id, Pageable pageable);
+
     /**
      * Find all WhatsApp logs sent by a specific teacher
      * 
@@ -62,6 +93,30 @@ public interface WhatsAppLogRepository extends JpaRepository<WhatsAppLog, Long>
      */
     List<WhatsAppLog> findByTeacher_IdOrderBySentAtDesc(Long teacherId);
 
+    /**
+     * First page of a teacher's WhatsApp logs, most recent first
+     *
+     * @param teacherId The teacher ID
+     * @param pageable Page size
+     * @return WhatsApp logs ordered by sent timestamp, then ID, descending
+     */
+    List<WhatsAppLog> findByTeacher_IdOrderBySentAtDescIdDesc(Long teacherId, Pageable pageable);
+
+    /**
+     * Next page of a teacher's WhatsApp logs after the last (sent timestamp, ID) of the previous page
+     *
+     * @param teacherId The teacher ID
+     * @param sentAt Sent timestamp of the previous page's last log
+     * @param id ID of the previous page's last log
+     * @param pageable Page size
+     * @return WhatsApp logs ordered by sent timestamp, then ID, descending
+     */
+    @Query("SELECT w FROM WhatsAppLog w WHERE w.teacher.id = :teacherId " +
+           "AND (w.sentAt < :sentAt OR (w.sentAt = :sentAt AND w.id < :id)) " +
+           "ORDER BY w.sentAt DESC, w.id DESC")
+    List<WhatsAppLog> findByTeacherIdBefore(@Param("teacherId") Long teacherId, @Param("sentAt") LocalDateTime sentAt,
+                                            @Param("id") Long id, Pageable pageable);
+
     /**
      * Find all WhatsApp logs by message status
      * 
@@ -94,6 +149,15 @@ public interface WhatsAppLogRepository extends JpaRepository<WhatsAppLog, Long>
      */
     Optional<WhatsAppLog> findByTwilioMessageSid(String twilioMessageSid);
 
+    /**
+     * Which of the given Twilio message SIDs are logged
+     *
+     * @param messageSids Twilio message SIDs
+     * @return The SIDs that have a log entry
+     */
+    @Query("SELECT w.twilioMessageSid FROM WhatsAppLog w WHERE w.twilioMessageSid IN :messageSids")
+    List<String> findLoggedMessageSids(@Param("messageSids") Collection<String> messageSids);
+
     /**
      * Find all WhatsApp logs within a date range
      * 
@@ -103,6 +167,47 @@ public interface WhatsAppLogRepository extends JpaRepository<WhatsAppLog, Long>
      */
     List<WhatsAppLog> findBySentAtBetweenOrderBySentAtDesc(LocalDateTime startDate, LocalDateTime endDate);
 
+    /**
+     * Find WhatsApp logs sent by a teacher within a date range
+     * 
+     * @param teacherId Teacher ID
+     * @param startDate Start date and time
+     * @param endDate End date and time
+     * @return List of WhatsApp logs, ordered by sent timestamp descending
+     */
+    List<WhatsAppLog> findByTeacher_IdAndSentAtBetweenOrderBySentAtDesc(Long teacherId, LocalDateTime startDate,
+                                                                       LocalDateTime endDate);
+
+    /**
+     * Page of a teacher's WhatsApp logs within a date range, after a (sent timestamp, ID) position
+     *
+     * For the first page, pass the end of the range and Long.MAX_VALUE as the position.
+     *
+     * @param teacherId Teacher ID
+     * @param startDate Start date and time
+     * @param sentAt Sent timestamp of the previous page's last log
+     * @param id ID of the previous page's last log
+     * @param pageable Page size
+     * @return WhatsApp logs ordered by sent timestamp, then ID, descending
+     */
+    @Query("SELECT w FROM WhatsAppLog w WHERE w.teacher.id = :teacherId AND w.sentAt >= :startDate " +
+           "AND (w.sentAt < :sentAt OR (w.sentAt = :sentAt AND w.id < :id)) " +
+           "ORDER BY w.sentAt DESC, w.id DESC")
+    List<WhatsAppLog> findByTeacherIdSinceBefore(@Param("teacherId") Long teacherId,
+                                                 @Param("startDate") LocalDateTime startDate,
+                                                 @Param("sentAt") LocalDateTime sentAt, @Param("id") Long id,
+                                                 Pageable pageable);
+
+    /**
+     * Delete log rows by ID (used when moving them to the archive)
+     * 
+     * @param ids Log IDs
+     * @return Number of rows deleted
+     */
+    @Modifying
+    @Query("DELETE FROM WhatsAppLog w WHERE w.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
     /**
      * Find recent WhatsApp logs for a student (last 30 days)
      * 
@@ -142,26 +247,87 @@ public interface WhatsAppLogRepository extends JpaRepository<WhatsAppLog, Long>
     List<WhatsAppLog> findFailedMessagesSince(@Param("sinceDate") LocalDateTime sinceDate);
 
     /**
-     * Get message statistics for a teacher
+     * Failed messages whose next retry is due, oldest due first
      * 
-     * @param teacherId The teacher ID
-     * @return List of objects containing message status and count
+     * Served by the (message_status, next_attempt_at) index
+     * 
+     * @param now Current time
+     * @param pageable Batch size
+     * @return IDs of WhatsApp logs to retry
      */
-    @Query("SELECT w.messageStatus, COUNT(w) FROM WhatsAppLog w WHERE w.teacher.id = :teacherId GROUP BY w.messageStatus")
-    List<Object[]> getMessageStatisticsByTeacher(@Param("teacherId") Long teacherId);
+    @Query("SELECT w.id FROM WhatsAppLog w WHERE w.messageStatus = 'FAILED' AND w.nextAttemptAt <= :now ORDER BY w.nextAttemptAt")
+    List<Long> findDueRetryIds(@Param("now") LocalDateTime now, Pageable pageable);
 
     /**
-     * Get message statistics by message type for a teacher
+     * Claim a due failed message for the retry scheduler
      * 
-     * @param teacherId The teacher ID
-     * @param startDate Start date for statistics
-     * @param endDate End date for statistics
-     * @return List of objects containing message type and count
+     * @param id WhatsApp log ID
+     * @param now Current time; the row must still be due
+     * @param leaseUntil When the claim expires if the retry never completes
+     * @return 1 if claimed, 0 if another scheduler run got there first
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE WhatsAppLog w SET w.messageStatus = 'RETRYING', w.nextAttemptAt = :leaseUntil " +
+           "WHERE w.id = :id AND w.messageStatus = 'FAILED' AND w.nextAttemptAt <= :now")
+    int claimDueRetry(@Param("id") Long id, @Param("now") LocalDateTime now,
+                      @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Claim a failed or dead-lettered message for a manual retry
+     * 
+     * @return 1 if claimed, 0 if the message is not FAILED or DEAD
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE WhatsAppLog w SET w.messageStatus = 'RETRYING', w.nextAttemptAt = :leaseUntil " +
+           "WHERE w.id = :id AND w.messageStatus IN ('FAILED', 'DEAD')")
+    int claimForManualRetry(@Param("id") Long id, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Record a successful retry on the original row
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE WhatsAppLog w SET w.messageStatus = 'SENT', w.twilioMessageSid = :messageSid, w.errorMessage = NULL, " +
+           "w.attemptCount = w.attemptCount + 1, w.nextAttemptAt = NULL, w.sentAt = :now " +
+           "WHERE w.id = :id AND w.messageStatus = 'RETRYING'")
+    int markRetrySent(@Param("id") Long id, @Param("messageSid") String messageSid, @Param("now") LocalDateTime now);
+
+    /**
+     * Record a failed retry on the original row
+     * 
+     * @param status FAILED with a next attempt time, or DEAD
      */
-    @Query("SELECT w.messageType, COUNT(w) FROM WhatsAppLog w WHERE w.teacher.id = :teacherId AND w.sentAt BETWEEN :startDate AND :endDate GROUP BY w.messageType")
-    List<Object[]> getMessageTypeStatisticsByTeacher(@Param("teacherId") Long teacherId, 
-                                                     @Param("startDate") LocalDateTime startDate, 
-                                                     @Param("endDate") LocalDateTime endDate);
+    @Transactional
+    @Modifying
+    @Query("UPDATE WhatsAppLog w SET w.messageStatus = :status, w.errorMessage = :errorMessage, " +
+           "w.attemptCount = w.attemptCount + 1, w.nextAttemptAt = :nextAttemptAt " +
+           "WHERE w.id = :id AND w.messageStatus = 'RETRYING'")
+    int markRetryFailed(@Param("id") Long id, @Param("status") String status,
+                        @Param("errorMessage") String errorMessage,
+                        @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    /**
+     * Return a claimed retry that ended with an unexpected error to FAILED, due immediately
+     * 
+     * @return 1 if released, 0 if the retry already recorded an outcome
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE WhatsAppLog w SET w.messageStatus = 'FAILED', w.nextAttemptAt = :now " +
+           "WHERE w.id = :id AND w.messageStatus = 'RETRYING'")
+    int releaseRetryClaim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Return retries whose scheduler died mid-send to FAILED, due immediately
+     * 
+     * @return Number of rows released
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE WhatsAppLog w SET w.messageStatus = 'FAILED' WHERE w.messageStatus = 'RETRYING' AND w.nextAttemptAt < :now")
+    int releaseExpiredRetryClaims(@Param("now") LocalDateTime now);
 
     /**
      * Check if a message was recently sent to avoid duplicates
@@ -176,12 +342,30 @@ public interface WhatsAppLogRepository extends JpaRepository<WhatsAppLog, Long>
                            @Param("messageType") String messageType, 
                            @Param("sinceTime") LocalDateTime sinceTime);
 
+    /**
+     * Messages of one type successfully sent to a phone number since a given time
+     * 
+     * Served by the (recipient_phone, message_type, sent_at) index; used to seed
+     * duplicate checks while the in-memory dedup window is still cold. Templated
+     * entries have no stored content, so callers compare getRenderedContent.
+     * 
+     * @param recipientPhone The recipient phone number
+     * @param messageType The message type
+     * @param sinceTime Start of the dedup window
+     * @return WhatsApp logs, most recent first
+     */
+    @Query("SELECT w FROM WhatsAppLog w WHERE w.recipientPhone = :recipientPhone AND w.messageType = :messageType " +
+           "AND w.sentAt >= :sinceTime AND w.messageStatus IN ('SENT', 'DELIVERED', 'READ') ORDER BY w.sentAt DESC")
+    List<WhatsAppLog> findRecentSuccessful(@Param("recipientPhone") String recipientPhone,
+                                           @Param("messageType") String messageType,
+                                           @Param("sinceTime") LocalDateTime sinceTime);
+
     /**
      * Find the most recent successful message to a phone number
      * 
      * @param recipientPhone The recipient phone number
      * @return Optional of the most recent successful WhatsApp log to the phone number
      */
-    @Query("SELECT w FROM WhatsAppLog w WHERE w.recipientPhone = :recipientPhone AND w.messageStatus IN ('SENT', 'DELIVERED') ORDER BY w.sentAt DESC")
+    @Query("SELECT w FROM WhatsAppLog w WHERE w.recipientPhone = :recipientPhone AND w.messageStatus IN ('SENT', 'DELIVERED', 'READ') ORDER BY w.sentAt DESC")
     Optional<WhatsAppLog> findMostRecentSuccessfulMessage(@Param("recipientPhone") String recipientPhone);
 }
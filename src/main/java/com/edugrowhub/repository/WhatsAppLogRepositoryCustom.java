@@ -0,0 +1,63 @@
+package com.edugrowhub.repository;
+
+import com.edugrowhub.dto.ArchivedWhatsAppLog;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Bulk WhatsApp log reads and updates that bypass the persistence context
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+public interface WhatsAppLogRepositoryCustom {
+
+    /**
+     * A delivery status reported for one Twilio message
+     *
+     * @param messageSid Twilio message SID
+     * @param errorMessage Error to record, or null to keep the current one
+     */
+    record DeliveryStatusUpdate(String messageSid, String errorMessage) {
+    }
+
+    /**
+     * A message whose status was changed, as it was before the change
+     *
+     * @param teacherId Teacher who sent the message (optional)
+     * @param sentAt When the message was sent
+     * @param messageType Message type
+     * @param previousStatus Status before the change
+     */
+    record StatusChange(Long teacherId, LocalDateTime sentAt, String messageType, String previousStatus) {
+    }
+
+    /**
+     * Move messages to a new status, keyed by twilio_message_sid
+     *
+     * Rows whose current status is not in fromStatuses are left alone, so
+     * replaying or reordering updates never moves a message backwards. Matching
+     * rows are read and locked with one query, then updated in one JDBC batch.
+     *
+     * @param status New message status
+     * @param fromStatuses Statuses that may be overwritten
+     * @param updates One entry per message
+     * @return The rows changed, with their previous status
+     */
+    List<StatusChange> applyDeliveryStatus(String status, Collection<String> fromStatuses,
+                                           List<DeliveryStatusUpdate> updates);
+
+    /**
+     * Oldest finished messages sent before a cutoff, read as plain rows for archiving
+     *
+     * Messages still waiting for a retry (RETRYING, or FAILED with a next attempt)
+     * are never returned. Served by the sent_at index.
+     *
+     * @param cutoff Only messages sent before this time
+     * @param limit Maximum number of rows
+     * @return Rows ordered by sent_at, then id
+     */
+    List<ArchivedWhatsAppLog> findArchivable(LocalDateTime cutoff, int limit);
+}
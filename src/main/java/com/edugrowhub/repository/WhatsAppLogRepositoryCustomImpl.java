@@ -0,0 +1,116 @@
+package com.edugrowhub.repository;
+
+import com.edugrowhub.dto.ArchivedWhatsAppLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of WhatsAppLogRepositoryCustom
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@RequiredArgsConstructor
+public class WhatsAppLogRepositoryCustomImpl implements WhatsAppLogRepositoryCustom {
+
+    private record LockedRow(long id, String messageSid, StatusChange change) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public List<StatusChange> applyDeliveryStatus(String status, Collection<String> fromStatuses,
+                                                  List<DeliveryStatusUpdate> updates) {
+        if (updates.isEmpty() || fromStatuses.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, String> errorsBySid = new HashMap<>();
+        updates.forEach(update -> errorsBySid.put(update.messageSid(), update.errorMessage()));
+        List<Object> args = new ArrayList<>(errorsBySid.keySet());
+        args.addAll(fromStatuses);
+
+        String select = "SELECT id, twilio_message_sid, teacher_id, sent_at, message_type, message_status " +
+                        "FROM whatsapp_logs WHERE twilio_message_sid IN (" + placeholders(errorsBySid.size()) + ") " +
+                        "AND message_status IN (" + placeholders(fromStatuses.size()) + ") FOR UPDATE";
+        List<LockedRow> rows = jdbcTemplate.query(select, (resultSet, rowNum) -> new LockedRow(
+                resultSet.getLong("id"),
+                resultSet.getString("twilio_message_sid"),
+                new StatusChange(
+                        resultSet.getObject("teacher_id", Long.class),
+                        resultSet.getObject("sent_at", LocalDateTime.class),
+                        resultSet.getString("message_type"),
+                        resultSet.getString("message_status"))
+        ), args.toArray());
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        // The rows are locked, so every one of these updates applies
+        jdbcTemplate.batchUpdate("UPDATE whatsapp_logs SET message_status = ?, error_message = COALESCE(?, error_message) " +
+                                 "WHERE id = ?", new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                LockedRow row = rows.get(i);
+                statement.setString(1, status);
+                statement.setString(2, errorsBySid.get(row.messageSid()));
+                statement.setLong(3, row.id());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+
+        return rows.stream().map(LockedRow::change).toList();
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    @Override
+    public List<ArchivedWhatsAppLog> findArchivable(LocalDateTime cutoff, int limit) {
+        String sql = "SELECT id, recipient_phone, message_content, template_id, template_params, message_status, " +
+                     "twilio_message_sid, message_type, student_id, teacher_id, sent_at, error_message, metadata, " +
+                     "attempt_count FROM whatsapp_logs " +
+                     "WHERE sent_at < ? AND message_status NOT IN ('PENDING', 'RETRYING') " +
+                     "AND (message_status <> 'FAILED' OR next_attempt_at IS NULL) " +
+                     "ORDER BY sent_at, id LIMIT ?";
+        return jdbcTemplate.query(sql, (resultSet, rowNum) -> toArchivedLog(resultSet), cutoff, limit);
+    }
+
+    private ArchivedWhatsAppLog toArchivedLog(ResultSet resultSet) throws SQLException {
+        return new ArchivedWhatsAppLog(
+                resultSet.getLong("id"),
+                resultSet.getString("recipient_phone"),
+                resultSet.getString("message_content"),
+                resultSet.getString("template_id"),
+                resultSet.getString("template_params"),
+                resultSet.getString("message_status"),
+                resultSet.getString("twilio_message_sid"),
+                resultSet.getString("message_type"),
+                resultSet.getObject("student_id", Long.class),
+                resultSet.getObject("teacher_id", Long.class),
+                resultSet.getObject("sent_at", LocalDateTime.class),
+                resultSet.getString("error_message"),
+                resultSet.getString("metadata"),
+                resultSet.getInt("attempt_count")
+        );
+    }
+}
@@ -0,0 +1,66 @@
+package com.edugrowhub.repository;
+
+import com.edugrowhub.entity.WhatsAppStatsDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for the daily WhatsApp statistics rollup
+ *
+ * Every query reads rollup rows only: the cost grows with the number of days,
+ * types and statuses in the range, not with the number of messages.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Repository
+public interface WhatsAppStatsDailyRepository extends JpaRepository<WhatsAppStatsDaily, WhatsAppStatsDaily.Key>,
+        WhatsAppStatsDailyRepositoryCustom {
+
+    /**
+     * Get message statistics for a teacher
+     *
+     * @param teacherId The teacher ID
+     * @param startDate First day (inclusive)
+     * @param endDate Last day (inclusive)
+     * @return List of objects containing message status and count
+     */
+    @Query("SELECT s.messageStatus, SUM(s.messageCount) FROM WhatsAppStatsDaily s WHERE s.teacherId = :teacherId " +
+           "AND s.statDate BETWEEN :startDate AND :endDate GROUP BY s.messageStatus HAVING SUM(s.messageCount) <> 0")
+    List<Object[]> getMessageStatisticsByTeacher(@Param("teacherId") Long teacherId,
+                                                 @Param("startDate") LocalDate startDate,
+                                                 @Param("endDate") LocalDate endDate);
+
+    /**
+     * Get message type statistics for a teacher
+     *
+     * @param teacherId The teacher ID
+     * @param startDate First day (inclusive)
+     * @param endDate Last day (inclusive)
+     * @return List of objects containing message type and count
+     */
+    @Query("SELECT s.messageType, SUM(s.messageCount) FROM WhatsAppStatsDaily s WHERE s.teacherId = :teacherId " +
+           "AND s.statDate BETWEEN :startDate AND :endDate GROUP BY s.messageType HAVING SUM(s.messageCount) <> 0")
+    List<Object[]> getMessageTypeStatisticsByTeacher(@Param("teacherId") Long teacherId,
+                                                     @Param("startDate") LocalDate startDate,
+                                                     @Param("endDate") LocalDate endDate);
+
+    /**
+     * Get the number of messages per day for a teacher
+     *
+     * @param teacherId The teacher ID
+     * @param startDate First day (inclusive)
+     * @param endDate Last day (inclusive)
+     * @return List of objects containing the day and count, oldest first
+     */
+    @Query("SELECT s.statDate, SUM(s.messageCount) FROM WhatsAppStatsDaily s WHERE s.teacherId = :teacherId " +
+           "AND s.statDate BETWEEN :startDate AND :endDate GROUP BY s.statDate HAVING SUM(s.messageCount) <> 0 ORDER BY s.statDate")
+    List<Object[]> getDailyMessageCountsByTeacher(@Param("teacherId") Long teacherId,
+                                                  @Param("startDate") LocalDate startDate,
+                                                  @Param("endDate") LocalDate endDate);
+}
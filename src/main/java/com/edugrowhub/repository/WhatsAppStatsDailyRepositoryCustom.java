@@ -0,0 +1,46 @@
+package com.edugrowhub.repository;
+
+import com.edugrowhub.entity.WhatsAppStatsDaily;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Incremental updates to the daily WhatsApp statistics rollup, and its rebuild
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+public interface WhatsAppStatsDailyRepositoryCustom {
+
+    /**
+     * Add deltas to rollup counts, creating missing rows
+     *
+     * @param deltas Count change per rollup key (may be negative)
+     */
+    void addCounts(Map<WhatsAppStatsDaily.Key, Long> deltas);
+
+    /**
+     * Count the messages still in whatsapp_logs per rollup key
+     *
+     * @param from Sent at or after this time
+     * @param to Sent before this time
+     */
+    Map<WhatsAppStatsDaily.Key, Long> countLogged(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Replace the rollup rows of a date range
+     *
+     * @param firstDay First day replaced, or null to replace every day up to lastDay
+     * @param lastDay Last day replaced
+     * @param counts New counts; keys must fall in the range
+     */
+    void replaceCounts(LocalDate firstDay, LocalDate lastDay, Map<WhatsAppStatsDaily.Key, Long> counts);
+
+    /**
+     * Day of the oldest message in whatsapp_logs or the archive, if any
+     */
+    Optional<LocalDate> findFirstMessageDate();
+}
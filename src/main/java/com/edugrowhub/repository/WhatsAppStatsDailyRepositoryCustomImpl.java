@@ -0,0 +1,148 @@
+package com.edugrowhub.repository;
+
+import com.edugrowhub.entity.WhatsAppStatsDaily;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * JDBC implementation of WhatsAppStatsDailyRepositoryCustom
+ *
+ * Portable upsert: rollup rows missing for the keys are first inserted with a
+ * count of zero (one concurrently inserted by another instance is simply
+ * skipped), then one UPDATE batch adds every delta. Update counts are never
+ * relied on, so drivers that rewrite batches are fine.
+ *
+ * The rebuild counts whatsapp_logs with the same bucketing as
+ * MessageStatsBuffer (no teacher as 0, RETRYING as FAILED).
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@RequiredArgsConstructor
+public class WhatsAppStatsDailyRepositoryCustomImpl implements WhatsAppStatsDailyRepositoryCustom {
+
+    private static final String UPDATE_SQL = "UPDATE whatsapp_stats_daily SET message_count = message_count + ? " +
+            "WHERE teacher_id = ? AND stat_date = ? AND message_type = ? AND message_status = ?";
+    private static final String INSERT_SQL = "INSERT INTO whatsapp_stats_daily " +
+            "(teacher_id, stat_date, message_type, message_status, message_count) VALUES (?, ?, ?, ?, 0)";
+
+    private static final String STATUS_BUCKET = "CASE WHEN message_status = 'RETRYING' THEN 'FAILED' " +
+            "ELSE message_status END";
+    private static final String COUNT_LOGGED_SQL = "SELECT COALESCE(teacher_id, 0) AS teacher_id, " +
+            "CAST(sent_at AS DATE) AS stat_date, message_type, " + STATUS_BUCKET + " AS message_status, " +
+            "COUNT(*) AS message_count FROM whatsapp_logs WHERE sent_at >= ? AND sent_at < ? " +
+            "GROUP BY COALESCE(teacher_id, 0), CAST(sent_at AS DATE), message_type, " + STATUS_BUCKET;
+    private static final String INSERT_COUNT_SQL = "INSERT INTO whatsapp_stats_daily " +
+            "(teacher_id, stat_date, message_type, message_status, message_count) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void addCounts(Map<WhatsAppStatsDaily.Key, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Set<WhatsAppStatsDaily.Key> missing = new HashSet<>(deltas.keySet());
+        missing.removeAll(existingKeys(deltas.keySet()));
+        for (WhatsAppStatsDaily.Key key : missing) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, key.getTeacherId(), Date.valueOf(key.getStatDate()),
+                        key.getMessageType(), key.getMessageStatus());
+            } catch (DuplicateKeyException e) {
+                // Created by another instance in the meantime
+            }
+        }
+
+        List<Object[]> updates = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> updates.add(new Object[]{delta, key.getTeacherId(),
+                Date.valueOf(key.getStatDate()), key.getMessageType(), key.getMessageStatus()}));
+        jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+    }
+
+    // Rollup rows that already exist among the given keys, read with one primary key range scan per teacher
+    private Set<WhatsAppStatsDaily.Key> existingKeys(Set<WhatsAppStatsDaily.Key> keys) {
+        Set<Long> teacherIds = new HashSet<>();
+        LocalDate firstDay = LocalDate.MAX;
+        LocalDate lastDay = LocalDate.MIN;
+        for (WhatsAppStatsDaily.Key key : keys) {
+            teacherIds.add(key.getTeacherId());
+            firstDay = key.getStatDate().isBefore(firstDay) ? key.getStatDate() : firstDay;
+            lastDay = key.getStatDate().isAfter(lastDay) ? key.getStatDate() : lastDay;
+        }
+
+        List<Object> args = new ArrayList<>(teacherIds);
+        args.add(Date.valueOf(firstDay));
+        args.add(Date.valueOf(lastDay));
+        String sql = "SELECT teacher_id, stat_date, message_type, message_status FROM whatsapp_stats_daily " +
+                     "WHERE teacher_id IN (" + String.join(", ", Collections.nCopies(teacherIds.size(), "?")) + ") " +
+                     "AND stat_date BETWEEN ? AND ?";
+        return new HashSet<>(jdbcTemplate.query(sql, (resultSet, rowNum) -> new WhatsAppStatsDaily.Key(
+                resultSet.getLong("teacher_id"),
+                resultSet.getDate("stat_date").toLocalDate(),
+                resultSet.getString("message_type"),
+                resultSet.getString("message_status")), args.toArray()));
+    }
+
+    @Override
+    public Map<WhatsAppStatsDaily.Key, Long> countLogged(LocalDateTime from, LocalDateTime to) {
+        Map<WhatsAppStatsDaily.Key, Long> counts = new HashMap<>();
+        jdbcTemplate.query(COUNT_LOGGED_SQL, resultSet -> {
+            counts.put(new WhatsAppStatsDaily.Key(
+                    resultSet.getLong("teacher_id"),
+                    resultSet.getDate("stat_date").toLocalDate(),
+                    resultSet.getString("message_type"),
+                    resultSet.getString("message_status")), resultSet.getLong("message_count"));
+        }, Timestamp.valueOf(from), Timestamp.valueOf(to));
+        return counts;
+    }
+
+    @Override
+    @Transactional
+    public void replaceCounts(LocalDate firstDay, LocalDate lastDay, Map<WhatsAppStatsDaily.Key, Long> counts) {
+        if (firstDay == null) {
+            jdbcTemplate.update("DELETE FROM whatsapp_stats_daily WHERE stat_date <= ?", Date.valueOf(lastDay));
+        } else {
+            jdbcTemplate.update("DELETE FROM whatsapp_stats_daily WHERE stat_date BETWEEN ? AND ?",
+                    Date.valueOf(firstDay), Date.valueOf(lastDay));
+        }
+
+        List<Object[]> inserts = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> {
+            if (count != 0) {
+                inserts.add(new Object[]{key.getTeacherId(), Date.valueOf(key.getStatDate()),
+                        key.getMessageType(), key.getMessageStatus(), count});
+            }
+        });
+        jdbcTemplate.batchUpdate(INSERT_COUNT_SQL, inserts);
+    }
+
+    @Override
+    public Optional<LocalDate> findFirstMessageDate() {
+        LocalDateTime firstLogged = jdbcTemplate.queryForObject(
+                "SELECT MIN(sent_at) FROM whatsapp_logs", LocalDateTime.class);
+        LocalDateTime firstArchived = jdbcTemplate.queryForObject(
+                "SELECT MIN(first_sent_at) FROM whatsapp_log_archive", LocalDateTime.class);
+        return Stream.of(firstLogged, firstArchived)
+                .filter(sentAt -> sentAt != null)
+                .min(LocalDateTime::compareTo)
+                .map(LocalDateTime::toLocalDate);
+    }
+}
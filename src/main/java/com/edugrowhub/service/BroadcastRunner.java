@@ -0,0 +1,240 @@
+package com.edugrowhub.service;
+
+import com.edugrowhub.entity.Broadcast;
+import com.edugrowhub.entity.Student;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.service.messaging.RenderedMessage;
+import com.edugrowhub.service.messaging.WhatsAppDispatcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Broadcast Runner
+ *
+ * Fans broadcast announcements out to their students in the background:
+ * - Each round takes up to MAX_BROADCASTS_PER_ROUND unfinished broadcasts and
+ *   sends one page of each, so a small class announcement is not stuck behind
+ *   a school-wide one
+ * - A page is the next broadcasts.page-size students after the broadcast's
+ *   keyset cursor, never more than the WhatsApp dispatcher queue has room for
+ *   beyond broadcasts.queue-reserve; memory use is one page whatever the
+ *   number of recipients
+ * - Messages go through WhatsAppDispatcher with ANNOUNCEMENT priority, so the
+ *   per-sender rate limit applies and test results are sent first
+ * - Once every send of the page has been logged, the cursor and outcome counts
+ *   are saved and the claim released
+ *
+ * Rounds run on the runner's own thread, never on the shared scheduler
+ * thread, and do not wait for their sends: a page is recorded from the
+ * completion of its last send. While a page is being sent its claim is
+ * renewed as sends complete, so a page held back behind test results keeps
+ * its broadcast and no other runner takes it over.
+ *
+ * A runner that dies mid-page keeps its claim until broadcasts.claim-timeout;
+ * the broadcast then resumes from the last saved cursor on any instance,
+ * including this one after a restart. Students of the interrupted page are
+ * sent the announcement again unless the duplicate check still remembers it,
+ * which is why the claim timeout defaults to less than whatsapp.dedup.window.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class BroadcastRunner {
+
+    private static final int MAX_BROADCASTS_PER_ROUND = 10;
+
+    private final BroadcastService broadcastService;
+    private final WhatsAppService whatsAppService;
+    private final WhatsAppDispatcher whatsAppDispatcher;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService pager = Executors.newSingleThreadExecutor(
+            new CustomizableThreadFactory("broadcast-"));
+    private final AtomicBoolean roundRunning = new AtomicBoolean();
+
+    @Value("${broadcasts.enabled:true}")
+    private boolean enabled;
+
+    @Value("${broadcasts.page-size:100}")
+    private int pageSize;
+
+    @Value("${broadcasts.queue-reserve:2000}")
+    private int queueReserve;
+
+    @Value("${broadcasts.claim-timeout:PT2M}")
+    private Duration claimTimeout;
+
+    public BroadcastRunner(BroadcastService broadcastService,
+                           WhatsAppService whatsAppService,
+                           WhatsAppDispatcher whatsAppDispatcher,
+                           MeterRegistry meterRegistry) {
+        this.broadcastService = broadcastService;
+        this.whatsAppService = whatsAppService;
+        this.whatsAppDispatcher = whatsAppDispatcher;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Start a round on the runner's thread unless one is still running
+     */
+    @Scheduled(fixedDelayString = "${broadcasts.poll-interval-ms:1000}")
+    public void sendNextPages() {
+        if (!enabled || !roundRunning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            pager.execute(() -> {
+                try {
+                    startPages();
+                } catch (Exception e) {
+                    log.error("Broadcast round stopped: {}", e.getMessage(), e);
+                } finally {
+                    roundRunning.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            roundRunning.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        pager.shutdownNow();
+        pager.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    // Hand one page of each due broadcast to the dispatcher
+    private void startPages() {
+        for (Long id : broadcastService.findDueIds(MAX_BROADCASTS_PER_ROUND)) {
+            int limit = Math.min(pageSize, whatsAppDispatcher.remainingCapacity() - queueReserve);
+            if (limit <= 0) {
+                return;
+            }
+
+            Optional<Broadcast> claimed = broadcastService.claim(id, claimTimeout);
+            if (claimed.isEmpty()) {
+                continue;
+            }
+
+            Broadcast broadcast = claimed.get();
+            try {
+                sendPage(broadcast, limit);
+            } catch (Exception e) {
+                log.error("Failed to send a page of broadcast {}: {}", id, e.getMessage());
+                broadcastService.release(broadcast);
+            }
+        }
+    }
+
+    private void sendPage(Broadcast broadcast, int limit) {
+        List<Student> page = broadcastService.nextRecipients(broadcast, limit);
+        User sender = broadcast.getSender();
+        String metadata = "{\"broadcastId\":" + broadcast.getId() + "}";
+        AtomicLong leaseRenewedNanos = new AtomicLong(System.nanoTime());
+
+        long skipped = 0;
+        List<CompletableFuture<String>> sends = new ArrayList<>(page.size());
+        for (Student student : page) {
+            if (student.getPhoneNumber() == null || student.getPhoneNumber().trim().isEmpty()) {
+                skipped++;
+                continue;
+            }
+            RenderedMessage message = whatsAppService.createAnnouncementMessage(
+                    student.getName(), broadcast.getTitle(), broadcast.getMessage(), sender.getName());
+            sends.add(whatsAppService.sendAnnouncementAsync(student, sender, message, metadata)
+                    .handle((logEntry, error) -> {
+                        renewLeaseIfDue(broadcast, leaseRenewedNanos);
+                        if (error != null) {
+                            log.error("Broadcast {} to student {} did not complete: {}", broadcast.getId(),
+                                    student.getId(), error.getMessage());
+                            return WhatsAppService.STATUS_FAILED;
+                        }
+                        if (logEntry == null) {
+                            return WhatsAppService.STATUS_SUPPRESSED;
+                        }
+                        return logEntry.isSuccessful() ? WhatsAppService.STATUS_SENT : WhatsAppService.STATUS_FAILED;
+                    }));
+        }
+
+        long skippedCount = skipped;
+        CompletableFuture.allOf(sends.toArray(new CompletableFuture[0]))
+                .thenRunAsync(() -> recordPage(broadcast, page, limit, sends, skippedCount), pager)
+                .exceptionally(e -> {
+                    log.error("Could not record a page of broadcast {}; it is resent after the claim expires: {}",
+                            broadcast.getId(), e.getMessage());
+                    return null;
+                });
+    }
+
+    private void recordPage(Broadcast broadcast, List<Student> page, int limit,
+                            List<CompletableFuture<String>> sends, long skipped) {
+        long sent = 0;
+        long failed = 0;
+        long suppressed = 0;
+        for (CompletableFuture<String> send : sends) {
+            switch (send.join()) {
+                case WhatsAppService.STATUS_SENT -> sent++;
+                case WhatsAppService.STATUS_SUPPRESSED -> suppressed++;
+                default -> failed++;
+            }
+        }
+
+        countMessages(WhatsAppService.STATUS_SENT, sent);
+        countMessages(WhatsAppService.STATUS_FAILED, failed);
+        countMessages(WhatsAppService.STATUS_SUPPRESSED, suppressed);
+        countMessages("SKIPPED", skipped);
+
+        boolean completed = page.size() < limit;
+        long lastStudentId = page.isEmpty() ? broadcast.getLastStudentId() : page.get(page.size() - 1).getId();
+        if (!broadcastService.recordPage(broadcast, lastStudentId, sent, failed, suppressed, skipped, completed)) {
+            log.info("Broadcast {} was cancelled while a page was being sent", broadcast.getId());
+            return;
+        }
+
+        if (completed) {
+            log.info("Broadcast {} completed", broadcast.getId());
+        }
+    }
+
+    // Called as sends complete; renews at most once per half claim timeout, on the runner's thread
+    private void renewLeaseIfDue(Broadcast broadcast, AtomicLong renewedNanos) {
+        long last = renewedNanos.get();
+        long now = System.nanoTime();
+        if (now - last < claimTimeout.toNanos() / 2 || !renewedNanos.compareAndSet(last, now)) {
+            return;
+        }
+        try {
+            pager.execute(() -> {
+                if (!broadcastService.renewClaim(broadcast, claimTimeout)) {
+                    log.warn("Broadcast {} lost its claim while a page was being sent", broadcast.getId());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Not renewing the claim of broadcast {}: runner stopped", broadcast.getId());
+        }
+    }
+
+    private void countMessages(String outcome, long count) {
+        if (count > 0) {
+            meterRegistry.counter("broadcasts.messages", "outcome", outcome).increment(count);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.edugrowhub.service;
+
+import com.edugrowhub.entity.Broadcast;
+import com.edugrowhub.entity.Student;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.repository.BroadcastRepository;
+import com.edugrowhub.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Broadcast Service
+ *
+ * Creates broadcast announcements and keeps their progress for
+ * BroadcastRunner, which does the sending. Creating a broadcast only writes
+ * one row; recipients are read page by page while it is sent.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class BroadcastService {
+
+    private final BroadcastRepository broadcastRepository;
+    private final StudentRepository studentRepository;
+
+    /**
+     * Queue an announcement to every student of a teacher
+     *
+     * @param teacher Teacher sending the announcement
+     * @param title Announcement title
+     * @param message Announcement text
+     * @return Saved broadcast, sent in the background
+     */
+    public Broadcast createTeacherBroadcast(User teacher, String title, String message) {
+        long recipients = studentRepository.countByTeacherId(teacher.getId());
+        Broadcast broadcast = broadcastRepository.save(
+                new Broadcast(teacher, Broadcast.SCOPE_TEACHER, title, message, recipients));
+        log.info("Teacher {} queued broadcast {} to {} students", teacher.getId(), broadcast.getId(), recipients);
+        return broadcast;
+    }
+
+    /**
+     * Queue an announcement to every student in the school
+     *
+     * @param admin Superadmin sending the announcement
+     * @param title Announcement title
+     * @param message Announcement text
+     * @return Saved broadcast, sent in the background
+     */
+    public Broadcast createSystemBroadcast(User admin, String title, String message) {
+        long recipients = studentRepository.count();
+        Broadcast broadcast = broadcastRepository.save(
+                new Broadcast(admin, Broadcast.SCOPE_SYSTEM, title, message, recipients));
+        log.info("Superadmin {} queued system broadcast {} to {} students", admin.getId(), broadcast.getId(), recipients);
+        return broadcast;
+    }
+
+    /**
+     * Most recent broadcasts created by a user
+     */
+    @Transactional(readOnly = true)
+    public List<Broadcast> getBroadcasts(Long senderId, int limit) {
+        return broadcastRepository.findBySender_IdOrderByCreatedAtDesc(senderId, PageRequest.of(0, limit));
+    }
+
+    /**
+     * A broadcast, if it was created by the given user
+     */
+    @Transactional(readOnly = true)
+    public Optional<Broadcast> getBroadcast(Long id, Long senderId) {
+        return broadcastRepository.findByIdAndSender_Id(id, senderId);
+    }
+
+    /**
+     * Stop an unfinished broadcast created by the given user
+     *
+     * @return true if cancelled, false if not found or already finished
+     */
+    public boolean cancel(Long id, Long senderId) {
+        return broadcastRepository.cancel(id, senderId, LocalDateTime.now()) > 0;
+    }
+
+    /**
+     * Unfinished broadcasts no runner currently holds, oldest first
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findDueIds(int limit) {
+        return broadcastRepository.findDueIds(LocalDateTime.now(), PageRequest.of(0, limit));
+    }
+
+    /**
+     * Claim a broadcast for one page
+     *
+     * @param id Broadcast ID from findDueIds
+     * @param lease How long the claim is held before another runner may take over
+     * @return Claimed broadcast with its sender loaded, or empty if another runner got it first
+     */
+    public Optional<Broadcast> claim(Long id, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        String claimToken = UUID.randomUUID().toString();
+        if (broadcastRepository.claim(id, claimToken, now, now.plus(lease)) == 0) {
+            return Optional.empty();
+        }
+        return broadcastRepository.findClaimed(id, claimToken);
+    }
+
+    /**
+     * Next page of recipients after the broadcast's cursor, in student ID order
+     */
+    @Transactional(readOnly = true)
+    public List<Student> nextRecipients(Broadcast broadcast, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        if (Broadcast.SCOPE_SYSTEM.equals(broadcast.getScope())) {
+            return studentRepository.findByIdGreaterThanOrderByIdAsc(broadcast.getLastStudentId(), page);
+        }
+        return studentRepository.findByTeacherIdAndIdGreaterThanOrderByIdAsc(
+                broadcast.getSender().getId(), broadcast.getLastStudentId(), page);
+    }
+
+    /**
+     * Save a sent page's cursor and outcome counts and release the claim
+     *
+     * @param broadcast Claimed broadcast
+     * @param lastStudentId Highest student ID in the page
+     * @param completed Whether this was the last page
+     * @return false if the broadcast was cancelled or its claim lost while the page was sent
+     */
+    public boolean recordPage(Broadcast broadcast, long lastStudentId, long sent, long failed,
+                              long suppressed, long skipped, boolean completed) {
+        return broadcastRepository.recordPage(broadcast.getId(), broadcast.getClaimToken(), lastStudentId,
+                sent, failed, suppressed, skipped,
+                completed ? Broadcast.STATUS_COMPLETED : Broadcast.STATUS_RUNNING,
+                completed ? LocalDateTime.now() : null) > 0;
+    }
+
+    /**
+     * Extend the claim of a broadcast whose page is still being sent
+     *
+     * @return false if the claim was lost or the broadcast cancelled
+     */
+    public boolean renewClaim(Broadcast broadcast, Duration lease) {
+        return broadcastRepository.renewClaim(broadcast.getId(), broadcast.getClaimToken(),
+                LocalDateTime.now().plus(lease)) > 0;
+    }
+
+    /**
+     * Give up a claim without sending a page
+     */
+    public void release(Broadcast broadcast) {
+        broadcastRepository.release(broadcast.getId(), broadcast.getClaimToken());
+    }
+}
@@ -0,0 +1,223 @@
+package com.edugrowhub.service;
+
+import com.edugrowhub.dto.GradebookRow;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gradebook Writer
+ *
+ * Writes gradebook rows to an output stream as they arrive, as CSV (with a
+ * header line) or as newline-delimited JSON, optionally gzip-compressed.
+ * Nothing is kept per row, so memory use does not depend on the row count.
+ *
+ * CSV cells that a spreadsheet would evaluate as a formula (starting with =,
+ * +, -, @, tab or carriage return) are prefixed with a single quote.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+public abstract class GradebookWriter {
+
+    public enum Format {
+        CSV("csv", "text/csv;charset=UTF-8"),
+        NDJSON("ndjson", "application/x-ndjson");
+
+        private final String extension;
+        private final String contentType;
+
+        Format(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        /**
+         * Format named in a request path
+         *
+         * @throws IllegalArgumentException if the format is not supported
+         */
+        public static Format of(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + name
+                        + ". Supported formats: csv, ndjson");
+            }
+        }
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String[] COLUMNS = {
+            "resultId", "studentId", "studentName", "studentEmail", "subject",
+            "score", "maxScore", "percentage", "grade", "passed", "testDate"
+    };
+
+    private final GZIPOutputStream gzip;
+
+    private GradebookWriter(GZIPOutputStream gzip) {
+        this.gzip = gzip;
+    }
+
+    /**
+     * Start writing a gradebook
+     *
+     * The output stream is not closed by finish.
+     *
+     * @param format Export format
+     * @param gzip Whether to gzip the output
+     * @param out Destination
+     * @param jsonFactory Factory for NDJSON generators
+     */
+    public static GradebookWriter open(Format format, boolean gzip, OutputStream out,
+                                       JsonFactory jsonFactory) throws IOException {
+        GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip ? gzipStream : out,
+                StandardCharsets.UTF_8), BUFFER_SIZE);
+        GradebookWriter gradebookWriter = format == Format.CSV
+                ? new Csv(gzipStream, writer)
+                : new Ndjson(gzipStream, jsonFactory, writer);
+        gradebookWriter.start();
+        return gradebookWriter;
+    }
+
+    protected void start() throws IOException {
+    }
+
+    /**
+     * Write one row
+     */
+    public abstract void write(GradebookRow row) throws IOException;
+
+    /**
+     * Flush buffered rows and end the gzip stream, if any
+     */
+    public void finish() throws IOException {
+        flush();
+        if (gzip != null) {
+            gzip.finish();
+        }
+    }
+
+    protected abstract void flush() throws IOException;
+
+    private static final class Csv extends GradebookWriter {
+
+        private final Writer writer;
+
+        private Csv(GZIPOutputStream gzip, Writer writer) {
+            super(gzip);
+            this.writer = writer;
+        }
+
+        @Override
+        protected void start() throws IOException {
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(GradebookRow row) throws IOException {
+            writer.write(Long.toString(row.resultId()));
+            writer.write(',');
+            writer.write(Long.toString(row.studentId()));
+            writer.write(',');
+            writeText(row.studentName());
+            writer.write(',');
+            writeText(row.studentEmail());
+            writer.write(',');
+            writeText(row.subject());
+            writer.write(',');
+            writer.write(Double.toString(row.score()));
+            writer.write(',');
+            writer.write(Double.toString(row.maxScore()));
+            writer.write(',');
+            writer.write(Double.toString(row.percentage()));
+            writer.write(',');
+            writer.write(row.grade());
+            writer.write(',');
+            writer.write(Boolean.toString(row.passed()));
+            writer.write(',');
+            writer.write(row.testDate().toString());
+            writer.write("\r\n");
+        }
+
+        private void writeText(String value) throws IOException {
+            if (value == null || value.isEmpty()) {
+                return;
+            }
+            char first = value.charAt(0);
+            boolean formula = first == '=' || first == '+' || first == '-' || first == '@'
+                    || first == '\t' || first == '\r';
+            boolean quoted = formula || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quoted) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            if (formula) {
+                writer.write('\'');
+            }
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        protected void flush() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private static final class Ndjson extends GradebookWriter {
+
+        private final JsonGenerator generator;
+
+        private Ndjson(GZIPOutputStream gzip, JsonFactory jsonFactory, Writer writer) throws IOException {
+            super(gzip);
+            this.generator = jsonFactory.createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(GradebookRow row) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField(COLUMNS[0], row.resultId());
+            generator.writeNumberField(COLUMNS[1], row.studentId());
+            generator.writeStringField(COLUMNS[2], row.studentName());
+            generator.writeStringField(COLUMNS[3], row.studentEmail());
+            generator.writeStringField(COLUMNS[4], row.subject());
+            generator.writeNumberField(COLUMNS[5], row.score());
+            generator.writeNumberField(COLUMNS[6], row.maxScore());
+            generator.writeNumberField(COLUMNS[7], row.percentage());
+            generator.writeStringField(COLUMNS[8], row.grade());
+            generator.writeBooleanField(COLUMNS[9], row.passed());
+            generator.writeStringField(COLUMNS[10], row.testDate().toString());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        protected void flush() throws IOException {
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.edugrowhub.service;
+
+import com.edugrowhub.config.JwtUtil;
+import com.edugrowhub.dto.LoginResult;
+import com.edugrowhub.entity.Role;
+import com.edugrowhub.entity.Student;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.repository.StudentRepository;
+import com.edugrowhub.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Login Service
+ *
+ * Single authentication flow for superadmins, teachers and students:
+ * - One account lookup by email
+ * - One BCrypt verification per attempt
+ * - Transparent rehash when the configured BCrypt cost changes
+ *
+ * BCrypt work runs on the bounded "loginExecutor" so a login surge queues
+ * instead of starving request threads. When the queue is full the attempt is
+ * answered with status BUSY rather than waiting.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class LoginService {
+
+    private final UserRepository userRepository;
+    private final StudentRepository studentRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtUtil jwtUtil;
+    private final ExecutorService loginExecutor;
+    private final Timer loginTimer;
+
+    @Value("${auth.login.timeout-ms:10000}")
+    private long loginTimeoutMillis;
+
+    public LoginService(UserRepository userRepository,
+                        StudentRepository studentRepository,
+                        PasswordEncoder passwordEncoder,
+                        JwtUtil jwtUtil,
+                        @Qualifier("loginExecutor") ExecutorService loginExecutor,
+                        MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.studentRepository = studentRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtUtil = jwtUtil;
+        this.loginExecutor = loginExecutor;
+        this.loginTimer = Timer.builder("auth.login.duration")
+                .description("Time spent verifying login credentials")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Authenticate an account for the given role
+     *
+     * @param role Role the caller is logging in as
+     * @param email Account email
+     * @param password Raw password
+     * @return Login result; the token is only present on success
+     */
+    public LoginResult login(Role role, String email, String password) {
+        Future<LoginResult> future;
+        try {
+            future = loginExecutor.submit(() -> loginTimer.record(() -> authenticate(role, email, password)));
+        } catch (RejectedExecutionException e) {
+            log.warn("Login queue full, rejecting {} login attempt", role);
+            return LoginResult.failure(LoginResult.Status.BUSY);
+        }
+
+        try {
+            return future.get(loginTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Login attempt timed out after {} ms", loginTimeoutMillis);
+            return LoginResult.failure(LoginResult.Status.BUSY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return LoginResult.failure(LoginResult.Status.BUSY);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Login failed", e.getCause());
+        }
+    }
+
+    private LoginResult authenticate(Role role, String email, String password) {
+        if (role == Role.STUDENT) {
+            return authenticateStudent(email, password);
+        }
+
+        Optional<User> userOptional = userRepository.findByEmail(email);
+        if (userOptional.isEmpty()) {
+            return LoginResult.failure(LoginResult.Status.INVALID_CREDENTIALS);
+        }
+
+        User user = userOptional.get();
+
+        // Reject the wrong portal before spending any BCrypt work
+        if (user.getRole() != role) {
+            return LoginResult.failure(LoginResult.Status.ROLE_MISMATCH);
+        }
+
+        if (!passwordEncoder.matches(password, user.getPassword())) {
+            return LoginResult.failure(LoginResult.Status.INVALID_CREDENTIALS);
+        }
+
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordEncoder.encode(password));
+            userRepository.save(user);
+            log.info("Rehashed password for user ID: {} with current BCrypt cost", user.getId());
+        }
+
+        return new LoginResult(
+                LoginResult.Status.SUCCESS,
+                user.getId(),
+                user.getEmail(),
+                user.getName(),
+                user.getRole(),
+                jwtUtil.generateToken(user.getEmail(), user.getRole(), user.getId()),
+                null,
+                null
+        );
+    }
+
+    private LoginResult authenticateStudent(String email, String password) {
+        Optional<Student> studentOptional = studentRepository.findByEmailWithTeacher(email);
+        if (studentOptional.isEmpty()) {
+            return LoginResult.failure(LoginResult.Status.INVALID_CREDENTIALS);
+        }
+
+        Student student = studentOptional.get();
+
+        if (student.getPassword() == null || student.getPassword().trim().isEmpty()) {
+            return LoginResult.failure(LoginResult.Status.NOT_ACTIVATED);
+        }
+
+        if (!passwordEncoder.matches(password, student.getPassword())) {
+            return LoginResult.failure(LoginResult.Status.INVALID_CREDENTIALS);
+        }
+
+        if (passwordEncoder.upgradeEncoding(student.getPassword())) {
+            student.setPassword(passwordEncoder.encode(password));
+            studentRepository.save(student);
+            log.info("Rehashed password for student ID: {} with current BCrypt cost", student.getId());
+        }
+
+        return new LoginResult(
+                LoginResult.Status.SUCCESS,
+                student.getId(),
+                student.getEmail(),
+                student.getName(),
+                Role.STUDENT,
+                jwtUtil.generateToken(student.getEmail(), Role.STUDENT, student.getId()),
+                student.getEnrolledDate(),
+                student.getTeacher() != null ? student.getTeacher().getName() : null
+        );
+    }
+}
@@ -0,0 +1,162 @@
+package com.edugrowhub.service;
+
+import com.edugrowhub.entity.NotificationOutbox;
+import com.edugrowhub.entity.WhatsAppLog;
+import com.edugrowhub.service.messaging.WhatsAppDispatcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Notification Outbox Dispatcher
+ *
+ * Drains the notification outbox on a fixed delay:
+ * - Claims up to notifications.outbox.batch-size pending rows per round,
+ *   never more than the WhatsApp dispatcher queue has room for
+ * - Hands each to WhatsAppService, which sends them concurrently through
+ *   WhatsAppDispatcher with no transaction held; test results claimed together
+ *   for one student are sent as a single digest message
+ * - Links the resulting WhatsApp log and marks the row PROCESSED when its
+ *   send completes
+ *
+ * The scheduler thread never waits for a send. A run keeps claiming while
+ * rounds come back full and fewer than notifications.outbox.max-in-flight
+ * rows are being sent; the next run picks up from there.
+ *
+ * A row whose send fails unexpectedly stays PROCESSING and is returned to the
+ * queue after notifications.outbox.claim-timeout, so delivery is at-least-once.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class NotificationOutboxDispatcher {
+
+    private final NotificationOutboxService outboxService;
+    private final WhatsAppService whatsAppService;
+    private final WhatsAppDispatcher whatsAppDispatcher;
+    private final MeterRegistry meterRegistry;
+    private final Counter stalledCounter;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @Value("${notifications.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${notifications.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${notifications.outbox.max-in-flight:200}")
+    private int maxInFlight;
+
+    @Value("${notifications.outbox.claim-timeout:PT5M}")
+    private Duration claimTimeout;
+
+    public NotificationOutboxDispatcher(NotificationOutboxService outboxService,
+                                        WhatsAppService whatsAppService,
+                                        WhatsAppDispatcher whatsAppDispatcher,
+                                        MeterRegistry meterRegistry) {
+        this.outboxService = outboxService;
+        this.whatsAppService = whatsAppService;
+        this.whatsAppDispatcher = whatsAppDispatcher;
+        this.meterRegistry = meterRegistry;
+        this.stalledCounter = Counter.builder("notifications.outbox.stalled")
+                .description("Outbox rows left PROCESSING after an unexpected send error")
+                .register(meterRegistry);
+        Gauge.builder("notifications.outbox.in.flight", inFlight, AtomicInteger::get)
+                .description("Claimed outbox rows whose send has not completed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Claim and hand off rounds until one is not full or the in-flight limit is reached
+     */
+    @Scheduled(fixedDelayString = "${notifications.outbox.poll-interval-ms:1000}")
+    public void dispatchPending() {
+        if (!enabled) {
+            return;
+        }
+
+        int released = outboxService.releaseStaleClaims(LocalDateTime.now().minus(claimTimeout));
+        if (released > 0) {
+            log.warn("Returned {} stale outbox rows to the queue", released);
+        }
+
+        int limit;
+        List<NotificationOutbox> claimed;
+        do {
+            limit = Math.min(Math.min(batchSize, maxInFlight - inFlight.get()), whatsAppDispatcher.remainingCapacity());
+            if (limit <= 0) {
+                return;
+            }
+            claimed = outboxService.claimBatch(limit);
+            // Companion test results can take a round past the limit
+            inFlight.addAndGet(claimed.size());
+            for (List<NotificationOutbox> group : groupForSending(claimed)) {
+                dispatch(group).whenComplete((ignored, error) -> inFlight.addAndGet(-group.size()));
+            }
+        } while (claimed.size() >= limit);
+    }
+
+    /**
+     * Group test results for the same student and phone; every other row is sent on its own
+     */
+    private List<List<NotificationOutbox>> groupForSending(List<NotificationOutbox> claimed) {
+        List<List<NotificationOutbox>> groups = new ArrayList<>(claimed.size());
+        Map<String, List<NotificationOutbox>> testResults = new LinkedHashMap<>();
+        for (NotificationOutbox entry : claimed) {
+            if (WhatsAppService.MESSAGE_TYPE_TEST_RESULT.equals(entry.getMessageType()) && entry.getMetadata() != null) {
+                String key = (entry.getStudent() != null ? entry.getStudent().getId() : null) + ":" + entry.getRecipientPhone();
+                testResults.computeIfAbsent(key, k -> new ArrayList<>()).add(entry);
+            } else {
+                groups.add(List.of(entry));
+            }
+        }
+        groups.addAll(testResults.values());
+        return groups;
+    }
+
+    private CompletableFuture<Void> dispatch(List<NotificationOutbox> group) {
+        NotificationOutbox first = group.get(0);
+        CompletableFuture<WhatsAppLog> send;
+        try {
+            send = group.size() == 1
+                    ? whatsAppService.sendQueuedMessage(first)
+                    : whatsAppService.sendTestResultDigest(group);
+        } catch (Exception e) {
+            send = CompletableFuture.failedFuture(e);
+        }
+
+        return send
+                .thenAccept(whatsAppLog -> {
+                    // A null log means the message was a suppressed duplicate
+                    Long logId = whatsAppLog != null ? whatsAppLog.getId() : null;
+                    String status = whatsAppLog != null ? whatsAppLog.getMessageStatus() : WhatsAppService.STATUS_SUPPRESSED;
+                    for (NotificationOutbox entry : group) {
+                        outboxService.markProcessed(entry, logId);
+                    }
+                    meterRegistry.counter("notifications.outbox.processed",
+                            "type", first.getMessageType(),
+                            "status", status).increment(group.size());
+                })
+                .exceptionally(e -> {
+                    stalledCounter.increment(group.size());
+                    log.error("Failed to dispatch outbox rows {}: {}",
+                            group.stream().map(NotificationOutbox::getId).toList(), e.getMessage());
+                    return null;
+                });
+    }
+}
@@ -0,0 +1,164 @@
+package com.edugrowhub.service;
+
+import com.edugrowhub.entity.NotificationOutbox;
+import com.edugrowhub.entity.Student;
+import com.edugrowhub.entity.TestResult;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.repository.NotificationOutboxRepository;
+import com.edugrowhub.service.messaging.RenderedMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Notification Outbox Service
+ *
+ * Writes WhatsApp notifications to the outbox inside the caller's transaction
+ * and hands claimed rows to NotificationOutboxDispatcher. No Twilio call is
+ * made from here.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class NotificationOutboxService {
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final WhatsAppService whatsAppService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${notifications.outbox.coalesce-window:PT1M}")
+    private Duration coalesceWindow;
+
+    /**
+     * Queue a test result notification in the current transaction
+     *
+     * @param student Student receiving the notification
+     * @param teacher Teacher who added the result
+     * @param testResult Saved test result
+     * @return Outbox row, or null if the student has no phone number
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public NotificationOutbox enqueueTestResult(Student student, User teacher, TestResult testResult) {
+        if (student.getPhoneNumber() == null || student.getPhoneNumber().trim().isEmpty()) {
+            log.warn("Cannot queue WhatsApp notification: Student ID {} has no phone number", student.getId());
+            return null;
+        }
+
+        RenderedMessage message = whatsAppService.createTestResultMessage(
+                student.getName(),
+                testResult.getSubject(),
+                testResult.getScore(),
+                testResult.getMaxScore(),
+                testResult.getPercentage(),
+                testResult.getGrade()
+        );
+
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("testResultId", testResult.getId());
+        metadata.put("subject", testResult.getSubject());
+        metadata.put("score", testResult.getScore());
+        metadata.put("maxScore", testResult.getMaxScore());
+        metadata.put("percentage", testResult.getPercentage());
+        metadata.put("grade", testResult.getGrade());
+        metadata.put("testDate", testResult.getTestDate().toString());
+
+        NotificationOutbox entry = new NotificationOutbox(
+                WhatsAppService.MESSAGE_TYPE_TEST_RESULT,
+                student.getPhoneNumber(),
+                message,
+                student,
+                teacher,
+                toJson(metadata)
+        );
+        return outboxRepository.save(entry);
+    }
+
+    /**
+     * Claim the oldest pending rows for one dispatcher run
+     *
+     * Test results wait for notifications.outbox.coalesce-window. When one is
+     * claimed, every other pending test result for the same recipient is claimed
+     * with it (even if more recent, and beyond the limit) so they go out as one
+     * digest message.
+     *
+     * @param limit Maximum number of rows to pick; one message is sent per recipient
+     * @return Claimed rows with student and teacher loaded
+     */
+    public List<NotificationOutbox> claimBatch(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> candidateIds = outboxRepository.findPendingIds(now.minus(coalesceWindow), PageRequest.of(0, limit));
+        if (candidateIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String claimToken = UUID.randomUUID().toString();
+        int claimed = outboxRepository.claim(candidateIds, claimToken, now);
+        if (claimed == 0) {
+            return Collections.emptyList();
+        }
+
+        List<NotificationOutbox> entries = outboxRepository.findClaimed(claimToken);
+        Set<String> testResultPhones = entries.stream()
+                .filter(entry -> WhatsAppService.MESSAGE_TYPE_TEST_RESULT.equals(entry.getMessageType()))
+                .map(NotificationOutbox::getRecipientPhone)
+                .collect(Collectors.toSet());
+        if (!testResultPhones.isEmpty()
+                && outboxRepository.claimTestResultCompanions(testResultPhones, claimToken, now) > 0) {
+            entries = outboxRepository.findClaimed(claimToken);
+        }
+        return entries;
+    }
+
+    /**
+     * Record that a claimed row was handed to WhatsAppService
+     */
+    public void markProcessed(NotificationOutbox entry, Long whatsAppLogId) {
+        outboxRepository.markProcessed(entry.getId(), entry.getClaimToken(), whatsAppLogId, LocalDateTime.now());
+    }
+
+    /**
+     * Return rows claimed before the cutoff to PENDING
+     *
+     * @return Number of rows released
+     */
+    public int releaseStaleClaims(LocalDateTime cutoff) {
+        return outboxRepository.releaseStaleClaims(cutoff);
+    }
+
+    /**
+     * Notifications a teacher triggered that have not been sent yet
+     */
+    @Transactional(readOnly = true)
+    public List<NotificationOutbox> getUnsentForTeacher(Long teacherId) {
+        return outboxRepository.findUnsentByTeacherId(teacherId);
+    }
+
+    private String toJson(Map<String, Object> metadata) {
+        try {
+            return objectMapper.writeValueAsString(metadata);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize notification metadata: {}", e.getMessage());
+            return null;
+        }
+    }
+}
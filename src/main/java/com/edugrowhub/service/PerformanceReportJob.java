@@ -0,0 +1,194 @@
+package com.edugrowhub.service;
+
+import com.edugrowhub.entity.PerformanceReportRun;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Performance Report Job
+ *
+ * Sends every student with test results a performance report (total tests,
+ * average percentage, overall grade, passed and failed tests) on
+ * reports.performance.cron, weekly by default:
+ * - Starts a run, split into chunks of reports.performance.chunk-size
+ *   consecutive student IDs, or joins the run already in progress
+ * - Processes the pending chunks on the bounded "performanceReportExecutor";
+ *   each chunk is aggregated with one GROUP BY query and its reports queued in
+ *   the notification outbox, which sends them with the usual rate limit
+ * - Completes the run once every chunk is done
+ *
+ * Each chunk is its own checkpoint: it is marked done in the transaction that
+ * queues its reports. A run interrupted by a restart is resumed when the
+ * application is ready, skipping the chunks already done, so no student gets
+ * the same report twice.
+ *
+ * The job runs on its own thread, never on the shared scheduler thread.
+ * Metrics: reports.performance.run (run duration), reports.performance.chunk
+ * (chunk duration), reports.performance.chunk.throughput (reports queued per
+ * second within a chunk) and reports.performance.queued.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class PerformanceReportJob {
+
+    private final PerformanceReportService performanceReportService;
+    private final ExecutorService performanceReportExecutor;
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(
+            new CustomizableThreadFactory("performance-report-run-"));
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Timer runTimer;
+    private final Timer chunkTimer;
+    private final DistributionSummary chunkThroughput;
+    private final Counter queuedCounter;
+
+    @Value("${reports.performance.enabled:true}")
+    private boolean enabled;
+
+    @Value("${reports.performance.chunk-size:500}")
+    private int chunkSize;
+
+    public PerformanceReportJob(PerformanceReportService performanceReportService,
+                                @Qualifier("performanceReportExecutor") ExecutorService performanceReportExecutor,
+                                MeterRegistry meterRegistry) {
+        this.performanceReportService = performanceReportService;
+        this.performanceReportExecutor = performanceReportExecutor;
+        this.runTimer = Timer.builder("reports.performance.run")
+                .description("Time to process a performance report run on this instance")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("reports.performance.chunk")
+                .description("Time to aggregate and queue one chunk of performance reports")
+                .register(meterRegistry);
+        this.chunkThroughput = DistributionSummary.builder("reports.performance.chunk.throughput")
+                .description("Performance reports queued per second within a chunk")
+                .baseUnit("reports/s")
+                .register(meterRegistry);
+        this.queuedCounter = Counter.builder("reports.performance.queued")
+                .description("Performance reports queued in the notification outbox")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start the scheduled run
+     */
+    @Scheduled(cron = "${reports.performance.cron:0 0 18 * * SUN}")
+    public void runScheduled() {
+        if (enabled) {
+            submit(false);
+        }
+    }
+
+    /**
+     * Resume a run interrupted by a restart
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRun() {
+        if (enabled) {
+            submit(true);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        coordinator.shutdownNow();
+        coordinator.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void submit(boolean resumeOnly) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Performance report run already in progress on this instance");
+            return;
+        }
+        coordinator.execute(() -> {
+            try {
+                run(resumeOnly);
+            } catch (Exception e) {
+                log.error("Performance report run stopped: {}", e.getMessage(), e);
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    private void run(boolean resumeOnly) {
+        Optional<PerformanceReportRun> active = performanceReportService.findActiveRun();
+        if (active.isEmpty() && resumeOnly) {
+            return;
+        }
+
+        PerformanceReportRun run;
+        if (active.isPresent()) {
+            run = active.get();
+            log.info("Resuming performance report run {} started at {}", run.getId(), run.getStartedAt());
+        } else {
+            try {
+                run = performanceReportService.startRun(chunkSize);
+            } catch (DataIntegrityViolationException e) {
+                // Another instance started a run at the same moment; help it instead
+                run = performanceReportService.findActiveRun().orElseThrow(() -> e);
+            }
+        }
+
+        PerformanceReportRun current = run;
+        runTimer.record(() -> processChunks(current));
+    }
+
+    private void processChunks(PerformanceReportRun run) {
+        List<Long> pending = performanceReportService.findPendingChunkIds(run.getId());
+        List<CompletableFuture<Void>> chunks = new ArrayList<>(pending.size());
+        for (Long chunkId : pending) {
+            if (Thread.currentThread().isInterrupted()) {
+                log.info("Performance report run {} interrupted; it resumes on the next start", run.getId());
+                return;
+            }
+            chunks.add(CompletableFuture.runAsync(() -> processChunk(chunkId), performanceReportExecutor));
+        }
+
+        CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0])).join();
+
+        if (performanceReportService.completeRun(run)) {
+            log.info("Performance report run {} completed", run.getId());
+        }
+    }
+
+    private void processChunk(Long chunkId) {
+        long startedNanos = System.nanoTime();
+        int queued = performanceReportService.processChunk(chunkId);
+        if (queued < 0) {
+            return;
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedNanos);
+        chunkTimer.record(elapsed);
+        queuedCounter.increment(queued);
+        double perSecond = queued / Math.max(elapsed.toNanos() / 1e9, 1e-3);
+        chunkThroughput.record(perSecond);
+        log.debug("Queued {} performance reports for chunk {} in {} ms ({} reports/s)",
+                queued, chunkId, elapsed.toMillis(), Math.round(perSecond));
+    }
+}
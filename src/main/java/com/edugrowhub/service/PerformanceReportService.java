@@ -0,0 +1,153 @@
+package com.edugrowhub.service;
+
+import com.edugrowhub.dto.StudentPerformanceSummary;
+import com.edugrowhub.entity.NotificationOutbox;
+import com.edugrowhub.entity.PerformanceReportChunk;
+import com.edugrowhub.entity.PerformanceReportRun;
+import com.edugrowhub.repository.NotificationOutboxRepository;
+import com.edugrowhub.repository.PerformanceReportChunkRepository;
+import com.edugrowhub.repository.PerformanceReportRunRepository;
+import com.edugrowhub.repository.StudentRepository;
+import com.edugrowhub.repository.TestResultRepository;
+import com.edugrowhub.repository.UserRepository;
+import com.edugrowhub.service.messaging.RenderedMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Performance Report Service
+ *
+ * Unit operations of the performance-report job (PerformanceReportJob), each
+ * in its own transaction:
+ * - startRun splits the students into chunks of consecutive IDs
+ * - processChunk aggregates one chunk's results with a single GROUP BY query
+ *   and queues a PERFORMANCE_REPORT notification per student in the outbox,
+ *   marking the chunk DONE in the same transaction
+ * - completeRun closes the run once no chunk is pending
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class PerformanceReportService {
+
+    private final PerformanceReportRunRepository runRepository;
+    private final PerformanceReportChunkRepository chunkRepository;
+    private final StudentRepository studentRepository;
+    private final TestResultRepository testResultRepository;
+    private final UserRepository userRepository;
+    private final NotificationOutboxRepository outboxRepository;
+    private final WhatsAppNotificationService whatsAppNotificationService;
+
+    /**
+     * The run in progress, if any
+     */
+    @Transactional(readOnly = true)
+    public Optional<PerformanceReportRun> findActiveRun() {
+        return runRepository.findByActiveKey(PerformanceReportRun.ACTIVE);
+    }
+
+    /**
+     * Start a run and split the students into chunks
+     *
+     * Student IDs are read by keyset pagination on the primary key, chunkSize
+     * at a time; each page becomes one chunk covering its first to last ID.
+     *
+     * @param chunkSize Students per chunk
+     * @return The new run
+     * @throws org.springframework.dao.DataIntegrityViolationException if another run is already active
+     */
+    public PerformanceReportRun startRun(int chunkSize) {
+        PerformanceReportRun run = runRepository.saveAndFlush(new PerformanceReportRun());
+
+        int chunkCount = 0;
+        long afterId = 0;
+        List<Long> studentIds;
+        do {
+            studentIds = studentRepository.findIdsAfter(afterId, PageRequest.of(0, chunkSize));
+            if (!studentIds.isEmpty()) {
+                afterId = studentIds.get(studentIds.size() - 1);
+                chunkRepository.save(new PerformanceReportChunk(run.getId(), studentIds.get(0), afterId));
+                chunkCount++;
+            }
+        } while (studentIds.size() == chunkSize);
+
+        run.setChunkCount(chunkCount);
+        log.info("Started performance report run {} with {} chunks of up to {} students", run.getId(), chunkCount, chunkSize);
+        return run;
+    }
+
+    /**
+     * IDs of a run's chunks still to be processed
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findPendingChunkIds(Long runId) {
+        return chunkRepository.findPendingIds(runId);
+    }
+
+    /**
+     * Queue the performance reports of one chunk
+     *
+     * Students without results or without a phone number get no report.
+     *
+     * @param chunkId Pending chunk ID
+     * @return Number of reports queued, or -1 if the chunk was already processed
+     */
+    public int processChunk(Long chunkId) {
+        long startedNanos = System.nanoTime();
+        if (chunkRepository.claim(chunkId, LocalDateTime.now()) == 0) {
+            return -1;
+        }
+
+        PerformanceReportChunk chunk = chunkRepository.findById(chunkId).orElseThrow();
+        List<StudentPerformanceSummary> summaries = testResultRepository.summarizeStudentsBetween(
+                chunk.getFirstStudentId(), chunk.getLastStudentId());
+
+        List<NotificationOutbox> reports = new ArrayList<>(summaries.size());
+        for (StudentPerformanceSummary summary : summaries) {
+            if (summary.phoneNumber() == null || summary.phoneNumber().trim().isEmpty()) {
+                continue;
+            }
+            RenderedMessage message = whatsAppNotificationService.createPerformanceReportMessage(
+                    summary.studentName(), summary.totalTests(), summary.averagePercentage(),
+                    summary.overallGrade(), summary.passedTests(), summary.failedTests());
+            reports.add(new NotificationOutbox(
+                    WhatsAppService.MESSAGE_TYPE_PERFORMANCE_REPORT,
+                    summary.phoneNumber(),
+                    message,
+                    studentRepository.getReferenceById(summary.studentId()),
+                    userRepository.getReferenceById(summary.teacherId()),
+                    "{\"performanceReportRunId\":" + chunk.getRunId() + "}"
+            ));
+        }
+        outboxRepository.saveAll(reports);
+
+        long durationMs = Duration.ofNanos(System.nanoTime() - startedNanos).toMillis();
+        chunkRepository.recordOutcome(chunkId, reports.size(), durationMs);
+        return reports.size();
+    }
+
+    /**
+     * Complete a run if none of its chunks is pending
+     *
+     * @return true if this call completed the run
+     */
+    public boolean completeRun(PerformanceReportRun run) {
+        long reportCount = chunkRepository.sumReportCount(run.getId());
+        LocalDateTime now = LocalDateTime.now();
+        long durationMs = Duration.between(run.getStartedAt(), now).toMillis();
+        return runRepository.complete(run.getId(), reportCount, durationMs, now) > 0;
+    }
+}
@@ -0,0 +1,94 @@
+package com.edugrowhub.service;
+
+import com.edugrowhub.dto.StudentReport;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Student Report Cache
+ *
+ * Bounded cache of built student reports keyed by student ID. Concurrent
+ * requests for a report that is not cached wait for a single build instead of
+ * each building it.
+ *
+ * Writes that change a student's results evict the student's report once their
+ * transaction commits (evictAfterCommit). Evicting a report that is still being
+ * built waits for the build and then drops it, so a report built from data read
+ * before the commit is never served afterwards. The TTL bounds how long another
+ * application instance can serve a report after a change made elsewhere.
+ *
+ * Hit/miss/eviction metrics are published under the cache name "student.reports",
+ * with the hit ratio as student.reports.cache.hit.ratio and build times as
+ * student.reports.cache.load.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Component
+public class StudentReportCache {
+
+    private final Cache<Long, StudentReport> reports;
+    private final Timer loadTimer;
+
+    public StudentReportCache(MeterRegistry meterRegistry,
+                              @Value("${reports.cache.max-size:10000}") long maxSize,
+                              @Value("${reports.cache.ttl:PT10M}") Duration ttl) {
+        this.reports = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.loadTimer = Timer.builder("student.reports.cache.load")
+                .description("Time to build a student report that was not cached")
+                .register(meterRegistry);
+        Gauge.builder("student.reports.cache.hit.ratio", reports, cache -> cache.stats().hitRate())
+                .description("Share of student report requests served from the cache")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, reports, "student.reports");
+    }
+
+    /**
+     * Get a student's report, building it if it is not cached
+     *
+     * The loader must not evict reports itself: it runs while the entry is
+     * being computed.
+     *
+     * @param studentId Student ID
+     * @param loader Builds the report, in its own transaction
+     * @return The cached or newly built report
+     */
+    public StudentReport get(Long studentId, Supplier<StudentReport> loader) {
+        return reports.get(studentId, id -> loadTimer.record(loader));
+    }
+
+    /**
+     * Evict a student's report when the current transaction commits
+     *
+     * Without a transaction the report is evicted immediately.
+     *
+     * @param studentId Student whose results changed
+     */
+    public void evictAfterCommit(Long studentId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reports.invalidate(studentId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reports.invalidate(studentId);
+            }
+        });
+    }
+}
@@ -0,0 +1,115 @@
+package com.edugrowhub.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Student Summary Rebuilder
+ *
+ * Recomputes every student summary from test_results on a background thread,
+ * student-summaries.rebuild.page-size students per transaction in student ID
+ * order. Each page locks its students, so marks entered during the rebuild
+ * wait for at most one page and are never lost. Started by a superadmin
+ * through POST /api/admin/student-summaries/rebuild, e.g. after migration 012
+ * or to repair a summary edited by hand.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class StudentSummaryRebuilder {
+
+    private final StudentSummaryService studentSummaryService;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            new CustomizableThreadFactory("student-summary-rebuild-"));
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${student-summaries.rebuild.page-size:200}")
+    private int pageSize;
+
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime completedAt;
+    private volatile long studentsProcessed;
+    private volatile String lastError;
+
+    public StudentSummaryRebuilder(StudentSummaryService studentSummaryService) {
+        this.studentSummaryService = studentSummaryService;
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Start a rebuild in the background
+     *
+     * @return false if a rebuild is already running
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        startedAt = LocalDateTime.now();
+        completedAt = null;
+        studentsProcessed = 0;
+        lastError = null;
+        executor.execute(this::rebuildAll);
+        return true;
+    }
+
+    /**
+     * Progress of the current or last rebuild
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("running", running.get());
+        status.put("startedAt", startedAt);
+        status.put("completedAt", completedAt);
+        status.put("studentsProcessed", studentsProcessed);
+        status.put("error", lastError);
+        return status;
+    }
+
+    private void rebuildAll() {
+        try {
+            log.info("Rebuilding student summaries, {} students per page", pageSize);
+            long afterId = 0;
+            List<Long> page;
+            do {
+                if (Thread.currentThread().isInterrupted()) {
+                    lastError = "Interrupted by shutdown";
+                    log.info("Student summary rebuild interrupted after {} students", studentsProcessed);
+                    return;
+                }
+                page = studentSummaryService.rebuildPage(afterId, pageSize);
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1);
+                    studentsProcessed += page.size();
+                }
+            } while (page.size() == pageSize);
+
+            completedAt = LocalDateTime.now();
+            log.info("Rebuilt the summaries of {} students", studentsProcessed);
+        } catch (Exception e) {
+            lastError = e.getMessage();
+            log.error("Student summary rebuild stopped after {} students: {}", studentsProcessed, e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+}
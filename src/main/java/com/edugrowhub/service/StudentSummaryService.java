@@ -0,0 +1,181 @@
+package com.edugrowhub.service;
+
+import com.edugrowhub.dto.SubjectResultStats;
+import com.edugrowhub.entity.StudentSubjectSummary;
+import com.edugrowhub.entity.StudentSummary;
+import com.edugrowhub.entity.TestResult;
+import com.edugrowhub.repository.StudentRepository;
+import com.edugrowhub.repository.StudentSubjectSummaryRepository;
+import com.edugrowhub.repository.StudentSummaryRepository;
+import com.edugrowhub.repository.TestResultRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Student Summary Service
+ *
+ * Keeps student_summaries and student_subject_summaries in step with
+ * test_results, inside the transaction that changes the results:
+ * - The caller locks the students first (lockStudents), before writing any
+ *   result, so concurrent changes for a student apply one after the other
+ * - applyChanges adds new results to the totals and subtracts removed ones
+ *   (delta arithmetic); removing the best, worst, lowest or highest result
+ *   recomputes the student's summary instead, as does a student without one
+ * - rebuild recomputes summaries from test_results from scratch
+ * - applyChanges and rebuildPage evict the students' cached reports after
+ *   commit; rebuild does not, as it runs while a report is being cached
+ *
+ * A missing summary means the student has no results or their summary has not
+ * been built yet (summaries are built on first use after migration 012, or in
+ * bulk by the admin rebuild).
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class StudentSummaryService {
+
+    private final StudentRepository studentRepository;
+    private final StudentSummaryRepository summaryRepository;
+    private final StudentSubjectSummaryRepository subjectSummaryRepository;
+    private final TestResultRepository testResultRepository;
+    private final StudentReportCache studentReportCache;
+
+    /**
+     * Lock students whose results are about to change, until the transaction ends
+     */
+    public void lockStudents(Collection<Long> studentIds) {
+        if (!studentIds.isEmpty()) {
+            studentRepository.lockByIds(studentIds);
+        }
+    }
+
+    /**
+     * Apply one student's result changes to their summary
+     *
+     * The student must be locked (lockStudents) and the changes saved or
+     * pending in the same transaction.
+     *
+     * @param studentId Student the results belong to
+     * @param removed Deleted results, and edited results as they were before the edit
+     * @param added New results, and edited results as saved
+     */
+    public void applyChanges(Long studentId, List<TestResult> removed, List<TestResult> added) {
+        studentReportCache.evictAfterCommit(studentId);
+        Optional<StudentSummary> existing = summaryRepository.findById(studentId);
+        if (existing.isEmpty() || removed.stream().anyMatch(existing.get()::isExtreme)) {
+            recompute(studentId);
+            return;
+        }
+
+        StudentSummary summary = existing.get();
+        Map<String, StudentSubjectSummary> subjects = subjectRows(studentId);
+        for (TestResult testResult : removed) {
+            summary.subtract(testResult);
+            StudentSubjectSummary subject = subjects.get(testResult.getSubject());
+            subject.subtract(testResult);
+        }
+        for (TestResult testResult : added) {
+            summary.add(testResult);
+            StudentSubjectSummary subject = subjects.get(testResult.getSubject());
+            if (subject == null) {
+                subject = subjectSummaryRepository.save(new StudentSubjectSummary(studentId, testResult.getSubject()));
+                subjects.put(testResult.getSubject(), subject);
+            }
+            subject.add(testResult);
+        }
+        // Emptied rows go last: an edit that keeps the subject refills its row, and Hibernate
+        // would insert a replacement row before deleting the old one, breaking the unique key
+        for (StudentSubjectSummary subject : subjects.values()) {
+            if (subject.getTestsCount() == 0) {
+                subjectSummaryRepository.delete(subject);
+            }
+        }
+    }
+
+    /**
+     * Build a student's missing summary from their results
+     *
+     * @return The summary, or empty if the student has no results
+     */
+    public Optional<StudentSummary> rebuild(Long studentId) {
+        lockStudents(List.of(studentId));
+        return recompute(studentId);
+    }
+
+    /**
+     * Rebuild the summaries of the next page of students
+     *
+     * @param afterId Last student ID of the previous page (0 for the first)
+     * @param pageSize Students per page
+     * @return IDs of the students rebuilt, in ID order; fewer than pageSize on the last page
+     */
+    public List<Long> rebuildPage(long afterId, int pageSize) {
+        List<Long> studentIds = studentRepository.findIdsAfter(afterId, PageRequest.of(0, pageSize));
+        lockStudents(studentIds);
+        for (Long studentId : studentIds) {
+            recompute(studentId);
+            studentReportCache.evictAfterCommit(studentId);
+        }
+        return studentIds;
+    }
+
+    // Replace a student's summary and subject rows with aggregates of test_results
+    private Optional<StudentSummary> recompute(Long studentId) {
+        List<SubjectResultStats> stats = testResultRepository.summarizeSubjectsByStudentId(studentId);
+        Map<String, StudentSubjectSummary> subjects = subjectRows(studentId);
+        Optional<StudentSummary> existing = summaryRepository.findById(studentId);
+
+        if (stats.isEmpty()) {
+            subjectSummaryRepository.deleteAll(subjects.values());
+            existing.ifPresent(summaryRepository::delete);
+            return Optional.empty();
+        }
+
+        Map<String, StudentSubjectSummary> rebuilt = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (SubjectResultStats subjectStats : stats) {
+            StudentSubjectSummary subject = rebuilt.get(subjectStats.subject());
+            if (subject != null) {
+                // Same subject in another letter case, grouped separately by a case-sensitive database
+                subject.merge(subjectStats);
+                continue;
+            }
+            subject = subjects.remove(subjectStats.subject());
+            if (subject == null) {
+                subject = new StudentSubjectSummary(studentId, subjectStats.subject());
+            }
+            subject.reset(subjectStats);
+            rebuilt.put(subjectStats.subject(), subjectSummaryRepository.save(subject));
+        }
+        // Subjects left over no longer have results
+        subjectSummaryRepository.deleteAll(subjects.values());
+
+        PageRequest first = PageRequest.of(0, 1);
+        TestResult best = testResultRepository.findByStudentIdOrderByPercentageDesc(studentId, first).get(0);
+        TestResult worst = testResultRepository.findByStudentIdOrderByPercentageAsc(studentId, first).get(0);
+        StudentSummary summary = existing.orElseGet(() -> new StudentSummary(studentId));
+        summary.reset(stats, best, worst);
+        return Optional.of(summaryRepository.save(summary));
+    }
+
+    // A student's subject rows by subject, ignoring case like the unique key does on MySQL
+    private Map<String, StudentSubjectSummary> subjectRows(Long studentId) {
+        Map<String, StudentSubjectSummary> subjects = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (StudentSubjectSummary subject : subjectSummaryRepository.findByStudentIdOrderBySubjectAsc(studentId)) {
+            subjects.put(subject.getSubject(), subject);
+        }
+        return subjects;
+    }
+}
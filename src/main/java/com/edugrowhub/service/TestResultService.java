@@ -0,0 +1,339 @@
+package com.edugrowhub.service;
+
+import com.edugrowhub.dto.BatchMarksResult;
+import com.edugrowhub.dto.StudentReport;
+import com.edugrowhub.entity.NotificationOutbox;
+import com.edugrowhub.entity.Student;
+import com.edugrowhub.entity.StudentSubjectSummary;
+import com.edugrowhub.entity.StudentSummary;
+import com.edugrowhub.entity.TestResult;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.repository.StudentRepository;
+import com.edugrowhub.repository.StudentSubjectSummaryRepository;
+import com.edugrowhub.repository.StudentSummaryRepository;
+import com.edugrowhub.repository.TestResultRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Test Result Service
+ *
+ * Write paths for test results, and the student report:
+ * - Single and bulk marks entry, each queuing WhatsApp notifications in the
+ *   notification outbox within the same transaction as the marks
+ * - Every add, edit and delete updates the student's summary in the same
+ *   transaction (StudentSummaryService)
+ * - Bulk rows validated in one pass
+ * - Set-based ownership check (one query for all students in the batch)
+ * - Inserts flushed in JDBC batches of hibernate.jdbc.batch_size
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class TestResultService {
+
+    private final StudentRepository studentRepository;
+    private final TestResultRepository testResultRepository;
+    private final NotificationOutboxService notificationOutboxService;
+    private final StudentSummaryService studentSummaryService;
+    private final StudentSummaryRepository summaryRepository;
+    private final StudentSubjectSummaryRepository subjectSummaryRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+
+    @Value("${marks.batch.max-rows:5000}")
+    private int maxBatchRows;
+
+    /**
+     * Validated row from a bulk marks request
+     */
+    private record MarkRow(int index, Long studentId, String subject, double score, double maxScore,
+                           LocalDate testDate) {
+    }
+
+    /**
+     * Saved test result and the notification queued for it
+     *
+     * @param testResult Saved test result
+     * @param notification Outbox row, or null if the student has no phone number
+     */
+    public record AddedResult(TestResult testResult, NotificationOutbox notification) {
+    }
+
+    /**
+     * Save one test result and queue its WhatsApp notification
+     *
+     * @param student Student the result belongs to (ownership already checked)
+     * @param teacher Authenticated teacher
+     * @param subject Trimmed subject
+     * @param score Score obtained
+     * @param maxScore Maximum possible score
+     * @param testDate Date of the test
+     * @return Saved result and queued notification
+     */
+    public AddedResult addResult(Student student, User teacher, String subject, double score, double maxScore,
+                                 LocalDate testDate) {
+        studentSummaryService.lockStudents(List.of(student.getId()));
+        TestResult testResult = testResultRepository.save(new TestResult(subject, score, maxScore, testDate, student));
+        studentSummaryService.applyChanges(student.getId(), List.of(), List.of(testResult));
+        NotificationOutbox notification = notificationOutboxService.enqueueTestResult(student, teacher, testResult);
+        return new AddedResult(testResult, notification);
+    }
+
+    /**
+     * Update a test result
+     *
+     * @param studentId Student the result belongs to (ownership already checked)
+     * @param markId Test result ID
+     * @param subject Trimmed subject
+     * @param score Score obtained
+     * @param maxScore Maximum possible score
+     * @param testDate Date of the test
+     * @return The updated result
+     */
+    public TestResult updateResult(Long studentId, Long markId, String subject, double score, double maxScore,
+                                   LocalDate testDate) {
+        studentSummaryService.lockStudents(List.of(studentId));
+        TestResult testResult = lockedResult(markId);
+        TestResult before = new TestResult(testResult.getId(), testResult.getSubject(), testResult.getScore(),
+                testResult.getMaxScore(), testResult.getTestDate(), testResult.getStudent());
+
+        testResult.setSubject(subject);
+        testResult.setScore(score);
+        testResult.setMaxScore(maxScore);
+        testResult.setTestDate(testDate);
+        TestResult updated = testResultRepository.save(testResult);
+
+        studentSummaryService.applyChanges(studentId, List.of(before), List.of(updated));
+        return updated;
+    }
+
+    /**
+     * Delete a test result
+     *
+     * @param studentId Student the result belongs to (ownership already checked)
+     * @param markId Test result ID
+     * @return The deleted result
+     */
+    public TestResult deleteResult(Long studentId, Long markId) {
+        studentSummaryService.lockStudents(List.of(studentId));
+        TestResult testResult = lockedResult(markId);
+        testResultRepository.delete(testResult);
+        studentSummaryService.applyChanges(studentId, List.of(testResult), List.of());
+        return testResult;
+    }
+
+    /**
+     * Build a student's performance report
+     *
+     * Reads the student's summary by primary key, plus its subject rows and
+     * the best and worst result; the student's results are never aggregated
+     * or all loaded. A student whose results predate the summaries gets their
+     * summary built here. Callers serve reports through StudentReportCache.
+     *
+     * @param student Student the report is for (ownership already checked)
+     * @param teacher Authenticated teacher
+     * @return The report
+     */
+    public StudentReport getStudentReport(Student student, User teacher) {
+        Optional<StudentSummary> summary = summaryRepository.findById(student.getId());
+        if (summary.isEmpty() && testResultRepository.existsByStudentId(student.getId())) {
+            summary = studentSummaryService.rebuild(student.getId());
+        }
+        if (summary.isEmpty()) {
+            return StudentReport.empty(student, teacher.getName());
+        }
+
+        List<StudentSubjectSummary> subjects = subjectSummaryRepository.findByStudentIdOrderBySubjectAsc(student.getId());
+        TestResult best = testResultRepository.findById(summary.get().getBestResultId()).orElse(null);
+        TestResult worst = testResultRepository.findById(summary.get().getWorstResultId()).orElse(null);
+        return StudentReport.of(student, teacher.getName(), summary.get(), subjects, best, worst);
+    }
+
+    /**
+     * Save marks for many students in one request
+     *
+     * Invalid rows and rows for students the teacher does not own are reported
+     * individually; all other rows are inserted and their notifications queued.
+     *
+     * @param teacher Authenticated teacher
+     * @param rows Raw rows from the request body
+     * @return Counts and per-row errors
+     * @throws IllegalArgumentException if the batch is empty or too large
+     */
+    public BatchMarksResult saveBatch(User teacher, List<Map<String, Object>> rows) {
+        if (rows == null || rows.isEmpty()) {
+            throw new IllegalArgumentException("At least one mark is required");
+        }
+        if (rows.size() > maxBatchRows) {
+            throw new IllegalArgumentException("Batch cannot contain more than " + maxBatchRows + " marks");
+        }
+
+        List<BatchMarksResult.RowError> errors = new ArrayList<>();
+        List<MarkRow> validRows = new ArrayList<>(rows.size());
+        Set<Long> studentIds = new HashSet<>();
+
+        // Single validation pass
+        for (int i = 0; i < rows.size(); i++) {
+            Map<String, Object> row = rows.get(i);
+            Long studentId = null;
+            try {
+                studentId = parseStudentId(row);
+                MarkRow markRow = parseRow(i, studentId, row);
+                validRows.add(markRow);
+                studentIds.add(studentId);
+            } catch (IllegalArgumentException e) {
+                errors.add(new BatchMarksResult.RowError(i, studentId, e.getMessage()));
+            }
+        }
+
+        // One set-based ownership query for every student in the batch
+        Map<Long, Student> ownedStudents = studentIds.isEmpty()
+                ? Map.of()
+                : studentRepository.findByTeacherIdAndIdIn(teacher.getId(), studentIds).stream()
+                        .collect(Collectors.toMap(Student::getId, Function.identity()));
+
+        // Locked before any insert: inserting a result share-locks its student row on MySQL
+        studentSummaryService.lockStudents(ownedStudents.keySet());
+        Map<Long, List<TestResult>> addedByStudent = new TreeMap<>();
+
+        int saved = 0;
+        for (MarkRow row : validRows) {
+            Student student = ownedStudents.get(row.studentId());
+            if (student == null) {
+                errors.add(new BatchMarksResult.RowError(row.index(), row.studentId(),
+                        "Student not found or not enrolled with this teacher"));
+                continue;
+            }
+
+            TestResult testResult = new TestResult(
+                    row.subject(),
+                    row.score(),
+                    row.maxScore(),
+                    row.testDate(),
+                    student
+            );
+            entityManager.persist(testResult);
+            notificationOutboxService.enqueueTestResult(student, teacher, testResult);
+            addedByStudent.computeIfAbsent(student.getId(), id -> new ArrayList<>()).add(testResult);
+            saved++;
+
+            // Keep the persistence context small; each flush sends the results and their outbox rows as JDBC batches
+            if (saved % jdbcBatchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        addedByStudent.forEach((studentId, added) -> studentSummaryService.applyChanges(studentId, List.of(), added));
+
+        errors.sort((a, b) -> Integer.compare(a.index(), b.index()));
+        log.info("Bulk marks entry by teacher ID {}: {} saved, {} rejected", teacher.getId(), saved, errors.size());
+
+        return new BatchMarksResult(rows.size(), saved, errors.size(), errors);
+    }
+
+    private Long parseStudentId(Map<String, Object> row) {
+        if (row == null) {
+            throw new IllegalArgumentException("Row is empty");
+        }
+        Object studentIdObj = row.get("studentId");
+        if (studentIdObj == null) {
+            throw new IllegalArgumentException("Student ID is required");
+        }
+        try {
+            return studentIdObj instanceof Number
+                    ? ((Number) studentIdObj).longValue()
+                    : Long.parseLong(studentIdObj.toString());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid student ID");
+        }
+    }
+
+    // Same rules and messages as the single-mark endpoint
+    private MarkRow parseRow(int index, Long studentId, Map<String, Object> row) {
+        Object subjectObj = row.get("subject");
+        Object scoreObj = row.get("score");
+        Object maxScoreObj = row.get("maxScore");
+        Object testDateObj = row.get("testDate");
+
+        if (subjectObj == null || subjectObj.toString().trim().isEmpty()) {
+            throw new IllegalArgumentException("Subject is required");
+        }
+        if (scoreObj == null) {
+            throw new IllegalArgumentException("Score is required");
+        }
+        if (maxScoreObj == null) {
+            throw new IllegalArgumentException("Max score is required");
+        }
+        if (testDateObj == null || testDateObj.toString().trim().isEmpty()) {
+            throw new IllegalArgumentException("Test date is required");
+        }
+
+        double score;
+        double maxScore;
+        LocalDate testDate;
+        try {
+            score = scoreObj instanceof Number ? ((Number) scoreObj).doubleValue() : Double.parseDouble(scoreObj.toString());
+            maxScore = maxScoreObj instanceof Number ? ((Number) maxScoreObj).doubleValue() : Double.parseDouble(maxScoreObj.toString());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number format for score or maxScore");
+        }
+        try {
+            testDate = LocalDate.parse(testDateObj.toString());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date format. Use YYYY-MM-DD format");
+        }
+
+        if (score < 0) {
+            throw new IllegalArgumentException("Score cannot be negative");
+        }
+        if (maxScore <= 0) {
+            throw new IllegalArgumentException("Max score must be greater than 0");
+        }
+        if (score > maxScore) {
+            throw new IllegalArgumentException("Score cannot be greater than max score");
+        }
+        if (testDate.isAfter(LocalDate.now())) {
+            throw new IllegalArgumentException("Test date cannot be in the future");
+        }
+
+        return new MarkRow(index, studentId, subjectObj.toString().trim(), score, maxScore, testDate);
+    }
+
+    // Current state of a result, read after its student was locked
+    private TestResult lockedResult(Long markId) {
+        TestResult testResult = testResultRepository.findById(markId)
+                .orElseThrow(() -> new IllegalArgumentException("Test result not found"));
+        // The caller may have read it earlier in the same persistence context
+        entityManager.refresh(testResult);
+        return testResult;
+    }
+}
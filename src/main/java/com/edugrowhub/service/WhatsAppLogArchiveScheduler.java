@@ -0,0 +1,141 @@
+package com.edugrowhub.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * WhatsApp Log Archive Scheduler
+ *
+ * Runs WhatsAppLogArchiveService on whatsapp.archive.cron (nightly by default):
+ * - Moves finished messages older than whatsapp.archive.hot-retention to the
+ *   archive in chunks of whatsapp.archive.chunk-size, each in its own short
+ *   transaction, stopping after whatsapp.archive.max-chunks-per-run so a
+ *   large backlog is worked off over several nights
+ * - Deletes archive chunks older than whatsapp.archive.retention
+ *
+ * Messages waiting for a retry stay in whatsapp_logs until they finish.
+ *
+ * A run works on its own thread, never on the shared scheduler thread. Each
+ * chunk (select, compress, insert, delete) takes in the order of a few hundred
+ * milliseconds for 1000 rows, so a run that hits max-chunks-per-run (500
+ * chunks, 500k rows) lasts a few minutes; whatsapp.archive.run records the
+ * actual time. A run still going at shutdown stops after its current chunk.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class WhatsAppLogArchiveScheduler {
+
+    private final WhatsAppLogArchiveService archiveService;
+    private final Counter archivedCounter;
+    private final Counter purgedCounter;
+    private final Timer runTimer;
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(
+            new CustomizableThreadFactory("whatsapp-archive-"));
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${whatsapp.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${whatsapp.archive.hot-retention:P90D}")
+    private Duration hotRetention;
+
+    @Value("${whatsapp.archive.retention:P730D}")
+    private Duration retention;
+
+    @Value("${whatsapp.archive.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${whatsapp.archive.max-chunks-per-run:500}")
+    private int maxChunksPerRun;
+
+    public WhatsAppLogArchiveScheduler(WhatsAppLogArchiveService archiveService, MeterRegistry meterRegistry) {
+        this.archiveService = archiveService;
+        this.archivedCounter = Counter.builder("whatsapp.archive.rows")
+                .description("WhatsApp log rows moved to the archive")
+                .register(meterRegistry);
+        this.purgedCounter = Counter.builder("whatsapp.archive.purged")
+                .description("Archive chunks deleted after the retention period")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("whatsapp.archive.run")
+                .description("Time to archive cold WhatsApp logs and purge expired chunks")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start archiving cold messages and purging expired archive chunks on the archive thread
+     */
+    @Scheduled(cron = "${whatsapp.archive.cron:0 30 3 * * *}")
+    public void archiveColdMessages() {
+        if (!enabled) {
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            log.info("WhatsApp log archive run already in progress");
+            return;
+        }
+        runner.execute(() -> {
+            try {
+                runTimer.record(this::run);
+            } catch (Exception e) {
+                log.error("WhatsApp log archive run stopped: {}", e.getMessage(), e);
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        runner.shutdownNow();
+        runner.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void run() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(hotRetention);
+        long archived = 0;
+
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            if (Thread.currentThread().isInterrupted()) {
+                log.info("WhatsApp log archive run interrupted after {} rows; the rest moves next run", archived);
+                return;
+            }
+            int moved;
+            try {
+                moved = archiveService.archiveChunk(cutoff, chunkSize);
+            } catch (RuntimeException e) {
+                log.warn("Stopped archiving WhatsApp logs after {} rows: {}", archived, e.getMessage());
+                break;
+            }
+            archived += moved;
+            archivedCounter.increment(moved);
+            if (moved < chunkSize) {
+                break;
+            }
+        }
+
+        int purged = archiveService.purgeExpired(now.minus(retention));
+        purgedCounter.increment(purged);
+        if (archived > 0 || purged > 0) {
+            log.info("Archived {} WhatsApp logs sent before {}, purged {} expired archive chunks",
+                    archived, cutoff, purged);
+        }
+    }
+}
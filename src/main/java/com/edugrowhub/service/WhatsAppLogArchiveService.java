@@ -0,0 +1,210 @@
+package com.edugrowhub.service;
+
+import com.edugrowhub.dto.ArchivedWhatsAppLog;
+import com.edugrowhub.dto.PageCursor;
+import com.edugrowhub.entity.WhatsAppLogArchive;
+import com.edugrowhub.repository.WhatsAppLogArchiveRepository;
+import com.edugrowhub.repository.WhatsAppLogRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * WhatsApp Log Archive Service
+ *
+ * Keeps whatsapp_logs small by moving finished messages older than the hot
+ * retention period into whatsapp_log_archive, as gzip-compressed chunks of at
+ * most one calendar month each. Each chunk is moved in a single transaction:
+ * the archive rows are inserted and the log rows deleted together, and if
+ * another instance archived some of the same rows first, the transaction is
+ * rolled back.
+ *
+ * Archived messages are only read when a caller asks for them explicitly
+ * (findArchived); every WhatsAppLogRepository query sees hot rows only.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WhatsAppLogArchiveService {
+
+    private final WhatsAppLogRepository whatsAppLogRepository;
+    private final WhatsAppLogArchiveRepository archiveRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Move one chunk of cold messages into the archive
+     *
+     * @param cutoff Messages sent before this time are cold
+     * @param chunkSize Maximum number of messages to move
+     * @return Number of messages archived; less than chunkSize once no cold messages are left
+     */
+    @Transactional
+    public int archiveChunk(LocalDateTime cutoff, int chunkSize) {
+        List<ArchivedWhatsAppLog> rows = whatsAppLogRepository.findArchivable(cutoff, chunkSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        // Rows come ordered by sent_at, so each month is one contiguous run
+        Map<YearMonth, List<ArchivedWhatsAppLog>> byMonth = new LinkedHashMap<>();
+        for (ArchivedWhatsAppLog row : rows) {
+            byMonth.computeIfAbsent(YearMonth.from(row.sentAt()), month -> new ArrayList<>()).add(row);
+        }
+
+        List<WhatsAppLogArchive> chunks = new ArrayList<>(byMonth.size());
+        byMonth.forEach((month, monthRows) -> chunks.add(new WhatsAppLogArchive(
+                month.toString(),
+                monthRows.get(0).sentAt(),
+                monthRows.get(monthRows.size() - 1).sentAt(),
+                monthRows.size(),
+                compress(monthRows))));
+        archiveRepository.saveAll(chunks);
+
+        List<Long> ids = rows.stream().map(ArchivedWhatsAppLog::id).toList();
+        int deleted = whatsAppLogRepository.deleteByIds(ids);
+        if (deleted != ids.size()) {
+            throw new IllegalStateException("Expected to archive " + ids.size() + " WhatsApp logs but deleted "
+                    + deleted + "; another instance is archiving the same rows");
+        }
+        return rows.size();
+    }
+
+    /**
+     * Delete archive chunks past the archive retention period
+     *
+     * @param cutoff Chunks whose newest message was sent before this time are deleted
+     * @return Number of chunks deleted
+     */
+    public int purgeExpired(LocalDateTime cutoff) {
+        return archiveRepository.deleteExpired(cutoff);
+    }
+
+    /**
+     * Read archived messages sent within a date range
+     *
+     * Only chunks overlapping the range are decompressed.
+     *
+     * @param startDate Start date and time
+     * @param endDate End date and time
+     * @param teacherId Only messages sent by this teacher (optional)
+     * @return Archived messages, most recent first
+     */
+    @Transactional(readOnly = true)
+    public List<ArchivedWhatsAppLog> findArchived(LocalDateTime startDate, LocalDateTime endDate, Long teacherId) {
+        List<ArchivedWhatsAppLog> matches = new ArrayList<>();
+        for (WhatsAppLogArchive chunk : archiveRepository.findOverlapping(startDate, endDate)) {
+            for (ArchivedWhatsAppLog row : decompress(chunk.getPayload())) {
+                boolean inRange = !row.sentAt().isBefore(startDate) && !row.sentAt().isAfter(endDate);
+                if (inRange && (teacherId == null || teacherId.equals(row.teacherId()))) {
+                    matches.add(row);
+                }
+            }
+        }
+        matches.sort(Comparator.comparing(ArchivedWhatsAppLog::sentAt).reversed());
+        return matches;
+    }
+
+    /**
+     * Read a page of archived messages sent by a teacher within a date range
+     *
+     * Pages follow the keyset order of the hot logs (sent timestamp, then ID,
+     * descending). Chunks are read newest first, starting at the page position,
+     * and reading stops once the page is full and the next chunk ends before its
+     * oldest message. A page therefore decompresses about one month of chunks,
+     * however wide the range and however deep the page.
+     *
+     * @param startDate Start date and time
+     * @param endDate End date and time
+     * @param teacherId Teacher ID
+     * @param after Position after the previous page's last message, or null for the first page
+     * @param limit Maximum number of messages
+     * @return Archived messages after the position, most recent first
+     */
+    @Transactional(readOnly = true)
+    public List<ArchivedWhatsAppLog> findArchivedPage(LocalDateTime startDate, LocalDateTime endDate, Long teacherId,
+                                                      PageCursor after, int limit) {
+        LocalDateTime beforeSentAt = after == null ? endDate : after.dateTimeKey();
+        long beforeId = after == null ? Long.MAX_VALUE : after.id();
+        Comparator<ArchivedWhatsAppLog> newestFirst = Comparator.comparing(ArchivedWhatsAppLog::sentAt)
+                .thenComparing(ArchivedWhatsAppLog::id)
+                .reversed();
+
+        List<ArchivedWhatsAppLog> page = new ArrayList<>();
+        for (WhatsAppLogArchiveRepository.ChunkRange chunk
+                : archiveRepository.findOverlappingRangesNewestFirst(startDate, beforeSentAt)) {
+            // Chunks can overlap (a message finished late is archived after newer ones), so only
+            // stop once every message left to read is older than the last one on the page
+            if (page.size() >= limit && page.get(limit - 1).sentAt().isAfter(chunk.getLastSentAt())) {
+                break;
+            }
+            byte[] payload = archiveRepository.findPayloadById(chunk.getId()).orElse(null);
+            if (payload == null) {
+                continue;
+            }
+            for (ArchivedWhatsAppLog row : decompress(payload)) {
+                boolean inRange = !row.sentAt().isBefore(startDate) && !row.sentAt().isAfter(beforeSentAt);
+                boolean afterPosition = row.sentAt().isBefore(beforeSentAt) || row.id() < beforeId;
+                if (inRange && afterPosition && teacherId.equals(row.teacherId())) {
+                    page.add(row);
+                }
+            }
+            page.sort(newestFirst);
+            if (page.size() > limit) {
+                page.subList(limit, page.size()).clear();
+            }
+        }
+        return page;
+    }
+
+    private byte[] compress(List<ArchivedWhatsAppLog> rows) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+            for (ArchivedWhatsAppLog row : rows) {
+                gzip.write(objectMapper.writeValueAsBytes(row));
+                gzip.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not compress WhatsApp log archive chunk", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private List<ArchivedWhatsAppLog> decompress(byte[] payload) {
+        List<ArchivedWhatsAppLog> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(payload)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    rows.add(objectMapper.readValue(line, ArchivedWhatsAppLog.class));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read WhatsApp log archive chunk", e);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,140 @@
+package com.edugrowhub.service;
+
+import com.edugrowhub.entity.WhatsAppLog;
+import com.edugrowhub.repository.WhatsAppLogRepository;
+import com.edugrowhub.service.messaging.WhatsAppDispatcher;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * WhatsApp Retry Scheduler
+ *
+ * Retries failed WhatsApp messages in the background:
+ * - Picks up to whatsapp.retry.batch-size FAILED logs whose next attempt is due
+ * - Claims each with a conditional update to RETRYING, so several instances
+ *   never retry the same message
+ * - Resends them through WhatsAppService with RETRY priority and records the
+ *   outcome on the original row (SENT, FAILED with backoff, or DEAD)
+ *
+ * Retries never take the last whatsapp.retry.queue-reserve dispatcher queue
+ * slots, and being lowest priority they are only sent once no first attempt
+ * is waiting. The scheduler thread does not wait for them: at most
+ * whatsapp.retry.batch-size retries are in flight, and each frees its place
+ * when it completes. A retry that ends with an unexpected error returns its
+ * message to FAILED; a claim left behind by a crashed instance expires after
+ * whatsapp.retry.claim-timeout and the message becomes due again.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class WhatsAppRetryScheduler {
+
+    private final WhatsAppLogRepository whatsAppLogRepository;
+    private final WhatsAppService whatsAppService;
+    private final WhatsAppDispatcher whatsAppDispatcher;
+    private final Timer retryLag;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @Value("${whatsapp.retry.enabled:true}")
+    private boolean enabled;
+
+    @Value("${whatsapp.retry.batch-size:50}")
+    private int batchSize;
+
+    @Value("${whatsapp.retry.queue-reserve:1000}")
+    private int queueReserve;
+
+    @Value("${whatsapp.retry.claim-timeout:PT5M}")
+    private Duration claimTimeout;
+
+    public WhatsAppRetryScheduler(WhatsAppLogRepository whatsAppLogRepository,
+                                  WhatsAppService whatsAppService,
+                                  WhatsAppDispatcher whatsAppDispatcher,
+                                  MeterRegistry meterRegistry) {
+        this.whatsAppLogRepository = whatsAppLogRepository;
+        this.whatsAppService = whatsAppService;
+        this.whatsAppDispatcher = whatsAppDispatcher;
+        this.retryLag = Timer.builder("whatsapp.retry.lag")
+                .description("Time between a retry falling due and being claimed")
+                .register(meterRegistry);
+        Gauge.builder("whatsapp.retry.in.flight", inFlight, AtomicInteger::get)
+                .description("Retries handed to the dispatcher and not yet completed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Claim due retries and hand them to the dispatcher without waiting for them
+     */
+    @Scheduled(fixedDelayString = "${whatsapp.retry.poll-interval-ms:5000}")
+    public void retryDueMessages() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int released = whatsAppLogRepository.releaseExpiredRetryClaims(now);
+        if (released > 0) {
+            log.warn("Returned {} expired retry claims to FAILED", released);
+        }
+
+        int limit = Math.min(batchSize - inFlight.get(), whatsAppDispatcher.remainingCapacity() - queueReserve);
+        if (limit <= 0) {
+            return;
+        }
+
+        List<Long> dueIds = whatsAppLogRepository.findDueRetryIds(now, PageRequest.of(0, limit));
+        if (dueIds.isEmpty()) {
+            return;
+        }
+
+        List<WhatsAppLog> due = whatsAppLogRepository.findAllById(dueIds);
+        LocalDateTime leaseUntil = now.plus(claimTimeout);
+        int started = 0;
+        for (WhatsAppLog logEntry : due) {
+            if (whatsAppLogRepository.claimDueRetry(logEntry.getId(), now, leaseUntil) == 0) {
+                continue;
+            }
+            retryLag.record(Duration.between(logEntry.getNextAttemptAt(), now));
+            inFlight.incrementAndGet();
+            CompletableFuture<String> retry;
+            try {
+                retry = whatsAppService.retryClaimedMessage(logEntry);
+            } catch (Exception e) {
+                retry = CompletableFuture.failedFuture(e);
+            }
+            // The outcome is recorded by retryClaimedMessage; only an unexpected error leaves the claim behind
+            retry.whenComplete((status, error) -> {
+                inFlight.decrementAndGet();
+                if (error != null) {
+                    log.error("Retry of WhatsApp message {} did not complete: {}", logEntry.getId(), error.getMessage());
+                    releaseClaim(logEntry.getId());
+                }
+            });
+            started++;
+        }
+        log.info("Started {} retries of failed WhatsApp messages", started);
+    }
+
+    private void releaseClaim(Long id) {
+        try {
+            whatsAppLogRepository.releaseRetryClaim(id, LocalDateTime.now());
+        } catch (Exception e) {
+            log.error("Could not release retry claim of WhatsApp message {}; it expires after {}: {}",
+                    id, claimTimeout, e.getMessage());
+        }
+    }
+}
@@ -1,20 +1,43 @@
 package com.edugrowhub.service;
 
 import com.edugrowhub.config.TwilioConfig;
+import com.edugrowhub.dto.CursorPage;
+import com.edugrowhub.dto.PageCursor;
+import com.edugrowhub.entity.NotificationOutbox;
 import com.edugrowhub.entity.Student;
 import com.edugrowhub.entity.User;
 import com.edugrowhub.entity.WhatsAppLog;
 import com.edugrowhub.repository.WhatsAppLogRepository;
-import com.twilio.rest.api.v2010.account.Message;
-import com.twilio.type.PhoneNumber;
+import com.edugrowhub.service.messaging.MessagePriority;
+import com.edugrowhub.service.messaging.MessageStatsBuffer;
+import com.edugrowhub.service.messaging.MessageTemplates;
+import com.edugrowhub.service.messaging.OutgoingMessage;
+import com.edugrowhub.service.messaging.RecentMessageWindow;
+import com.edugrowhub.service.messaging.RenderedMessage;
+import com.edugrowhub.service.messaging.RetryPolicy;
+import com.edugrowhub.service.messaging.WhatsAppDispatcher;
+import com.edugrowhub.service.messaging.WhatsAppSendException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
 
 /**
  * WhatsApp Service for sending messages via Twilio
@@ -23,14 +46,21 @@ import java.util.Optional;
  * - Sending WhatsApp messages to students and parents
  * - Logging all message attempts for audit purposes
  * - Handling message delivery status updates
- * - Providing templates for different message types
- * - Implementing retry logic for failed messages
+ * - Rendering messages from the versioned MessageTemplates registry; log
+ *   entries store the template ID and parameters rather than the text
+ * - Retrying failed messages on the original log row (see WhatsAppRetryScheduler)
+ * - Counting every logged message and status change in the daily statistics
+ *   rollup (MessageStatsBuffer)
  * 
  * Security and Best Practices:
  * - All messages are logged for compliance and debugging
  * - Phone numbers are validated before sending
- * - Duplicate message prevention
+ * - Duplicate message prevention through an in-memory sliding window
  * - Error handling and retry mechanisms
+ * - Twilio calls never run inside a database transaction; methods that send
+ *   are NOT_SUPPORTED and each log entry is saved in its own short transaction
+ * - Sends go through WhatsAppDispatcher (priority queue, rate limit, bounded
+ *   concurrency); the transport is chosen with whatsapp.transport
  * 
  * @author EduGrowHub Development Team
  * @version 1.0
@@ -43,18 +73,34 @@ public class WhatsAppService {
 
     private final TwilioConfig twilioConfig;
     private final WhatsAppLogRepository whatsAppLogRepository;
+    private final WhatsAppDispatcher whatsAppDispatcher;
+    private final RecentMessageWindow recentMessages;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final RetryPolicy retryPolicy;
+    private final MessageStatsBuffer messageStatsBuffer;
 
     // Message type constants
     public static final String MESSAGE_TYPE_TEST_RESULT = "TEST_RESULT";
     public static final String MESSAGE_TYPE_ENROLLMENT = "ENROLLMENT_CONFIRMATION";
     public static final String MESSAGE_TYPE_REMINDER = "REMINDER";
     public static final String MESSAGE_TYPE_ANNOUNCEMENT = "ANNOUNCEMENT";
+    public static final String MESSAGE_TYPE_PERFORMANCE_REPORT = "PERFORMANCE_REPORT";
+    public static final String MESSAGE_TYPE_TEACHER_NOTIFICATION = "TEACHER_NOTIFICATION";
 
     // Message status constants
     public static final String STATUS_SENT = "SENT";
     public static final String STATUS_FAILED = "FAILED";
     public static final String STATUS_PENDING = "PENDING";
     public static final String STATUS_DELIVERED = "DELIVERED";
+    public static final String STATUS_READ = "READ";
+    public static final String STATUS_UNDELIVERED = "UNDELIVERED";
+    public static final String STATUS_SUPPRESSED = "SUPPRESSED";
+    public static final String STATUS_RETRYING = "RETRYING";
+    public static final String STATUS_DEAD = "DEAD";
+
+    // How long a manual retry may hold a message before the scheduler takes it back
+    private static final Duration MANUAL_RETRY_LEASE = Duration.ofMinutes(5);
 
     /**
      * Send a test result notification to a student
@@ -66,8 +112,10 @@ public class WhatsAppService {
      * @param maxScore The maximum possible score
      * @param percentage The percentage achieved
      * @param grade The grade achieved
-     * @return WhatsAppLog entry for the sent message
+     * @return WhatsAppLog entry for the sent message; an unsaved SUPPRESSED entry if
+     *         the same message was sent recently
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public WhatsAppLog sendTestResultNotification(Student student, User teacher, 
                                                   String subject, double score, double maxScore, 
                                                   double percentage, String grade) {
@@ -80,18 +128,16 @@ public class WhatsAppService {
         }
 
         // Create message content
-        String messageContent = createTestResultMessage(student.getName(), subject, score, maxScore, percentage, grade);
+        RenderedMessage message = createTestResultMessage(student.getName(), subject, score, maxScore, percentage, grade);
         
-        // Check for recent duplicate messages (within last 5 minutes)
-        if (wasRecentlySent(student.getPhoneNumber(), MESSAGE_TYPE_TEST_RESULT, 5)) {
-            log.info("Test result notification was recently sent to {}, skipping duplicate", 
-                    maskPhoneNumber(student.getPhoneNumber()));
-            return logFailedMessage(student.getPhoneNumber(), "Duplicate message prevented", 
-                                  MESSAGE_TYPE_TEST_RESULT, student, teacher);
+        // Send the message unless the same one went out recently
+        WhatsAppLog logEntry = sendUnlessDuplicate(student.getPhoneNumber(), message, MESSAGE_TYPE_TEST_RESULT,
+                                                   student, teacher, null).join();
+        if (logEntry == null) {
+            logEntry = newLogEntry(student.getPhoneNumber(), message, STATUS_SUPPRESSED,
+                                   MESSAGE_TYPE_TEST_RESULT, student, teacher);
         }
-
-        // Send the message
-        return sendWhatsAppMessage(student.getPhoneNumber(), messageContent, MESSAGE_TYPE_TEST_RESULT, student, teacher);
+        return logEntry;
     }
 
     /**
@@ -101,6 +147,7 @@ public class WhatsAppService {
      * @param teacher The teacher who enrolled the student
      * @return WhatsAppLog entry for the sent message
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public WhatsAppLog sendEnrollmentConfirmation(Student student, User teacher) {
         
         if (student == null || student.getPhoneNumber() == null || student.getPhoneNumber().trim().isEmpty()) {
@@ -109,13 +156,114 @@ public class WhatsAppService {
                                   MESSAGE_TYPE_ENROLLMENT, student, teacher);
         }
 
-        String messageContent = createEnrollmentMessage(student.getName(), teacher.getName());
-        return sendWhatsAppMessage(student.getPhoneNumber(), messageContent, MESSAGE_TYPE_ENROLLMENT, student, teacher);
+        RenderedMessage message = createEnrollmentMessage(student.getName(), teacher.getName());
+        return sendWhatsAppMessageAsync(student.getPhoneNumber(), message, MESSAGE_TYPE_ENROLLMENT,
+                                        student, teacher, null).join();
+    }
+
+    /**
+     * Send a notification that was queued in the outbox
+     * 
+     * Applies the same duplicate check as the direct send path and copies the
+     * outbox metadata onto the log entry.
+     * 
+     * @param entry Claimed outbox row
+     * @return Future completed with the WhatsAppLog entry for the sent message,
+     *         or with null if it was a suppressed duplicate (nothing is logged)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<WhatsAppLog> sendQueuedMessage(NotificationOutbox entry) {
+        String messageType = entry.getMessageType();
+        RenderedMessage message = entry.toRenderedMessage();
+
+        if (!MESSAGE_TYPE_TEST_RESULT.equals(messageType)) {
+            return sendWhatsAppMessageAsync(entry.getRecipientPhone(), message, messageType,
+                                            entry.getStudent(), entry.getTeacher(), entry.getMetadata());
+        }
+
+        return sendUnlessDuplicate(entry.getRecipientPhone(), message, messageType,
+                                   entry.getStudent(), entry.getTeacher(), entry.getMetadata());
+    }
+
+    /**
+     * Send several queued test results for one recipient as a single digest message
+     * 
+     * The digest lists every result with the same score, percentage, grade and
+     * status lines as the single-result message. Its log entry's metadata holds
+     * the metadata of every coalesced result.
+     * 
+     * @param entries Claimed TEST_RESULT outbox rows for the same recipient, oldest first
+     * @return Future completed with the WhatsAppLog entry for the digest,
+     *         or with null if it was a suppressed duplicate
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<WhatsAppLog> sendTestResultDigest(List<NotificationOutbox> entries) {
+        if (entries.size() == 1) {
+            return sendQueuedMessage(entries.get(0));
+        }
+
+        NotificationOutbox first = entries.get(0);
+        List<Map<String, Object>> results = new ArrayList<>(entries.size());
+        for (NotificationOutbox entry : entries) {
+            results.add(readMetadata(entry.getMetadata()));
+        }
+
+        String studentName = first.getStudent() != null ? first.getStudent().getName() : "Student";
+        RenderedMessage message = createTestResultDigestMessage(studentName, results);
+        String metadata = writeMetadata(Map.of("results", results));
+
+        log.info("Coalescing {} test results for {} into one message", entries.size(),
+                maskPhoneNumber(first.getRecipientPhone()));
+        meterRegistry.counter("whatsapp.digest.coalesced").increment(entries.size());
+
+        return sendUnlessDuplicate(first.getRecipientPhone(), message, MESSAGE_TYPE_TEST_RESULT,
+                                   first.getStudent(), first.getTeacher(), metadata);
+    }
+
+    /**
+     * Send one student's copy of a broadcast announcement
+     * 
+     * Applies the duplicate check, so a page resent after a crash does not
+     * message students who already received the announcement.
+     * 
+     * @param student Student with a phone number
+     * @param sender Teacher or superadmin who created the broadcast
+     * @param message Message from createAnnouncementMessage
+     * @param metadata JSON metadata stored on the log entry (optional)
+     * @return Future completed with the saved WhatsAppLog entry, or with null if it was a suppressed duplicate
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<WhatsAppLog> sendAnnouncementAsync(Student student, User sender,
+                                                                RenderedMessage message, String metadata) {
+        return sendUnlessDuplicate(student.getPhoneNumber(), message, MESSAGE_TYPE_ANNOUNCEMENT,
+                                   student, sender, metadata);
+    }
+
+    /**
+     * Send a message unless the same one went out recently
+     * 
+     * @return Future completed with the saved log entry, or with null for a suppressed duplicate
+     */
+    private CompletableFuture<WhatsAppLog> sendUnlessDuplicate(String phoneNumber, RenderedMessage message,
+                                                               String messageType, Student student,
+                                                               User teacher, String metadata) {
+        // Check for the same message sent recently (dedup window, 5 minutes by default)
+        long fingerprint = messageFingerprint(phoneNumber, messageType, message.text());
+        if (wasRecentlySent(fingerprint, phoneNumber, messageType)) {
+            log.info("Same {} message was recently sent to {}, skipping duplicate", messageType,
+                    maskPhoneNumber(phoneNumber));
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return sendWhatsAppMessageAsync(phoneNumber, message, messageType, student, teacher, metadata)
+                .whenComplete(forgetIfFailed(fingerprint));
     }
 
     /**
      * Send a generic WhatsApp message
      * 
+     * Blocks until the dispatcher has sent the message and the log entry is saved.
+     * 
      * @param phoneNumber The recipient's phone number (in international format)
      * @param messageContent The message content to send
      * @param messageType The type of message being sent
@@ -123,62 +271,235 @@ public class WhatsAppService {
      * @param teacher The teacher sending the message (optional)
      * @return WhatsAppLog entry for the sent message
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public WhatsAppLog sendWhatsAppMessage(String phoneNumber, String messageContent, 
                                           String messageType, Student student, User teacher) {
-        
-        WhatsAppLog logEntry = null;
-        
-        try {
-            // Validate phone number format
-            String formattedPhone = formatPhoneNumber(phoneNumber);
-            if (formattedPhone == null) {
-                throw new IllegalArgumentException("Invalid phone number format: " + maskPhoneNumber(phoneNumber));
-            }
+        return sendWhatsAppMessageAsync(phoneNumber, messageContent, messageType, student, teacher, null).join();
+    }
+
+    /**
+     * Queue a WhatsApp message on the dispatcher and log the outcome
+     * 
+     * The log entry is saved when the send completes, on the dispatcher's send
+     * thread. Invalid phone numbers are logged as failed without being queued.
+     * Retryable failures are saved with a next attempt time for the retry scheduler.
+     * 
+     * @param phoneNumber The recipient's phone number
+     * @param messageContent The message content to send
+     * @param messageType The type of message being sent; also decides dispatch priority
+     * @param student The student associated with the message (optional)
+     * @param teacher The teacher sending the message (optional)
+     * @param metadata JSON metadata stored on the log entry (optional)
+     * @return Future completed with the saved WhatsAppLog entry
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<WhatsAppLog> sendWhatsAppMessageAsync(String phoneNumber, String messageContent,
+                                                                   String messageType, Student student,
+                                                                   User teacher, String metadata) {
+        return sendWhatsAppMessageAsync(phoneNumber, RenderedMessage.plain(messageContent), messageType,
+                                        student, teacher, metadata);
+    }
+
+    /**
+     * Queue a message rendered from a MessageTemplates template and log the outcome
+     * 
+     * The log entry stores the template ID and parameters instead of the text.
+     * 
+     * @param phoneNumber The recipient's phone number
+     * @param message Message from MessageTemplate.apply (or RenderedMessage.plain for free text)
+     * @param messageType The type of message being sent; also decides dispatch priority
+     * @param student The student associated with the message (optional)
+     * @param teacher The teacher sending the message (optional)
+     * @param metadata JSON metadata stored on the log entry (optional)
+     * @return Future completed with the saved WhatsAppLog entry
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<WhatsAppLog> sendWhatsAppMessageAsync(String phoneNumber, RenderedMessage message,
+                                                                   String messageType, Student student,
+                                                                   User teacher, String metadata) {
+        return dispatchAndLog(phoneNumber, message, messageType, student, teacher, metadata, null, null);
+    }
+
+    /**
+     * Queue a pre-approved Twilio Content template on the dispatcher and log the outcome
+     * 
+     * The log entry records the template SID and variables in its metadata. Template
+     * sends that fail are not retried automatically.
+     * 
+     * @param phoneNumber The recipient's phone number
+     * @param contentSid Twilio Content template SID
+     * @param contentVariables Template variables by placeholder number (optional)
+     * @param messageType The type of message being sent; also decides dispatch priority
+     * @param student The student associated with the message (optional)
+     * @param teacher The teacher sending the message (optional)
+     * @return Future completed with the saved WhatsAppLog entry
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<WhatsAppLog> sendContentTemplateAsync(String phoneNumber, String contentSid,
+                                                                   Map<String, String> contentVariables,
+                                                                   String messageType, Student student, User teacher) {
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("contentSid", contentSid);
+        metadata.put("contentVariables", contentVariables);
+        return dispatchAndLog(phoneNumber, RenderedMessage.plain("Content template " + contentSid), messageType,
+                student, teacher,
+                writeMetadata(metadata), contentSid, contentVariables);
+    }
+
+    private CompletableFuture<WhatsAppLog> dispatchAndLog(String phoneNumber, RenderedMessage renderedMessage,
+                                                          String messageType, Student student, User teacher,
+                                                          String metadata, String contentSid,
+                                                          Map<String, String> contentVariables) {
+        // Validate phone number format
+        String formattedPhone = formatPhoneNumber(phoneNumber);
+        if (formattedPhone == null) {
+            String error = "Invalid phone number format: " + maskPhoneNumber(phoneNumber);
+            log.error("Failed to send WhatsApp message to {}: {}", maskPhoneNumber(phoneNumber), error);
+            return CompletableFuture.completedFuture(
+                    saveFailedLog(phoneNumber, renderedMessage, messageType, student, teacher, metadata, error, false));
+        }
+
+        log.info("Queueing WhatsApp message to {} (type: {})", maskPhoneNumber(formattedPhone), messageType);
 
-            log.info("Sending WhatsApp message to {} (type: {})", maskPhoneNumber(formattedPhone), messageType);
+        OutgoingMessage message = new OutgoingMessage(
+                formattedPhone,
+                twilioConfig.getFromWhatsAppNumber(),
+                contentSid == null ? renderedMessage.text() : null,
+                MessagePriority.forMessageType(messageType),
+                contentSid,
+                contentVariables
+        );
 
-            // Send message via Twilio
-            Message message = Message.creator(
-                    new PhoneNumber("whatsapp:" + formattedPhone),
-                    new PhoneNumber("whatsapp:" + twilioConfig.getFromWhatsAppNumber()),
-                    messageContent
-            ).create();
+        return whatsAppDispatcher.submit(message).handle((messageSid, error) -> {
+            if (error != null) {
+                Throwable cause = unwrap(error);
+                log.error("Failed to send WhatsApp message to {}: {}", 
+                         maskPhoneNumber(phoneNumber), cause.getMessage());
+                // A retry resends the logged text, which for Content templates is only a description
+                return saveFailedLog(phoneNumber, renderedMessage, messageType, student, teacher, metadata,
+                        cause.getMessage(), isRetryable(cause) && !message.isTemplate());
+            }
 
             // Log successful message
-            logEntry = new WhatsAppLog(
-                    formattedPhone,
-                    messageContent,
-                    STATUS_SENT,
-                    message.getSid(),
-                    messageType,
-                    student,
-                    teacher
-            );
-
-            log.info("WhatsApp message sent successfully. Twilio SID: {}", message.getSid());
-
-        } catch (Exception e) {
-            log.error("Failed to send WhatsApp message to {}: {}", 
-                     maskPhoneNumber(phoneNumber), e.getMessage());
-            
-            // Log failed message
-            logEntry = new WhatsAppLog(
-                    phoneNumber,
-                    messageContent,
-                    STATUS_FAILED,
-                    messageType,
-                    student,
-                    teacher
-            );
-            logEntry.setErrorMessage(e.getMessage());
+            WhatsAppLog logEntry = newLogEntry(formattedPhone, renderedMessage, STATUS_SENT,
+                                               messageType, student, teacher);
+            logEntry.setTwilioMessageSid(messageSid);
+            logEntry.setMetadata(metadata);
+
+            log.info("WhatsApp message sent successfully. Twilio SID: {}", messageSid);
+            return saveLog(logEntry);
+        });
+    }
+
+    private WhatsAppLog saveFailedLog(String phoneNumber, RenderedMessage message, String messageType,
+                                      Student student, User teacher, String metadata, String errorMessage,
+                                      boolean retryable) {
+        WhatsAppLog logEntry = newLogEntry(phoneNumber, message, STATUS_FAILED, messageType, student, teacher);
+        logEntry.setErrorMessage(errorMessage);
+        logEntry.setMetadata(metadata);
+        if (retryable) {
+            logEntry.setNextAttemptAt(retryPolicy.nextAttemptAt(logEntry.getAttemptCount(), logEntry.getSentAt()));
+        }
+        return saveLog(logEntry);
+    }
+
+    private WhatsAppLog saveLog(WhatsAppLog logEntry) {
+        WhatsAppLog saved = whatsAppLogRepository.save(logEntry);
+        messageStatsBuffer.recordLogged(saved);
+        return saved;
+    }
+
+    // Templated messages are logged as template ID and parameters; only free text keeps its content
+    private WhatsAppLog newLogEntry(String phoneNumber, RenderedMessage message, String status,
+                                    String messageType, Student student, User teacher) {
+        WhatsAppLog logEntry = new WhatsAppLog(phoneNumber, message.isTemplated() ? null : message.text(),
+                                               status, messageType, student, teacher);
+        logEntry.setTemplateId(message.templateId());
+        logEntry.setTemplateParams(message.parametersJson());
+        return logEntry;
+    }
+
+    /**
+     * Resend a message claimed for retry and record the outcome on the same row
+     * 
+     * Retries are queued with RETRY priority, behind every first attempt. A failed
+     * retry is rescheduled with backoff, or dead-lettered once the policy's
+     * maximum attempts are reached or the failure is permanent.
+     * 
+     * @param claimed Log entry in RETRYING status
+     * @return Future completed with the new status: SENT, FAILED or DEAD
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<String> retryClaimedMessage(WhatsAppLog claimed) {
+        int attemptsMade = claimed.getAttemptCount() + 1;
+        String formattedPhone = formatPhoneNumber(claimed.getRecipientPhone());
+        if (formattedPhone == null) {
+            return CompletableFuture.completedFuture(recordFailedRetry(claimed, attemptsMade,
+                    "Invalid phone number format: " + maskPhoneNumber(claimed.getRecipientPhone()), false));
         }
 
-        // Save log entry to database
-        return whatsAppLogRepository.save(logEntry);
+        log.info("Retrying WhatsApp message {} to {} (attempt {})", claimed.getId(),
+                maskPhoneNumber(formattedPhone), attemptsMade);
+
+        String messageContent = claimed.getRenderedContent();
+        OutgoingMessage message = new OutgoingMessage(
+                formattedPhone,
+                twilioConfig.getFromWhatsAppNumber(),
+                messageContent,
+                MessagePriority.RETRY
+        );
+
+        return whatsAppDispatcher.submit(message).handle((messageSid, error) -> {
+            if (error != null) {
+                Throwable cause = unwrap(error);
+                log.warn("Retry of WhatsApp message {} failed: {}", claimed.getId(), cause.getMessage());
+                return recordFailedRetry(claimed, attemptsMade, cause.getMessage(), isRetryable(cause));
+            }
+
+            if (whatsAppLogRepository.markRetrySent(claimed.getId(), messageSid, LocalDateTime.now()) > 0) {
+                recordRetryOutcome(claimed, STATUS_SENT);
+            }
+            if (MESSAGE_TYPE_TEST_RESULT.equals(claimed.getMessageType())) {
+                recentMessages.recordIfAbsent(messageFingerprint(formattedPhone, claimed.getMessageType(),
+                        messageContent));
+            }
+            meterRegistry.counter("whatsapp.retry.attempts", "outcome", STATUS_SENT).increment();
+            log.info("WhatsApp message {} sent on attempt {}. Twilio SID: {}", claimed.getId(), attemptsMade, messageSid);
+            return STATUS_SENT;
+        });
+    }
+
+    private String recordFailedRetry(WhatsAppLog claimed, int attemptsMade, String errorMessage, boolean retryable) {
+        LocalDateTime nextAttemptAt = retryable ? retryPolicy.nextAttemptAt(attemptsMade, LocalDateTime.now()) : null;
+        String status = nextAttemptAt != null ? STATUS_FAILED : STATUS_DEAD;
+        if (whatsAppLogRepository.markRetryFailed(claimed.getId(), status, errorMessage, nextAttemptAt) > 0) {
+            recordRetryOutcome(claimed, status);
+        }
+        meterRegistry.counter("whatsapp.retry.attempts", "outcome", status).increment();
+        if (STATUS_DEAD.equals(status)) {
+            log.error("WhatsApp message {} dead-lettered after {} attempts: {}", claimed.getId(), attemptsMade,
+                    errorMessage);
+        }
+        return status;
+    }
+
+    // Claimed messages are counted as FAILED until the retry has an outcome
+    private void recordRetryOutcome(WhatsAppLog claimed, String status) {
+        messageStatsBuffer.recordTransition(claimed.getTeacher() != null ? claimed.getTeacher().getId() : null,
+                claimed.getSentAt(), claimed.getMessageType(), STATUS_FAILED, status);
+    }
+
+    private Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    // Transport errors say whether they are worth retrying; anything else (e.g. a full queue) is transient
+    private boolean isRetryable(Throwable cause) {
+        return !(cause instanceof WhatsAppSendException sendException) || sendException.isRetryable();
     }
 
     /**
-     * Create a formatted test result message
+     * Create a test result message
      * 
      * @param studentName Name of the student
      * @param subject Subject of the test
@@ -186,46 +507,85 @@ public class WhatsAppService {
      * @param maxScore Maximum possible score
      * @param percentage Percentage achieved
      * @param grade Grade achieved
-     * @return Formatted message content
+     * @return Message rendered from MessageTemplates.TEST_RESULT
      */
-    private String createTestResultMessage(String studentName, String subject, 
-                                         double score, double maxScore, double percentage, String grade) {
-        return String.format(
-            "🎓 *EduGrowHub - Test Result*\n\n" +
-            "Dear %s,\n\n" +
-            "Your test result for *%s* is now available:\n\n" +
-            "📊 Score: %.1f/%.1f\n" +
-            "📈 Percentage: %.1f%%\n" +
-            "🏆 Grade: %s\n" +
-            "✅ Status: %s\n\n" +
-            "Keep up the great work! 💪\n\n" +
-            "Best regards,\n" +
-            "EduGrowHub Team",
-            studentName, subject, score, maxScore, percentage, grade,
-            percentage >= 60 ? "PASSED" : "NEEDS IMPROVEMENT"
-        );
+    RenderedMessage createTestResultMessage(String studentName, String subject, 
+                                            double score, double maxScore, double percentage, String grade) {
+        return MessageTemplates.TEST_RESULT.apply(studentName, subject, score, maxScore, percentage, grade,
+                                                  resultStatus(percentage));
+    }
+
+    /**
+     * Create a digest message for several test results
+     * 
+     * @param studentName Name of the student
+     * @param results Result metadata (subject, score, maxScore, percentage, grade), oldest first
+     * @return Message rendered from MessageTemplates.TEST_RESULT_DIGEST
+     */
+    RenderedMessage createTestResultDigestMessage(String studentName, List<Map<String, Object>> results) {
+        List<List<Object>> items = new ArrayList<>(results.size());
+        for (Map<String, Object> result : results) {
+            double percentage = toDouble(result.get("percentage"));
+            items.add(List.of(
+                String.valueOf(result.get("subject")),
+                toDouble(result.get("score")),
+                toDouble(result.get("maxScore")),
+                percentage,
+                String.valueOf(result.get("grade")),
+                resultStatus(percentage)
+            ));
+        }
+        return MessageTemplates.TEST_RESULT_DIGEST.apply(studentName, results.size(), items);
     }
 
     /**
-     * Create a formatted enrollment confirmation message
+     * Create one student's copy of a broadcast announcement
+     * 
+     * @param studentName Name of the student
+     * @param title Announcement title
+     * @param message Announcement text
+     * @param senderName Name of the teacher or superadmin sending it
+     * @return Message rendered from MessageTemplates.ANNOUNCEMENT
+     */
+    RenderedMessage createAnnouncementMessage(String studentName, String title, String message, String senderName) {
+        return MessageTemplates.ANNOUNCEMENT.apply(studentName, title, message, senderName);
+    }
+
+    private String resultStatus(double percentage) {
+        return percentage >= 60 ? "PASSED" : "NEEDS IMPROVEMENT";
+    }
+
+    private double toDouble(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : Double.parseDouble(String.valueOf(value));
+    }
+
+    private Map<String, Object> readMetadata(String metadata) {
+        try {
+            return objectMapper.readValue(metadata, new TypeReference<Map<String, Object>>() {});
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unreadable notification metadata", e);
+        }
+    }
+
+    private String writeMetadata(Object metadata) {
+        try {
+            return objectMapper.writeValueAsString(metadata);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize message metadata: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Create an enrollment confirmation message
      * 
      * @param studentName Name of the student
      * @param teacherName Name of the teacher
-     * @return Formatted message content
+     * @return Message rendered from MessageTemplates.ENROLLMENT_CONFIRMATION
      */
-    private String createEnrollmentMessage(String studentName, String teacherName) {
-        return String.format(
-            "🎉 *Welcome to EduGrowHub!*\n\n" +
-            "Dear %s,\n\n" +
-            "Congratulations! You have been successfully enrolled in our educational program.\n\n" +
-            "👨‍🏫 Your Teacher: %s\n" +
-            "📚 Platform: EduGrowHub\n" +
-            "🗓️ Enrollment Date: %s\n\n" +
-            "We're excited to have you on this learning journey!\n\n" +
-            "Best regards,\n" +
-            "EduGrowHub Team",
-            studentName, teacherName, java.time.LocalDate.now().toString()
-        );
+    private RenderedMessage createEnrollmentMessage(String studentName, String teacherName) {
+        return MessageTemplates.ENROLLMENT_CONFIRMATION.apply(studentName, teacherName,
+                                                              java.time.LocalDate.now().toString());
     }
 
     /**
@@ -262,16 +622,60 @@ public class WhatsAppService {
     }
 
     /**
-     * Check if a message was recently sent to avoid duplicates
+     * Dedup fingerprint of a message, keyed by normalized phone, type and content
+     */
+    private long messageFingerprint(String phoneNumber, String messageType, String messageContent) {
+        return RecentMessageWindow.fingerprint(normalizePhoneNumber(phoneNumber), messageType, messageContent);
+    }
+
+    private String normalizePhoneNumber(String phoneNumber) {
+        String formatted = formatPhoneNumber(phoneNumber);
+        return formatted != null ? formatted : phoneNumber;
+    }
+
+    /**
+     * Check if the same message was recently sent, and record it if not
+     * 
+     * The in-memory window answers on its own once it has been running for a
+     * full window; before that (or after it overflowed) a miss is confirmed
+     * against whatsapp_logs using the (recipient_phone, message_type, sent_at) index.
      * 
+     * @param fingerprint Message fingerprint from messageFingerprint
      * @param phoneNumber Recipient phone number
      * @param messageType Type of message
-     * @param withinMinutes Minutes to look back
-     * @return true if a similar message was recently sent
+     * @return true if the same message was recently sent
+     */
+    private boolean wasRecentlySent(long fingerprint, String phoneNumber, String messageType) {
+        if (!recentMessages.recordIfAbsent(fingerprint)) {
+            meterRegistry.counter("whatsapp.dedup.suppressed", "source", "memory").increment();
+            return true;
+        }
+        if (recentMessages.isAuthoritative()) {
+            return false;
+        }
+
+        // Cold start or overflow: messages sent before the window filled up are only in the database
+        String normalizedPhone = normalizePhoneNumber(phoneNumber);
+        LocalDateTime sinceTime = LocalDateTime.now().minus(recentMessages.getWindow());
+        boolean sent = whatsAppLogRepository.findRecentSuccessful(normalizedPhone, messageType, sinceTime)
+                .stream()
+                .anyMatch(logEntry -> RecentMessageWindow.fingerprint(normalizedPhone, messageType,
+                        logEntry.getRenderedContent()) == fingerprint);
+        if (sent) {
+            meterRegistry.counter("whatsapp.dedup.suppressed", "source", "database").increment();
+        }
+        return sent;
+    }
+
+    /**
+     * Drop a fingerprint from the dedup window when its send failed, so it can be sent again
      */
-    private boolean wasRecentlySent(String phoneNumber, String messageType, int withinMinutes) {
-        LocalDateTime sinceTime = LocalDateTime.now().minusMinutes(withinMinutes);
-        return whatsAppLogRepository.wasRecentlySent(phoneNumber, messageType, sinceTime);
+    private BiConsumer<WhatsAppLog, Throwable> forgetIfFailed(long fingerprint) {
+        return (logEntry, error) -> {
+            if (error != null || logEntry == null || !logEntry.isSuccessful()) {
+                recentMessages.forget(fingerprint);
+            }
+        };
     }
 
     /**
@@ -296,7 +700,7 @@ public class WhatsAppService {
         );
         logEntry.setErrorMessage(errorMessage);
         
-        return whatsAppLogRepository.save(logEntry);
+        return saveLog(logEntry);
     }
 
     /**
@@ -317,25 +721,63 @@ public class WhatsAppService {
     }
 
     /**
-     * Get message logs for a specific student
+     * Get a page of message logs for a specific student, most recent first
      * 
      * @param studentId Student ID
-     * @return List of WhatsApp logs for the student
+     * @param after Position after the previous page's last log, or null for the first page
+     * @param limit Page size
+     * @return Page of WhatsApp logs for the student
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<WhatsAppLog> getStudentMessageLogs(Long studentId, PageCursor after, int limit) {
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<WhatsAppLog> logs = after == null
+                ? whatsAppLogRepository.findByStudent_IdOrderBySentAtDescIdDesc(studentId, page)
+                : whatsAppLogRepository.findByStudentIdBefore(studentId, after.dateTimeKey(), after.id(), page);
+        return CursorPage.of(logs, limit, WhatsAppService::cursorOf);
+    }
+
+    /**
+     * Get a page of message logs for a specific teacher, most recent first
+     * 
+     * @param teacherId Teacher ID
+     * @param after Position after the previous page's last log, or null for the first page
+     * @param limit Page size
+     * @return Page of WhatsApp logs sent by the teacher
      */
     @Transactional(readOnly = true)
-    public List<WhatsAppLog> getStudentMessageLogs(Long studentId) {
-        return whatsAppLogRepository.findByStudent_IdOrderBySentAtDesc(studentId);
+    public CursorPage<WhatsAppLog> getTeacherMessageLogs(Long teacherId, PageCursor after, int limit) {
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<WhatsAppLog> logs = after == null
+                ? whatsAppLogRepository.findByTeacher_IdOrderBySentAtDescIdDesc(teacherId, page)
+                : whatsAppLogRepository.findByTeacherIdBefore(teacherId, after.dateTimeKey(), after.id(), page);
+        return CursorPage.of(logs, limit, WhatsAppService::cursorOf);
     }
 
     /**
-     * Get message logs for a specific teacher
+     * Get a page of message logs sent by a teacher within a date range, most recent first
+     * 
+     * Only covers messages not yet archived; see WhatsAppLogArchiveService.findArchivedPage.
      * 
      * @param teacherId Teacher ID
-     * @return List of WhatsApp logs sent by the teacher
+     * @param startDate Start date and time
+     * @param endDate End date and time
+     * @param after Position after the previous page's last log, or null for the first page
+     * @param limit Page size
+     * @return Page of WhatsApp logs
      */
     @Transactional(readOnly = true)
-    public List<WhatsAppLog> getTeacherMessageLogs(Long teacherId) {
-        return whatsAppLogRepository.findByTeacher_IdOrderBySentAtDesc(teacherId);
+    public CursorPage<WhatsAppLog> getTeacherMessageLogs(Long teacherId, LocalDateTime startDate, LocalDateTime endDate,
+                                                         PageCursor after, int limit) {
+        LocalDateTime beforeSentAt = after == null ? endDate : after.dateTimeKey();
+        long beforeId = after == null ? Long.MAX_VALUE : after.id();
+        List<WhatsAppLog> logs = whatsAppLogRepository.findByTeacherIdSinceBefore(teacherId, startDate,
+                beforeSentAt, beforeId, PageRequest.of(0, limit + 1));
+        return CursorPage.of(logs, limit, WhatsAppService::cursorOf);
+    }
+
+    private static PageCursor cursorOf(WhatsAppLog logEntry) {
+        return PageCursor.of(logEntry.getSentAt(), logEntry.getId());
     }
 
     /**
@@ -351,11 +793,14 @@ public class WhatsAppService {
     }
 
     /**
-     * Retry sending a failed message
+     * Retry sending a failed or dead-lettered message now
+     * 
+     * The attempt is recorded on the original log entry, as for scheduled retries.
      * 
      * @param logId ID of the failed message log
-     * @return New WhatsAppLog entry for the retry attempt
+     * @return The log entry after the retry attempt
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public WhatsAppLog retryFailedMessage(Long logId) {
         Optional<WhatsAppLog> originalLog = whatsAppLogRepository.findById(logId);
         
@@ -363,19 +808,17 @@ public class WhatsAppService {
             throw new IllegalArgumentException("WhatsApp log not found with ID: " + logId);
         }
 
-        WhatsAppLog log = originalLog.get();
-        
-        if (!STATUS_FAILED.equals(log.getMessageStatus())) {
+        if (whatsAppLogRepository.claimForManualRetry(logId, LocalDateTime.now().plus(MANUAL_RETRY_LEASE)) == 0) {
             throw new IllegalArgumentException("Only failed messages can be retried");
         }
+        WhatsAppLog claimed = originalLog.get();
+        if (STATUS_DEAD.equals(claimed.getMessageStatus())) {
+            messageStatsBuffer.recordTransition(claimed.getTeacher() != null ? claimed.getTeacher().getId() : null,
+                    claimed.getSentAt(), claimed.getMessageType(), STATUS_DEAD, STATUS_FAILED);
+        }
 
         // Retry sending the message
-        return sendWhatsAppMessage(
-                log.getRecipientPhone(),
-                log.getMessageContent(),
-                log.getMessageType() + "_RETRY",
-                log.getStudent(),
-                log.getTeacher()
-        );
+        retryClaimedMessage(claimed).join();
+        return whatsAppLogRepository.findById(logId).orElseThrow();
     }
 }
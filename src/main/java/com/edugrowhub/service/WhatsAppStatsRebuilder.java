@@ -0,0 +1,114 @@
+package com.edugrowhub.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * WhatsApp Statistics Rebuilder
+ *
+ * Recomputes the daily statistics rollup on a background thread, one month
+ * per transaction from the oldest message to the current month. Started by a
+ * superadmin through POST /api/admin/whatsapp-stats/rebuild, e.g. after a
+ * crash lost buffered counts or after migration 009 on a database whose
+ * messages were already archived.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class WhatsAppStatsRebuilder {
+
+    private final WhatsAppStatsService whatsAppStatsService;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            new CustomizableThreadFactory("whatsapp-stats-rebuild-"));
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime completedAt;
+    private volatile long monthsProcessed;
+    private volatile long messagesCounted;
+    private volatile String lastError;
+
+    public WhatsAppStatsRebuilder(WhatsAppStatsService whatsAppStatsService) {
+        this.whatsAppStatsService = whatsAppStatsService;
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Start a rebuild in the background
+     *
+     * @return false if a rebuild is already running
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        startedAt = LocalDateTime.now();
+        completedAt = null;
+        monthsProcessed = 0;
+        messagesCounted = 0;
+        lastError = null;
+        executor.execute(this::rebuildAll);
+        return true;
+    }
+
+    /**
+     * Progress of the current or last rebuild
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("running", running.get());
+        status.put("startedAt", startedAt);
+        status.put("completedAt", completedAt);
+        status.put("monthsProcessed", monthsProcessed);
+        status.put("messagesCounted", messagesCounted);
+        status.put("error", lastError);
+        return status;
+    }
+
+    private void rebuildAll() {
+        try {
+            YearMonth current = YearMonth.now();
+            Optional<YearMonth> firstMonth = whatsAppStatsService.findFirstMonth();
+            YearMonth month = firstMonth.orElse(current);
+            log.info("Rebuilding WhatsApp statistics from {}", month);
+
+            while (!month.isAfter(current)) {
+                if (Thread.currentThread().isInterrupted()) {
+                    lastError = "Interrupted by shutdown";
+                    log.info("WhatsApp statistics rebuild interrupted after {} months", monthsProcessed);
+                    return;
+                }
+                messagesCounted += whatsAppStatsService.rebuildMonth(month, monthsProcessed == 0);
+                monthsProcessed++;
+                month = month.plusMonths(1);
+            }
+
+            completedAt = LocalDateTime.now();
+            log.info("Rebuilt WhatsApp statistics of {} months, {} messages", monthsProcessed, messagesCounted);
+        } catch (Exception e) {
+            lastError = e.getMessage();
+            log.error("WhatsApp statistics rebuild stopped after {} months: {}", monthsProcessed, e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+}
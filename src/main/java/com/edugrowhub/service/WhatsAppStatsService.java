@@ -0,0 +1,69 @@
+package com.edugrowhub.service;
+
+import com.edugrowhub.dto.ArchivedWhatsAppLog;
+import com.edugrowhub.entity.WhatsAppStatsDaily;
+import com.edugrowhub.repository.WhatsAppStatsDailyRepository;
+import com.edugrowhub.service.messaging.MessageStatsBuffer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * WhatsApp Statistics Service
+ *
+ * Recomputes the daily statistics rollup from the messages themselves, the
+ * ones still in whatsapp_logs and the ones moved to the archive, one calendar
+ * month at a time. Used to repair counts lost from MessageStatsBuffer (e.g. by
+ * a crash) and to include archived messages after migration 009.
+ *
+ * Buffered deltas are flushed before each month is counted. A message logged
+ * or updated while its month is being rebuilt may still be counted twice or
+ * not at all; rebuilding again when messaging is quiet corrects it.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+public class WhatsAppStatsService {
+
+    private final WhatsAppStatsDailyRepository statsRepository;
+    private final WhatsAppLogArchiveService archiveService;
+    private final MessageStatsBuffer messageStatsBuffer;
+
+    /**
+     * Month of the oldest message, hot or archived, if any
+     */
+    @Transactional(readOnly = true)
+    public Optional<YearMonth> findFirstMonth() {
+        return statsRepository.findFirstMessageDate().map(YearMonth::from);
+    }
+
+    /**
+     * Replace one month of rollup rows with counts of its messages
+     *
+     * @param month Month to rebuild
+     * @param first Whether this is the first month; rows for earlier days are then deleted too
+     * @return Number of messages counted
+     */
+    @Transactional
+    public long rebuildMonth(YearMonth month, boolean first) {
+        messageStatsBuffer.flush();
+
+        LocalDateTime start = month.atDay(1).atStartOfDay();
+        LocalDateTime end = month.plusMonths(1).atDay(1).atStartOfDay();
+        Map<WhatsAppStatsDaily.Key, Long> counts = statsRepository.countLogged(start, end);
+        for (ArchivedWhatsAppLog row : archiveService.findArchived(start, end.minusNanos(1), null)) {
+            counts.merge(MessageStatsBuffer.keyOf(row.teacherId(), row.sentAt(), row.messageType(),
+                    row.messageStatus()), 1L, Long::sum);
+        }
+
+        statsRepository.replaceCounts(first ? null : month.atDay(1), month.atEndOfMonth(), counts);
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
@@ -0,0 +1,60 @@
+package com.edugrowhub.service.messaging;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Delivery progress of a sent WhatsApp message, as reported by Twilio status callbacks
+ *
+ * Each value is a whatsapp_logs message_status. Callbacks can arrive out of
+ * order, so a status only ever replaces one of lower rank: a late "sent"
+ * callback never undoes "delivered". READ and UNDELIVERED are both final.
+ */
+public enum DeliveryStatus {
+    SENT(1),
+    DELIVERED(2),
+    READ(3),
+    UNDELIVERED(3);
+
+    private final int rank;
+
+    DeliveryStatus(int rank) {
+        this.rank = rank;
+    }
+
+    /**
+     * Status for a Twilio MessageStatus callback value
+     *
+     * @param messageStatus Twilio status, e.g. "delivered"
+     * @return Matching status, or null for states before SENT (queued, accepted, sending)
+     */
+    public static DeliveryStatus fromTwilio(String messageStatus) {
+        if (messageStatus == null) {
+            return null;
+        }
+        return switch (messageStatus.toLowerCase()) {
+            case "sent" -> SENT;
+            case "delivered" -> DELIVERED;
+            case "read" -> READ;
+            case "failed", "undelivered" -> UNDELIVERED;
+            default -> null;
+        };
+    }
+
+    /**
+     * Whether this status should replace another reported for the same message
+     */
+    public boolean supersedes(DeliveryStatus other) {
+        return rank > other.rank;
+    }
+
+    /**
+     * Stored statuses this one may overwrite
+     */
+    public List<String> replaceableStatuses() {
+        return Arrays.stream(values())
+                .filter(this::supersedes)
+                .map(Enum::name)
+                .toList();
+    }
+}
@@ -0,0 +1,234 @@
+package com.edugrowhub.service.messaging;
+
+import com.edugrowhub.repository.WhatsAppLogRepository;
+import com.edugrowhub.repository.WhatsAppLogRepositoryCustom.DeliveryStatusUpdate;
+import com.edugrowhub.repository.WhatsAppLogRepositoryCustom.StatusChange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffer between Twilio status callbacks and whatsapp_logs
+ *
+ * Callbacks are acknowledged as soon as they are buffered. Updates for the
+ * same message are merged in memory, keeping the highest-ranked status, so a
+ * burst of sent/delivered/read callbacks becomes one row update. Every
+ * whatsapp.status-callback.flush-interval-ms the buffer is drained into one
+ * JDBC batch per status, each guarded so a status never moves backwards.
+ * Applied changes are passed on to MessageStatsBuffer for the statistics rollup.
+ *
+ * A callback can arrive before the message's log entry has its SID (the
+ * provider answers the send and calls back at about the same time). Updates
+ * for SIDs with no log entry are kept and retried on later flushes for
+ * whatsapp.status-callback.unmatched-grace, then dropped.
+ *
+ * Flushes run on the buffer's own thread, not the shared scheduler, so a slow
+ * background job never delays them and leaves the buffer to fill up.
+ *
+ * The buffer holds at most whatsapp.status-callback.max-pending messages;
+ * callbacks for new messages are refused while it is full. Updates still
+ * buffered at shutdown are flushed; a crash loses them, which only leaves
+ * those messages at an earlier status.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class DeliveryStatusBuffer {
+
+    /**
+     * Buffered status of one message
+     *
+     * @param unmatchedSince When a flush first found no log entry for the SID (System.nanoTime), or null
+     */
+    private record Pending(DeliveryStatus status, String errorMessage, Long unmatchedSince) {
+    }
+
+    private final ConcurrentHashMap<String, Pending> pending = new ConcurrentHashMap<>();
+    private final WhatsAppLogRepository whatsAppLogRepository;
+    private final MessageStatsBuffer messageStatsBuffer;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejectedCounter;
+    private final Timer flushTimer;
+
+    private ScheduledExecutorService flusher;
+
+    @Value("${whatsapp.status-callback.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${whatsapp.status-callback.max-pending:100000}")
+    private int maxPending;
+
+    @Value("${whatsapp.status-callback.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${whatsapp.status-callback.unmatched-grace:PT1M}")
+    private Duration unmatchedGrace;
+
+    public DeliveryStatusBuffer(WhatsAppLogRepository whatsAppLogRepository, MessageStatsBuffer messageStatsBuffer,
+                                MeterRegistry meterRegistry) {
+        this.whatsAppLogRepository = whatsAppLogRepository;
+        this.messageStatsBuffer = messageStatsBuffer;
+        this.meterRegistry = meterRegistry;
+        this.rejectedCounter = Counter.builder("whatsapp.status.rejected")
+                .description("Status callbacks refused because the buffer was full")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("whatsapp.status.flush")
+                .description("Time to write buffered delivery statuses")
+                .register(meterRegistry);
+        Gauge.builder("whatsapp.status.pending", pending, Map::size)
+                .description("Messages with a delivery status waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Buffer a delivery status for a message
+     *
+     * @param messageSid Twilio message SID
+     * @param status Reported status
+     * @param errorMessage Error to record with the status (optional)
+     * @return false if the buffer is full and the update was not accepted
+     */
+    public boolean offer(String messageSid, DeliveryStatus status, String errorMessage) {
+        if (pending.size() >= maxPending && !pending.containsKey(messageSid)) {
+            rejectedCounter.increment();
+            return false;
+        }
+        merge(messageSid, new Pending(status, errorMessage, null));
+        return true;
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("status-flush-"));
+        flusher.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (Exception e) {
+                log.error("Failed to flush delivery statuses: {}", e.getMessage(), e);
+            }
+        }, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop the flush thread and write what is still buffered
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+    }
+
+    /**
+     * Write every buffered status to the database
+     */
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Drain key by key; callbacks arriving meanwhile start a fresh entry for the next flush
+        Map<String, Pending> drained = new HashMap<>();
+        Map<DeliveryStatus, List<DeliveryStatusUpdate>> byStatus = new EnumMap<>(DeliveryStatus.class);
+        for (String messageSid : pending.keySet()) {
+            Pending update = pending.remove(messageSid);
+            if (update != null) {
+                drained.put(messageSid, update);
+                byStatus.computeIfAbsent(update.status(), s -> new ArrayList<>())
+                        .add(new DeliveryStatusUpdate(messageSid, update.errorMessage()));
+            }
+        }
+
+        flushTimer.record(() -> byStatus.forEach((status, updates) -> write(status, updates, drained)));
+    }
+
+    /**
+     * Number of messages with a buffered status
+     */
+    public int size() {
+        return pending.size();
+    }
+
+    private void write(DeliveryStatus status, List<DeliveryStatusUpdate> updates, Map<String, Pending> drained) {
+        for (int from = 0; from < updates.size(); from += batchSize) {
+            List<DeliveryStatusUpdate> batch = updates.subList(from, Math.min(from + batchSize, updates.size()));
+            try {
+                List<StatusChange> changes = whatsAppLogRepository.applyDeliveryStatus(
+                        status.name(), status.replaceableStatuses(), batch);
+                changes.forEach(change -> messageStatsBuffer.recordTransition(change.teacherId(), change.sentAt(),
+                        change.messageType(), change.previousStatus(), status.name()));
+                int applied = changes.size();
+                int deferred = 0;
+                int expired = 0;
+                // Updates that changed nothing: the message is already at this status or later, or not logged yet
+                if (applied < batch.size() && !status.replaceableStatuses().isEmpty()) {
+                    Set<String> logged = new HashSet<>(whatsAppLogRepository.findLoggedMessageSids(
+                            batch.stream().map(DeliveryStatusUpdate::messageSid).toList()));
+                    long now = System.nanoTime();
+                    for (DeliveryStatusUpdate update : batch) {
+                        if (logged.contains(update.messageSid())) {
+                            continue;
+                        }
+                        Long unmatchedSince = drained.get(update.messageSid()).unmatchedSince();
+                        if (unmatchedSince == null) {
+                            unmatchedSince = now;
+                        } else if (now - unmatchedSince >= unmatchedGrace.toNanos()) {
+                            expired++;
+                            continue;
+                        }
+                        merge(update.messageSid(), new Pending(status, update.errorMessage(), unmatchedSince));
+                        deferred++;
+                    }
+                }
+                meterRegistry.counter("whatsapp.status.updates", "status", status.name(), "outcome", "applied")
+                        .increment(applied);
+                meterRegistry.counter("whatsapp.status.updates", "status", status.name(), "outcome", "deferred")
+                        .increment(deferred);
+                meterRegistry.counter("whatsapp.status.updates", "status", status.name(), "outcome", "unmatched")
+                        .increment(expired);
+                meterRegistry.counter("whatsapp.status.updates", "status", status.name(), "outcome", "ignored")
+                        .increment(batch.size() - applied - deferred - expired);
+                if (expired > 0) {
+                    log.warn("Dropped {} {} delivery statuses for messages not logged within {}",
+                            expired, status, unmatchedGrace);
+                }
+            } catch (Exception e) {
+                log.error("Failed to write {} {} delivery statuses, keeping them for the next flush: {}",
+                        batch.size(), status, e.getMessage());
+                batch.forEach(update -> merge(update.messageSid(), new Pending(status, update.errorMessage(),
+                        drained.get(update.messageSid()).unmatchedSince())));
+            }
+        }
+    }
+
+    private void merge(String messageSid, Pending update) {
+        pending.merge(messageSid, update, (current, next) -> {
+            Pending kept = next.status().supersedes(current.status()) ? next : current;
+            // A SID stays unmatched since its first miss, whichever status is kept
+            Long unmatchedSince = current.unmatchedSince() != null ? current.unmatchedSince() : next.unmatchedSince();
+            return new Pending(kept.status(), kept.errorMessage(), unmatchedSince);
+        });
+    }
+}
@@ -0,0 +1,36 @@
+package com.edugrowhub.service.messaging;
+
+import com.edugrowhub.service.WhatsAppService;
+
+/**
+ * Dispatch priority of a WhatsApp message, highest first
+ *
+ * Results students are waiting for go out before bulk announcements, and
+ * retries of failed messages never delay first attempts.
+ */
+public enum MessagePriority {
+    TEST_RESULT,
+    ENROLLMENT,
+    REMINDER,
+    ANNOUNCEMENT,
+    RETRY;
+
+    /**
+     * Priority for a first attempt of a WhatsAppService message type
+     * (retries are always sent with RETRY)
+     *
+     * @param messageType One of the WhatsAppService MESSAGE_TYPE_* constants
+     * @return Matching priority; unknown types are treated as announcements
+     */
+    public static MessagePriority forMessageType(String messageType) {
+        if (messageType == null) {
+            return ANNOUNCEMENT;
+        }
+        return switch (messageType) {
+            case WhatsAppService.MESSAGE_TYPE_TEST_RESULT -> TEST_RESULT;
+            case WhatsAppService.MESSAGE_TYPE_ENROLLMENT -> ENROLLMENT;
+            case WhatsAppService.MESSAGE_TYPE_REMINDER -> REMINDER;
+            default -> ANNOUNCEMENT;
+        };
+    }
+}
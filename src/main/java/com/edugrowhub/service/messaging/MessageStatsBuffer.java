@@ -0,0 +1,127 @@
+package com.edugrowhub.service.messaging;
+
+import com.edugrowhub.entity.WhatsAppLog;
+import com.edugrowhub.entity.WhatsAppStatsDaily;
+import com.edugrowhub.repository.WhatsAppStatsDailyRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory deltas for the daily WhatsApp statistics rollup
+ *
+ * Every logged message adds one to its (teacher, day, type, status) count and
+ * every status change moves one count from the old status to the new one.
+ * Deltas for the same key are summed in memory and written every
+ * whatsapp.stats.flush-interval-ms with WhatsAppStatsDailyRepository.addCounts,
+ * so a burst of sends becomes a handful of row updates. Statistics can
+ * therefore lag by one flush interval. Deltas still buffered at shutdown are
+ * flushed; a crash loses them, and WhatsAppStatsRebuilder recomputes the
+ * rollup from the messages (POST /api/admin/whatsapp-stats/rebuild).
+ *
+ * RETRYING is counted as FAILED, so claiming a message for retry is not a change.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class MessageStatsBuffer {
+
+    private final ConcurrentHashMap<WhatsAppStatsDaily.Key, Long> pending = new ConcurrentHashMap<>();
+    private final WhatsAppStatsDailyRepository statsRepository;
+    private final Timer flushTimer;
+
+    public MessageStatsBuffer(WhatsAppStatsDailyRepository statsRepository, MeterRegistry meterRegistry) {
+        this.statsRepository = statsRepository;
+        this.flushTimer = Timer.builder("whatsapp.stats.flush")
+                .description("Time to write buffered statistics deltas")
+                .register(meterRegistry);
+        Gauge.builder("whatsapp.stats.pending", pending, Map::size)
+                .description("Statistics rollup rows with a delta waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Count a newly logged message
+     */
+    public void recordLogged(WhatsAppLog logEntry) {
+        Long teacherId = logEntry.getTeacher() != null ? logEntry.getTeacher().getId() : null;
+        add(teacherId, logEntry.getSentAt(), logEntry.getMessageType(), logEntry.getMessageStatus(), 1);
+    }
+
+    /**
+     * Move one message's count to a new status
+     *
+     * @param teacherId Teacher who sent the message (optional)
+     * @param sentAt When the message was first sent
+     * @param messageType Message type
+     * @param fromStatus Status it was counted under
+     * @param toStatus New status
+     */
+    public void recordTransition(Long teacherId, LocalDateTime sentAt, String messageType,
+                                 String fromStatus, String toStatus) {
+        if (bucket(fromStatus).equals(bucket(toStatus))) {
+            return;
+        }
+        add(teacherId, sentAt, messageType, fromStatus, -1);
+        add(teacherId, sentAt, messageType, toStatus, 1);
+    }
+
+    /**
+     * Write every buffered delta to the rollup table
+     */
+    @Scheduled(fixedDelayString = "${whatsapp.stats.flush-interval-ms:1000}")
+    @PreDestroy
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Drain key by key; deltas arriving meanwhile start a fresh entry for the next flush
+        Map<WhatsAppStatsDaily.Key, Long> deltas = new HashMap<>();
+        for (WhatsAppStatsDaily.Key key : pending.keySet()) {
+            Long delta = pending.remove(key);
+            if (delta != null && delta != 0) {
+                deltas.put(key, delta);
+            }
+        }
+
+        try {
+            flushTimer.record(() -> statsRepository.addCounts(deltas));
+        } catch (Exception e) {
+            log.error("Failed to write {} statistics deltas, keeping them for the next flush: {}",
+                    deltas.size(), e.getMessage());
+            deltas.forEach((key, delta) -> pending.merge(key, delta, Long::sum));
+        }
+    }
+
+    /**
+     * Rollup key a message is counted under
+     */
+    public static WhatsAppStatsDaily.Key keyOf(Long teacherId, LocalDateTime sentAt, String messageType,
+                                               String status) {
+        return new WhatsAppStatsDaily.Key(
+                teacherId != null ? teacherId : WhatsAppStatsDaily.NO_TEACHER,
+                (sentAt != null ? sentAt : LocalDateTime.now()).toLocalDate(),
+                messageType,
+                bucket(status));
+    }
+
+    private void add(Long teacherId, LocalDateTime sentAt, String messageType, String status, long delta) {
+        pending.merge(keyOf(teacherId, sentAt, messageType, status), delta, Long::sum);
+    }
+
+    private static String bucket(String status) {
+        return "RETRYING".equals(status) ? "FAILED" : status;
+    }
+}
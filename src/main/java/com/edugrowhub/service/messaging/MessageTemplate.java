@@ -0,0 +1,170 @@
+package com.edugrowhub.service.messaging;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A message template compiled once into literal segments and parameter slots
+ *
+ * Patterns use named slots: {name} inserts the value as text, {name:1f} formats
+ * a number with one decimal place (like %.1f), and {name*} repeats the item
+ * template once for each parameter list in a list-valued parameter.
+ * Parameters are passed positionally, in the order of the declared names, so
+ * a log entry only has to store the values.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+public final class MessageTemplate {
+
+    private enum SlotFormat { TEXT, ONE_DECIMAL, ITEMS }
+
+    private record Segment(String literal, int parameter, SlotFormat format) {
+    }
+
+    private final String id;
+    private final List<String> parameterNames;
+    private final Segment[] segments;
+    private final MessageTemplate itemTemplate;
+    private final int literalLength;
+
+    private MessageTemplate(String id, List<String> parameterNames, Segment[] segments,
+                            MessageTemplate itemTemplate, int literalLength) {
+        this.id = id;
+        this.parameterNames = parameterNames;
+        this.segments = segments;
+        this.itemTemplate = itemTemplate;
+        this.literalLength = literalLength;
+    }
+
+    /**
+     * Compile a template
+     *
+     * @param id Versioned template ID, e.g. "test_result.v1"
+     * @param pattern Template text with {name}, {name:1f} slots
+     * @param parameterNames Parameter names in positional order
+     * @return Compiled template
+     */
+    public static MessageTemplate compile(String id, String pattern, String... parameterNames) {
+        return compile(id, pattern, null, parameterNames);
+    }
+
+    /**
+     * Compile a template with a repeated section
+     *
+     * @param id Versioned template ID
+     * @param pattern Template text; may contain one or more {name*} slots
+     * @param itemTemplate Template rendered for each entry of a {name*} parameter
+     * @param parameterNames Parameter names in positional order
+     * @return Compiled template
+     */
+    public static MessageTemplate compile(String id, String pattern, MessageTemplate itemTemplate,
+                                          String... parameterNames) {
+        List<String> names = List.of(parameterNames);
+        List<Segment> segments = new ArrayList<>();
+        int literalLength = 0;
+        int position = 0;
+
+        while (position < pattern.length()) {
+            int open = pattern.indexOf('{', position);
+            if (open < 0) {
+                segments.add(new Segment(pattern.substring(position), -1, null));
+                literalLength += pattern.length() - position;
+                break;
+            }
+            if (open > position) {
+                segments.add(new Segment(pattern.substring(position, open), -1, null));
+                literalLength += open - position;
+            }
+            int close = pattern.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed slot in template " + id);
+            }
+
+            String slot = pattern.substring(open + 1, close);
+            SlotFormat format = SlotFormat.TEXT;
+            if (slot.endsWith("*")) {
+                if (itemTemplate == null) {
+                    throw new IllegalArgumentException("Template " + id + " has a repeated slot but no item template");
+                }
+                slot = slot.substring(0, slot.length() - 1);
+                format = SlotFormat.ITEMS;
+            } else if (slot.endsWith(":1f")) {
+                slot = slot.substring(0, slot.length() - 3);
+                format = SlotFormat.ONE_DECIMAL;
+            }
+            int parameter = names.indexOf(slot);
+            if (parameter < 0) {
+                throw new IllegalArgumentException("Template " + id + " uses undeclared parameter " + slot);
+            }
+            segments.add(new Segment(null, parameter, format));
+            position = close + 1;
+        }
+
+        return new MessageTemplate(id, names, segments.toArray(new Segment[0]), itemTemplate, literalLength);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public List<String> getParameterNames() {
+        return parameterNames;
+    }
+
+    /**
+     * Render the template and keep the parameters for storage
+     *
+     * @param parameters Values in declared order; a {name*} parameter takes a list of item parameter lists
+     * @return Message with its template ID, parameters and text
+     */
+    public RenderedMessage apply(Object... parameters) {
+        List<Object> values = Collections.unmodifiableList(Arrays.asList(parameters));
+        return new RenderedMessage(id, values, render(values));
+    }
+
+    /**
+     * Render the template
+     *
+     * @param parameters Values in declared order
+     * @return Message text
+     */
+    public String render(List<?> parameters) {
+        if (parameters.size() != parameterNames.size()) {
+            throw new IllegalArgumentException("Template " + id + " takes " + parameterNames.size()
+                    + " parameters, got " + parameters.size());
+        }
+        StringBuilder text = new StringBuilder(literalLength + 16 * segments.length);
+        appendTo(text, parameters);
+        return text.toString();
+    }
+
+    private void appendTo(StringBuilder text, List<?> parameters) {
+        for (Segment segment : segments) {
+            if (segment.literal() != null) {
+                text.append(segment.literal());
+                continue;
+            }
+            Object value = parameters.get(segment.parameter());
+            switch (segment.format()) {
+                case ONE_DECIMAL -> text.append(oneDecimal(value));
+                case ITEMS -> {
+                    for (Object item : (List<?>) value) {
+                        itemTemplate.appendTo(text, (List<?>) item);
+                    }
+                }
+                default -> text.append(value);
+            }
+        }
+    }
+
+    // Same digits as String.format("%.1f"), which rounds the shortest decimal representation half-up
+    private static String oneDecimal(Object value) {
+        double number = value instanceof Number ? ((Number) value).doubleValue() : Double.parseDouble(String.valueOf(value));
+        return BigDecimal.valueOf(number).setScale(1, RoundingMode.HALF_UP).toPlainString();
+    }
+}
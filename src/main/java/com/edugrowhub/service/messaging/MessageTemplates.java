@@ -0,0 +1,210 @@
+package com.edugrowhub.service.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of WhatsApp message templates
+ *
+ * Log entries store a template ID and a JSON array of parameters instead of
+ * the rendered text, which is rebuilt from here when the entry is viewed or
+ * retried. A stored ID must therefore always render the same text: never edit
+ * a registered template, add the next version (e.g. "test_result.v2"), point
+ * senders at it and keep the old one registered for existing rows.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+public final class MessageTemplates {
+
+    private static final Map<String, MessageTemplate> REGISTRY = new ConcurrentHashMap<>();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<List<Object>> PARAMETER_LIST = new TypeReference<>() {};
+
+    /**
+     * Single test result (WhatsAppService)
+     */
+    public static final MessageTemplate TEST_RESULT = register(MessageTemplate.compile("test_result.v1",
+            "🎓 *EduGrowHub - Test Result*\n\n" +
+            "Dear {studentName},\n\n" +
+            "Your test result for *{subject}* is now available:\n\n" +
+            "📊 Score: {score:1f}/{maxScore:1f}\n" +
+            "📈 Percentage: {percentage:1f}%\n" +
+            "🏆 Grade: {grade}\n" +
+            "✅ Status: {status}\n\n" +
+            "Keep up the great work! 💪\n\n" +
+            "Best regards,\n" +
+            "EduGrowHub Team",
+            "studentName", "subject", "score", "maxScore", "percentage", "grade", "status"));
+
+    /**
+     * One result within a digest; only rendered as part of TEST_RESULT_DIGEST
+     */
+    public static final MessageTemplate TEST_RESULT_DIGEST_ITEM = register(MessageTemplate.compile("test_result_digest_item.v1",
+            "*{subject}*\n" +
+            "📊 Score: {score:1f}/{maxScore:1f}\n" +
+            "📈 Percentage: {percentage:1f}%\n" +
+            "🏆 Grade: {grade}\n" +
+            "✅ Status: {status}\n\n",
+            "subject", "score", "maxScore", "percentage", "grade", "status"));
+
+    /**
+     * Several test results coalesced into one message (WhatsAppService)
+     */
+    public static final MessageTemplate TEST_RESULT_DIGEST = register(MessageTemplate.compile("test_result_digest.v1",
+            "🎓 *EduGrowHub - Test Results*\n\n" +
+            "Dear {studentName},\n\n" +
+            "{count} new test results are now available:\n\n" +
+            "{results*}" +
+            "Keep up the great work! 💪\n\n" +
+            "Best regards,\n" +
+            "EduGrowHub Team",
+            TEST_RESULT_DIGEST_ITEM,
+            "studentName", "count", "results"));
+
+    /**
+     * Enrollment confirmation (WhatsAppService)
+     */
+    public static final MessageTemplate ENROLLMENT_CONFIRMATION = register(MessageTemplate.compile("enrollment_confirmation.v1",
+            "🎉 *Welcome to EduGrowHub!*\n\n" +
+            "Dear {studentName},\n\n" +
+            "Congratulations! You have been successfully enrolled in our educational program.\n\n" +
+            "👨‍🏫 Your Teacher: {teacherName}\n" +
+            "📚 Platform: EduGrowHub\n" +
+            "🗓️ Enrollment Date: {enrollmentDate}\n\n" +
+            "We're excited to have you on this learning journey!\n\n" +
+            "Best regards,\n" +
+            "EduGrowHub Team",
+            "studentName", "teacherName", "enrollmentDate"));
+
+    /**
+     * Student welcome (WhatsAppNotificationService)
+     */
+    public static final MessageTemplate STUDENT_ENROLLMENT = register(MessageTemplate.compile("student_enrollment.v1",
+            "🎓 Welcome to EduGrowHub! \n\n" +
+            "Hi {studentName},\n" +
+            "You have been successfully enrolled under teacher {teacherName}.\n\n" +
+            "You will receive notifications about your test results and academic progress.\n\n" +
+            "Best regards,\n" +
+            "EduGrowHub Team",
+            "studentName", "teacherName"));
+
+    /**
+     * Test result notice (WhatsAppNotificationService)
+     */
+    public static final MessageTemplate TEST_RESULT_NOTICE = register(MessageTemplate.compile("test_result_notice.v1",
+            "📊 Test Result Notification\n\n" +
+            "Hi {studentName},\n\n" +
+            "Your test result for {subject}:\n" +
+            "📝 Score: {score:1f}/{maxScore:1f}\n" +
+            "📈 Percentage: {percentage:1f}%\n" +
+            "🏆 Grade: {grade}\n" +
+            "📋 Status: {status}\n\n" +
+            "{closing}\n\n" +
+            "Keep up the good work!\n" +
+            "EduGrowHub Team",
+            "studentName", "subject", "score", "maxScore", "percentage", "grade", "status", "closing"));
+
+    /**
+     * Performance summary (WhatsAppNotificationService)
+     */
+    public static final MessageTemplate PERFORMANCE_REPORT = register(MessageTemplate.compile("performance_report.v1",
+            "📈 Academic Performance Report\n\n" +
+            "Hi {studentName},\n\n" +
+            "Your academic performance summary:\n" +
+            "📚 Total Tests: {totalTests}\n" +
+            "📊 Average Score: {averagePercentage:1f}%\n" +
+            "🏆 Overall Grade: {overallGrade}\n" +
+            "✅ Passed Tests: {passedTests}\n" +
+            "❌ Failed Tests: {failedTests}\n\n" +
+            "{closing}\n\n" +
+            "Keep working hard!\n" +
+            "EduGrowHub Team",
+            "studentName", "totalTests", "averagePercentage", "overallGrade", "passedTests", "failedTests", "closing"));
+
+    /**
+     * New student notice for the teacher (WhatsAppNotificationService)
+     */
+    public static final MessageTemplate TEACHER_ENROLLMENT = register(MessageTemplate.compile("teacher_enrollment.v1",
+            "👨‍🏫 New Student Enrollment\n\n" +
+            "Hi {teacherName},\n\n" +
+            "A new student has been enrolled under your guidance:\n" +
+            "👤 Student: {studentName}\n" +
+            "📧 Email: {studentEmail}\n\n" +
+            "You can now add test results and track their progress through the EduGrowHub dashboard.\n\n" +
+            "Best regards,\n" +
+            "EduGrowHub Team",
+            "teacherName", "studentName", "studentEmail"));
+
+    /**
+     * Broadcast announcement to a student (BroadcastRunner)
+     */
+    public static final MessageTemplate ANNOUNCEMENT = register(MessageTemplate.compile("announcement.v1",
+            "📢 *{title}*\n\n" +
+            "Dear {studentName},\n\n" +
+            "{message}\n\n" +
+            "Best regards,\n" +
+            "{senderName}\n" +
+            "EduGrowHub Team",
+            "studentName", "title", "message", "senderName"));
+
+    private MessageTemplates() {
+    }
+
+    private static MessageTemplate register(MessageTemplate template) {
+        if (REGISTRY.putIfAbsent(template.getId(), template) != null) {
+            throw new IllegalStateException("Duplicate message template ID " + template.getId());
+        }
+        return template;
+    }
+
+    /**
+     * Look up a template by its versioned ID
+     *
+     * @throws IllegalArgumentException if no template is registered under the ID
+     */
+    public static MessageTemplate get(String templateId) {
+        MessageTemplate template = REGISTRY.get(templateId);
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown message template: " + templateId);
+        }
+        return template;
+    }
+
+    /**
+     * Rebuild a message from its stored template ID and parameters
+     *
+     * @param templateId Versioned template ID, or null for free text
+     * @param parametersJson Stored parameters (ignored for free text)
+     * @param content Stored text of a free-text message
+     * @return The message as it was sent
+     */
+    public static RenderedMessage restore(String templateId, String parametersJson, String content) {
+        if (templateId == null) {
+            return RenderedMessage.plain(content);
+        }
+        List<Object> parameters = readParameters(parametersJson);
+        return new RenderedMessage(templateId, parameters, get(templateId).render(parameters));
+    }
+
+    static String writeParameters(List<Object> parameters) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(parameters);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unserializable template parameters", e);
+        }
+    }
+
+    private static List<Object> readParameters(String parametersJson) {
+        try {
+            return parametersJson == null ? List.of() : OBJECT_MAPPER.readValue(parametersJson, PARAMETER_LIST);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unreadable template parameters", e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.edugrowhub.service.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Map;
+
+/**
+ * A WhatsApp message ready to hand to a transport
+ *
+ * Either body is set (free-form text) or contentSid is (a pre-approved Twilio
+ * Content template, filled in with contentVariables).
+ *
+ * @param to Recipient number in international format (e.g. +919876543210)
+ * @param from Sender number in international format
+ * @param body Message text, or null for a content template
+ * @param priority Dispatch priority
+ * @param contentSid Twilio Content template SID (optional)
+ * @param contentVariables Template variables by placeholder number (optional)
+ */
+public record OutgoingMessage(String to, String from, String body, MessagePriority priority,
+                              String contentSid, Map<String, String> contentVariables) {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    public OutgoingMessage(String to, String from, String body, MessagePriority priority) {
+        this(to, from, body, priority, null, null);
+    }
+
+    /**
+     * Whether this message is a content template rather than free-form text
+     */
+    public boolean isTemplate() {
+        return contentSid != null;
+    }
+
+    /**
+     * Template variables as the JSON object Twilio expects, or null if there are none
+     */
+    public String contentVariablesJson() {
+        if (contentVariables == null || contentVariables.isEmpty()) {
+            return null;
+        }
+        try {
+            return JSON.writeValueAsString(contentVariables);
+        } catch (JsonProcessingException e) {
+            throw new WhatsAppSendException("Invalid template variables: " + e.getMessage(), false, e);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.edugrowhub.service.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sliding window of recently sent messages, used for duplicate suppression
+ *
+ * Messages are identified by a 64-bit fingerprint of (normalized phone, message
+ * type, content). The window is split into whatsapp.dedup.buckets time buckets;
+ * each bucket is a hash set that is cleared when its slot is reused, so entries
+ * expire between window - window/buckets and window after they were recorded.
+ *
+ * Memory is bounded by whatsapp.dedup.max-entries. When a bucket is full, new
+ * fingerprints are not recorded and the window reports itself as not
+ * authoritative until that bucket expires, so callers fall back to the database.
+ * The same applies for one full window after startup (cold start).
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Component
+public class RecentMessageWindow {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long bucketNanos;
+    private final long windowNanos;
+    private final int maxEntriesPerBucket;
+    private final Bucket[] buckets;
+    private final long startedNanos;
+    private final Counter overflowCounter;
+
+    private volatile long overflowUntilEpoch = Long.MIN_VALUE;
+
+    private static final class Bucket {
+        private volatile long epoch = Long.MIN_VALUE;
+        private final Set<Long> fingerprints = ConcurrentHashMap.newKeySet();
+    }
+
+    public RecentMessageWindow(@Value("${whatsapp.dedup.window:PT5M}") Duration window,
+                               @Value("${whatsapp.dedup.buckets:10}") int bucketCount,
+                               @Value("${whatsapp.dedup.max-entries:100000}") int maxEntries,
+                               MeterRegistry meterRegistry) {
+        this.windowNanos = window.toNanos();
+        this.bucketNanos = Math.max(1, windowNanos / bucketCount);
+        this.maxEntriesPerBucket = Math.max(1, maxEntries / bucketCount);
+        this.buckets = new Bucket[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new Bucket();
+        }
+        this.startedNanos = System.nanoTime();
+        this.overflowCounter = Counter.builder("whatsapp.dedup.overflow")
+                .description("Fingerprints not recorded because the dedup window was full")
+                .register(meterRegistry);
+        Gauge.builder("whatsapp.dedup.entries", this, RecentMessageWindow::size)
+                .description("Fingerprints held in the dedup window")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Fingerprint of a message for dedup purposes
+     *
+     * @param normalizedPhone Recipient in international format
+     * @param messageType Message type
+     * @param content Message body
+     * @return 64-bit fingerprint
+     */
+    public static long fingerprint(String normalizedPhone, String messageType, String content) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = mix(hash, normalizedPhone);
+        hash = (hash ^ 0x1F) * FNV_PRIME;
+        hash = mix(hash, messageType);
+        hash = (hash ^ 0x1F) * FNV_PRIME;
+        hash = mix(hash, content);
+        // Final avalanche (MurmurHash3 fmix64) so similar messages spread across the table
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Record a fingerprint unless it is already in the window
+     *
+     * @param fingerprint Message fingerprint
+     * @return true if the fingerprint was not in the window (not a known duplicate)
+     */
+    public boolean recordIfAbsent(long fingerprint) {
+        long epoch = System.nanoTime() / bucketNanos;
+        Bucket current = currentBucket(epoch);
+        Long key = fingerprint;
+
+        for (Bucket bucket : buckets) {
+            if (bucket != current && isLive(bucket, epoch) && bucket.fingerprints.contains(key)) {
+                return false;
+            }
+        }
+
+        if (current.fingerprints.size() >= maxEntriesPerBucket) {
+            overflowUntilEpoch = epoch + buckets.length;
+            overflowCounter.increment();
+            return !current.fingerprints.contains(key);
+        }
+        return current.fingerprints.add(key);
+    }
+
+    /**
+     * Remove a fingerprint, e.g. after the send it guarded has failed
+     */
+    public void forget(long fingerprint) {
+        Long key = fingerprint;
+        for (Bucket bucket : buckets) {
+            bucket.fingerprints.remove(key);
+        }
+    }
+
+    /**
+     * Whether a miss in the window can be trusted without asking the database
+     *
+     * @return false during the first window after startup and while a bucket has overflowed
+     */
+    public boolean isAuthoritative() {
+        long now = System.nanoTime();
+        return now - startedNanos >= windowNanos && now / bucketNanos >= overflowUntilEpoch;
+    }
+
+    /**
+     * Length of the dedup window
+     */
+    public Duration getWindow() {
+        return Duration.ofNanos(windowNanos);
+    }
+
+    /**
+     * Number of fingerprints currently held, including expired buckets not yet reused
+     */
+    public int size() {
+        int size = 0;
+        for (Bucket bucket : buckets) {
+            size += bucket.fingerprints.size();
+        }
+        return size;
+    }
+
+    private Bucket currentBucket(long epoch) {
+        Bucket bucket = buckets[(int) Math.floorMod(epoch, (long) buckets.length)];
+        if (bucket.epoch != epoch) {
+            synchronized (bucket) {
+                if (bucket.epoch != epoch) {
+                    bucket.fingerprints.clear();
+                    bucket.epoch = epoch;
+                }
+            }
+        }
+        return bucket;
+    }
+
+    private boolean isLive(Bucket bucket, long epoch) {
+        return bucket.epoch > epoch - buckets.length;
+    }
+
+    private static long mix(long hash, String value) {
+        if (value == null) {
+            return hash;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+}
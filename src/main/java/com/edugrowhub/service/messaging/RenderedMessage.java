@@ -0,0 +1,30 @@
+package com.edugrowhub.service.messaging;
+
+import java.util.List;
+
+/**
+ * Message text together with the template and parameters it was rendered from
+ *
+ * Free-text messages have no template ID; their text is what gets stored.
+ *
+ * @param templateId Versioned template ID, or null for free text
+ * @param parameters Template parameters in declared order (empty for free text)
+ * @param text Rendered message text
+ */
+public record RenderedMessage(String templateId, List<Object> parameters, String text) {
+
+    public static RenderedMessage plain(String text) {
+        return new RenderedMessage(null, List.of(), text);
+    }
+
+    public boolean isTemplated() {
+        return templateId != null;
+    }
+
+    /**
+     * Parameters as the compact JSON array stored with the log entry, or null for free text
+     */
+    public String parametersJson() {
+        return isTemplated() ? MessageTemplates.writeParameters(parameters) : null;
+    }
+}
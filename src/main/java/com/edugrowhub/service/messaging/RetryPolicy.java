@@ -0,0 +1,59 @@
+package com.edugrowhub.service.messaging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Backoff schedule for failed WhatsApp messages
+ *
+ * The delay after attempt n is initial-backoff * multiplier^(n-1), capped at
+ * max-backoff, with "equal jitter": half of the delay is fixed and the other
+ * half random, so messages that failed together (e.g. during a provider
+ * outage) do not all retry at the same moment. After max-attempts attempts a
+ * message is dead-lettered.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Component
+public class RetryPolicy {
+
+    @Value("${whatsapp.retry.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${whatsapp.retry.initial-backoff:PT30S}")
+    private Duration initialBackoff;
+
+    @Value("${whatsapp.retry.max-backoff:PT30M}")
+    private Duration maxBackoff;
+
+    @Value("${whatsapp.retry.multiplier:2.0}")
+    private double multiplier;
+
+    /**
+     * When to try again after a failed attempt
+     *
+     * @param attemptsMade Attempts made so far, including the one that just failed
+     * @param from Time of the failure
+     * @return Time of the next attempt, or null if the message should be dead-lettered
+     */
+    public LocalDateTime nextAttemptAt(int attemptsMade, LocalDateTime from) {
+        if (attemptsMade >= maxAttempts) {
+            return null;
+        }
+        double delayMillis = Math.min(
+                initialBackoff.toMillis() * Math.pow(multiplier, Math.max(0, attemptsMade - 1)),
+                maxBackoff.toMillis());
+        long half = (long) (delayMillis / 2);
+        long jittered = half + ThreadLocalRandom.current().nextLong(half + 1);
+        return from.plus(Duration.ofMillis(jittered));
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+}
@@ -0,0 +1,63 @@
+package com.edugrowhub.service.messaging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local transport for development and load tests (whatsapp.transport=stub)
+ *
+ * Never touches the network. Each send completes after whatsapp.stub.latency-ms
+ * to imitate the provider round trip, without holding a thread, and fails with
+ * probability whatsapp.stub.failure-rate.
+ */
+@Component
+@ConditionalOnProperty(name = "whatsapp.transport", havingValue = "stub")
+@Slf4j
+public class StubWhatsAppTransport implements WhatsAppTransport {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Value("${whatsapp.stub.latency-ms:150}")
+    private long latencyMillis;
+
+    @Value("${whatsapp.stub.failure-rate:0.0}")
+    private double failureRate;
+
+    @Override
+    public String name() {
+        return "stub";
+    }
+
+    @Override
+    public String send(OutgoingMessage message) {
+        try {
+            return sendAsync(message).join();
+        } catch (CompletionException e) {
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    @Override
+    public CompletableFuture<String> sendAsync(OutgoingMessage message) {
+        // Completes on a timer after the simulated round trip; no thread is held meanwhile
+        Executor delayed = CompletableFuture.delayedExecutor(latencyMillis, TimeUnit.MILLISECONDS);
+        return CompletableFuture.supplyAsync(() -> {
+            if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+                throw new WhatsAppSendException("Simulated provider failure", true);
+            }
+
+            String sid = String.format("SMstub%026d", sequence.incrementAndGet());
+            log.debug("Stub transport accepted {} message, SID {}", message.priority(), sid);
+            return sid;
+        }, delayed);
+    }
+}
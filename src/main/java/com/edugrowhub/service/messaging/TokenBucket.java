@@ -0,0 +1,45 @@
+package com.edugrowhub.service.messaging;
+
+/**
+ * Token bucket rate limiter
+ *
+ * Holds up to capacity tokens and refills at permitsPerSecond. Each send takes
+ * one token; when the bucket is empty the caller is told how long to wait.
+ */
+public class TokenBucket {
+
+    private final long capacity;
+    private final double nanosPerToken;
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucket(double permitsPerSecond, long capacity) {
+        if (permitsPerSecond <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Rate and capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.nanosPerToken = 1_000_000_000d / permitsPerSecond;
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Take one token if available
+     *
+     * @return 0 if a token was taken, otherwise nanoseconds until one is available
+     */
+    public synchronized long tryAcquire() {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) * nanosPerToken);
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) / nanosPerToken);
+        lastRefillNanos = now;
+    }
+}
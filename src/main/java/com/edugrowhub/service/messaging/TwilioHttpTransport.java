@@ -0,0 +1,162 @@
+package com.edugrowhub.service.messaging;
+
+import com.edugrowhub.config.TwilioConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Transport calling the Twilio Messages REST API with java.net.http.HttpClient
+ * (whatsapp.transport=twilio, the default)
+ *
+ * One HttpClient is shared by all sends, so connections to Twilio are pooled
+ * and kept alive between messages. Sends are non-blocking: sendAsync returns
+ * as soon as the request is written and no dispatcher thread waits for the
+ * response. The Basic auth header and endpoint URL are built once.
+ *
+ * Timeouts: whatsapp.http.connect-timeout for opening a connection and
+ * whatsapp.http.request-timeout for the whole exchange; both count as
+ * retryable failures, as do 429 and 5xx responses.
+ */
+@Component
+@ConditionalOnProperty(name = "whatsapp.transport", havingValue = "twilio", matchIfMissing = true)
+@Slf4j
+public class TwilioHttpTransport implements WhatsAppTransport {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final URI messagesUri;
+    private final String authorizationHeader;
+    private final Duration requestTimeout;
+    private final String statusCallbackUrl;
+
+    public TwilioHttpTransport(TwilioConfig twilioConfig,
+                               ObjectMapper objectMapper,
+                               @Value("${whatsapp.http.base-url:https://api.twilio.com}") String baseUrl,
+                               @Value("${whatsapp.http.connect-timeout:PT5S}") Duration connectTimeout,
+                               @Value("${whatsapp.http.request-timeout:PT15S}") Duration requestTimeout,
+                               @Value("${whatsapp.status-callback.public-url:}") String statusCallbackUrl) {
+        this.objectMapper = objectMapper;
+        this.requestTimeout = requestTimeout;
+        this.statusCallbackUrl = statusCallbackUrl;
+        this.messagesUri = URI.create(String.format("%s/2010-04-01/Accounts/%s/Messages.json",
+                baseUrl, twilioConfig.getAccountSid()));
+        this.authorizationHeader = "Basic " + Base64.getEncoder().encodeToString(
+                (twilioConfig.getAccountSid() + ":" + twilioConfig.getAuthToken()).getBytes(StandardCharsets.UTF_8));
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    @Override
+    public String name() {
+        return "twilio";
+    }
+
+    @Override
+    public String send(OutgoingMessage message) {
+        try {
+            return sendAsync(message).join();
+        } catch (CompletionException e) {
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    @Override
+    public CompletableFuture<String> sendAsync(OutgoingMessage message) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(messagesUri)
+                    .timeout(requestTimeout)
+                    .header("Authorization", authorizationHeader)
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .header("Accept", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(formBody(message)))
+                    .build();
+        } catch (WhatsAppSendException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        // Connection failures and timeouts are transient
+                        throw new WhatsAppSendException("Twilio request failed: " + cause.getMessage(),
+                                cause instanceof IOException, cause);
+                    }
+                    return messageSid(response);
+                });
+    }
+
+    private String messageSid(HttpResponse<String> response) {
+        int status = response.statusCode();
+        JsonNode body = readBody(response.body());
+
+        if (status == 200 || status == 201) {
+            if (body != null && body.hasNonNull("sid")) {
+                return body.get("sid").asText();
+            }
+            throw new WhatsAppSendException("Twilio response had no message SID", false);
+        }
+
+        // Throttling and provider-side errors are worth retrying; 4xx rejections are not
+        boolean retryable = status == 429 || status >= 500;
+        String detail = body != null && body.hasNonNull("message")
+                ? body.get("message").asText() + " (code " + body.path("code").asText() + ")"
+                : "HTTP " + status;
+        throw new WhatsAppSendException(detail, retryable);
+    }
+
+    private JsonNode readBody(String body) {
+        try {
+            return body == null || body.isEmpty() ? null : objectMapper.readTree(body);
+        } catch (IOException e) {
+            log.debug("Unparseable Twilio response body: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String formBody(OutgoingMessage message) {
+        StringBuilder form = new StringBuilder();
+        appendParam(form, "To", "whatsapp:" + message.to());
+        appendParam(form, "From", "whatsapp:" + message.from());
+        if (message.isTemplate()) {
+            appendParam(form, "ContentSid", message.contentSid());
+            appendParam(form, "ContentVariables", message.contentVariablesJson());
+        } else {
+            appendParam(form, "Body", message.body());
+        }
+        if (!statusCallbackUrl.isBlank()) {
+            appendParam(form, "StatusCallback", statusCallbackUrl);
+        }
+        return form.toString();
+    }
+
+    private static void appendParam(StringBuilder form, String name, String value) {
+        if (value == null) {
+            return;
+        }
+        if (form.length() > 0) {
+            form.append('&');
+        }
+        form.append(name).append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+    }
+}
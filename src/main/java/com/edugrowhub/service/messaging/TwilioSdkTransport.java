@@ -0,0 +1,61 @@
+package com.edugrowhub.service.messaging;
+
+import com.twilio.exception.ApiConnectionException;
+import com.twilio.exception.ApiException;
+import com.twilio.rest.api.v2010.account.Message;
+import com.twilio.rest.api.v2010.account.MessageCreator;
+import com.twilio.type.PhoneNumber;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+
+/**
+ * Transport backed by the Twilio Java SDK (whatsapp.transport=twilio-sdk)
+ *
+ * Blocks a dispatcher thread for each send; TwilioHttpTransport is the
+ * non-blocking default. Relies on TwilioConfig having initialised the SDK with the account credentials.
+ * When whatsapp.status-callback.public-url is set, Twilio reports delivery
+ * progress for every message to that URL.
+ */
+@Component
+@ConditionalOnProperty(name = "whatsapp.transport", havingValue = "twilio-sdk")
+public class TwilioSdkTransport implements WhatsAppTransport {
+
+    @Value("${whatsapp.status-callback.public-url:}")
+    private String statusCallbackUrl;
+
+    @Override
+    public String name() {
+        return "twilio-sdk";
+    }
+
+    @Override
+    public String send(OutgoingMessage message) {
+        try {
+            MessageCreator creator = Message.creator(
+                    new PhoneNumber("whatsapp:" + message.to()),
+                    new PhoneNumber("whatsapp:" + message.from()),
+                    message.body()
+            );
+            if (message.isTemplate()) {
+                creator.setContentSid(message.contentSid());
+                if (message.contentVariablesJson() != null) {
+                    creator.setContentVariables(message.contentVariablesJson());
+                }
+            }
+            if (!statusCallbackUrl.isBlank()) {
+                creator.setStatusCallback(URI.create(statusCallbackUrl));
+            }
+            return creator.create().getSid();
+        } catch (ApiConnectionException e) {
+            throw new WhatsAppSendException(e.getMessage(), true, e);
+        } catch (ApiException e) {
+            // Throttling and provider-side errors are worth retrying; 4xx rejections are not
+            Integer status = e.getStatusCode();
+            boolean retryable = status == null || status == 429 || status >= 500;
+            throw new WhatsAppSendException(e.getMessage(), retryable, e);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.edugrowhub.service.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * WhatsApp Dispatcher
+ *
+ * Sends messages through the configured WhatsAppTransport with bounded
+ * concurrency:
+ * - A priority queue orders waiting messages (TEST_RESULT first, RETRY last,
+ *   FIFO within a priority)
+ * - A token bucket per sender number keeps us under the provider's rate limit
+ * - At most whatsapp.dispatcher.concurrency sends are in flight at once
+ *
+ * A single pump thread takes the next message only once a send slot and a rate
+ * token are both available, so priority decides what is sent next rather than
+ * arrival order in an executor queue.
+ *
+ * whatsapp.dispatcher.mode selects the send threads: "pooled" (a fixed pool of
+ * concurrency threads) or "virtual" (one virtual thread per send, JDK 21+;
+ * falls back to pooled on older runtimes). With a non-blocking transport the
+ * send thread only starts the request; the concurrency limit still counts
+ * every message until the provider has answered.
+ *
+ * @author EduGrowHub Development Team
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class WhatsAppDispatcher {
+
+    private final WhatsAppTransport transport;
+    private final MeterRegistry meterRegistry;
+
+    private final PriorityBlockingQueue<Job> queue = new PriorityBlockingQueue<>();
+    private final Map<String, TokenBucket> rateLimiters = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Counter throttledCounter;
+    private final Counter rejectedCounter;
+
+    @Value("${whatsapp.dispatcher.mode:pooled}")
+    private String mode;
+
+    @Value("${whatsapp.dispatcher.concurrency:8}")
+    private int concurrency;
+
+    @Value("${whatsapp.dispatcher.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${whatsapp.rate-limit.per-second:10}")
+    private double permitsPerSecond;
+
+    @Value("${whatsapp.rate-limit.burst:10}")
+    private long burst;
+
+    private Semaphore sendSlots;
+    private ExecutorService sendExecutor;
+    private Thread pump;
+    private volatile boolean running;
+
+    /**
+     * Message waiting in the queue
+     */
+    private record Job(OutgoingMessage message, long sequence, long enqueuedNanos,
+                       CompletableFuture<String> result) implements Comparable<Job> {
+
+        @Override
+        public int compareTo(Job other) {
+            int byPriority = message.priority().compareTo(other.message.priority());
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    public WhatsAppDispatcher(WhatsAppTransport transport, MeterRegistry meterRegistry) {
+        this.transport = transport;
+        this.meterRegistry = meterRegistry;
+        this.throttledCounter = Counter.builder("whatsapp.dispatcher.throttled")
+                .description("Times a send waited for the per-sender rate limit")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("whatsapp.dispatcher.rejected")
+                .description("Messages rejected because the dispatch queue was full")
+                .register(meterRegistry);
+        Gauge.builder("whatsapp.dispatcher.queue.depth", queue, PriorityBlockingQueue::size)
+                .description("Messages waiting to be sent")
+                .register(meterRegistry);
+        Gauge.builder("whatsapp.dispatcher.in.flight", inFlight, AtomicInteger::get)
+                .description("Sends currently in progress")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        sendSlots = new Semaphore(concurrency);
+        sendExecutor = createSendExecutor();
+        running = true;
+        pump = new Thread(this::pumpLoop, "whatsapp-dispatch-pump");
+        pump.setDaemon(true);
+        pump.start();
+        log.info("WhatsApp dispatcher started: transport={}, concurrency={}, rate={}/s per sender",
+                transport.name(), concurrency, permitsPerSecond);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        pump.interrupt();
+        pump.join(TimeUnit.SECONDS.toMillis(5));
+        sendExecutor.shutdown();
+        if (!sendExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+            sendExecutor.shutdownNow();
+        }
+
+        Job job;
+        while ((job = queue.poll()) != null) {
+            job.result().completeExceptionally(new WhatsAppSendException("Dispatcher stopped", true));
+        }
+    }
+
+    /**
+     * Queue a message for sending
+     *
+     * @param message Message to send
+     * @return Future completed with the provider message id, or exceptionally
+     *         with WhatsAppSendException or RejectedExecutionException (queue full)
+     */
+    public CompletableFuture<String> submit(OutgoingMessage message) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        if (!running || queue.size() >= queueCapacity) {
+            rejectedCounter.increment();
+            result.completeExceptionally(new RejectedExecutionException("WhatsApp dispatch queue is full"));
+            return result;
+        }
+        queue.add(new Job(message, sequence.incrementAndGet(), System.nanoTime(), result));
+        return result;
+    }
+
+    /**
+     * Free space in the dispatch queue
+     */
+    public int remainingCapacity() {
+        return Math.max(0, queueCapacity - queue.size());
+    }
+
+    private void pumpLoop() {
+        while (running) {
+            Job job = null;
+            try {
+                sendSlots.acquire();
+                job = queue.take();
+                awaitRateLimit(job.message().from());
+            } catch (InterruptedException e) {
+                sendSlots.release();
+                if (job != null) {
+                    queue.add(job);
+                }
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            Job claimed = job;
+            try {
+                sendExecutor.execute(() -> send(claimed));
+            } catch (RejectedExecutionException e) {
+                sendSlots.release();
+                claimed.result().completeExceptionally(e);
+            }
+        }
+    }
+
+    private void awaitRateLimit(String sender) throws InterruptedException {
+        TokenBucket bucket = rateLimiters.computeIfAbsent(sender, key -> new TokenBucket(permitsPerSecond, burst));
+        long waitNanos;
+        boolean throttled = false;
+        while ((waitNanos = bucket.tryAcquire()) > 0) {
+            throttled = true;
+            LockSupport.parkNanos(waitNanos);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        if (throttled) {
+            throttledCounter.increment();
+        }
+    }
+
+    private void send(Job job) {
+        inFlight.incrementAndGet();
+        String priority = job.message().priority().name();
+        meterRegistry.timer("whatsapp.dispatcher.queue.wait", "priority", priority)
+                .record(System.nanoTime() - job.enqueuedNanos(), TimeUnit.NANOSECONDS);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<String> send;
+        try {
+            send = transport.sendAsync(job.message());
+        } catch (Exception e) {
+            send = CompletableFuture.failedFuture(e);
+        }
+
+        // The slot is held until the provider answers, even when the transport does not block this thread
+        send.whenComplete((messageSid, error) -> {
+            sample.stop(meterRegistry.timer("whatsapp.send.latency",
+                    "transport", transport.name(), "outcome", error == null ? "sent" : "failed"));
+            inFlight.decrementAndGet();
+            sendSlots.release();
+
+            // Callers save logs on completion; keep that off the transport's I/O threads
+            Runnable complete = () -> {
+                if (error == null) {
+                    job.result().complete(messageSid);
+                } else {
+                    job.result().completeExceptionally(
+                            error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                }
+            };
+            try {
+                sendExecutor.execute(complete);
+            } catch (RejectedExecutionException e) {
+                complete.run();
+            }
+        });
+    }
+
+    private ExecutorService createSendExecutor() {
+        if ("virtual".equalsIgnoreCase(mode)) {
+            try {
+                // Resolved reflectively so the code still compiles for Java 17
+                ExecutorService executor = (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor")
+                        .invoke(null);
+                log.info("WhatsApp dispatcher using virtual threads");
+                return executor;
+            } catch (ReflectiveOperationException e) {
+                log.warn("Virtual threads are not available on Java {}, using a pool of {} threads",
+                        Runtime.version().feature(), concurrency);
+            }
+        }
+        return Executors.newFixedThreadPool(concurrency, new CustomizableThreadFactory("whatsapp-send-"));
+    }
+}
@@ -0,0 +1,27 @@
+package com.edugrowhub.service.messaging;
+
+/**
+ * Raised by a WhatsAppTransport when a message could not be sent
+ *
+ * retryable is true for failures worth another attempt later (timeouts,
+ * throttling, provider 5xx) and false for permanent ones (invalid number,
+ * rejected content, bad credentials).
+ */
+public class WhatsAppSendException extends RuntimeException {
+
+    private final boolean retryable;
+
+    public WhatsAppSendException(String message, boolean retryable) {
+        super(message);
+        this.retryable = retryable;
+    }
+
+    public WhatsAppSendException(String message, boolean retryable, Throwable cause) {
+        super(message, cause);
+        this.retryable = retryable;
+    }
+
+    public boolean isRetryable() {
+        return retryable;
+    }
+}
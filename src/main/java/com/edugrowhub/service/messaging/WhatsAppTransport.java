@@ -0,0 +1,45 @@
+package com.edugrowhub.service.messaging;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends a single WhatsApp message to the provider
+ *
+ * Implementations are selected with whatsapp.transport and must be safe to
+ * call from many dispatcher threads at once. The dispatcher calls sendAsync;
+ * transports with a non-blocking client override it so no thread waits on the
+ * provider, blocking ones only implement send.
+ */
+public interface WhatsAppTransport {
+
+    /**
+     * Short name used in logs and metric tags
+     */
+    String name();
+
+    /**
+     * Send a message, blocking until the provider has accepted or rejected it
+     *
+     * @param message Message to send
+     * @return Provider message id (Twilio SID)
+     * @throws WhatsAppSendException if the provider did not accept the message
+     */
+    String send(OutgoingMessage message);
+
+    /**
+     * Send a message without blocking the caller
+     *
+     * The default runs send on the calling thread.
+     *
+     * @param message Message to send
+     * @return Future completed with the provider message id, or exceptionally
+     *         with WhatsAppSendException
+     */
+    default CompletableFuture<String> sendAsync(OutgoingMessage message) {
+        try {
+            return CompletableFuture.completedFuture(send(message));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
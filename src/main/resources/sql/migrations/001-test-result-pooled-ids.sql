@@ -0,0 +1,14 @@
+-- EduGrowHub Migration 001: pooled id allocation for test_results
+-- TestResult ids now come from the id_generators table (pooled-lo, blocks of 50)
+-- instead of AUTO_INCREMENT, so Hibernate can batch inserts.
+-- Run once against existing MySQL databases before deploying (ddl-auto=validate in production).
+
+CREATE TABLE IF NOT EXISTS id_generators (
+    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT
+);
+
+-- Start allocation above the highest existing id
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'test_results', COALESCE(MAX(id), 0) + 1 FROM test_results
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
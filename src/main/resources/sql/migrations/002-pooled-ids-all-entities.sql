@@ -0,0 +1,23 @@
+-- EduGrowHub Migration 002: pooled id allocation for the remaining entities
+-- Student, User and WhatsAppLog ids now come from id_generators (pooled-lo, blocks of 50),
+-- like test_results since migration 001. Existing AUTO_INCREMENT columns can stay;
+-- Hibernate always supplies the id explicitly.
+-- Run once against existing MySQL databases before deploying (ddl-auto=validate in production).
+
+CREATE TABLE IF NOT EXISTS id_generators (
+    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT
+);
+
+-- Start allocation above the highest existing id of each table
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'students', COALESCE(MAX(id), 0) + 1 FROM students
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'users', COALESCE(MAX(id), 0) + 1 FROM users
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'whatsapp_logs', COALESCE(MAX(id), 0) + 1 FROM whatsapp_logs
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
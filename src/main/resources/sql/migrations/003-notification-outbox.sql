@@ -0,0 +1,30 @@
+-- EduGrowHub Migration 003: WhatsApp notification outbox
+-- Notifications are written here in the same transaction as the marks that trigger them
+-- and sent in the background by NotificationOutboxDispatcher.
+-- Run once against existing MySQL databases before deploying (ddl-auto=validate in production).
+
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id BIGINT NOT NULL PRIMARY KEY,
+    message_type VARCHAR(50) NOT NULL,
+    recipient_phone VARCHAR(20) NOT NULL,
+    message_content TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    student_id BIGINT,
+    teacher_id BIGINT,
+    metadata TEXT,
+    created_at DATETIME(6) NOT NULL,
+    claim_token VARCHAR(36),
+    claimed_at DATETIME(6),
+    processed_at DATETIME(6),
+    whatsapp_log_id BIGINT,
+
+    CONSTRAINT fk_outbox_student FOREIGN KEY (student_id) REFERENCES students(id),
+    CONSTRAINT fk_outbox_teacher FOREIGN KEY (teacher_id) REFERENCES users(id),
+
+    INDEX idx_outbox_status_id (status, id),
+    INDEX idx_outbox_teacher_status (teacher_id, status)
+);
+
+INSERT INTO id_generators (sequence_name, next_val)
+VALUES ('notification_outbox', 1)
+ON DUPLICATE KEY UPDATE next_val = next_val;
@@ -0,0 +1,6 @@
+-- EduGrowHub Migration 004: composite index for duplicate checks on whatsapp_logs
+-- Backs WhatsAppLogRepository.findRecentSuccessfulContent, which is only used
+-- while the in-memory dedup window is cold (first minutes after startup).
+-- Run once against existing MySQL databases before deploying (ddl-auto=validate in production).
+
+CREATE INDEX idx_whatsapp_log_phone_type_sent ON whatsapp_logs (recipient_phone, message_type, sent_at);
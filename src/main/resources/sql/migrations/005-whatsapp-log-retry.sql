@@ -0,0 +1,10 @@
+-- EduGrowHub Migration 005: retry tracking on whatsapp_logs
+-- Failed messages are retried on the same row by WhatsAppRetryScheduler.
+-- Existing FAILED rows keep next_attempt_at NULL, so they are not retried automatically.
+-- Run once against existing MySQL databases before deploying (ddl-auto=validate in production).
+
+ALTER TABLE whatsapp_logs
+    ADD COLUMN attempt_count INT NOT NULL DEFAULT 1,
+    ADD COLUMN next_attempt_at DATETIME(6);
+
+CREATE INDEX idx_whatsapp_log_status_next_attempt ON whatsapp_logs (message_status, next_attempt_at);
@@ -0,0 +1,5 @@
+-- EduGrowHub Migration 006: index whatsapp_logs by Twilio message SID
+-- Twilio status callbacks update rows by twilio_message_sid in JDBC batches.
+-- Run once against existing MySQL databases before deploying (ddl-auto=validate in production).
+
+CREATE INDEX idx_whatsapp_log_twilio_sid ON whatsapp_logs (twilio_message_sid);
@@ -0,0 +1,15 @@
+-- EduGrowHub Migration 007: store templated WhatsApp messages as template ID and parameters
+-- Messages rendered from MessageTemplates keep only the versioned template ID and a JSON
+-- parameter array; message_content is null for them and the text is rendered when read.
+-- Existing rows keep their stored content.
+-- Run once against existing MySQL databases before deploying (ddl-auto=validate in production).
+
+ALTER TABLE whatsapp_logs
+    MODIFY message_content TEXT NULL,
+    ADD COLUMN template_id VARCHAR(50) NULL,
+    ADD COLUMN template_params TEXT NULL;
+
+ALTER TABLE notification_outbox
+    MODIFY message_content TEXT NULL,
+    ADD COLUMN template_id VARCHAR(50) NULL,
+    ADD COLUMN template_params TEXT NULL;
@@ -0,0 +1,25 @@
+-- EduGrowHub Migration 008: hot/cold split for WhatsApp logs
+-- whatsapp_logs keeps recent messages; WhatsAppLogArchiveScheduler moves finished messages older
+-- than whatsapp.archive.hot-retention into whatsapp_log_archive as gzip'd NDJSON chunks (one month each).
+-- Native MySQL partitioning is not used: InnoDB does not allow foreign keys on partitioned tables,
+-- and whatsapp_logs references students and users.
+-- Run once against existing MySQL databases before deploying (ddl-auto=validate in production).
+
+CREATE INDEX idx_whatsapp_log_sent_at ON whatsapp_logs (sent_at);
+
+CREATE TABLE IF NOT EXISTS whatsapp_log_archive (
+    id BIGINT NOT NULL PRIMARY KEY,
+    archive_month VARCHAR(7) NOT NULL,
+    first_sent_at DATETIME(6) NOT NULL,
+    last_sent_at DATETIME(6) NOT NULL,
+    row_count INT NOT NULL,
+    payload LONGBLOB NOT NULL,
+    archived_at DATETIME(6) NOT NULL,
+
+    INDEX idx_whatsapp_archive_first_sent (first_sent_at),
+    INDEX idx_whatsapp_archive_last_sent (last_sent_at)
+);
+
+INSERT INTO id_generators (sequence_name, next_val)
+VALUES ('whatsapp_log_archive', 1)
+ON DUPLICATE KEY UPDATE next_val = next_val;
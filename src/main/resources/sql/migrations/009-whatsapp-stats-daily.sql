@@ -0,0 +1,27 @@
+-- EduGrowHub Migration 009: daily WhatsApp statistics rollup
+-- Message counts per (teacher, day, type, status), kept up to date by MessageStatsBuffer so
+-- statistics endpoints never scan whatsapp_logs. teacher_id 0 stands for messages without a teacher.
+-- The backfill counts only the messages still in whatsapp_logs. Where the archive job (migration
+-- 008) has already moved messages to whatsapp_log_archive, start POST /api/admin/whatsapp-stats/rebuild
+-- as a superadmin after deploying; it recounts every month from both tables.
+-- Run once against existing MySQL databases before deploying (ddl-auto=validate in production).
+
+CREATE TABLE IF NOT EXISTS whatsapp_stats_daily (
+    teacher_id BIGINT NOT NULL,
+    stat_date DATE NOT NULL,
+    message_type VARCHAR(50) NOT NULL,
+    message_status VARCHAR(20) NOT NULL,
+    message_count BIGINT NOT NULL,
+
+    PRIMARY KEY (teacher_id, stat_date, message_type, message_status)
+);
+
+INSERT INTO whatsapp_stats_daily (teacher_id, stat_date, message_type, message_status, message_count)
+SELECT COALESCE(teacher_id, 0),
+       DATE(sent_at),
+       message_type,
+       CASE WHEN message_status = 'RETRYING' THEN 'FAILED' ELSE message_status END,
+       COUNT(*)
+FROM whatsapp_logs
+GROUP BY COALESCE(teacher_id, 0), DATE(sent_at), message_type,
+         CASE WHEN message_status = 'RETRYING' THEN 'FAILED' ELSE message_status END;
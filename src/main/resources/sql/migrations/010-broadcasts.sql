@@ -0,0 +1,33 @@
+-- EduGrowHub Migration 010: broadcast announcements
+-- One row per announcement to a teacher's students or the whole school; BroadcastRunner sends it
+-- page by page and saves its keyset cursor (last_student_id) and outcome counts after each page.
+-- Run once against existing MySQL databases before deploying (ddl-auto=validate in production).
+
+CREATE TABLE IF NOT EXISTS broadcasts (
+    id BIGINT NOT NULL PRIMARY KEY,
+    sender_id BIGINT NOT NULL,
+    scope VARCHAR(20) NOT NULL,
+    title VARCHAR(100) NOT NULL,
+    message TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    last_student_id BIGINT NOT NULL,
+    total_recipients BIGINT NOT NULL,
+    processed_count BIGINT NOT NULL,
+    sent_count BIGINT NOT NULL,
+    failed_count BIGINT NOT NULL,
+    suppressed_count BIGINT NOT NULL,
+    skipped_count BIGINT NOT NULL,
+    claim_token VARCHAR(36),
+    lease_until DATETIME(6),
+    created_at DATETIME(6) NOT NULL,
+    started_at DATETIME(6),
+    completed_at DATETIME(6),
+
+    INDEX idx_broadcast_status_id (status, id),
+    INDEX idx_broadcast_sender_created (sender_id, created_at),
+    CONSTRAINT fk_broadcast_sender FOREIGN KEY (sender_id) REFERENCES users(id)
+);
+
+INSERT INTO id_generators (sequence_name, next_val)
+VALUES ('broadcasts', 1)
+ON DUPLICATE KEY UPDATE next_val = next_val;
@@ -0,0 +1,36 @@
+-- EduGrowHub Migration 011: scheduled performance-report job
+-- performance_report_runs has one row per run; the unique active_key allows a single RUNNING run.
+-- performance_report_chunks splits a run into student ID ranges and is the job's checkpoint: a chunk
+-- is marked DONE in the transaction that queues its reports in notification_outbox.
+-- Run once against existing MySQL databases before deploying (ddl-auto=validate in production).
+
+CREATE TABLE IF NOT EXISTS performance_report_runs (
+    id BIGINT NOT NULL PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    active_key VARCHAR(10),
+    chunk_count INT NOT NULL,
+    report_count BIGINT NOT NULL,
+    started_at DATETIME(6) NOT NULL,
+    completed_at DATETIME(6),
+    duration_ms BIGINT,
+
+    CONSTRAINT uk_performance_report_run_active UNIQUE (active_key)
+);
+
+CREATE TABLE IF NOT EXISTS performance_report_chunks (
+    id BIGINT NOT NULL PRIMARY KEY,
+    run_id BIGINT NOT NULL,
+    first_student_id BIGINT NOT NULL,
+    last_student_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    report_count INT NOT NULL,
+    duration_ms BIGINT,
+    processed_at DATETIME(6),
+
+    INDEX idx_performance_report_chunk_run_status (run_id, status),
+    CONSTRAINT fk_performance_report_chunk_run FOREIGN KEY (run_id) REFERENCES performance_report_runs(id)
+);
+
+INSERT INTO id_generators (sequence_name, next_val)
+VALUES ('performance_report_runs', 1), ('performance_report_chunks', 1)
+ON DUPLICATE KEY UPDATE next_val = next_val;
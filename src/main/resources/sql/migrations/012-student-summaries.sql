@@ -0,0 +1,42 @@
+-- EduGrowHub Migration 012: per-student result summaries
+-- student_summaries holds each student's running result totals and best/worst result, with one
+-- student_subject_summaries row per subject; both are updated in the transaction that changes a mark.
+-- Summaries are built on a student's first report after this migration, or for every student at once
+-- through POST /api/admin/student-summaries/rebuild.
+-- Run once against existing MySQL databases before deploying (ddl-auto=validate in production).
+
+CREATE TABLE IF NOT EXISTS student_summaries (
+    student_id BIGINT NOT NULL PRIMARY KEY,
+    tests_count BIGINT NOT NULL,
+    total_score DOUBLE NOT NULL,
+    total_percentage DOUBLE NOT NULL,
+    min_score DOUBLE,
+    max_score DOUBLE,
+    passed_tests BIGINT NOT NULL,
+    failing_tests BIGINT NOT NULL,
+    best_result_id BIGINT,
+    best_percentage DOUBLE,
+    worst_result_id BIGINT,
+    worst_percentage DOUBLE,
+    updated_at DATETIME(6) NOT NULL,
+
+    CONSTRAINT fk_student_summary_student FOREIGN KEY (student_id) REFERENCES students(id)
+);
+
+CREATE TABLE IF NOT EXISTS student_subject_summaries (
+    id BIGINT NOT NULL PRIMARY KEY,
+    student_id BIGINT NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    tests_count BIGINT NOT NULL,
+    total_score DOUBLE NOT NULL,
+    total_percentage DOUBLE NOT NULL,
+    passed_tests BIGINT NOT NULL,
+    failing_tests BIGINT NOT NULL,
+
+    CONSTRAINT uk_student_subject_summary UNIQUE (student_id, subject),
+    CONSTRAINT fk_student_subject_summary_student FOREIGN KEY (student_id) REFERENCES students(id)
+);
+
+INSERT INTO id_generators (sequence_name, next_val)
+VALUES ('student_subject_summaries', 1)
+ON DUPLICATE KEY UPDATE next_val = next_val;
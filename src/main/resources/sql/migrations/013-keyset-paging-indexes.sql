@@ -0,0 +1,9 @@
+-- EduGrowHub Migration 013: indexes for keyset-paged listings
+-- Marks and WhatsApp log listings page on (date, id) after the cursor of the previous page; these
+-- indexes let every page start with an index seek instead of skipping the rows of earlier pages.
+-- Student listings page on id within teacher_id, which the existing teacher_id index already covers.
+-- Run once against existing MySQL databases before deploying (ddl-auto=validate in production).
+
+CREATE INDEX idx_test_result_student_date ON test_results (student_id, test_date, id);
+CREATE INDEX idx_whatsapp_log_teacher_sent ON whatsapp_logs (teacher_id, sent_at, id);
+CREATE INDEX idx_whatsapp_log_student_sent ON whatsapp_logs (student_id, sent_at, id);
@@ -0,0 +1,7 @@
+-- EduGrowHub Migration 014: credential change times on users and students
+-- PrincipalCache rejects tokens issued before credentials_changed_at, so a password change signs out
+-- every instance and survives restarts. Existing rows keep NULL: no token is rejected until the next change.
+-- Run once against existing MySQL databases before deploying (ddl-auto=validate in production).
+
+ALTER TABLE users ADD COLUMN credentials_changed_at DATETIME(6);
+ALTER TABLE students ADD COLUMN credentials_changed_at DATETIME(6);
@@ -0,0 +1,117 @@
+package com.edugrowhub.benchmark;
+
+import com.edugrowhub.service.messaging.RecentMessageWindow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Duplicate check benchmark
+ *
+ * Compares the legacy per-send COUNT query on whatsapp_logs (100k rows, no
+ * composite index, H2 in MySQL mode) with the in-memory RecentMessageWindow
+ * (fingerprint plus lookup) for a repeated message and a new one.
+ *
+ * Run with:
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath com.edugrowhub.benchmark.DuplicateCheckBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DuplicateCheckBenchmark {
+
+    private static final int LOG_ROWS = 100_000;
+    private static final String PHONE = "+919876543210";
+    private static final String TYPE = "TEST_RESULT";
+    private static final String CONTENT = "🎓 *EduGrowHub - Test Result*\n\nDear Student,\n\n"
+            + "Your test result for *Mathematics* is now available:\n\n📊 Score: 78.0/100.0\n"
+            + "📈 Percentage: 78.0%\n🏆 Grade: C\n✅ Status: PASSED\n\nKeep up the great work! 💪\n\n"
+            + "Best regards,\nEduGrowHub Team";
+
+    private Connection connection;
+    private PreparedStatement countQuery;
+    private RecentMessageWindow window;
+    private long sequence;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:dedup;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE whatsapp_logs (id BIGINT PRIMARY KEY, recipient_phone VARCHAR(20) NOT NULL, "
+                    + "message_content TEXT NOT NULL, message_status VARCHAR(20) NOT NULL, "
+                    + "message_type VARCHAR(50) NOT NULL, sent_at TIMESTAMP NOT NULL)");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO whatsapp_logs VALUES (?, ?, ?, 'SENT', ?, ?)")) {
+            for (int i = 0; i < LOG_ROWS; i++) {
+                insert.setLong(1, i + 1);
+                insert.setString(2, String.format("+9198%08d", i % 5_000));
+                insert.setString(3, CONTENT);
+                insert.setString(4, i % 3 == 0 ? "ENROLLMENT_CONFIRMATION" : TYPE);
+                insert.setTimestamp(5, Timestamp.valueOf(now.minusMinutes(i % 20_000)));
+                insert.addBatch();
+                if (i % 1_000 == 999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        countQuery = connection.prepareStatement("SELECT COUNT(*) > 0 FROM whatsapp_logs "
+                + "WHERE recipient_phone = ? AND message_type = ? AND sent_at >= ?");
+
+        window = new RecentMessageWindow(Duration.ofMinutes(5), 10, 100_000, new SimpleMeterRegistry());
+        window.recordIfAbsent(RecentMessageWindow.fingerprint(PHONE, TYPE, CONTENT));
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public boolean legacyCountQuery() throws SQLException {
+        countQuery.setString(1, PHONE);
+        countQuery.setString(2, TYPE);
+        countQuery.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now().minusMinutes(5)));
+        try (ResultSet resultSet = countQuery.executeQuery()) {
+            resultSet.next();
+            return resultSet.getBoolean(1);
+        }
+    }
+
+    @Benchmark
+    public boolean windowDuplicate() {
+        return window.recordIfAbsent(RecentMessageWindow.fingerprint(PHONE, TYPE, CONTENT));
+    }
+
+    @Benchmark
+    public boolean windowNewMessage() {
+        // Distinct content each call; the bounded window keeps memory flat
+        long fingerprint = RecentMessageWindow.fingerprint(PHONE, TYPE, CONTENT) + sequence++;
+        return window.recordIfAbsent(fingerprint);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DuplicateCheckBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,149 @@
+package com.edugrowhub.benchmark;
+
+import com.edugrowhub.entity.Role;
+import com.edugrowhub.entity.Student;
+import com.edugrowhub.entity.TestResult;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.repository.TestResultRepositoryCustomImpl;
+import com.edugrowhub.service.GradebookWriter;
+import com.fasterxml.jackson.core.JsonFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gradebook export throughput benchmark
+ *
+ * Streams one teacher's gradebook the way GET /reports/export/{format} does,
+ * from in-process H2 in MySQL mode through TestResultRepositoryCustomImpl and
+ * GradebookWriter into a discarding stream, for each format with and without
+ * gzip. Rows per second = rows / time per op.
+ *
+ * Run with -prof gc: gc.alloc.rate.norm grows linearly with rows (short-lived
+ * row objects only), while the heap needed does not.
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath org.openjdk.jmh.Main GradebookExportBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GradebookExportBenchmark {
+
+    private static final int STUDENTS = 40;
+    private static final int FETCH_SIZE = 1000;
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    @Param({"csv", "ndjson"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private SessionFactory sessionFactory;
+    private TestResultRepositoryCustomImpl repository;
+    private GradebookWriter.Format exportFormat;
+    private JsonFactory jsonFactory;
+    private Long teacherId;
+
+    @Setup
+    public void setUp() {
+        String url = "jdbc:h2:mem:gradebook" + rows + ";MODE=MySQL;DB_CLOSE_DELAY=-1";
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Student.class)
+                .addAnnotatedClass(TestResult.class)
+                .setProperty(AvailableSettings.URL, url)
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create")
+                // Column names as Spring Boot maps them, which the export SQL uses
+                .setPhysicalNamingStrategy(new CamelCaseToUnderscoresNamingStrategy())
+                .buildSessionFactory();
+        sessionFactory.inTransaction(session -> {
+            User teacher = new User();
+            teacher.setName("Benchmark Teacher");
+            teacher.setEmail("teacher@example.com");
+            teacher.setPassword("unused");
+            teacher.setRole(Role.TEACHER);
+            session.persist(teacher);
+            teacherId = teacher.getId();
+
+            for (int i = 0; i < STUDENTS; i++) {
+                session.persist(new Student("Student " + i, "student" + i + "@example.com", null,
+                        LocalDateTime.now(), teacher));
+            }
+        });
+
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(url);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO test_results (id, subject, score, max_score, test_date, student_id) " +
+                "SELECT X, CASE MOD(X, 4) WHEN 0 THEN 'Mathematics' WHEN 1 THEN 'Physics, Lab' " +
+                "WHEN 2 THEN 'Chemistry' ELSE 'English' END, MOD(X * 37, 101), 100, " +
+                "DATEADD('DAY', -MOD(X, 365), CURRENT_DATE), " +
+                "(SELECT MIN(id) FROM students) + MOD(X, " + STUDENTS + ") " +
+                "FROM SYSTEM_RANGE(1, " + rows + ")");
+
+        repository = new TestResultRepositoryCustomImpl(jdbcTemplate);
+        exportFormat = GradebookWriter.Format.of(format);
+        jsonFactory = new JsonFactory();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public long export() throws IOException {
+        DiscardingOutputStream out = new DiscardingOutputStream();
+        GradebookWriter writer = GradebookWriter.open(exportFormat, gzip, out, jsonFactory);
+        repository.streamGradebook(teacherId, FETCH_SIZE, row -> {
+            try {
+                writer.write(row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.finish();
+        return out.bytes;
+    }
+
+    private static final class DiscardingOutputStream extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(GradebookExportBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
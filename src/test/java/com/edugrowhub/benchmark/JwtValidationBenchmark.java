@@ -0,0 +1,94 @@
+package com.edugrowhub.benchmark;
+
+import com.edugrowhub.config.JwtUtil;
+import com.edugrowhub.config.VerifiedToken;
+import com.edugrowhub.entity.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT validation benchmark
+ *
+ * Compares the legacy filter path (three full parses, each rebuilding the key
+ * and parser) with the single-parse {@link JwtUtil#verify(String)} path, with
+ * and without the verified-token cache.
+ *
+ * Run with:
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath com.edugrowhub.benchmark.JwtValidationBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "edugrowhub_jwt_secret_key_256_bits_long_for_benchmarking_only";
+
+    private JwtUtil cachedJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private String token;
+    private String username;
+
+    @Setup
+    public void setUp() {
+        cachedJwtUtil = newJwtUtil(10_000);
+        uncachedJwtUtil = newJwtUtil(0);
+        username = "teacher@edugrowhub.com";
+        token = cachedJwtUtil.generateToken(username, Role.TEACHER, 42L);
+    }
+
+    @Benchmark
+    public boolean legacyFilterPath() {
+        // extractUsername, then validateToken -> extractUsername + isTokenExpired
+        String extracted = legacyParse(token).getSubject();
+        return legacyParse(token).getSubject().equals(extracted)
+                && !legacyParse(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> singleParse() {
+        return uncachedJwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> singleParseCached() {
+        return cachedJwtUtil.verify(token);
+    }
+
+    // Mirrors the previous JwtUtil: key and parser rebuilt on every call
+    private static Claims legacyParse(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    private static JwtUtil newJwtUtil(long cacheSize) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheMaxSize", cacheSize);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtValidationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,162 @@
+package com.edugrowhub.benchmark;
+
+import com.edugrowhub.dto.MarkView;
+import com.edugrowhub.dto.StudentMarksPage;
+import com.edugrowhub.entity.Role;
+import com.edugrowhub.entity.Student;
+import com.edugrowhub.entity.TestResult;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.repository.TestResultRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Marks listing allocation benchmark
+ *
+ * Serializes a 1k-row page of one student's marks to JSON, the way
+ * GET /students/{id}/marks builds it, through a Hibernate session on
+ * in-process H2 in MySQL mode:
+ * - entitiesAndMaps: TestResult entities loaded into the session, then one
+ *   HashMap per row and a HashMap response (previous implementation)
+ * - projectionRecords: the TestResultRepository MarkView projection, selecting
+ *   only the listed columns, in a StudentMarksPage record
+ *
+ * Run with -prof gc to compare bytes/op (gc.alloc.rate.norm):
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath org.openjdk.jmh.Main MarksListingBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MarksListingBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    private SessionFactory sessionFactory;
+    private ObjectMapper objectMapper;
+    private Student student;
+    private String marksQuery;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Student.class)
+                .addAnnotatedClass(TestResult.class)
+                .setProperty(AvailableSettings.URL, "jdbc:h2:mem:marks;MODE=MySQL;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .buildSessionFactory();
+        // Configured as Spring Boot configures its ObjectMapper
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        // Same JPQL the repository runs
+        marksQuery = TestResultRepository.class.getMethod("findMarksByStudentId", Long.class, Pageable.class)
+                .getAnnotation(Query.class).value();
+
+        sessionFactory.inTransaction(session -> {
+            User teacher = new User();
+            teacher.setName("Benchmark Teacher");
+            teacher.setEmail("teacher@example.com");
+            teacher.setPassword("unused");
+            teacher.setRole(Role.TEACHER);
+            session.persist(teacher);
+
+            student = new Student("Benchmark Student", "student@example.com", "+15550000000",
+                    LocalDateTime.now(), teacher);
+            session.persist(student);
+
+            LocalDate firstDate = LocalDate.now().minusDays(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                session.persist(new TestResult("Subject " + (i % 8), (double) ((i * 37) % 101), 100.0,
+                        firstDate.plusDays(i), student));
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public byte[] entitiesAndMaps() throws JsonProcessingException {
+        try (Session session = sessionFactory.openSession()) {
+            List<TestResult> testResults = session.createQuery(
+                            "SELECT tr FROM TestResult tr WHERE tr.student.id = :studentId "
+                                    + "ORDER BY tr.testDate DESC, tr.id DESC", TestResult.class)
+                    .setParameter("studentId", student.getId())
+                    .setMaxResults(ROWS + 1)
+                    .getResultList();
+
+            List<Map<String, Object>> marksData = testResults.stream()
+                    .map(testResult -> {
+                        Map<String, Object> markData = new HashMap<>();
+                        markData.put("id", testResult.getId());
+                        markData.put("subject", testResult.getSubject());
+                        markData.put("score", testResult.getScore());
+                        markData.put("maxScore", testResult.getMaxScore());
+                        markData.put("testDate", testResult.getTestDate());
+                        markData.put("percentage", testResult.getPercentage());
+                        markData.put("grade", testResult.getGrade());
+                        markData.put("passed", testResult.isPassed());
+                        return markData;
+                    })
+                    .toList();
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("studentId", student.getId());
+            response.put("studentName", student.getName());
+            response.put("studentEmail", student.getEmail());
+            response.put("teacherName", "Benchmark Teacher");
+            response.put("count", marksData.size());
+            response.put("marks", marksData);
+            response.put("nextCursor", null);
+            return objectMapper.writeValueAsBytes(response);
+        }
+    }
+
+    @Benchmark
+    public byte[] projectionRecords() throws JsonProcessingException {
+        try (Session session = sessionFactory.openSession()) {
+            List<MarkView> marks = session.createQuery(marksQuery, MarkView.class)
+                    .setParameter("studentId", student.getId())
+                    .setMaxResults(ROWS + 1)
+                    .getResultList();
+            return objectMapper.writeValueAsBytes(new StudentMarksPage(student.getId(), student.getName(),
+                    student.getEmail(), "Benchmark Teacher", marks.size(), marks.size(), marks, null));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MarksListingBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,93 @@
+package com.edugrowhub.benchmark;
+
+import com.edugrowhub.service.messaging.MessageTemplates;
+import com.edugrowhub.service.messaging.RenderedMessage;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message template benchmark
+ *
+ * Compares rendering a test result message with String.format (the previous
+ * implementation) against the precompiled MessageTemplates.TEST_RESULT, and
+ * prints the bytes a whatsapp_logs row stores for each. Setup fails if the two
+ * renderings differ.
+ *
+ * Run with:
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath com.edugrowhub.benchmark.MessageTemplateBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageTemplateBenchmark {
+
+    private String studentName = "Asha Verma";
+    private String subject = "Mathematics";
+    private double score = 78.25;
+    private double maxScore = 100.0;
+    private double percentage = 78.25;
+    private String grade = "B";
+
+    @Setup
+    public void setUp() {
+        String legacy = legacyFormat();
+        RenderedMessage templated = compiledTemplate();
+        if (!legacy.equals(templated.text())) {
+            throw new IllegalStateException("Template output differs:\n" + legacy + "\n---\n" + templated.text());
+        }
+    }
+
+    @Benchmark
+    public String legacyFormat() {
+        return String.format(
+            "🎓 *EduGrowHub - Test Result*\n\n" +
+            "Dear %s,\n\n" +
+            "Your test result for *%s* is now available:\n\n" +
+            "%s\n" +
+            "Keep up the great work! 💪\n\n" +
+            "Best regards,\n" +
+            "EduGrowHub Team",
+            studentName, subject, String.format(
+                "📊 Score: %.1f/%.1f\n" +
+                "📈 Percentage: %.1f%%\n" +
+                "🏆 Grade: %s\n" +
+                "✅ Status: %s\n",
+                score, maxScore, percentage, grade, percentage >= 60 ? "PASSED" : "NEEDS IMPROVEMENT")
+        );
+    }
+
+    @Benchmark
+    public RenderedMessage compiledTemplate() {
+        return MessageTemplates.TEST_RESULT.apply(studentName, subject, score, maxScore, percentage, grade,
+                percentage >= 60 ? "PASSED" : "NEEDS IMPROVEMENT");
+    }
+
+    @Benchmark
+    public String storedParameters() {
+        return compiledTemplate().parametersJson();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        MessageTemplateBenchmark benchmark = new MessageTemplateBenchmark();
+        benchmark.setUp();
+        RenderedMessage message = benchmark.compiledTemplate();
+        int contentBytes = message.text().getBytes(StandardCharsets.UTF_8).length;
+        int templateBytes = message.templateId().length()
+                + message.parametersJson().getBytes(StandardCharsets.UTF_8).length;
+        System.out.printf("Stored per log row: %d bytes of text vs %d bytes of template ID and parameters (%.1fx)%n",
+                contentBytes, templateBytes, (double) contentBytes / templateBytes);
+
+        new Runner(new OptionsBuilder()
+                .include(MessageTemplateBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
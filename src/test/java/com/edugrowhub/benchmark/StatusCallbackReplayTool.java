@@ -0,0 +1,129 @@
+package com.edugrowhub.benchmark;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Twilio status callback replay tool
+ *
+ * Fires synthetic status callbacks at a running instance. Every message gets
+ * "sent", "delivered" and "read" callbacks in shuffled order, so out-of-order
+ * handling is exercised. Message SIDs are SMreplay followed by a 26-digit
+ * index; seed whatsapp_logs with matching SENT rows to see the updates applied,
+ * for example on the dev H2 database:
+ *
+ *   INSERT INTO whatsapp_logs (id, recipient_phone, message_content, message_status, message_type,
+ *       sent_at, attempt_count, twilio_message_sid)
+ *   SELECT x, '+919800000000', 'replay', 'SENT', 'TEST_RESULT', NOW(), 1, 'SMreplay' || LPAD(x, 26, '0')
+ *   FROM SYSTEM_RANGE(1, 33334);
+ *
+ * Arguments (all optional): callbacks, concurrency, base URL, auth token (signs
+ * requests; omit when whatsapp.status-callback.validate-signature=false)
+ *
+ * Run with:
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath com.edugrowhub.benchmark.StatusCallbackReplayTool 100000 64 http://localhost:8080"
+ */
+public class StatusCallbackReplayTool {
+
+    private static final String[] STATUSES = {"sent", "delivered", "read"};
+
+    public static void main(String[] args) throws Exception {
+        int callbacks = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        String baseUrl = args.length > 2 ? args[2] : "http://localhost:8080";
+        String authToken = args.length > 3 ? args[3] : null;
+        String url = baseUrl + "/api/public/twilio/status";
+
+        List<Map<String, String>> requests = new ArrayList<>(callbacks);
+        for (int i = 0; i < callbacks; i++) {
+            Map<String, String> params = new TreeMap<>();
+            params.put("MessageSid", String.format("SMreplay%026d", i / STATUSES.length + 1));
+            params.put("MessageStatus", STATUSES[i % STATUSES.length]);
+            params.put("AccountSid", "ACreplay");
+            params.put("ChannelPrefix", "whatsapp");
+            requests.add(params);
+        }
+        Collections.shuffle(requests);
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        Semaphore inFlight = new Semaphore(concurrency);
+        Map<Integer, AtomicLong> statusCodes = new ConcurrentHashMap<>();
+        long[] latencies = new long[callbacks];
+        List<CompletableFuture<Void>> futures = new ArrayList<>(callbacks);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < callbacks; i++) {
+            Map<String, String> params = requests.get(i);
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(formEncode(params)));
+            if (authToken != null) {
+                request.header("X-Twilio-Signature", sign(authToken, url, params));
+            }
+
+            inFlight.acquire();
+            int index = i;
+            long sentAt = System.nanoTime();
+            futures.add(client.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        latencies[index] = System.nanoTime() - sentAt;
+                        int code = error != null ? -1 : response.statusCode();
+                        statusCodes.computeIfAbsent(code, c -> new AtomicLong()).incrementAndGet();
+                        inFlight.release();
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%d callbacks for %d messages, concurrency=%d%n",
+                callbacks, (callbacks + STATUSES.length - 1) / STATUSES.length, concurrency);
+        System.out.printf("Elapsed %.2fs, throughput %.0f callbacks/s%n", seconds, callbacks / seconds);
+        System.out.printf("Latency p50 %.2fms, p99 %.2fms, max %.2fms%n",
+                sorted[sorted.length / 2] / 1e6, sorted[(int) (sorted.length * 0.99)] / 1e6,
+                sorted[sorted.length - 1] / 1e6);
+        System.out.println("Responses by HTTP status (-1 = connection error): " + statusCodes);
+    }
+
+    private static String formEncode(Map<String, String> params) {
+        StringBuilder body = new StringBuilder();
+        params.forEach((key, value) -> {
+            if (body.length() > 0) {
+                body.append('&');
+            }
+            body.append(URLEncoder.encode(key, StandardCharsets.UTF_8))
+                .append('=')
+                .append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+        });
+        return body.toString();
+    }
+
+    // Twilio's scheme: HMAC-SHA1 over the URL followed by each parameter name and value, sorted by name
+    private static String sign(String authToken, String url, Map<String, String> sortedParams) throws Exception {
+        StringBuilder data = new StringBuilder(url);
+        sortedParams.forEach((key, value) -> data.append(key).append(value));
+        Mac mac = Mac.getInstance("HmacSHA1");
+        mac.init(new SecretKeySpec(authToken.getBytes(StandardCharsets.UTF_8), "HmacSHA1"));
+        return Base64.getEncoder().encodeToString(mac.doFinal(data.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,238 @@
+package com.edugrowhub.benchmark;
+
+import com.edugrowhub.dto.StudentReport;
+import com.edugrowhub.dto.SubjectResultStats;
+import com.edugrowhub.entity.Role;
+import com.edugrowhub.entity.Student;
+import com.edugrowhub.entity.StudentSubjectSummary;
+import com.edugrowhub.entity.StudentSummary;
+import com.edugrowhub.entity.TestResult;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.repository.TestResultRepository;
+import org.h2.tools.Server;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Student report benchmark
+ *
+ * Builds the report of a student with 5k test results in 8 subjects through a
+ * Hibernate session, against H2 in MySQL mode behind its TCP server so result
+ * rows cross a socket as they do with MySQL:
+ * - loadAllResults: every result loaded as an entity, then the statistics
+ *   computed with one stream pass per figure and a groupingBy per subject
+ *   (previous implementation)
+ * - aggregateQueries: the TestResultRepository queries a summary is
+ *   recomputed from (one GROUP BY subject query plus the best and worst result
+ *   with LIMIT 1), folded into the summary rows and then the report
+ * - summaryLookup: TestResultService.getStudentReport reading the maintained
+ *   summary by primary key, its subject rows and the best and worst result
+ *
+ * The server shares the benchmark JVM, so -prof gc counts its allocations as
+ * well. H2 evaluates the aggregate expressions row by row in its interpreter;
+ * MySQL aggregates faster and sends the rows over a slower link, which favours
+ * aggregateQueries further.
+ *
+ * Run with:
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath com.edugrowhub.benchmark.StudentReportBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentReportBenchmark {
+
+    private static final int RESULTS = 5_000;
+    private static final int SUBJECTS = 8;
+
+    private Server server;
+    private SessionFactory sessionFactory;
+    private Student student;
+    private String summarizeSubjects;
+    private String bestFirst;
+    private String worstFirst;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException, SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Student.class)
+                .addAnnotatedClass(TestResult.class)
+                .addAnnotatedClass(StudentSummary.class)
+                .addAnnotatedClass(StudentSubjectSummary.class)
+                .setProperty(AvailableSettings.URL, "jdbc:h2:tcp://localhost:" + server.getPort()
+                        + "/mem:reports;MODE=MySQL;DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=0")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .buildSessionFactory();
+
+        // Same JPQL the repository runs
+        summarizeSubjects = query("summarizeSubjectsByStudentId", Long.class);
+        bestFirst = query("findByStudentIdOrderByPercentageDesc", Long.class, Pageable.class);
+        worstFirst = query("findByStudentIdOrderByPercentageAsc", Long.class, Pageable.class);
+
+        sessionFactory.inTransaction(session -> {
+            User teacher = new User();
+            teacher.setName("Benchmark Teacher");
+            teacher.setEmail("teacher@example.com");
+            teacher.setPassword("unused");
+            teacher.setRole(Role.TEACHER);
+            session.persist(teacher);
+
+            student = new Student("Benchmark Student", "student@example.com", "+15550000000",
+                    LocalDateTime.now(), teacher);
+            session.persist(student);
+
+            LocalDate firstDate = LocalDate.now().minusDays(RESULTS);
+            for (int i = 0; i < RESULTS; i++) {
+                session.persist(new TestResult("Subject " + (i % SUBJECTS), (double) ((i * 37) % 101), 100.0,
+                        firstDate.plusDays(i), student));
+            }
+        });
+
+        sessionFactory.inTransaction(session -> {
+            List<StudentSubjectSummary> subjects = new ArrayList<>();
+            session.persist(summarize(session, subjects));
+            subjects.forEach(session::persist);
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public Map<String, Object> loadAllResults() {
+        try (Session session = sessionFactory.openSession()) {
+            List<TestResult> testResults = session
+                    .createQuery("SELECT tr FROM TestResult tr WHERE tr.student.id = :studentId", TestResult.class)
+                    .setParameter("studentId", student.getId())
+                    .getResultList();
+
+            int totalTests = testResults.size();
+            double averageScore = testResults.stream().mapToDouble(TestResult::getScore).sum() / totalTests;
+            double averagePercentage = testResults.stream().mapToDouble(TestResult::getPercentage).sum() / totalTests;
+            long failedSubjects = testResults.stream().filter(testResult -> testResult.getPercentage() < 35.0).count();
+            double highestScore = testResults.stream().mapToDouble(TestResult::getScore).max().orElse(0.0);
+            double lowestScore = testResults.stream().mapToDouble(TestResult::getScore).min().orElse(0.0);
+            long passedTests = testResults.stream().filter(TestResult::isPassed).count();
+            TestResult bestTest = testResults.stream()
+                    .max((t1, t2) -> Double.compare(t1.getPercentage(), t2.getPercentage())).orElse(null);
+            TestResult worstTest = testResults.stream()
+                    .min((t1, t2) -> Double.compare(t1.getPercentage(), t2.getPercentage())).orElse(null);
+            List<Map<String, Object>> subjectPerformance = testResults.stream()
+                    .collect(Collectors.groupingBy(TestResult::getSubject))
+                    .entrySet().stream()
+                    .map(entry -> {
+                        double subjectAvgPercentage = entry.getValue().stream()
+                                .mapToDouble(TestResult::getPercentage).average().orElse(0.0);
+                        Map<String, Object> subjectData = new HashMap<>();
+                        subjectData.put("subject", entry.getKey());
+                        subjectData.put("testsCount", entry.getValue().size());
+                        subjectData.put("averageScore", entry.getValue().stream()
+                                .mapToDouble(TestResult::getScore).average().orElse(0.0));
+                        subjectData.put("averagePercentage", subjectAvgPercentage);
+                        subjectData.put("grade", TestResult.gradeFor(subjectAvgPercentage));
+                        return subjectData;
+                    })
+                    .toList();
+
+            Map<String, Object> report = new HashMap<>();
+            report.put("totalTests", totalTests);
+            report.put("averageScore", averageScore);
+            report.put("averagePercentage", averagePercentage);
+            report.put("failedSubjects", failedSubjects);
+            report.put("highestScore", highestScore);
+            report.put("lowestScore", lowestScore);
+            report.put("passedTests", passedTests);
+            report.put("bestPerformance", StudentReport.TestPerformance.of(bestTest));
+            report.put("worstPerformance", StudentReport.TestPerformance.of(worstTest));
+            report.put("subjectWisePerformance", subjectPerformance);
+            return report;
+        }
+    }
+
+    @Benchmark
+    public StudentReport aggregateQueries() {
+        try (Session session = sessionFactory.openSession()) {
+            List<StudentSubjectSummary> subjects = new ArrayList<>();
+            StudentSummary summary = summarize(session, subjects);
+            return StudentReport.of(student, "Benchmark Teacher", summary, subjects,
+                    session.get(TestResult.class, summary.getBestResultId()),
+                    session.get(TestResult.class, summary.getWorstResultId()));
+        }
+    }
+
+    @Benchmark
+    public StudentReport summaryLookup() {
+        try (Session session = sessionFactory.openSession()) {
+            StudentSummary summary = session.get(StudentSummary.class, student.getId());
+            List<StudentSubjectSummary> subjects = session.createQuery(
+                            "SELECT s FROM StudentSubjectSummary s WHERE s.studentId = :studentId ORDER BY s.subject",
+                            StudentSubjectSummary.class)
+                    .setParameter("studentId", student.getId())
+                    .getResultList();
+            return StudentReport.of(student, "Benchmark Teacher", summary, subjects,
+                    session.get(TestResult.class, summary.getBestResultId()),
+                    session.get(TestResult.class, summary.getWorstResultId()));
+        }
+    }
+
+    // The student's summary and subject rows as StudentSummaryService recomputes them
+    private StudentSummary summarize(Session session, List<StudentSubjectSummary> subjects) {
+        List<SubjectResultStats> stats = session.createQuery(summarizeSubjects, SubjectResultStats.class)
+                .setParameter("studentId", student.getId())
+                .getResultList();
+        for (SubjectResultStats subjectStats : stats) {
+            StudentSubjectSummary subject = new StudentSubjectSummary(student.getId(), subjectStats.subject());
+            subject.reset(subjectStats);
+            subjects.add(subject);
+        }
+        StudentSummary summary = new StudentSummary(student.getId());
+        summary.reset(stats, firstResult(session, bestFirst), firstResult(session, worstFirst));
+        return summary;
+    }
+
+    private TestResult firstResult(Session session, String jpql) {
+        return session.createQuery(jpql, TestResult.class)
+                .setParameter("studentId", student.getId())
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static String query(String methodName, Class<?>... parameterTypes) throws NoSuchMethodException {
+        return TestResultRepository.class.getMethod(methodName, parameterTypes).getAnnotation(Query.class).value();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StudentReportBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
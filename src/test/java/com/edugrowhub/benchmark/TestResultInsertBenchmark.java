@@ -0,0 +1,203 @@
+package com.edugrowhub.benchmark;
+
+import com.edugrowhub.entity.Role;
+import com.edugrowhub.entity.Student;
+import com.edugrowhub.entity.TestResult;
+import com.edugrowhub.entity.User;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import org.h2.tools.Server;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TestResult insert throughput benchmark
+ *
+ * Persists 10k test results per operation through a Hibernate session, against
+ * H2 in MySQL mode behind its TCP server so every statement crosses a socket:
+ * - identityPerRow: a copy of the TestResult mapping with IDENTITY ids, so
+ *   Hibernate inserts each row on persist and reads back its generated key
+ * - pooledBatched: the TestResult entity itself, ids reserved by its
+ *   @TableGenerator from id_generators and inserts sent as JDBC batches
+ *
+ * The hibernate.* settings (batch size, insert ordering, pooled-lo optimizer)
+ * are read from application.properties, so the benchmark follows the
+ * application's configuration. The server shares the benchmark JVM; on MySQL
+ * every saved round trip also saves network latency.
+ *
+ * Run with:
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath com.edugrowhub.benchmark.TestResultInsertBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TestResultInsertBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final String HIBERNATE_PREFIX = "spring.jpa.properties.";
+
+    /**
+     * TestResult as mapped before pooled ids
+     */
+    @Entity
+    @Table(name = "test_results_identity")
+    public static class IdentityTestResult {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        @Column(nullable = false)
+        private String subject;
+
+        @Column(nullable = false)
+        private Double score;
+
+        @Column(nullable = false)
+        private Double maxScore;
+
+        @Column(name = "test_date", nullable = false)
+        private LocalDate testDate;
+
+        @ManyToOne(fetch = FetchType.LAZY)
+        @JoinColumn(name = "student_id", nullable = false)
+        private Student student;
+
+        protected IdentityTestResult() {
+        }
+
+        IdentityTestResult(String subject, Double score, Double maxScore, LocalDate testDate, Student student) {
+            this.subject = subject;
+            this.score = score;
+            this.maxScore = maxScore;
+            this.testDate = testDate;
+            this.student = student;
+        }
+    }
+
+    private Server server;
+    private SessionFactory sessionFactory;
+    private Student student;
+    private LocalDate testDate;
+    private int batchSize;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        Configuration configuration = new Configuration()
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Student.class)
+                .addAnnotatedClass(TestResult.class)
+                .addAnnotatedClass(IdentityTestResult.class);
+        Properties application = new Properties();
+        try (InputStream in = TestResultInsertBenchmark.class.getResourceAsStream("/application.properties")) {
+            application.load(in);
+        }
+        application.stringPropertyNames().stream()
+                .filter(name -> name.startsWith(HIBERNATE_PREFIX + "hibernate.jdbc.")
+                        || name.startsWith(HIBERNATE_PREFIX + "hibernate.order_")
+                        || name.startsWith(HIBERNATE_PREFIX + "hibernate.id."))
+                .forEach(name -> configuration.setProperty(name.substring(HIBERNATE_PREFIX.length()),
+                        application.getProperty(name)));
+        batchSize = Integer.parseInt(configuration.getProperty(AvailableSettings.STATEMENT_BATCH_SIZE));
+        sessionFactory = configuration
+                .setProperty(AvailableSettings.URL, "jdbc:h2:tcp://localhost:" + server.getPort()
+                        + "/mem:inserts;MODE=MySQL;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create")
+                .buildSessionFactory();
+        testDate = LocalDate.now();
+
+        sessionFactory.inTransaction(session -> {
+            User teacher = new User();
+            teacher.setName("Benchmark Teacher");
+            teacher.setEmail("teacher@example.com");
+            teacher.setPassword("unused");
+            teacher.setRole(Role.TEACHER);
+            session.persist(teacher);
+
+            student = new Student("Benchmark Student", "student@example.com", null, LocalDateTime.now(), teacher);
+            session.persist(student);
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+        server.stop();
+    }
+
+    @Setup(Level.Invocation)
+    public void truncate() {
+        sessionFactory.inTransaction(session -> {
+            session.createNativeMutationQuery("TRUNCATE TABLE test_results_identity").executeUpdate();
+            session.createNativeMutationQuery("TRUNCATE TABLE test_results").executeUpdate();
+        });
+    }
+
+    @Benchmark
+    public long identityPerRow() {
+        return sessionFactory.fromTransaction(session -> {
+            IdentityTestResult last = null;
+            for (int i = 0; i < ROWS; i++) {
+                last = new IdentityTestResult("Subject " + (i % 8), (double) (i % 100), 100.0, testDate,
+                        session.getReference(Student.class, student.getId()));
+                session.persist(last);
+                clearEveryBatch(session, i);
+            }
+            return last.id;
+        });
+    }
+
+    @Benchmark
+    public long pooledBatched() {
+        return sessionFactory.fromTransaction(session -> {
+            TestResult last = null;
+            for (int i = 0; i < ROWS; i++) {
+                last = new TestResult("Subject " + (i % 8), (double) (i % 100), 100.0, testDate,
+                        session.getReference(Student.class, student.getId()));
+                session.persist(last);
+                clearEveryBatch(session, i);
+            }
+            return last.getId();
+        });
+    }
+
+    // Keep the persistence context to one batch, as a bulk import would
+    private void clearEveryBatch(Session session, int row) {
+        if ((row + 1) % batchSize == 0) {
+            session.flush();
+            session.clear();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TestResultInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,88 @@
+package com.edugrowhub.benchmark;
+
+import com.edugrowhub.service.messaging.MessagePriority;
+import com.edugrowhub.service.messaging.OutgoingMessage;
+import com.edugrowhub.service.messaging.StubWhatsAppTransport;
+import com.edugrowhub.service.messaging.WhatsAppDispatcher;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WhatsApp dispatcher load runner
+ *
+ * Pushes a mixed-priority burst through WhatsAppDispatcher backed by the stub
+ * transport (no network) and prints throughput, how early each priority
+ * finished on average, and the dispatcher metrics.
+ *
+ * Arguments (all optional): messages, concurrency, rate per second, stub latency ms, mode
+ *
+ * Run with:
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath com.edugrowhub.benchmark.WhatsAppDispatcherLoadRunner 2000 32 500 150 pooled"
+ */
+public class WhatsAppDispatcherLoadRunner {
+
+    public static void main(String[] args) throws Exception {
+        int messages = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        double ratePerSecond = args.length > 2 ? Double.parseDouble(args[2]) : 500;
+        long latencyMillis = args.length > 3 ? Long.parseLong(args[3]) : 150;
+        String mode = args.length > 4 ? args[4] : "pooled";
+
+        StubWhatsAppTransport transport = new StubWhatsAppTransport();
+        ReflectionTestUtils.setField(transport, "latencyMillis", latencyMillis);
+        ReflectionTestUtils.setField(transport, "failureRate", 0.0);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        WhatsAppDispatcher dispatcher = new WhatsAppDispatcher(transport, registry);
+        ReflectionTestUtils.setField(dispatcher, "mode", mode);
+        ReflectionTestUtils.setField(dispatcher, "concurrency", concurrency);
+        ReflectionTestUtils.setField(dispatcher, "queueCapacity", messages);
+        ReflectionTestUtils.setField(dispatcher, "permitsPerSecond", ratePerSecond);
+        ReflectionTestUtils.setField(dispatcher, "burst", (long) Math.max(1, ratePerSecond));
+        dispatcher.start();
+
+        MessagePriority[] priorities = MessagePriority.values();
+        ConcurrentLinkedQueue<MessagePriority> completionOrder = new ConcurrentLinkedQueue<>();
+        List<CompletableFuture<String>> futures = new ArrayList<>(messages);
+
+        long start = System.nanoTime();
+        // Lowest priority first, so ordering is visible in the completion ranks
+        for (int i = 0; i < messages; i++) {
+            MessagePriority priority = priorities[priorities.length - 1 - (i % priorities.length)];
+            OutgoingMessage message = new OutgoingMessage("+919800000000", "+14155238886", "Load test " + i, priority);
+            futures.add(dispatcher.submit(message).whenComplete((sid, error) -> completionOrder.add(priority)));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Map<MessagePriority, double[]> ranks = new EnumMap<>(MessagePriority.class);
+        int rank = 0;
+        for (MessagePriority priority : completionOrder) {
+            double[] sumAndCount = ranks.computeIfAbsent(priority, p -> new double[2]);
+            sumAndCount[0] += rank++;
+            sumAndCount[1]++;
+        }
+
+        System.out.printf("%d messages, mode=%s, concurrency=%d, rate=%.0f/s, latency=%dms%n",
+                messages, mode, concurrency, ratePerSecond, latencyMillis);
+        System.out.printf("Elapsed %.2fs, throughput %.1f msg/s%n", seconds, messages / seconds);
+        ranks.forEach((priority, sumAndCount) ->
+                System.out.printf("  %-12s mean completion rank %.0f%n", priority, sumAndCount[0] / sumAndCount[1]));
+        Timer latency = registry.find("whatsapp.send.latency").timer();
+        System.out.printf("Send latency mean %.1fms, max %.1fms; throttled %.0f times%n",
+                latency.mean(TimeUnit.MILLISECONDS), latency.max(TimeUnit.MILLISECONDS),
+                registry.find("whatsapp.dispatcher.throttled").counter().count());
+
+        dispatcher.stop();
+    }
+}
@@ -0,0 +1,148 @@
+package com.edugrowhub.config;
+
+import com.edugrowhub.entity.Role;
+import com.edugrowhub.entity.Student;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.repository.StudentRepository;
+import com.edugrowhub.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Principal resolution when a student and a staff user share an email, and credential changes
+ */
+class PrincipalCacheTests {
+
+    private static final String EMAIL = "shared@example.com";
+    private static final long TEACHER_ID = 7L;
+    private static final long STUDENT_ID = 7L;
+
+    private UserRepository userRepository;
+    private StudentRepository studentRepository;
+    private PrincipalCache principalCache;
+    private User teacher;
+    private Student student;
+
+    @BeforeEach
+    void createCache() {
+        userRepository = mock(UserRepository.class);
+        studentRepository = mock(StudentRepository.class);
+        principalCache = newCache();
+
+        teacher = new User();
+        teacher.setId(TEACHER_ID);
+        teacher.setEmail(EMAIL);
+        teacher.setRole(Role.TEACHER);
+        when(userRepository.findById(TEACHER_ID)).thenReturn(Optional.of(teacher));
+
+        student = new Student("Shared Student", EMAIL, null, LocalDateTime.now(), teacher);
+        student.setId(STUDENT_ID);
+        when(studentRepository.findById(STUDENT_ID)).thenReturn(Optional.of(student));
+    }
+
+    @Test
+    void studentTokenNeverResolvesToCachedTeacher() {
+        Instant issuedAt = Instant.now();
+        assertEquals(Role.TEACHER, principalCache.resolve(EMAIL, Role.TEACHER, TEACHER_ID, issuedAt)
+                .orElseThrow().role());
+
+        PrincipalCache.AuthenticatedPrincipal resolved = principalCache
+                .resolve(EMAIL, Role.STUDENT, STUDENT_ID, issuedAt).orElseThrow();
+
+        assertEquals(Role.STUDENT, resolved.role());
+        assertEquals(STUDENT_ID, resolved.id());
+        verify(userRepository, never()).findByEmail(EMAIL);
+    }
+
+    @Test
+    void teacherTokenNeverResolvesToCachedStudent() {
+        Instant issuedAt = Instant.now();
+        principalCache.resolve(EMAIL, Role.STUDENT, STUDENT_ID, issuedAt);
+
+        PrincipalCache.AuthenticatedPrincipal resolved = principalCache
+                .resolve(EMAIL, Role.TEACHER, TEACHER_ID, issuedAt).orElseThrow();
+
+        assertEquals(Role.TEACHER, resolved.role());
+    }
+
+    @Test
+    void principalIsLoadedOncePerAccount() {
+        Instant issuedAt = Instant.now();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(principalCache.resolve(EMAIL, Role.STUDENT, STUDENT_ID, issuedAt).isPresent());
+        }
+
+        verify(studentRepository, times(1)).findById(STUDENT_ID);
+    }
+
+    @Test
+    void studentPasswordChangeKeepsSameEmailTeacherSignedIn() {
+        Instant before = Instant.now().minusSeconds(60);
+        principalCache.resolve(EMAIL, Role.TEACHER, TEACHER_ID, before);
+        principalCache.resolve(EMAIL, Role.STUDENT, STUDENT_ID, before);
+
+        student.setCredentialsChangedAt(LocalDateTime.now());
+        principalCache.invalidate(Role.STUDENT, STUDENT_ID);
+
+        assertTrue(principalCache.resolve(EMAIL, Role.STUDENT, STUDENT_ID, before).isEmpty());
+        assertEquals(Role.TEACHER, principalCache.resolve(EMAIL, Role.TEACHER, TEACHER_ID, before)
+                .orElseThrow().role());
+        assertTrue(principalCache.resolve(EMAIL, Role.STUDENT, STUDENT_ID, Instant.now().plusSeconds(1))
+                .isPresent());
+    }
+
+    @Test
+    void passwordChangeIsHonouredByAnotherInstanceAndAfterRestart() {
+        Instant before = Instant.now().minusSeconds(60);
+        student.setCredentialsChangedAt(LocalDateTime.now());
+
+        // A cache that never saw the change, as on another instance or after a restart
+        PrincipalCache otherInstance = newCache();
+
+        assertTrue(otherInstance.resolve(EMAIL, Role.STUDENT, STUDENT_ID, before).isEmpty());
+        assertTrue(otherInstance.resolve(EMAIL, Role.STUDENT, STUDENT_ID, Instant.now().plusSeconds(1))
+                .isPresent());
+    }
+
+    @Test
+    void tokenForAMissingOrChangedAccountIsRejected() {
+        Instant issuedAt = Instant.now();
+        when(userRepository.findById(99L)).thenReturn(Optional.empty());
+        teacher.setRole(Role.SUPERADMIN);
+
+        assertTrue(principalCache.resolve(EMAIL, Role.TEACHER, 99L, issuedAt).isEmpty());
+        assertTrue(principalCache.resolve(EMAIL, Role.TEACHER, TEACHER_ID, issuedAt).isEmpty());
+        assertTrue(principalCache.resolve("other@example.com", Role.STUDENT, STUDENT_ID, issuedAt).isEmpty());
+    }
+
+    @Test
+    void legacyTokenResolvesFromUsersAndHonoursInvalidation() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(teacher));
+        Instant before = Instant.now().minusSeconds(60);
+
+        assertEquals(Role.TEACHER, principalCache.resolve(EMAIL, null, null, before).orElseThrow().role());
+        teacher.setCredentialsChangedAt(LocalDateTime.now());
+        principalCache.invalidate(Role.TEACHER, TEACHER_ID);
+
+        assertTrue(principalCache.resolve(EMAIL, null, null, before).isEmpty());
+    }
+
+    private PrincipalCache newCache() {
+        return new PrincipalCache(userRepository, studentRepository, new SimpleMeterRegistry(), 100,
+                Duration.ofMinutes(10));
+    }
+}
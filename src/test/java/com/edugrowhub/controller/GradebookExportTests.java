@@ -0,0 +1,136 @@
+package com.edugrowhub.controller;
+
+import com.edugrowhub.config.JwtUtil;
+import com.edugrowhub.entity.Role;
+import com.edugrowhub.entity.Student;
+import com.edugrowhub.entity.TestResult;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.repository.StudentRepository;
+import com.edugrowhub.repository.TestResultRepository;
+import com.edugrowhub.repository.UserRepository;
+import com.edugrowhub.service.GradebookExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Gradebook export slots are freed exactly once per export
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"dev", "test"})
+class GradebookExportTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private GradebookExportService gradebookExportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TestResultRepository testResultRepository;
+
+    @Value("${reports.export.max-concurrent}")
+    private int maxConcurrent;
+
+    private String token;
+
+    @BeforeEach
+    void createTeacherWithResults() {
+        String suffix = UUID.randomUUID().toString();
+        User teacher = new User();
+        teacher.setName("Export Teacher");
+        teacher.setEmail("teacher-" + suffix + "@example.com");
+        teacher.setPassword("unused");
+        teacher.setRole(Role.TEACHER);
+        teacher = userRepository.save(teacher);
+        Student student = studentRepository.save(new Student("Export Student", "student-" + suffix + "@example.com",
+                null, LocalDateTime.now(), teacher));
+        testResultRepository.save(new TestResult("Mathematics", 72.0, 100.0, LocalDate.now(), student));
+        token = "Bearer " + jwtUtil.generateToken(teacher.getEmail(), Role.TEACHER, teacher.getId());
+    }
+
+    // Take every free slot, count them and give them back
+    private int freeSlots() {
+        List<GradebookExportService.ExportSlot> slots = new ArrayList<>();
+        Optional<GradebookExportService.ExportSlot> slot;
+        while ((slot = gradebookExportService.tryAcquire()).isPresent()) {
+            slots.add(slot.get());
+        }
+        slots.forEach(GradebookExportService.ExportSlot::release);
+        return slots.size();
+    }
+
+    @Test
+    void completedExportsFreeTheirSlot() throws Exception {
+        for (int i = 0; i < maxConcurrent + 1; i++) {
+            MvcResult started = mockMvc.perform(get("/api/teacher/reports/export/csv")
+                            .header(HttpHeaders.AUTHORIZATION, token))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            String csv = mockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            assertTrue(csv.contains("Mathematics"), csv);
+        }
+        assertEquals(maxConcurrent, freeSlots());
+    }
+
+    @Test
+    void slotIsReleasedOnlyOnce() {
+        GradebookExportService.ExportSlot slot = gradebookExportService.tryAcquire().orElseThrow();
+        assertEquals(maxConcurrent - 1, freeSlots());
+
+        // Both the export and the request completion release it
+        slot.release();
+        slot.release();
+
+        assertEquals(maxConcurrent, freeSlots());
+    }
+
+    @Test
+    void fullExportSlotsAnswerServiceUnavailable() throws Exception {
+        List<GradebookExportService.ExportSlot> slots = new ArrayList<>();
+        gradebookExportService.tryAcquire().ifPresent(slots::add);
+        while (slots.size() < maxConcurrent) {
+            slots.add(gradebookExportService.tryAcquire().orElseThrow());
+        }
+        try {
+            mockMvc.perform(get("/api/teacher/reports/export/csv").header(HttpHeaders.AUTHORIZATION, token))
+                    .andExpect(status().isServiceUnavailable());
+        } finally {
+            slots.forEach(GradebookExportService.ExportSlot::release);
+        }
+        assertEquals(maxConcurrent, freeSlots());
+    }
+}
@@ -0,0 +1,153 @@
+package com.edugrowhub.controller;
+
+import com.edugrowhub.config.JwtUtil;
+import com.edugrowhub.entity.Role;
+import com.edugrowhub.entity.Student;
+import com.edugrowhub.entity.TestResult;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.repository.StudentRepository;
+import com.edugrowhub.repository.TestResultRepository;
+import com.edugrowhub.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bulk marks entry saves the valid rows and reports each rejected one
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"dev", "test"})
+class MarksBatchTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TestResultRepository testResultRepository;
+
+    private String token;
+    private Student student;
+    private Student otherTeachersStudent;
+
+    @BeforeEach
+    void createTeachers() {
+        String suffix = UUID.randomUUID().toString();
+        User teacher = teacher("batch-" + suffix);
+        User otherTeacher = teacher("other-" + suffix);
+        student = studentRepository.save(new Student("Batch Student", "student-" + suffix + "@example.com",
+                null, LocalDateTime.now(), teacher));
+        otherTeachersStudent = studentRepository.save(new Student("Other Student", "other-" + suffix + "@example.com",
+                null, LocalDateTime.now(), otherTeacher));
+        token = "Bearer " + jwtUtil.generateToken(teacher.getEmail(), Role.TEACHER, teacher.getId());
+    }
+
+    private User teacher(String name) {
+        User teacher = new User();
+        teacher.setName(name);
+        teacher.setEmail(name + "@example.com");
+        teacher.setPassword("unused");
+        teacher.setRole(Role.TEACHER);
+        return userRepository.save(teacher);
+    }
+
+    private Map<String, Object> row(Object studentId, Object subject, Object score, Object maxScore, Object testDate) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("studentId", studentId);
+        row.put("subject", subject);
+        row.put("score", score);
+        row.put("maxScore", maxScore);
+        row.put("testDate", testDate);
+        return row;
+    }
+
+    private String body(List<?> marks) throws Exception {
+        return objectMapper.writeValueAsString(Map.of("marks", marks));
+    }
+
+    @Test
+    void invalidRowsAreReportedAndTheRestSaved() throws Exception {
+        String today = LocalDate.now().toString();
+        List<Object> marks = new ArrayList<>();
+        marks.add(row(student.getId(), "Mathematics", 80, 100, today));
+        marks.add(row(student.getId(), " ", 80, 100, today));
+        marks.add(row(otherTeachersStudent.getId(), "Physics", 70, 100, today));
+        marks.add(row(student.getId(), "Physics", "seventy", 100, today));
+        marks.add(row("abc", "Physics", 70, 100, today));
+        marks.add(row(student.getId(), "English", 120, 100, today));
+        marks.add("not an object");
+        marks.add(row(student.getId(), "English", 65.5, 100, LocalDate.now().plusDays(1).toString()));
+        marks.add(row(student.getId(), "Chemistry", "45", "50", "2024-02-30"));
+        marks.add(row(Long.MAX_VALUE, "Chemistry", 45, 50, today));
+        marks.add(row(student.getId(), "  Chemistry ", "45", "50", today));
+
+        mockMvc.perform(post("/api/teacher/marks/batch").header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON).content(body(marks)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(11))
+                .andExpect(jsonPath("$.saved").value(2))
+                .andExpect(jsonPath("$.rejected").value(9))
+                .andExpect(jsonPath("$.errors.length()").value(9))
+                // Errors in request order, ownership errors included
+                .andExpect(jsonPath("$.errors[*].index").value(contains(1, 2, 3, 4, 5, 6, 7, 8, 9)))
+                .andExpect(jsonPath("$.errors[0].message").value("Subject is required"))
+                .andExpect(jsonPath("$.errors[1].studentId").value(otherTeachersStudent.getId()))
+                .andExpect(jsonPath("$.errors[1].message").value("Student not found or not enrolled with this teacher"))
+                .andExpect(jsonPath("$.errors[2].message").value("Invalid number format for score or maxScore"))
+                .andExpect(jsonPath("$.errors[3].studentId").doesNotExist())
+                .andExpect(jsonPath("$.errors[3].message").value("Invalid student ID"))
+                .andExpect(jsonPath("$.errors[4].message").value("Score cannot be greater than max score"))
+                .andExpect(jsonPath("$.errors[5].message").value("Row is empty"))
+                .andExpect(jsonPath("$.errors[6].message").value("Test date cannot be in the future"))
+                .andExpect(jsonPath("$.errors[7].message").value("Invalid date format. Use YYYY-MM-DD format"))
+                .andExpect(jsonPath("$.errors[8].message").value("Student not found or not enrolled with this teacher"));
+
+        assertEquals(2, testResultRepository.countByStudentId(student.getId()));
+        assertEquals(0, testResultRepository.countByStudentId(otherTeachersStudent.getId()));
+        assertEquals(List.of("Chemistry", "Mathematics"), testResultRepository.findByStudentId(student.getId()).stream()
+                .map(TestResult::getSubject).sorted().toList());
+    }
+
+    @Test
+    void emptyOrMissingBatchIsABadRequest() throws Exception {
+        mockMvc.perform(post("/api/teacher/marks/batch").header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON).content(body(List.of())))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/teacher/marks/batch").header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+}
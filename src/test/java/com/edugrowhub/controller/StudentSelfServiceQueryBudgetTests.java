@@ -0,0 +1,108 @@
+package com.edugrowhub.controller;
+
+import com.edugrowhub.config.JwtUtil;
+import com.edugrowhub.entity.Role;
+import com.edugrowhub.entity.Student;
+import com.edugrowhub.entity.TestResult;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.repository.StudentRepository;
+import com.edugrowhub.repository.TestResultRepository;
+import com.edugrowhub.repository.UserRepository;
+import com.edugrowhub.support.QueryBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Query budgets of the student self-service endpoints
+ *
+ * Open-in-view is disabled, so an endpoint that relied on lazy loading fails
+ * here instead of issuing extra queries. Budgets do not depend on how many
+ * results the student has, and are measured once the student's principal is
+ * cached, as for every request after the first with a token.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"dev", "test"})
+class StudentSelfServiceQueryBudgetTests {
+
+    private static final int RESULTS = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TestResultRepository testResultRepository;
+
+    private String token;
+
+    @BeforeEach
+    void createStudentWithResults() throws Exception {
+        String suffix = UUID.randomUUID().toString();
+
+        User teacher = new User();
+        teacher.setName("Budget Teacher");
+        teacher.setEmail("teacher-" + suffix + "@example.com");
+        teacher.setPassword("unused");
+        teacher.setRole(Role.TEACHER);
+        teacher = userRepository.save(teacher);
+
+        Student student = studentRepository.save(new Student("Budget Student", "student-" + suffix + "@example.com",
+                null, LocalDateTime.now(), teacher));
+
+        List<TestResult> testResults = new ArrayList<>();
+        for (int i = 0; i < RESULTS; i++) {
+            testResults.add(new TestResult("Subject " + (i % 4), 40.0 + i, 100.0,
+                    LocalDate.now().minusDays(i), student));
+        }
+        testResultRepository.saveAll(testResults);
+
+        token = "Bearer " + jwtUtil.generateToken(student.getEmail(), Role.STUDENT, student.getId());
+
+        // The first request with a token loads its principal
+        mockMvc.perform(get("/api/student/profile").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void profileRunsOneQuery() throws Exception {
+        QueryBudget.assertWithin(1, () -> mockMvc.perform(get("/api/student/profile")
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.teacher.name").value("Budget Teacher"))
+                .andExpect(jsonPath("$.totalTestResults").value(RESULTS)));
+    }
+
+    @Test
+    void testResultsRunTwoQueries() throws Exception {
+        QueryBudget.assertWithin(2, () -> mockMvc.perform(get("/api/student/test-results")
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalResults").value(RESULTS))
+                .andExpect(jsonPath("$.testResults.length()").value(RESULTS)));
+    }
+}
@@ -0,0 +1,157 @@
+package com.edugrowhub.controller;
+
+import com.edugrowhub.config.JwtUtil;
+import com.edugrowhub.entity.Role;
+import com.edugrowhub.entity.Student;
+import com.edugrowhub.entity.TestResult;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.repository.StudentRepository;
+import com.edugrowhub.repository.TestResultRepository;
+import com.edugrowhub.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Paged teacher listings: totals the frontend shows and following nextCursor
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"dev", "test"})
+class TeacherListingResponseTests {
+
+    private static final int STUDENTS = 5;
+    private static final int RESULTS = 7;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TestResultRepository testResultRepository;
+
+    private String token;
+    private Long studentId;
+
+    @BeforeEach
+    void createTeacherWithStudents() {
+        String suffix = UUID.randomUUID().toString();
+
+        User teacher = new User();
+        teacher.setName("Listing Teacher");
+        teacher.setEmail("teacher-" + suffix + "@example.com");
+        teacher.setPassword("unused");
+        teacher.setRole(Role.TEACHER);
+        teacher = userRepository.save(teacher);
+
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(new Student("Listing Student " + i, "student" + i + "-" + suffix + "@example.com",
+                    null, LocalDateTime.now(), teacher));
+        }
+        students = studentRepository.saveAll(students);
+        studentId = students.get(0).getId();
+
+        List<TestResult> results = new ArrayList<>();
+        for (int i = 0; i < RESULTS; i++) {
+            results.add(new TestResult("Mathematics", 50.0 + i, 100.0, LocalDate.now().minusDays(i),
+                    students.get(0)));
+        }
+        testResultRepository.saveAll(results);
+
+        token = "Bearer " + jwtUtil.generateToken(teacher.getEmail(), Role.TEACHER, teacher.getId());
+    }
+
+    @Test
+    void studentPageReportsAllStudents() throws Exception {
+        mockMvc.perform(get("/api/teacher/students").param("limit", "2")
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.teacherName").value("Listing Teacher"))
+                .andExpect(jsonPath("$.totalStudents").value(STUDENTS))
+                .andExpect(jsonPath("$.count").value(2))
+                .andExpect(jsonPath("$.students.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").value(notNullValue()));
+    }
+
+    @Test
+    void followingNextCursorVisitsEveryStudentOnce() throws Exception {
+        Set<Long> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/teacher/students").param("limit", "2")
+                    .header(HttpHeaders.AUTHORIZATION, token);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode page = objectMapper.readTree(body);
+            for (JsonNode student : page.get("students")) {
+                assertTrue(seen.add(student.get("id").asLong()), "student listed twice: " + student);
+            }
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(STUDENTS, seen.size());
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void invalidCursorIsABadRequest() throws Exception {
+        mockMvc.perform(get("/api/teacher/students").param("cursor", "not-a-cursor!")
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/teacher/students").param("limit", "0")
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void marksPageReportsAllMarks() throws Exception {
+        mockMvc.perform(get("/api/teacher/students/" + studentId + "/marks").param("limit", "3")
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalMarks").value(RESULTS))
+                .andExpect(jsonPath("$.count").value(3))
+                .andExpect(jsonPath("$.marks[0].percentage").value(50.0))
+                .andExpect(jsonPath("$.marks[0].grade").value(notNullValue()));
+    }
+}
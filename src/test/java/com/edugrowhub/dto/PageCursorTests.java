@@ -0,0 +1,85 @@
+package com.edugrowhub.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Cursor encoding and page building
+ */
+class PageCursorTests {
+
+    @Test
+    void dateCursorRoundTrips() {
+        PageCursor cursor = PageCursor.of(LocalDate.of(2024, 2, 29), 42);
+        PageCursor decoded = PageCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+        assertEquals(LocalDate.of(2024, 2, 29), decoded.dateKey());
+        assertEquals(42, decoded.id());
+    }
+
+    @Test
+    void dateTimeCursorRoundTrips() {
+        LocalDateTime sentAt = LocalDateTime.of(2024, 6, 1, 9, 30, 15, 123_456_000);
+        PageCursor decoded = PageCursor.decode(PageCursor.of(sentAt, Long.MAX_VALUE).encode());
+
+        assertEquals(sentAt, decoded.dateTimeKey());
+        assertEquals(Long.MAX_VALUE, decoded.id());
+    }
+
+    @Test
+    void idOnlyCursorRoundTrips() {
+        PageCursor decoded = PageCursor.decode(PageCursor.of(null, 7).encode());
+        assertEquals("", decoded.key());
+        assertEquals(7, decoded.id());
+    }
+
+    @Test
+    void encodedFormIsUrlSafe() {
+        String encoded = PageCursor.of("key?with/odd+chars|and a separator", 123).encode();
+        assertFalse(encoded.matches(".*[+/=?&].*"), encoded);
+        assertEquals(123, PageCursor.decode(encoded).id());
+        assertEquals("key?with/odd+chars|and a separator", PageCursor.decode(encoded).key());
+    }
+
+    @Test
+    void tamperedCursorsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("not base64!"));
+        // Valid base64 without a separator, and with a non-numeric ID
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("MTIz"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(Base64.getUrlEncoder()
+                .encodeToString("2024-01-01|x".getBytes(StandardCharsets.UTF_8))));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.of("yesterday", 1).dateKey());
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.of("2024-01-01", 1).dateTimeKey());
+    }
+
+    @Test
+    void limitDefaultsAndBounds() {
+        assertEquals(CursorPage.DEFAULT_LIMIT, CursorPage.limit(null));
+        assertEquals(1, CursorPage.limit(1));
+        assertEquals(CursorPage.MAX_LIMIT, CursorPage.limit(CursorPage.MAX_LIMIT));
+        assertThrows(IllegalArgumentException.class, () -> CursorPage.limit(0));
+        assertThrows(IllegalArgumentException.class, () -> CursorPage.limit(CursorPage.MAX_LIMIT + 1));
+    }
+
+    @Test
+    void pageHasNextCursorOnlyWhenMoreWereFetched() {
+        CursorPage<Long> last = CursorPage.of(List.of(1L, 2L), 2, id -> PageCursor.of(null, id));
+        assertEquals(List.of(1L, 2L), last.items());
+        assertNull(last.nextCursor());
+
+        CursorPage<Long> more = CursorPage.of(List.of(1L, 2L, 3L), 2, id -> PageCursor.of(null, id));
+        assertEquals(List.of(1L, 2L), more.items());
+        assertEquals(2, PageCursor.decode(more.nextCursor()).id());
+    }
+}
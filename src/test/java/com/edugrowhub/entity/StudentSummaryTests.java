@@ -0,0 +1,84 @@
+package com.edugrowhub.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Delta arithmetic of the student summary totals
+ */
+class StudentSummaryTests {
+
+    private static TestResult result(long id, double score, double maxScore) {
+        return new TestResult(id, "Mathematics", score, maxScore, LocalDate.now(), null);
+    }
+
+    @Test
+    void addTracksTotalsAndExtremes() {
+        StudentSummary summary = new StudentSummary(1L);
+        summary.add(result(1, 50, 100));
+        summary.add(result(2, 90, 100));
+        summary.add(result(3, 20, 100));
+        summary.add(result(4, 150, 200));
+
+        assertEquals(4, summary.getTestsCount());
+        assertEquals(310.0, summary.getTotalScore());
+        assertEquals(235.0, summary.getTotalPercentage());
+        assertEquals(2, summary.getPassedTests());
+        assertEquals(1, summary.getFailingTests());
+        assertEquals(20.0, summary.getMinScore());
+        assertEquals(150.0, summary.getMaxScore());
+        assertEquals(2L, summary.getBestResultId());
+        assertEquals(90.0, summary.getBestPercentage());
+        assertEquals(3L, summary.getWorstResultId());
+        assertEquals(20.0, summary.getWorstPercentage());
+    }
+
+    @Test
+    void tiesGoToTheLowerId() {
+        StudentSummary summary = new StudentSummary(1L);
+        summary.add(result(5, 80, 100));
+        summary.add(result(3, 40, 50));
+        summary.add(result(4, 80, 100));
+
+        assertEquals(3L, summary.getBestResultId());
+        assertEquals(3L, summary.getWorstResultId());
+    }
+
+    @Test
+    void subtractUndoesAdd() {
+        StudentSummary summary = new StudentSummary(1L);
+        summary.add(result(1, 10, 100));
+        summary.add(result(2, 95, 100));
+        TestResult middle = result(3, 65, 100);
+        summary.add(middle);
+
+        summary.subtract(middle);
+
+        assertEquals(2, summary.getTestsCount());
+        assertEquals(105.0, summary.getTotalScore());
+        assertEquals(105.0, summary.getTotalPercentage());
+        assertEquals(1, summary.getPassedTests());
+        assertEquals(1, summary.getFailingTests());
+    }
+
+    @Test
+    void extremesByIdOrScore() {
+        StudentSummary summary = new StudentSummary(1L);
+        summary.add(result(1, 30, 50));
+        summary.add(result(2, 180, 200));
+        summary.add(result(3, 45, 100));
+        summary.add(result(4, 60, 100));
+
+        assertTrue(summary.isExtreme(result(2, 180, 200)), "best percentage");
+        assertTrue(summary.isExtreme(result(3, 45, 100)), "worst percentage");
+        assertTrue(summary.isExtreme(result(1, 30, 50)), "lowest score");
+        assertFalse(summary.isExtreme(result(4, 60, 100)));
+        // Another result holding the highest score is an extreme too
+        assertTrue(summary.isExtreme(result(9, 180, 400)));
+    }
+}
@@ -0,0 +1,321 @@
+package com.edugrowhub.repository;
+
+import com.edugrowhub.config.JwtUtil;
+import com.edugrowhub.entity.Role;
+import com.edugrowhub.entity.Student;
+import com.edugrowhub.entity.TestResult;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.entity.WhatsAppLog;
+import com.edugrowhub.support.QueryReport;
+import com.edugrowhub.support.SqlRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Query plans of every repository method
+ *
+ * Runs each query method declared on a repository interface once, with
+ * arguments matching seeded data, inside a transaction that is rolled back.
+ * RecordingDataSource captures the H2 plan of each statement under the
+ * origin "Repository.method"; the methods listed in hot-queries.txt must not
+ * read any table in full. Everything run here ends up in the query report.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"dev", "test"})
+class RepositoryQueryPlanTests {
+
+    private static final int STUDENTS = 20;
+    private static final int RESULTS_PER_STUDENT = 10;
+    private static final int LOGS_PER_STUDENT = 5;
+    private static final String[] SUBJECTS = {"Mathematics", "Physics", "Chemistry", "English"};
+    private static final String[] STATUSES = {"SENT", "DELIVERED", "FAILED", "READ", "DEAD"};
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TestResultRepository testResultRepository;
+
+    @Autowired
+    private WhatsAppLogRepository whatsAppLogRepository;
+
+    private User teacher;
+    private Student student;
+
+    @BeforeEach
+    void seed() {
+        String suffix = UUID.randomUUID().toString();
+        for (int t = 0; t < 2; t++) {
+            User user = new User();
+            user.setName("Plan Teacher " + t);
+            user.setEmail("teacher" + t + "-" + suffix + "@example.com");
+            user.setPassword("unused");
+            user.setRole(Role.TEACHER);
+            user = userRepository.save(user);
+
+            List<Student> students = new ArrayList<>();
+            for (int s = 0; s < STUDENTS; s++) {
+                students.add(new Student("Plan Student " + s, "student" + t + "-" + s + "-" + suffix + "@example.com",
+                        "+9100000" + t + String.format("%03d", s), LocalDateTime.now().minusDays(s), user));
+            }
+            students = studentRepository.saveAll(students);
+
+            List<TestResult> results = new ArrayList<>();
+            List<WhatsAppLog> logs = new ArrayList<>();
+            for (Student enrolled : students) {
+                for (int r = 0; r < RESULTS_PER_STUDENT; r++) {
+                    results.add(new TestResult(SUBJECTS[r % SUBJECTS.length], 30.0 + 7 * r, 100.0,
+                            LocalDate.now().minusDays(r), enrolled));
+                }
+                for (int l = 0; l < LOGS_PER_STUDENT; l++) {
+                    WhatsAppLog log = new WhatsAppLog(enrolled.getPhoneNumber(), "Message " + l,
+                            STATUSES[l % STATUSES.length], "SM" + UUID.randomUUID().toString().replace("-", ""),
+                            "TEST_RESULT", enrolled, user);
+                    log.setSentAt(LocalDateTime.now().minusHours(l));
+                    logs.add(log);
+                }
+            }
+            testResultRepository.saveAll(results);
+            whatsAppLogRepository.saveAll(logs);
+
+            if (t == 0) {
+                teacher = user;
+                student = students.get(0);
+            }
+        }
+    }
+
+    @Test
+    void everyRepositoryMethodRuns() {
+        List<String> failures = sweep();
+        assertTrue(failures.isEmpty(), "Repository methods failed:\n" + String.join("\n", failures));
+    }
+
+    @Test
+    void hotQueriesUseAnIndex() {
+        sweep();
+        Set<String> hotQueries = QueryReport.hotQueries();
+        assertFalse(hotQueries.isEmpty(), "hot-queries.txt lists no queries");
+
+        for (String hotQuery : hotQueries) {
+            List<SqlRecorder.QueryStats> queries = SqlRecorder.queries().stream()
+                    .filter(query -> query.origins().contains(hotQuery))
+                    .toList();
+            assertFalse(queries.isEmpty(), hotQuery + " ran no statements; is it still a repository method?");
+            for (SqlRecorder.QueryStats query : queries) {
+                assertTrue(query.plan() != null && !query.plan().startsWith("EXPLAIN failed"),
+                        hotQuery + " has no plan: " + query.plan());
+                assertFalse(query.fullScan(), hotQuery + " reads a table in full:\n" + query.plan());
+            }
+        }
+    }
+
+    @Test
+    void requestsAreCountedByMapping() throws Exception {
+        String teacherToken = "Bearer " + jwtUtil.generateToken(teacher.getEmail(), Role.TEACHER, teacher.getId());
+        String studentToken = "Bearer " + jwtUtil.generateToken(student.getEmail(), Role.STUDENT, student.getId());
+        List<String> teacherPaths = List.of(
+                "/api/teacher/students",
+                "/api/teacher/students/" + student.getId() + "/marks",
+                "/api/teacher/students/" + student.getId() + "/report",
+                "/api/teacher/dashboard",
+                "/api/teacher/notifications/history",
+                "/api/teacher/notifications/stats",
+                "/api/teacher/broadcasts");
+        for (String path : teacherPaths) {
+            mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, teacherToken))
+                    .andExpect(status().is2xxSuccessful());
+        }
+        for (String path : List.of("/api/student/profile", "/api/student/test-results")) {
+            mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, studentToken))
+                    .andExpect(status().is2xxSuccessful());
+        }
+
+        Map<String, SqlRecorder.RequestStats> requests = SqlRecorder.requests().stream()
+                .collect(Collectors.toMap(SqlRecorder.RequestStats::request, request -> request));
+        for (String mapping : List.of("GET /api/teacher/students", "GET /api/teacher/students/{studentId}/marks",
+                "GET /api/student/profile", "GET /api/student/test-results")) {
+            assertTrue(requests.containsKey(mapping), mapping + " was not counted: " + requests.keySet());
+            assertTrue(requests.get(mapping).maxStatements() > 0, mapping + " ran no statements");
+        }
+    }
+
+    /**
+     * Run every repository query method once, each under its own origin
+     *
+     * @return Methods that failed, with the error
+     */
+    private List<String> sweep() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Repositories repositories = new Repositories(applicationContext);
+        List<String> failures = new ArrayList<>();
+
+        for (Class<?> domainType : repositories) {
+            Class<?> repositoryInterface = repositories.getRequiredRepositoryInformation(domainType)
+                    .getRepositoryInterface();
+            Object repository = repositories.getRepositoryFor(domainType).orElseThrow();
+            List<Method> methods = Arrays.stream(repositoryInterface.getDeclaredMethods())
+                    .filter(method -> !method.isDefault() && !method.isSynthetic()
+                            && !Modifier.isStatic(method.getModifiers()))
+                    .sorted(Comparator.comparing(Method::getName))
+                    .toList();
+
+            for (Method method : methods) {
+                String origin = repositoryInterface.getSimpleName() + "." + method.getName();
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        status.setRollbackOnly();
+                        try (SqlRecorder.Scope scope = SqlRecorder.open(origin)) {
+                            method.invoke(repository, arguments(method));
+                        } catch (InvocationTargetException e) {
+                            // Optional results of seeded data with several matches; the statement still ran
+                            if (!(e.getCause() instanceof IncorrectResultSizeDataAccessException)) {
+                                throw new IllegalStateException(e.getCause());
+                            }
+                        } catch (IllegalAccessException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    failures.add(origin + ": " + cause);
+                }
+            }
+        }
+        return failures;
+    }
+
+    private Object[] arguments(Method method) {
+        Parameter[] parameters = method.getParameters();
+        Object[] arguments = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            arguments[i] = argument(parameters[i]);
+        }
+        return arguments;
+    }
+
+    private Object argument(Parameter parameter) {
+        Class<?> type = parameter.getType();
+        String name = parameter.getName().toLowerCase(Locale.ROOT);
+
+        if (type == Long.class || type == long.class) {
+            if (name.contains("teacher") || name.contains("sender")) {
+                return teacher.getId();
+            }
+            return name.contains("student") ? student.getId() : 1L;
+        }
+        if (type == Integer.class || type == int.class) {
+            return 20;
+        }
+        if (type == Double.class || type == double.class) {
+            return name.contains("max") ? 100.0 : name.contains("min") ? 0.0 : 60.0;
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return false;
+        }
+        if (type == String.class) {
+            return string(name);
+        }
+        if (type == LocalDate.class) {
+            return name.contains("end") ? LocalDate.now().plusDays(1) : LocalDate.now().minusDays(30);
+        }
+        if (type == LocalDateTime.class) {
+            if (name.contains("end") || name.contains("until") || name.equals("sentat") || name.equals("now")) {
+                return LocalDateTime.now().plusDays(1);
+            }
+            return LocalDateTime.now().minusDays(30);
+        }
+        if (Pageable.class.isAssignableFrom(type)) {
+            return PageRequest.of(0, 20);
+        }
+        if (type == Student.class) {
+            return student;
+        }
+        if (type == User.class) {
+            return teacher;
+        }
+        if (Iterable.class.isAssignableFrom(type)
+                && parameter.getParameterizedType() instanceof ParameterizedType generic
+                && generic.getActualTypeArguments()[0] == String.class) {
+            return List.of(string(name));
+        }
+        if (Iterable.class.isAssignableFrom(type)) {
+            return List.of(student.getId());
+        }
+        throw new IllegalArgumentException("No test argument for " + parameter.getType().getSimpleName()
+                + " " + parameter.getName());
+    }
+
+    private String string(String name) {
+        if (name.contains("email")) {
+            return name.contains("teacher") ? teacher.getEmail() : student.getEmail();
+        }
+        if (name.contains("phone")) {
+            return student.getPhoneNumber();
+        }
+        if (name.contains("subject")) {
+            return SUBJECTS[0];
+        }
+        if (name.contains("status")) {
+            return "FAILED";
+        }
+        if (name.contains("type")) {
+            return "TEST_RESULT";
+        }
+        if (name.contains("name")) {
+            return "plan student";
+        }
+        return "token-" + name;
+    }
+}
@@ -0,0 +1,165 @@
+package com.edugrowhub.service;
+
+import com.edugrowhub.entity.Broadcast;
+import com.edugrowhub.entity.Role;
+import com.edugrowhub.entity.Student;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.repository.BroadcastRepository;
+import com.edugrowhub.repository.StudentRepository;
+import com.edugrowhub.repository.UserRepository;
+import com.edugrowhub.service.messaging.OutgoingMessage;
+import com.edugrowhub.service.messaging.WhatsAppDispatcher;
+import com.edugrowhub.service.messaging.WhatsAppSendException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Broadcast runs: lease takeover and resuming a page whose runner died
+ *
+ * The application's runner is disabled; each test drives its own runners,
+ * standing in for two instances sharing the database.
+ */
+@SpringBootTest(properties = "broadcasts.enabled=false")
+@ActiveProfiles({"dev", "test"})
+class BroadcastRunnerTests {
+
+    private static final Duration CLAIM_TIMEOUT = Duration.ofSeconds(2);
+
+    @MockBean
+    private WhatsAppDispatcher whatsAppDispatcher;
+
+    @Autowired
+    private BroadcastService broadcastService;
+
+    @Autowired
+    private BroadcastRepository broadcastRepository;
+
+    @Autowired
+    private WhatsAppService whatsAppService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private final List<OutgoingMessage> submitted = new CopyOnWriteArrayList<>();
+    private final List<String> delivered = new CopyOnWriteArrayList<>();
+    private final CompletableFuture<String> interruptedSend = new CompletableFuture<>();
+    private final List<BroadcastRunner> runners = new ArrayList<>();
+    private User teacher;
+
+    @BeforeEach
+    void createTeacher() {
+        // The second message submitted never completes: its runner dies before the provider answers
+        when(whatsAppDispatcher.remainingCapacity()).thenReturn(10_000);
+        when(whatsAppDispatcher.submit(any(OutgoingMessage.class))).thenAnswer(invocation -> {
+            OutgoingMessage message = invocation.getArgument(0);
+            submitted.add(message);
+            if (submitted.size() == 2) {
+                return interruptedSend;
+            }
+            delivered.add(message.to());
+            return CompletableFuture.completedFuture("SM" + UUID.randomUUID());
+        });
+
+        teacher = new User();
+        teacher.setName("Broadcast Teacher");
+        teacher.setEmail("teacher-" + UUID.randomUUID() + "@example.com");
+        teacher.setPassword("unused");
+        teacher.setRole(Role.TEACHER);
+        teacher = userRepository.save(teacher);
+    }
+
+    @AfterEach
+    void stopRunners() throws InterruptedException {
+        for (BroadcastRunner runner : runners) {
+            runner.stop();
+        }
+    }
+
+    @Test
+    void resumedRunSendsEachStudentExactlyOnce() throws InterruptedException {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            students.add(studentRepository.save(new Student("Broadcast Student " + i,
+                    "student-" + UUID.randomUUID() + "@example.com", "+91987600001" + i,
+                    LocalDateTime.now(), teacher)));
+        }
+        Long id = broadcastService.createTeacherBroadcast(teacher, "Holiday " + UUID.randomUUID(),
+                "School is closed on Friday").getId();
+
+        // First runner: the first student's send completes, the second's is still out when it dies
+        BroadcastRunner crashed = runner();
+        crashed.sendNextPages();
+        awaitTrue(() -> submitted.size() == 2, "first page submitted");
+        assertTrue(broadcastService.claim(id, CLAIM_TIMEOUT).isEmpty(), "claim taken while the lease is held");
+
+        crashed.stop();
+        interruptedSend.completeExceptionally(new WhatsAppSendException("Runner stopped", false));
+        Broadcast interrupted = broadcastRepository.findById(id).orElseThrow();
+        assertEquals(Broadcast.STATUS_RUNNING, interrupted.getStatus());
+        assertEquals(0, interrupted.getLastStudentId());
+        assertEquals(0, interrupted.getProcessedCount());
+
+        // Second runner takes over once the lease has expired and resumes from the saved cursor
+        awaitTrue(() -> broadcastRepository.findById(id).orElseThrow().getLeaseUntil()
+                .isBefore(LocalDateTime.now()), "lease expired");
+        BroadcastRunner takeover = runner();
+        awaitTrue(() -> {
+            takeover.sendNextPages();
+            return Broadcast.STATUS_COMPLETED.equals(broadcastRepository.findById(id).orElseThrow().getStatus());
+        }, "broadcast completed");
+
+        List<String> expected = students.stream().map(Student::getPhoneNumber).toList();
+        assertEquals(expected.stream().sorted().toList(), delivered.stream().sorted().toList());
+
+        Broadcast completed = broadcastRepository.findById(id).orElseThrow();
+        assertEquals(students.get(4).getId(), completed.getLastStudentId());
+        assertEquals(5, completed.getProcessedCount());
+        assertEquals(4, completed.getSentCount());
+        assertEquals(1, completed.getSuppressedCount());
+        assertEquals(0, completed.getFailedCount());
+        assertEquals(0, completed.getSkippedCount());
+    }
+
+    private BroadcastRunner runner() {
+        BroadcastRunner runner = new BroadcastRunner(broadcastService, whatsAppService, whatsAppDispatcher,
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(runner, "enabled", true);
+        ReflectionTestUtils.setField(runner, "pageSize", 2);
+        ReflectionTestUtils.setField(runner, "queueReserve", 0);
+        ReflectionTestUtils.setField(runner, "claimTimeout", CLAIM_TIMEOUT);
+        runners.add(runner);
+        return runner;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, String description) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for " + description);
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.edugrowhub.service;
+
+import com.edugrowhub.config.JwtUtil;
+import com.edugrowhub.dto.LoginResult;
+import com.edugrowhub.entity.Role;
+import com.edugrowhub.entity.Student;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.repository.StudentRepository;
+import com.edugrowhub.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Login outcomes per role, BCrypt work per attempt, rehashing and a saturated login executor
+ */
+class LoginServiceTests {
+
+    private static final String PASSWORD = "correct horse";
+
+    // Cost 4 keeps the tests fast; stored hashes use the same cost unless a test says otherwise
+    private final BCryptPasswordEncoder storedEncoder = new BCryptPasswordEncoder(4);
+
+    private UserRepository userRepository;
+    private StudentRepository studentRepository;
+    private BCryptPasswordEncoder passwordEncoder;
+    private ThreadPoolExecutor loginExecutor;
+    private LoginService loginService;
+
+    @BeforeEach
+    void createService() {
+        userRepository = mock(UserRepository.class);
+        studentRepository = mock(StudentRepository.class);
+        JwtUtil jwtUtil = mock(JwtUtil.class);
+        when(jwtUtil.generateToken(anyString(), any(Role.class), anyLong())).thenReturn("token");
+        loginService = createService(new BCryptPasswordEncoder(4), jwtUtil);
+    }
+
+    @AfterEach
+    void stopExecutor() {
+        loginExecutor.shutdownNow();
+    }
+
+    @Test
+    void superadminLogsIn() {
+        User admin = user(1L, "admin@example.com", Role.SUPERADMIN, storedEncoder.encode(PASSWORD));
+
+        LoginResult result = loginService.login(Role.SUPERADMIN, admin.getEmail(), PASSWORD);
+
+        assertEquals(LoginResult.Status.SUCCESS, result.status());
+        assertEquals(1L, result.id());
+        assertEquals(Role.SUPERADMIN, result.role());
+        assertEquals("token", result.token());
+        verify(passwordEncoder, times(1)).matches(anyString(), anyString());
+    }
+
+    @Test
+    void teacherLogsIn() {
+        User teacher = user(2L, "teacher@example.com", Role.TEACHER, storedEncoder.encode(PASSWORD));
+
+        LoginResult result = loginService.login(Role.TEACHER, teacher.getEmail(), PASSWORD);
+
+        assertEquals(LoginResult.Status.SUCCESS, result.status());
+        assertEquals(Role.TEACHER, result.role());
+        assertNull(result.teacherName());
+        verify(passwordEncoder, times(1)).matches(anyString(), anyString());
+    }
+
+    @Test
+    void studentLogsInWithTeacherAndEnrolment() {
+        User teacher = user(2L, "teacher@example.com", Role.TEACHER, "unused");
+        Student student = student(3L, "student@example.com", storedEncoder.encode(PASSWORD), teacher);
+
+        LoginResult result = loginService.login(Role.STUDENT, student.getEmail(), PASSWORD);
+
+        assertEquals(LoginResult.Status.SUCCESS, result.status());
+        assertEquals(3L, result.id());
+        assertEquals(Role.STUDENT, result.role());
+        assertEquals(student.getEnrolledDate(), result.enrolledDate());
+        assertEquals(teacher.getName(), result.teacherName());
+        verify(passwordEncoder, times(1)).matches(anyString(), anyString());
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void wrongPortalIsRejectedWithoutBCrypt() {
+        User teacher = user(2L, "teacher@example.com", Role.TEACHER, storedEncoder.encode(PASSWORD));
+
+        assertEquals(LoginResult.Status.ROLE_MISMATCH,
+                loginService.login(Role.SUPERADMIN, teacher.getEmail(), PASSWORD).status());
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
+    }
+
+    @Test
+    void wrongPasswordAndUnknownEmailAreInvalidCredentials() {
+        User teacher = user(2L, "teacher@example.com", Role.TEACHER, storedEncoder.encode(PASSWORD));
+        when(userRepository.findByEmail("nobody@example.com")).thenReturn(Optional.empty());
+        when(studentRepository.findByEmailWithTeacher("nobody@example.com")).thenReturn(Optional.empty());
+
+        assertEquals(LoginResult.Status.INVALID_CREDENTIALS,
+                loginService.login(Role.TEACHER, teacher.getEmail(), "wrong").status());
+        assertEquals(LoginResult.Status.INVALID_CREDENTIALS,
+                loginService.login(Role.TEACHER, "nobody@example.com", PASSWORD).status());
+        assertEquals(LoginResult.Status.INVALID_CREDENTIALS,
+                loginService.login(Role.STUDENT, "nobody@example.com", PASSWORD).status());
+        verify(passwordEncoder, times(1)).matches(anyString(), anyString());
+    }
+
+    @Test
+    void studentWithoutPasswordIsNotActivated() {
+        User teacher = user(2L, "teacher@example.com", Role.TEACHER, "unused");
+        Student student = student(3L, "student@example.com", null, teacher);
+
+        assertEquals(LoginResult.Status.NOT_ACTIVATED,
+                loginService.login(Role.STUDENT, student.getEmail(), PASSWORD).status());
+        verify(passwordEncoder, never()).matches(any(), any());
+    }
+
+    @Test
+    void passwordIsRehashedWhenTheCostWasRaised() {
+        JwtUtil jwtUtil = mock(JwtUtil.class);
+        loginExecutor.shutdownNow();
+        loginService = createService(new BCryptPasswordEncoder(5), jwtUtil);
+        User teacher = user(2L, "teacher@example.com", Role.TEACHER, storedEncoder.encode(PASSWORD));
+
+        assertEquals(LoginResult.Status.SUCCESS, loginService.login(Role.TEACHER, teacher.getEmail(), PASSWORD).status());
+
+        verify(userRepository).save(teacher);
+        assertTrue(teacher.getPassword().startsWith("$2a$05$"));
+        assertTrue(passwordEncoder.matches(PASSWORD, teacher.getPassword()));
+    }
+
+    @Test
+    void passwordIsNotRehashedAtTheCurrentCost() {
+        User teacher = user(2L, "teacher@example.com", Role.TEACHER, storedEncoder.encode(PASSWORD));
+        String stored = teacher.getPassword();
+
+        loginService.login(Role.TEACHER, teacher.getEmail(), PASSWORD);
+
+        verify(userRepository, never()).save(any());
+        verify(passwordEncoder, never()).encode(any());
+        assertEquals(stored, teacher.getPassword());
+    }
+
+    @Test
+    void fullLoginQueueAnswersBusy() throws InterruptedException {
+        User teacher = user(2L, "teacher@example.com", Role.TEACHER, storedEncoder.encode(PASSWORD));
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // One thread busy and the one queue slot taken
+            loginExecutor.execute(() -> awaitQuietly(release));
+            loginExecutor.execute(() -> awaitQuietly(release));
+
+            assertEquals(LoginResult.Status.BUSY, loginService.login(Role.TEACHER, teacher.getEmail(), PASSWORD).status());
+            verify(userRepository, never()).findByEmail(anyString());
+        } finally {
+            release.countDown();
+        }
+
+        // Accepted again once the queue has drained
+        while (loginExecutor.getQueue().size() + loginExecutor.getActiveCount() > 0) {
+            Thread.sleep(10);
+        }
+        assertEquals(LoginResult.Status.SUCCESS, loginService.login(Role.TEACHER, teacher.getEmail(), PASSWORD).status());
+    }
+
+    @Test
+    void loginStuckInTheQueueAnswersBusy() {
+        User teacher = user(2L, "teacher@example.com", Role.TEACHER, storedEncoder.encode(PASSWORD));
+        ReflectionTestUtils.setField(loginService, "loginTimeoutMillis", 100L);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            loginExecutor.execute(() -> awaitQuietly(release));
+
+            assertEquals(LoginResult.Status.BUSY, loginService.login(Role.TEACHER, teacher.getEmail(), PASSWORD).status());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private LoginService createService(BCryptPasswordEncoder encoder, JwtUtil jwtUtil) {
+        passwordEncoder = spy(encoder);
+        // Same shape as the loginExecutor bean: fixed threads, bounded queue, rejection when full
+        loginExecutor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.AbortPolicy());
+        LoginService service = new LoginService(userRepository, studentRepository, passwordEncoder, jwtUtil,
+                loginExecutor, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "loginTimeoutMillis", 10_000L);
+        return service;
+    }
+
+    private User user(Long id, String email, Role role, String password) {
+        User user = new User();
+        user.setId(id);
+        user.setName(role + " Account");
+        user.setEmail(email);
+        user.setRole(role);
+        user.setPassword(password);
+        when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+        return user;
+    }
+
+    private Student student(Long id, String email, String password, User teacher) {
+        Student student = new Student("Login Student", email, null, LocalDateTime.now().minusDays(30), teacher);
+        student.setId(id);
+        student.setPassword(password);
+        when(studentRepository.findByEmailWithTeacher(email)).thenReturn(Optional.of(student));
+        return student;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
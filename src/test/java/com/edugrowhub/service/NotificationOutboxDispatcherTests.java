@@ -0,0 +1,218 @@
+package com.edugrowhub.service;
+
+import com.edugrowhub.entity.NotificationOutbox;
+import com.edugrowhub.entity.Role;
+import com.edugrowhub.entity.Student;
+import com.edugrowhub.entity.TestResult;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.repository.NotificationOutboxRepository;
+import com.edugrowhub.repository.StudentRepository;
+import com.edugrowhub.repository.UserRepository;
+import com.edugrowhub.service.messaging.OutgoingMessage;
+import com.edugrowhub.service.messaging.RenderedMessage;
+import com.edugrowhub.service.messaging.WhatsAppDispatcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Outbox dispatch: claiming, digests, stale claims and handing sends off without waiting
+ *
+ * The scheduled poller only runs once at startup; each test calls
+ * dispatchPending itself.
+ */
+@SpringBootTest(properties = "notifications.outbox.poll-interval-ms=3600000")
+@ActiveProfiles({"dev", "test"})
+class NotificationOutboxDispatcherTests {
+
+    @MockBean
+    private WhatsAppDispatcher whatsAppDispatcher;
+
+    @Autowired
+    private NotificationOutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private WhatsAppService whatsAppService;
+
+    private final List<OutgoingMessage> submitted = new CopyOnWriteArrayList<>();
+    private final List<CompletableFuture<String>> sends = new CopyOnWriteArrayList<>();
+    private User teacher;
+
+    @BeforeEach
+    void createTeacher() {
+        when(whatsAppDispatcher.remainingCapacity()).thenReturn(10_000);
+        when(whatsAppDispatcher.submit(any(OutgoingMessage.class))).thenAnswer(invocation -> {
+            submitted.add(invocation.getArgument(0));
+            CompletableFuture<String> send = new CompletableFuture<>();
+            sends.add(send);
+            return send;
+        });
+
+        teacher = new User();
+        teacher.setName("Outbox Teacher");
+        teacher.setEmail("teacher-" + UUID.randomUUID() + "@example.com");
+        teacher.setPassword("unused");
+        teacher.setRole(Role.TEACHER);
+        teacher = userRepository.save(teacher);
+    }
+
+    @Test
+    void dispatchReturnsBeforeSendsComplete() throws InterruptedException {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(outboxRepository.save(new NotificationOutbox(WhatsAppService.MESSAGE_TYPE_REMINDER,
+                    "+9198765432" + (10 + i), RenderedMessage.plain("Reminder " + i), null, teacher, null)).getId());
+        }
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> outboxDispatcher.dispatchPending());
+        assertEquals(3, sends.size());
+        assertTrue(statuses(ids).stream().allMatch(NotificationOutbox.STATUS_PROCESSING::equals));
+
+        completeSends();
+        awaitTrue(() -> statuses(ids).stream().allMatch(NotificationOutbox.STATUS_PROCESSED::equals),
+                "rows processed");
+    }
+
+    @Test
+    void resultsWithinTheWindowGoOutAsOneDigest() throws InterruptedException {
+        Student student = student("+919812345601");
+        // The oldest result is due; the two entered after it are claimed with it
+        NotificationOutbox first = testResult(student, "Mathematics", 45, LocalDateTime.now().minusMinutes(2));
+        NotificationOutbox second = testResult(student, "Physics", 72, LocalDateTime.now().minusSeconds(20));
+        NotificationOutbox third = testResult(student, "Chemistry", 88, LocalDateTime.now());
+        List<Long> ids = List.of(first.getId(), second.getId(), third.getId());
+
+        outboxDispatcher.dispatchPending();
+        completeSends();
+
+        awaitTrue(() -> statuses(ids).stream().allMatch(NotificationOutbox.STATUS_PROCESSED::equals),
+                "rows processed");
+        assertEquals(1, submitted.size());
+        String body = submitted.get(0).body();
+        assertTrue(body.contains("Mathematics") && body.contains("Physics") && body.contains("Chemistry"), body);
+        List<Long> logIds = outboxRepository.findAllById(ids).stream().map(NotificationOutbox::getWhatsAppLogId)
+                .distinct().toList();
+        assertEquals(1, logIds.size());
+        assertNotNull(logIds.get(0));
+    }
+
+    @Test
+    void resultNotYetInTheWindowIsNotSentAlone() {
+        Student student = student("+919812345602");
+        NotificationOutbox recent = testResult(student, "Mathematics", 45, LocalDateTime.now());
+
+        outboxDispatcher.dispatchPending();
+
+        assertEquals(0, submitted.size());
+        assertEquals(NotificationOutbox.STATUS_PENDING, outboxRepository.findById(recent.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void companionClaimedElsewhereIsNotResent() throws InterruptedException {
+        Student student = student("+919812345603");
+        NotificationOutbox due = testResult(student, "Mathematics", 45, LocalDateTime.now().minusMinutes(2));
+        NotificationOutbox companion = testResult(student, "Physics", 72, LocalDateTime.now().minusMinutes(2));
+        // Another instance's run holds the companion
+        companion.setStatus(NotificationOutbox.STATUS_PROCESSING);
+        companion.setClaimToken("other-instance");
+        companion.setClaimedAt(LocalDateTime.now());
+        outboxRepository.save(companion);
+
+        outboxDispatcher.dispatchPending();
+        completeSends();
+
+        awaitTrue(() -> NotificationOutbox.STATUS_PROCESSED.equals(
+                outboxRepository.findById(due.getId()).orElseThrow().getStatus()), "due row processed");
+        assertEquals(1, submitted.size());
+        assertTrue(submitted.get(0).body().contains("Mathematics"));
+        assertFalse(submitted.get(0).body().contains("Physics"), submitted.get(0).body());
+        NotificationOutbox held = outboxRepository.findById(companion.getId()).orElseThrow();
+        assertEquals(NotificationOutbox.STATUS_PROCESSING, held.getStatus());
+        assertEquals("other-instance", held.getClaimToken());
+    }
+
+    @Test
+    void staleClaimIsReleasedAndDispatched() throws InterruptedException {
+        NotificationOutbox stale = new NotificationOutbox(WhatsAppService.MESSAGE_TYPE_REMINDER, "+919812345604",
+                RenderedMessage.plain("Stale reminder"), null, teacher, null);
+        // Claimed by a run that died longer than claim-timeout ago
+        stale.setStatus(NotificationOutbox.STATUS_PROCESSING);
+        stale.setClaimToken("crashed-instance");
+        stale.setClaimedAt(LocalDateTime.now().minusMinutes(10));
+        NotificationOutbox saved = outboxRepository.save(stale);
+
+        outboxDispatcher.dispatchPending();
+        completeSends();
+
+        awaitTrue(() -> NotificationOutbox.STATUS_PROCESSED.equals(
+                outboxRepository.findById(saved.getId()).orElseThrow().getStatus()), "stale row processed");
+        assertEquals(1, submitted.size());
+        assertNotEquals("crashed-instance", outboxRepository.findById(saved.getId()).orElseThrow().getClaimToken());
+    }
+
+    private Student student(String phoneNumber) {
+        return studentRepository.save(new Student("Outbox Student", "student-" + UUID.randomUUID() + "@example.com",
+                phoneNumber, LocalDateTime.now(), teacher));
+    }
+
+    private NotificationOutbox testResult(Student student, String subject, double score, LocalDateTime createdAt) {
+        double percentage = score;
+        String grade = TestResult.gradeFor(percentage);
+        RenderedMessage message = whatsAppService.createTestResultMessage(student.getName(), subject, score, 100.0,
+                percentage, grade);
+        String metadata = "{\"subject\":\"" + subject + "\",\"score\":" + score + ",\"maxScore\":100.0,"
+                + "\"percentage\":" + percentage + ",\"grade\":\"" + grade + "\",\"testDate\":\""
+                + LocalDate.now() + "\"}";
+        NotificationOutbox entry = new NotificationOutbox(WhatsAppService.MESSAGE_TYPE_TEST_RESULT,
+                student.getPhoneNumber(), message, student, teacher, metadata);
+        entry.setCreatedAt(createdAt);
+        return outboxRepository.save(entry);
+    }
+
+    private void completeSends() {
+        sends.forEach(send -> send.complete("SM" + UUID.randomUUID()));
+    }
+
+    private List<String> statuses(List<Long> ids) {
+        return outboxRepository.findAllById(ids).stream().map(NotificationOutbox::getStatus).toList();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, String description) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for " + description);
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.edugrowhub.service;
+
+import com.edugrowhub.dto.StudentPerformanceSummary;
+import com.edugrowhub.entity.NotificationOutbox;
+import com.edugrowhub.entity.PerformanceReportChunk;
+import com.edugrowhub.entity.PerformanceReportRun;
+import com.edugrowhub.entity.Role;
+import com.edugrowhub.entity.Student;
+import com.edugrowhub.entity.TestResult;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.repository.NotificationOutboxRepository;
+import com.edugrowhub.repository.PerformanceReportChunkRepository;
+import com.edugrowhub.repository.PerformanceReportRunRepository;
+import com.edugrowhub.repository.StudentRepository;
+import com.edugrowhub.repository.TestResultRepository;
+import com.edugrowhub.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Performance report runs: resuming from the chunk checkpoints and the aggregated reports
+ *
+ * The application's job is disabled and the outbox is not polled, so the
+ * queued reports stay in place; tests drive the service or their own job.
+ */
+@SpringBootTest(properties = {
+        "reports.performance.enabled=false",
+        "notifications.outbox.poll-interval-ms=3600000"
+})
+@ActiveProfiles({"dev", "test"})
+class PerformanceReportJobTests {
+
+    @Autowired
+    private PerformanceReportService performanceReportService;
+
+    @Autowired
+    @Qualifier("performanceReportExecutor")
+    private ExecutorService performanceReportExecutor;
+
+    @Autowired
+    private PerformanceReportRunRepository runRepository;
+
+    @Autowired
+    private PerformanceReportChunkRepository chunkRepository;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private WhatsAppNotificationService whatsAppNotificationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TestResultRepository testResultRepository;
+
+    private final List<PerformanceReportJob> jobs = new ArrayList<>();
+    private User teacher;
+
+    @BeforeEach
+    void createTeacher() {
+        teacher = new User();
+        teacher.setName("Report Teacher");
+        teacher.setEmail("teacher-" + UUID.randomUUID() + "@example.com");
+        teacher.setPassword("unused");
+        teacher.setRole(Role.TEACHER);
+        teacher = userRepository.save(teacher);
+    }
+
+    @AfterEach
+    void stopJobs() throws InterruptedException {
+        for (PerformanceReportJob job : jobs) {
+            job.stop();
+        }
+    }
+
+    @Test
+    void interruptedRunResumesFromItsCheckpoints() throws InterruptedException {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Student student = student("Report Student " + i, "+91987700001" + i);
+            result(student, "Mathematics", 50 + i * 10, 100);
+            students.add(student);
+        }
+
+        // The first instance queues one chunk, then stops
+        PerformanceReportRun run = performanceReportService.startRun(2);
+        Long doneChunkId = chunkRepository.findPendingIds(run.getId()).stream()
+                .filter(chunkId -> covers(chunkId, students.get(0)))
+                .findFirst().orElseThrow();
+        int queuedBeforeRestart = performanceReportService.processChunk(doneChunkId);
+        PerformanceReportChunk done = chunkRepository.findById(doneChunkId).orElseThrow();
+        assertTrue(queuedBeforeRestart > 0);
+
+        PerformanceReportJob restarted = job(2);
+        restarted.resumeInterruptedRun();
+        awaitTrue(() -> PerformanceReportRun.STATUS_COMPLETED.equals(
+                runRepository.findById(run.getId()).orElseThrow().getStatus()), "run completed");
+
+        // The checkpointed chunk was not processed again
+        PerformanceReportChunk afterRestart = chunkRepository.findById(doneChunkId).orElseThrow();
+        assertEquals(done.getProcessedAt(), afterRestart.getProcessedAt());
+        assertEquals(queuedBeforeRestart, afterRestart.getReportCount());
+
+        // Every student got exactly one report from the run
+        List<NotificationOutbox> reports = reports(run);
+        for (Student student : students) {
+            assertEquals(1, reports.stream()
+                    .filter(report -> report.getStudent().getId().equals(student.getId())).count(),
+                    "reports for " + student.getName());
+        }
+        PerformanceReportRun completed = runRepository.findById(run.getId()).orElseThrow();
+        assertEquals(reports.size(), completed.getReportCount());
+        assertEquals(completed.getChunkCount(), chunkRepository.findAll().stream()
+                .filter(chunk -> chunk.getRunId().equals(run.getId()))
+                .filter(chunk -> PerformanceReportChunk.STATUS_DONE.equals(chunk.getStatus()))
+                .count());
+    }
+
+    @Test
+    void reportsMatchTheSeededResults() {
+        Student mixed = student("Mixed Results", "+919877000021");
+        result(mixed, "Mathematics", 80, 100);
+        result(mixed, "Physics", 45, 50);
+        result(mixed, "Chemistry", 30, 100);
+        Student failing = student("Failing Results", "+919877000022");
+        result(failing, "Mathematics", 20, 100);
+        result(failing, "Physics", 59, 100);
+        Student noResults = student("No Results", "+919877000023");
+        Student noPhone = student("No Phone", null);
+        result(noPhone, "Mathematics", 90, 100);
+
+        StudentPerformanceSummary summary = testResultRepository
+                .summarizeStudentsBetween(mixed.getId(), mixed.getId()).get(0);
+        assertEquals(3, summary.totalTests());
+        assertEquals((80 + 90 + 30) / 3.0, summary.averagePercentage(), 1e-9);
+        assertEquals(2, summary.passedTests());
+        assertEquals(1, summary.failedTests());
+        assertEquals(TestResult.gradeFor((80 + 90 + 30) / 3.0), summary.overallGrade());
+
+        PerformanceReportRun run = performanceReportService.startRun(500);
+        for (Long chunkId : performanceReportService.findPendingChunkIds(run.getId())) {
+            performanceReportService.processChunk(chunkId);
+        }
+        assertTrue(performanceReportService.completeRun(run));
+
+        List<NotificationOutbox> reports = reports(run);
+        assertEquals(expectedReport(mixed, 3, (80 + 90 + 30) / 3.0, 2), reportText(reports, mixed));
+        assertEquals(expectedReport(failing, 2, (20 + 59) / 2.0, 0), reportText(reports, failing));
+        assertTrue(reports.stream().noneMatch(report -> report.getStudent().getId().equals(noResults.getId())));
+        assertTrue(reports.stream().noneMatch(report -> report.getStudent().getId().equals(noPhone.getId())));
+        assertEquals(reports.size(), runRepository.findById(run.getId()).orElseThrow().getReportCount());
+    }
+
+    private PerformanceReportJob job(int chunkSize) {
+        PerformanceReportJob job = new PerformanceReportJob(performanceReportService, performanceReportExecutor,
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(job, "enabled", true);
+        ReflectionTestUtils.setField(job, "chunkSize", chunkSize);
+        jobs.add(job);
+        return job;
+    }
+
+    private Student student(String name, String phoneNumber) {
+        return studentRepository.save(new Student(name, "student-" + UUID.randomUUID() + "@example.com",
+                phoneNumber, LocalDateTime.now(), teacher));
+    }
+
+    private void result(Student student, String subject, double score, double maxScore) {
+        testResultRepository.save(new TestResult(subject, score, maxScore, LocalDate.now(), student));
+    }
+
+    private boolean covers(Long chunkId, Student student) {
+        PerformanceReportChunk chunk = chunkRepository.findById(chunkId).orElseThrow();
+        return chunk.getFirstStudentId() <= student.getId() && student.getId() <= chunk.getLastStudentId();
+    }
+
+    private List<NotificationOutbox> reports(PerformanceReportRun run) {
+        String metadata = "{\"performanceReportRunId\":" + run.getId() + "}";
+        return outboxRepository.findAll().stream()
+                .filter(report -> metadata.equals(report.getMetadata()))
+                .toList();
+    }
+
+    private String expectedReport(Student student, long totalTests, double averagePercentage, long passedTests) {
+        return whatsAppNotificationService.createPerformanceReportMessage(student.getName(), totalTests,
+                averagePercentage, TestResult.gradeFor(averagePercentage), passedTests,
+                totalTests - passedTests).text();
+    }
+
+    private static String reportText(List<NotificationOutbox> reports, Student student) {
+        List<NotificationOutbox> matching = reports.stream()
+                .filter(report -> report.getStudent().getId().equals(student.getId()))
+                .toList();
+        assertEquals(1, matching.size(), "reports for " + student.getName());
+        return matching.get(0).toRenderedMessage().text();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, String description) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for " + description);
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.edugrowhub.service;
+
+import com.edugrowhub.dto.StudentReport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Student report cache: eviction on commit, single-flight builds and metrics
+ */
+class StudentReportCacheTests {
+
+    private static final Long STUDENT_ID = 1L;
+
+    private SimpleMeterRegistry meterRegistry;
+    private StudentReportCache cache;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void createCache() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new StudentReportCache(meterRegistry, 100, Duration.ofMinutes(10));
+        transactionTemplate = new TransactionTemplate(new NoOpTransactionManager());
+    }
+
+    @Test
+    void reportIsEvictedWhenTheTransactionCommits() {
+        StudentReport before = report("before");
+        cache.get(STUDENT_ID, () -> before);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            cache.evictAfterCommit(STUDENT_ID);
+            // Readers keep the old report until the change is visible to them
+            assertSame(before, cache.get(STUDENT_ID, () -> fail("rebuilt before commit")));
+        });
+
+        StudentReport after = report("after");
+        assertSame(after, cache.get(STUDENT_ID, () -> after));
+    }
+
+    @Test
+    void rollbackLeavesTheReportCached() {
+        StudentReport before = report("before");
+        cache.get(STUDENT_ID, () -> before);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            cache.evictAfterCommit(STUDENT_ID);
+            status.setRollbackOnly();
+        });
+
+        assertSame(before, cache.get(STUDENT_ID, () -> fail("rebuilt after rollback")));
+    }
+
+    @Test
+    void evictionWithoutATransactionIsImmediate() {
+        cache.get(STUDENT_ID, () -> report("before"));
+
+        cache.evictAfterCommit(STUDENT_ID);
+
+        StudentReport after = report("after");
+        assertSame(after, cache.get(STUDENT_ID, () -> after));
+    }
+
+    @Test
+    void concurrentMissesShareOneBuild() throws Exception {
+        int callers = 8;
+        AtomicInteger builds = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(callers);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<StudentReport>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    started.countDown();
+                    return cache.get(STUDENT_ID, () -> {
+                        builds.incrementAndGet();
+                        try {
+                            release.await(10, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return report("built");
+                    });
+                }));
+            }
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            release.countDown();
+
+            StudentReport first = results.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<StudentReport> result : results) {
+                assertSame(first, result.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, builds.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void hitRatioAndLoadsArePublished() {
+        for (int i = 0; i < 4; i++) {
+            cache.get(STUDENT_ID, () -> report("built"));
+        }
+
+        assertEquals(0.75, meterRegistry.get("student.reports.cache.hit.ratio").gauge().value(), 1e-9);
+        assertEquals(1, meterRegistry.get("student.reports.cache.load").timer().count());
+        assertEquals(3.0, meterRegistry.get("cache.gets").tag("cache", "student.reports").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "student.reports").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    private static StudentReport report(String studentName) {
+        return new StudentReport(STUDENT_ID, studentName, null, null, null, 0, 0, 0, null, 0, 0, 0, 0, 0,
+                null, null, null, List.of(), "No test results found");
+    }
+
+    // Transaction manager without a resource, for transaction synchronization only
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.edugrowhub.service;
+
+import com.edugrowhub.dto.BatchMarksResult;
+import com.edugrowhub.dto.SubjectResultStats;
+import com.edugrowhub.entity.Role;
+import com.edugrowhub.entity.Student;
+import com.edugrowhub.entity.StudentSubjectSummary;
+import com.edugrowhub.entity.StudentSummary;
+import com.edugrowhub.entity.TestResult;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.repository.StudentRepository;
+import com.edugrowhub.repository.StudentSubjectSummaryRepository;
+import com.edugrowhub.repository.StudentSummaryRepository;
+import com.edugrowhub.repository.TestResultRepository;
+import com.edugrowhub.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Summaries kept by delta arithmetic match summaries recomputed from test_results
+ *
+ * Every change goes through TestResultService, as the controllers do, and is
+ * followed by a comparison against summarizeSubjectsByStudentId.
+ */
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+class StudentSummaryServiceTests {
+
+    private static final double DELTA = 1e-9;
+
+    @Autowired
+    private TestResultService testResultService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TestResultRepository testResultRepository;
+
+    @Autowired
+    private StudentSummaryRepository summaryRepository;
+
+    @Autowired
+    private StudentSubjectSummaryRepository subjectSummaryRepository;
+
+    private User teacher;
+    private Student student;
+
+    @BeforeEach
+    void createStudent() {
+        String suffix = UUID.randomUUID().toString();
+        teacher = new User();
+        teacher.setName("Summary Teacher");
+        teacher.setEmail("teacher-" + suffix + "@example.com");
+        teacher.setPassword("unused");
+        teacher.setRole(Role.TEACHER);
+        teacher = userRepository.save(teacher);
+        student = studentRepository.save(new Student("Summary Student", "student-" + suffix + "@example.com",
+                null, LocalDateTime.now(), teacher));
+    }
+
+    @Test
+    void addEditDeleteMiddleResults() {
+        add("Mathematics", 10);
+        assertMatchesRecomputed();
+        add("Mathematics", 95);
+        TestResult middle = add("Physics", 55);
+        TestResult other = add("Physics", 70);
+        add("English", 30);
+        assertMatchesRecomputed();
+
+        edit(middle, "Physics", 62);
+        assertMatchesRecomputed();
+        edit(other, "English", 40);
+        assertMatchesRecomputed();
+        delete(middle);
+        assertMatchesRecomputed();
+    }
+
+    @Test
+    void removingExtremesRecomputes() {
+        TestResult best = add("Mathematics", 98);
+        TestResult worst = add("Mathematics", 12);
+        TestResult high = add("Physics", 80, 200);
+        TestResult low = add("Physics", 20, 50);
+        add("English", 66);
+        add("English", 45);
+        assertMatchesRecomputed();
+
+        delete(best);
+        assertMatchesRecomputed();
+        delete(worst);
+        assertMatchesRecomputed();
+        // Highest and lowest score, though neither is the best or worst percentage
+        edit(high, "Physics", 60, 100);
+        assertMatchesRecomputed();
+        delete(low);
+        assertMatchesRecomputed();
+    }
+
+    @Test
+    void editingIntoANewExtremeAndBack() {
+        add("Mathematics", 40);
+        TestResult result = add("Mathematics", 60);
+        add("Mathematics", 80);
+
+        edit(result, "Mathematics", 100);
+        assertMatchesRecomputed();
+        edit(result, "Mathematics", 0);
+        assertMatchesRecomputed();
+        edit(result, "Mathematics", 60);
+        assertMatchesRecomputed();
+    }
+
+    @Test
+    void deletingEveryResultRemovesTheSummary() {
+        TestResult first = add("Mathematics", 50);
+        TestResult second = add("Physics", 70);
+        delete(first);
+        assertMatchesRecomputed();
+        delete(second);
+
+        assertTrue(summaryRepository.findById(student.getId()).isEmpty());
+        assertTrue(subjectSummaryRepository.findByStudentIdOrderBySubjectAsc(student.getId()).isEmpty());
+    }
+
+    @Test
+    void subjectChangingCase() {
+        add("Mathematics", 10);
+        add("Mathematics", 90);
+        TestResult physics = add("Physics", 50);
+        TestResult maths = add("Mathematics", 60);
+        assertMatchesRecomputed();
+
+        // The subject's only result, not an extreme: its row empties and fills again
+        edit(physics, "PHYSICS", 50);
+        assertMatchesRecomputed();
+        edit(maths, "mathematics", 65);
+        assertMatchesRecomputed();
+        edit(physics, "Physics", 52);
+        assertMatchesRecomputed();
+    }
+
+    @Test
+    void sameSubjectEditedWithoutChange() {
+        add("Mathematics", 10);
+        add("Mathematics", 90);
+        TestResult only = add("Physics", 50);
+
+        edit(only, "Physics", 50);
+        assertMatchesRecomputed();
+        edit(only, "Physics", 51);
+        assertMatchesRecomputed();
+    }
+
+    @Test
+    void batchesOnTopOfExistingSummary() {
+        add("Mathematics", 50);
+        assertMatchesRecomputed();
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        double[] scores = {5, 99, 72, 33, 61, 48};
+        String[] subjects = {"Mathematics", "Physics", "physics", "English", "Mathematics", "Chemistry"};
+        for (int i = 0; i < scores.length; i++) {
+            rows.add(Map.of("studentId", student.getId(), "subject", subjects[i], "score", scores[i],
+                    "maxScore", 100, "testDate", LocalDate.now().minusDays(i).toString()));
+        }
+        BatchMarksResult result = testResultService.saveBatch(teacher, rows);
+        assertEquals(scores.length, result.saved());
+        assertMatchesRecomputed();
+
+        List<TestResult> results = testResultRepository.findByStudentIdOrderByPercentageDesc(student.getId(),
+                PageRequest.of(0, 20));
+        delete(results.get(results.size() / 2));
+        assertMatchesRecomputed();
+        BatchMarksResult second = testResultService.saveBatch(teacher, List.of(
+                Map.of("studentId", student.getId(), "subject", "English", "score", 77, "maxScore", 100,
+                        "testDate", LocalDate.now().toString())));
+        assertEquals(1, second.saved());
+        assertMatchesRecomputed();
+    }
+
+    private TestResult add(String subject, double score) {
+        return add(subject, score, 100);
+    }
+
+    private TestResult add(String subject, double score, double maxScore) {
+        return testResultService.addResult(student, teacher, subject, score, maxScore, LocalDate.now())
+                .testResult();
+    }
+
+    private void edit(TestResult testResult, String subject, double score) {
+        edit(testResult, subject, score, 100);
+    }
+
+    private void edit(TestResult testResult, String subject, double score, double maxScore) {
+        testResultService.updateResult(student.getId(), testResult.getId(), subject, score, maxScore,
+                testResult.getTestDate());
+    }
+
+    private void delete(TestResult testResult) {
+        testResultService.deleteResult(student.getId(), testResult.getId());
+    }
+
+    // Compare the stored summary and subject rows with aggregates of test_results
+    private void assertMatchesRecomputed() {
+        List<SubjectResultStats> stats = testResultRepository.summarizeSubjectsByStudentId(student.getId());
+        Optional<StudentSummary> stored = summaryRepository.findById(student.getId());
+        assertTrue(stored.isPresent(), "No summary for a student with results");
+        StudentSummary summary = stored.get();
+
+        // A case-sensitive database groups each spelling apart; the summary rows do not
+        Map<String, double[]> expectedSubjects = new TreeMap<>();
+        long tests = 0;
+        long passed = 0;
+        long failing = 0;
+        double totalScore = 0;
+        double totalPercentage = 0;
+        Double minScore = null;
+        Double maxScore = null;
+        for (SubjectResultStats subject : stats) {
+            double[] totals = expectedSubjects.computeIfAbsent(subject.subject().toLowerCase(Locale.ROOT),
+                    key -> new double[5]);
+            totals[0] += subject.testsCount();
+            totals[1] += subject.totalScore();
+            totals[2] += subject.totalPercentage();
+            totals[3] += subject.passedTests();
+            totals[4] += subject.failingTests();
+            tests += subject.testsCount();
+            passed += subject.passedTests();
+            failing += subject.failingTests();
+            totalScore += subject.totalScore();
+            totalPercentage += subject.totalPercentage();
+            minScore = minScore == null ? subject.lowestScore() : Math.min(minScore, subject.lowestScore());
+            maxScore = maxScore == null ? subject.highestScore() : Math.max(maxScore, subject.highestScore());
+        }
+
+        assertEquals(tests, summary.getTestsCount(), "testsCount");
+        assertEquals(passed, summary.getPassedTests(), "passedTests");
+        assertEquals(failing, summary.getFailingTests(), "failingTests");
+        assertEquals(totalScore, summary.getTotalScore(), DELTA, "totalScore");
+        assertEquals(totalPercentage, summary.getTotalPercentage(), DELTA, "totalPercentage");
+        assertEquals(minScore, summary.getMinScore(), "minScore");
+        assertEquals(maxScore, summary.getMaxScore(), "maxScore");
+
+        PageRequest first = PageRequest.of(0, 1);
+        TestResult best = testResultRepository.findByStudentIdOrderByPercentageDesc(student.getId(), first).get(0);
+        TestResult worst = testResultRepository.findByStudentIdOrderByPercentageAsc(student.getId(), first).get(0);
+        assertEquals(best.getId(), summary.getBestResultId(), "bestResultId");
+        assertEquals(best.getPercentage(), summary.getBestPercentage(), DELTA, "bestPercentage");
+        assertEquals(worst.getId(), summary.getWorstResultId(), "worstResultId");
+        assertEquals(worst.getPercentage(), summary.getWorstPercentage(), DELTA, "worstPercentage");
+
+        Map<String, double[]> storedSubjects = new TreeMap<>();
+        for (StudentSubjectSummary subject : subjectSummaryRepository.findByStudentIdOrderBySubjectAsc(student.getId())) {
+            double[] previous = storedSubjects.put(subject.getSubject().toLowerCase(Locale.ROOT), new double[]{
+                    subject.getTestsCount(), subject.getTotalScore(), subject.getTotalPercentage(),
+                    subject.getPassedTests(), subject.getFailingTests()});
+            assertEquals(null, previous, "Two rows for subject " + subject.getSubject());
+        }
+        assertEquals(expectedSubjects.keySet(), storedSubjects.keySet(), "subjects");
+        expectedSubjects.forEach((subject, totals) -> {
+            double[] actual = storedSubjects.get(subject);
+            for (int i = 0; i < totals.length; i++) {
+                assertEquals(totals[i], actual[i], DELTA, subject + " column " + i);
+            }
+        });
+    }
+}
@@ -0,0 +1,136 @@
+package com.edugrowhub.service;
+
+import com.edugrowhub.dto.ArchivedWhatsAppLog;
+import com.edugrowhub.dto.PageCursor;
+import com.edugrowhub.repository.WhatsAppLogArchiveRepository;
+import com.edugrowhub.repository.WhatsAppLogRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Archive pages read chunks newest first and stop once the page is full
+ */
+class WhatsAppLogArchivePageTests {
+
+    private static final long TEACHER_ID = 1L;
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2026, 4, 1, 0, 0);
+
+    private record Range(Long id, LocalDateTime lastSentAt) implements WhatsAppLogArchiveRepository.ChunkRange {
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public LocalDateTime getLastSentAt() {
+            return lastSentAt;
+        }
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private WhatsAppLogArchiveRepository archiveRepository;
+    private WhatsAppLogArchiveService archiveService;
+    private final List<WhatsAppLogArchiveRepository.ChunkRange> ranges = new ArrayList<>();
+
+    @BeforeEach
+    void createService() {
+        archiveRepository = mock(WhatsAppLogArchiveRepository.class);
+        archiveService = new WhatsAppLogArchiveService(mock(WhatsAppLogRepository.class), archiveRepository,
+                objectMapper);
+        when(archiveRepository.findOverlappingRangesNewestFirst(any(), any())).thenReturn(ranges);
+    }
+
+    @Test
+    void firstPageReadsOnlyTheNewestChunk() throws IOException {
+        chunk(3L, row(31, 3, 10), row(32, 3, 20), row(33, 3, 25));
+        chunk(2L, row(21, 2, 10), row(22, 2, 20), row(23, 2, 25));
+        chunk(1L, row(11, 1, 10), row(12, 1, 20));
+
+        List<ArchivedWhatsAppLog> page = archiveService.findArchivedPage(START, END, TEACHER_ID, null, 2);
+
+        assertEquals(List.of(33L, 32L), ids(page));
+        verify(archiveRepository, never()).findPayloadById(2L);
+        verify(archiveRepository, never()).findPayloadById(1L);
+    }
+
+    @Test
+    void laterPageContinuesIntoOlderChunks() throws IOException {
+        chunk(3L, row(31, 3, 10), row(32, 3, 20), row(33, 3, 25));
+        chunk(2L, row(21, 2, 10), row(22, 2, 20), row(23, 2, 25));
+        chunk(1L, row(11, 1, 10), row(12, 1, 20));
+
+        PageCursor after = PageCursor.of(LocalDateTime.of(2026, 3, 20, 0, 0), 32L);
+        List<ArchivedWhatsAppLog> page = archiveService.findArchivedPage(START, END, TEACHER_ID, after, 3);
+
+        assertEquals(List.of(31L, 23L, 22L), ids(page));
+        verify(archiveRepository, never()).findPayloadById(1L);
+    }
+
+    @Test
+    void overlappingChunkIsMergedIntoThePage() throws IOException {
+        chunk(3L, row(31, 3, 10), row(32, 3, 20));
+        // Archived later than chunk 3 but holding a message between its two
+        chunk(4L, row(40, 3, 15), row(41, 2, 28));
+        chunk(2L, row(21, 2, 10), row(22, 2, 20));
+
+        List<ArchivedWhatsAppLog> page = archiveService.findArchivedPage(START, END, TEACHER_ID, null, 3);
+
+        assertEquals(List.of(32L, 40L, 31L), ids(page));
+        verify(archiveRepository, never()).findPayloadById(2L);
+    }
+
+    @Test
+    void otherTeachersMessagesAreSkipped() throws IOException {
+        ArchivedWhatsAppLog other = new ArchivedWhatsAppLog(50L, "+15550000000", "Hello", null, null, "DELIVERED",
+                null, "CUSTOM", null, 2L, LocalDateTime.of(2026, 3, 28, 0, 0), null, null, 1);
+        chunk(3L, row(31, 3, 10), other);
+
+        List<ArchivedWhatsAppLog> page = archiveService.findArchivedPage(START, END, TEACHER_ID, null, 5);
+
+        assertEquals(List.of(31L), ids(page));
+    }
+
+    private static ArchivedWhatsAppLog row(long id, int month, int day) {
+        return new ArchivedWhatsAppLog(id, "+15550000000", "Hello", null, null, "DELIVERED", null, "CUSTOM",
+                null, TEACHER_ID, LocalDateTime.of(2026, month, day, 0, 0), null, null, 1);
+    }
+
+    // Register a chunk; add chunks in the order of their newest message, newest first
+    private void chunk(Long id, ArchivedWhatsAppLog... rows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+            for (ArchivedWhatsAppLog row : rows) {
+                gzip.write(objectMapper.writeValueAsBytes(row));
+                gzip.write('\n');
+            }
+        }
+        LocalDateTime last = rows[0].sentAt();
+        for (ArchivedWhatsAppLog row : rows) {
+            last = row.sentAt().isAfter(last) ? row.sentAt() : last;
+        }
+        ranges.add(new Range(id, last));
+        when(archiveRepository.findPayloadById(id)).thenReturn(Optional.of(bytes.toByteArray()));
+    }
+
+    private static List<Long> ids(List<ArchivedWhatsAppLog> rows) {
+        return rows.stream().map(ArchivedWhatsAppLog::id).toList();
+    }
+}
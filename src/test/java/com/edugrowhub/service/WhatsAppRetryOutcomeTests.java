@@ -0,0 +1,112 @@
+package com.edugrowhub.service;
+
+import com.edugrowhub.entity.Role;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.entity.WhatsAppLog;
+import com.edugrowhub.repository.UserRepository;
+import com.edugrowhub.repository.WhatsAppLogRepository;
+import com.edugrowhub.service.messaging.OutgoingMessage;
+import com.edugrowhub.service.messaging.RetryPolicy;
+import com.edugrowhub.service.messaging.WhatsAppDispatcher;
+import com.edugrowhub.service.messaging.WhatsAppSendException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Outcome of a failed retry: rescheduled with backoff, or dead-lettered
+ */
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+class WhatsAppRetryOutcomeTests {
+
+    @MockBean
+    private WhatsAppDispatcher whatsAppDispatcher;
+
+    @Autowired
+    private WhatsAppService whatsAppService;
+
+    @Autowired
+    private RetryPolicy retryPolicy;
+
+    @Autowired
+    private WhatsAppLogRepository whatsAppLogRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User teacher;
+
+    @BeforeEach
+    void createTeacher() {
+        teacher = new User();
+        teacher.setName("Retry Teacher");
+        teacher.setEmail("teacher-" + UUID.randomUUID() + "@example.com");
+        teacher.setPassword("unused");
+        teacher.setRole(Role.TEACHER);
+        teacher = userRepository.save(teacher);
+    }
+
+    // A message claimed by the retry scheduler after attemptsMade attempts
+    private WhatsAppLog claimed(int attemptsMade) {
+        WhatsAppLog log = new WhatsAppLog("+919876543210", "Reminder", "RETRYING", "REMINDER", null, teacher);
+        log.setAttemptCount(attemptsMade);
+        return whatsAppLogRepository.save(log);
+    }
+
+    private String retry(WhatsAppLog claimed, RuntimeException failure) throws Exception {
+        when(whatsAppDispatcher.submit(any(OutgoingMessage.class)))
+                .thenReturn(CompletableFuture.failedFuture(failure));
+        return whatsAppService.retryClaimedMessage(claimed).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void transientFailureIsRescheduled() throws Exception {
+        WhatsAppLog claimed = claimed(1);
+        LocalDateTime before = LocalDateTime.now();
+
+        assertEquals(WhatsAppService.STATUS_FAILED, retry(claimed, new WhatsAppSendException("Timeout", true)));
+
+        WhatsAppLog saved = whatsAppLogRepository.findById(claimed.getId()).orElseThrow();
+        assertEquals(WhatsAppService.STATUS_FAILED, saved.getMessageStatus());
+        assertEquals(2, saved.getAttemptCount());
+        assertNotNull(saved.getNextAttemptAt());
+        assertTrue(saved.getNextAttemptAt().isAfter(before), "next attempt must be in the future");
+    }
+
+    @Test
+    void lastAttemptIsDeadLettered() throws Exception {
+        WhatsAppLog claimed = claimed(retryPolicy.getMaxAttempts() - 1);
+
+        assertEquals(WhatsAppService.STATUS_DEAD, retry(claimed, new WhatsAppSendException("Timeout", true)));
+
+        WhatsAppLog saved = whatsAppLogRepository.findById(claimed.getId()).orElseThrow();
+        assertEquals(WhatsAppService.STATUS_DEAD, saved.getMessageStatus());
+        assertEquals(retryPolicy.getMaxAttempts(), saved.getAttemptCount());
+        assertNull(saved.getNextAttemptAt());
+    }
+
+    @Test
+    void permanentFailureIsDeadLetteredAtOnce() throws Exception {
+        WhatsAppLog claimed = claimed(1);
+
+        assertEquals(WhatsAppService.STATUS_DEAD, retry(claimed, new WhatsAppSendException("Blocked number", false)));
+        assertEquals(WhatsAppService.STATUS_DEAD,
+                whatsAppLogRepository.findById(claimed.getId()).orElseThrow().getMessageStatus());
+    }
+}
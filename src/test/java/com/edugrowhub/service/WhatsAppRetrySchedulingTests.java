@@ -0,0 +1,116 @@
+package com.edugrowhub.service;
+
+import com.edugrowhub.entity.NotificationOutbox;
+import com.edugrowhub.entity.Role;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.entity.WhatsAppLog;
+import com.edugrowhub.repository.NotificationOutboxRepository;
+import com.edugrowhub.repository.UserRepository;
+import com.edugrowhub.repository.WhatsAppLogRepository;
+import com.edugrowhub.service.messaging.MessagePriority;
+import com.edugrowhub.service.messaging.OutgoingMessage;
+import com.edugrowhub.service.messaging.RenderedMessage;
+import com.edugrowhub.service.messaging.WhatsAppDispatcher;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A backlog of retries never holds back fresh outbox sends
+ *
+ * Runs the real schedulers: retries are claimed and handed to a dispatcher
+ * that never completes them, then a fresh outbox row must still go out. The
+ * dispatcher mock is stubbed while the context is built: stubbing it once the
+ * schedulers are polling it can attach an answer to the wrong method.
+ */
+@SpringBootTest(properties = {
+        "whatsapp.retry.poll-interval-ms=100",
+        "notifications.outbox.poll-interval-ms=100"
+})
+@ActiveProfiles({"dev", "test"})
+class WhatsAppRetrySchedulingTests {
+
+    private static final int BACKLOG = 5;
+
+    @TestConfiguration
+    static class DispatcherConfiguration {
+
+        // Retries wait behind every first attempt; here they never complete at all
+        @Bean
+        @Primary
+        WhatsAppDispatcher retriesNeverCompleteDispatcher() {
+            WhatsAppDispatcher dispatcher = mock(WhatsAppDispatcher.class);
+            when(dispatcher.remainingCapacity()).thenReturn(10_000);
+            when(dispatcher.submit(any(OutgoingMessage.class))).thenAnswer(invocation -> {
+                OutgoingMessage message = invocation.getArgument(0);
+                return message.priority() == MessagePriority.RETRY
+                        ? new CompletableFuture<String>()
+                        : CompletableFuture.completedFuture("SM" + UUID.randomUUID());
+            });
+            return dispatcher;
+        }
+    }
+
+    @Autowired
+    private WhatsAppLogRepository whatsAppLogRepository;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void freshSendIsDispatchedWhileRetriesAreStillQueued() throws InterruptedException {
+        User teacher = new User();
+        teacher.setName("Scheduling Teacher");
+        teacher.setEmail("teacher-" + UUID.randomUUID() + "@example.com");
+        teacher.setPassword("unused");
+        teacher.setRole(Role.TEACHER);
+        teacher = userRepository.save(teacher);
+
+        List<Long> backlog = new ArrayList<>();
+        for (int i = 0; i < BACKLOG; i++) {
+            WhatsAppLog failed = new WhatsAppLog("+919876543210", "Reminder " + i, WhatsAppService.STATUS_FAILED,
+                    WhatsAppService.MESSAGE_TYPE_REMINDER, null, teacher);
+            failed.setNextAttemptAt(LocalDateTime.now().minusMinutes(1));
+            backlog.add(whatsAppLogRepository.save(failed).getId());
+        }
+        awaitTrue(() -> whatsAppLogRepository.findAllById(backlog).stream()
+                .allMatch(log -> WhatsAppService.STATUS_RETRYING.equals(log.getMessageStatus())),
+                "retries claimed");
+
+        NotificationOutbox fresh = outboxRepository.save(new NotificationOutbox(WhatsAppService.MESSAGE_TYPE_REMINDER,
+                "+919876543211", RenderedMessage.plain("Fresh reminder"), null, teacher, null));
+        awaitTrue(() -> NotificationOutbox.STATUS_PROCESSED.equals(
+                outboxRepository.findById(fresh.getId()).orElseThrow().getStatus()), "fresh row dispatched");
+
+        assertTrue(whatsAppLogRepository.findAllById(backlog).stream()
+                .allMatch(log -> WhatsAppService.STATUS_RETRYING.equals(log.getMessageStatus())),
+                "retries should still be waiting");
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, String description) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for " + description);
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.edugrowhub.service;
+
+import com.edugrowhub.entity.Role;
+import com.edugrowhub.entity.Student;
+import com.edugrowhub.entity.User;
+import com.edugrowhub.entity.WhatsAppLog;
+import com.edugrowhub.repository.StudentRepository;
+import com.edugrowhub.repository.UserRepository;
+import com.edugrowhub.repository.WhatsAppLogRepository;
+import com.edugrowhub.repository.WhatsAppStatsDailyRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Rebuilding the statistics rollup counts hot and archived messages
+ */
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+class WhatsAppStatsServiceTests {
+
+    // Far enough back that no other test logs or archives messages in it
+    private static final YearMonth MONTH = YearMonth.of(2001, 3);
+
+    @Autowired
+    private WhatsAppStatsService whatsAppStatsService;
+
+    @Autowired
+    private WhatsAppLogArchiveService archiveService;
+
+    @Autowired
+    private WhatsAppStatsDailyRepository statsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private WhatsAppLogRepository whatsAppLogRepository;
+
+    @Test
+    void rebuildCountsLoggedAndArchivedMessages() {
+        String suffix = UUID.randomUUID().toString();
+        User teacher = new User();
+        teacher.setName("Stats Teacher");
+        teacher.setEmail("teacher-" + suffix + "@example.com");
+        teacher.setPassword("unused");
+        teacher.setRole(Role.TEACHER);
+        teacher = userRepository.save(teacher);
+        Student student = studentRepository.save(new Student("Stats Student", "student-" + suffix + "@example.com",
+                "+910000099999", LocalDateTime.now(), teacher));
+
+        String[] statuses = {"SENT", "DELIVERED", "FAILED", "RETRYING", "SENT", "DEAD", "SENT", "FAILED"};
+        List<WhatsAppLog> logs = new ArrayList<>();
+        for (int i = 0; i < statuses.length; i++) {
+            WhatsAppLog log = new WhatsAppLog(student.getPhoneNumber(), "Message " + i, statuses[i],
+                    "SM" + UUID.randomUUID().toString().replace("-", ""), "TEST_RESULT", student, teacher);
+            log.setSentAt(MONTH.atDay(1 + 3 * i).atTime(10, 0));
+            logs.add(log);
+        }
+        whatsAppLogRepository.saveAll(logs);
+
+        // The first half of the month moves to the archive, except the message still being retried
+        assertEquals(3, archiveService.archiveChunk(MONTH.atDay(12).atStartOfDay(), 100));
+
+        // Lose whatever the buffer had counted for the month
+        statsRepository.replaceCounts(MONTH.atDay(1), MONTH.atEndOfMonth(), Map.of());
+
+        assertEquals(statuses.length, whatsAppStatsService.rebuildMonth(MONTH, false));
+
+        Map<String, Long> byStatus = new HashMap<>();
+        for (Object[] row : statsRepository.getMessageStatisticsByTeacher(teacher.getId(),
+                MONTH.atDay(1), MONTH.atEndOfMonth())) {
+            byStatus.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        assertEquals(Map.of("SENT", 3L, "DELIVERED", 1L, "FAILED", 3L, "DEAD", 1L), byStatus);
+
+        // Running it again replaces the month instead of adding to it
+        whatsAppStatsService.rebuildMonth(MONTH, false);
+        assertEquals(8L, statsRepository.getDailyMessageCountsByTeacher(teacher.getId(),
+                MONTH.atDay(1), MONTH.atEndOfMonth()).stream()
+                .mapToLong(row -> ((Number) row[1]).longValue()).sum());
+    }
+}
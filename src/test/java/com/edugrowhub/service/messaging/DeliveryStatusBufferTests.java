@@ -0,0 +1,112 @@
+package com.edugrowhub.service.messaging;
+
+import com.edugrowhub.repository.WhatsAppLogRepository;
+import com.edugrowhub.repository.WhatsAppLogRepositoryCustom.StatusChange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Status callbacks for messages whose log entry has no SID yet
+ */
+class DeliveryStatusBufferTests {
+
+    private static final String SID = "SM0001";
+
+    private WhatsAppLogRepository whatsAppLogRepository;
+    private MessageStatsBuffer messageStatsBuffer;
+    private SimpleMeterRegistry meterRegistry;
+    private DeliveryStatusBuffer buffer;
+
+    @BeforeEach
+    void createBuffer() {
+        whatsAppLogRepository = mock(WhatsAppLogRepository.class);
+        messageStatsBuffer = mock(MessageStatsBuffer.class);
+        meterRegistry = new SimpleMeterRegistry();
+        buffer = new DeliveryStatusBuffer(whatsAppLogRepository, messageStatsBuffer, meterRegistry);
+        ReflectionTestUtils.setField(buffer, "maxPending", 100);
+        ReflectionTestUtils.setField(buffer, "batchSize", 10);
+        ReflectionTestUtils.setField(buffer, "unmatchedGrace", Duration.ofMinutes(1));
+    }
+
+    @Test
+    void unmatchedStatusIsRetriedUntilTheLogEntryExists() {
+        when(whatsAppLogRepository.applyDeliveryStatus(eq("DELIVERED"), anyCollection(), anyList()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(new StatusChange(1L, LocalDateTime.now(), "CUSTOM", "SENT")));
+        when(whatsAppLogRepository.findLoggedMessageSids(anyCollection())).thenReturn(List.of());
+
+        buffer.offer(SID, DeliveryStatus.DELIVERED, null);
+        buffer.flush();
+        assertEquals(1, buffer.size());
+        assertEquals(1.0, count("DELIVERED", "deferred"));
+
+        buffer.flush();
+        assertEquals(0, buffer.size());
+        assertEquals(1.0, count("DELIVERED", "applied"));
+        verify(messageStatsBuffer).recordTransition(eq(1L), any(), eq("CUSTOM"), eq("SENT"), eq("DELIVERED"));
+    }
+
+    @Test
+    void laterCallbackKeepsTheFirstMissAndExpires() {
+        when(whatsAppLogRepository.applyDeliveryStatus(any(), anyCollection(), anyList())).thenReturn(List.of());
+        when(whatsAppLogRepository.findLoggedMessageSids(anyCollection())).thenReturn(List.of());
+
+        buffer.offer(SID, DeliveryStatus.DELIVERED, null);
+        buffer.flush();
+        buffer.offer(SID, DeliveryStatus.READ, null);
+        ReflectionTestUtils.setField(buffer, "unmatchedGrace", Duration.ZERO);
+        buffer.flush();
+
+        assertEquals(0, buffer.size());
+        assertEquals(1.0, count("READ", "unmatched"));
+        verify(whatsAppLogRepository, times(1)).applyDeliveryStatus(eq("READ"), anyCollection(), anyList());
+    }
+
+    @Test
+    void loggedMessageAlreadyAtTheStatusIsIgnored() {
+        when(whatsAppLogRepository.applyDeliveryStatus(any(), anyCollection(), anyList())).thenReturn(List.of());
+        when(whatsAppLogRepository.findLoggedMessageSids(anyCollection())).thenReturn(List.of(SID));
+
+        buffer.offer(SID, DeliveryStatus.READ, null);
+        buffer.flush();
+
+        assertEquals(0, buffer.size());
+        assertEquals(1.0, count("READ", "ignored"));
+    }
+
+    @Test
+    void flushesOnItsOwnThread() throws InterruptedException {
+        when(whatsAppLogRepository.applyDeliveryStatus(any(), anyCollection(), anyList()))
+                .thenReturn(List.of(new StatusChange(1L, LocalDateTime.now(), "CUSTOM", "SENT")));
+        ReflectionTestUtils.setField(buffer, "flushIntervalMs", 20L);
+        buffer.start();
+        try {
+            buffer.offer(SID, DeliveryStatus.DELIVERED, null);
+            verify(whatsAppLogRepository, timeout(2000)).applyDeliveryStatus(eq("DELIVERED"), anyCollection(), anyList());
+        } finally {
+            buffer.stop();
+        }
+        assertEquals(0, buffer.size());
+    }
+
+    private double count(String status, String outcome) {
+        return meterRegistry.counter("whatsapp.status.updates", "status", status, "outcome", outcome).count();
+    }
+}
@@ -0,0 +1,93 @@
+package com.edugrowhub.service.messaging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Template slot parsing, formatting and stored-parameter round trips
+ */
+class MessageTemplateTests {
+
+    @Test
+    void literalOnly() {
+        MessageTemplate template = MessageTemplate.compile("literal.v1", "No slots here");
+        assertEquals("No slots here", template.render(List.of()));
+    }
+
+    @Test
+    void slotsAtEdgesAdjacentAndReused() {
+        MessageTemplate template = MessageTemplate.compile("edges.v1", "{a}{b} and {a}!{b}", "a", "b");
+        assertEquals("xy and x!y", template.render(List.of("x", "y")));
+    }
+
+    @Test
+    void parametersArePositionalInDeclaredOrder() {
+        MessageTemplate template = MessageTemplate.compile("order.v1", "{second} before {first}", "first", "second");
+        assertEquals("2 before 1", template.render(List.of(1, 2)));
+    }
+
+    @Test
+    void oneDecimalMatchesStringFormat() {
+        MessageTemplate template = MessageTemplate.compile("decimal.v1", "{value:1f}", "value");
+        for (double value : new double[]{0, 7, 66.66666, 0.05, 0.25, 0.35, 2.45, 99.95, 100, 12.349, -3.75}) {
+            assertEquals(String.format(Locale.ROOT, "%.1f", value), template.render(List.of(value)),
+                    "formatting " + value);
+        }
+        // Stored parameters come back from JSON as integers or strings
+        assertEquals("80.0", template.render(List.of(80)));
+        assertEquals("72.5", template.render(List.of("72.45")));
+    }
+
+    @Test
+    void repeatedSlotRendersEachItem() {
+        MessageTemplate item = MessageTemplate.compile("item.v1", "- {name}: {score:1f}\n", "name", "score");
+        MessageTemplate digest = MessageTemplate.compile("digest.v1", "Results for {student}\n{items*}Done",
+                item, "student", "items");
+
+        assertEquals("Results for Asha\n- Maths: 80.0\n- Physics: 72.5\nDone",
+                digest.render(List.of("Asha", List.of(List.of("Maths", 80), List.of("Physics", 72.45)))));
+        assertEquals("Results for Asha\nDone", digest.render(List.of("Asha", List.of())));
+    }
+
+    @Test
+    void malformedPatternsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> MessageTemplate.compile("unclosed.v1", "Hi {name", "name"));
+        assertThrows(IllegalArgumentException.class, () -> MessageTemplate.compile("undeclared.v1", "Hi {nmae}", "name"));
+        assertThrows(IllegalArgumentException.class, () -> MessageTemplate.compile("no_item.v1", "{rows*}", "rows"));
+    }
+
+    @Test
+    void wrongParameterCountIsRejected() {
+        MessageTemplate template = MessageTemplate.compile("count.v1", "{a} {b}", "a", "b");
+        assertThrows(IllegalArgumentException.class, () -> template.render(List.of("only one")));
+        assertThrows(IllegalArgumentException.class, () -> template.render(List.of("a", "b", "c")));
+    }
+
+    @Test
+    void storedParametersRenderTheSameText() {
+        RenderedMessage sent = MessageTemplates.TEST_RESULT.apply("Asha", "Maths", 45.5, 50.0, 91.0, "A+", "PASSED");
+        RenderedMessage restored = MessageTemplates.restore(sent.templateId(), sent.parametersJson(), null);
+
+        assertEquals(sent.text(), restored.text());
+        assertEquals("test_result.v1", restored.templateId());
+        assertEquals(String.format(Locale.ROOT, "📊 Score: %.1f/%.1f", 45.5, 50.0),
+                sent.text().lines().filter(line -> line.startsWith("📊")).findFirst().orElseThrow());
+    }
+
+    @Test
+    void freeTextIsRestoredAsStored() {
+        RenderedMessage restored = MessageTemplates.restore(null, null, "Free text");
+        assertEquals("Free text", restored.text());
+        assertEquals(null, restored.parametersJson());
+    }
+
+    @Test
+    void unknownTemplateIdIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> MessageTemplates.get("missing.v1"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.edugrowhub.service.messaging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Dedup window lookups, cold start and overflow fallback
+ */
+class RecentMessageWindowTests {
+
+    private static final Duration WINDOW = Duration.ofMillis(400);
+    private static final int BUCKETS = 2;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RecentMessageWindow window(int maxEntries) {
+        return new RecentMessageWindow(WINDOW, BUCKETS, maxEntries, meterRegistry);
+    }
+
+    // Wait for the start of a bucket, so the next few records land in the same one
+    private static void awaitNextBucket() throws InterruptedException {
+        long bucketNanos = WINDOW.toNanos() / BUCKETS;
+        long epoch = System.nanoTime() / bucketNanos;
+        while (System.nanoTime() / bucketNanos == epoch) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+    }
+
+    @Test
+    void secondRecordIsADuplicateUntilForgotten() {
+        RecentMessageWindow window = window(100);
+        long fingerprint = RecentMessageWindow.fingerprint("+919800000000", "TEST_RESULT", "Maths: 80/100");
+
+        assertTrue(window.recordIfAbsent(fingerprint));
+        assertFalse(window.recordIfAbsent(fingerprint));
+
+        window.forget(fingerprint);
+        assertTrue(window.recordIfAbsent(fingerprint));
+    }
+
+    @Test
+    void entriesExpireAfterTheWindow() throws InterruptedException {
+        RecentMessageWindow window = window(100);
+        long fingerprint = RecentMessageWindow.fingerprint("+919800000000", "REMINDER", "Exam tomorrow");
+        assertTrue(window.recordIfAbsent(fingerprint));
+
+        TimeUnit.MILLISECONDS.sleep(WINDOW.toMillis() + 50);
+        assertTrue(window.recordIfAbsent(fingerprint));
+    }
+
+    @Test
+    void notAuthoritativeDuringColdStart() throws InterruptedException {
+        RecentMessageWindow window = window(100);
+        assertFalse(window.isAuthoritative());
+
+        TimeUnit.MILLISECONDS.sleep(WINDOW.toMillis() + 10);
+        assertTrue(window.isAuthoritative());
+    }
+
+    @Test
+    void fullBucketFallsBackUntilItExpires() throws InterruptedException {
+        // Two fingerprints per bucket
+        RecentMessageWindow window = window(4);
+        TimeUnit.MILLISECONDS.sleep(WINDOW.toMillis() + 10);
+        awaitNextBucket();
+
+        assertTrue(window.recordIfAbsent(1L));
+        assertTrue(window.recordIfAbsent(2L));
+        assertTrue(window.isAuthoritative());
+
+        // Not recorded: reported absent now and again, and the window stops vouching for misses
+        assertTrue(window.recordIfAbsent(3L));
+        assertTrue(window.recordIfAbsent(3L));
+        assertEquals(2, meterRegistry.counter("whatsapp.dedup.overflow").count());
+        assertFalse(window.isAuthoritative());
+        // Fingerprints recorded before the overflow are still duplicates
+        assertFalse(window.recordIfAbsent(1L));
+
+        TimeUnit.MILLISECONDS.sleep(WINDOW.toMillis() + 10);
+        assertTrue(window.isAuthoritative());
+    }
+
+    @Test
+    void fingerprintSeparatesFields() {
+        long fingerprint = RecentMessageWindow.fingerprint("+919800000000", "TEST_RESULT", "Maths");
+        assertEquals(fingerprint, RecentMessageWindow.fingerprint("+919800000000", "TEST_RESULT", "Maths"));
+        assertNotEquals(fingerprint, RecentMessageWindow.fingerprint("+919800000001", "TEST_RESULT", "Maths"));
+        assertNotEquals(fingerprint, RecentMessageWindow.fingerprint("+919800000000", "REMINDER", "Maths"));
+        assertNotEquals(RecentMessageWindow.fingerprint("+91", "TEST_RESULTM", "aths"), fingerprint);
+    }
+}
@@ -0,0 +1,70 @@
+package com.edugrowhub.service.messaging;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Backoff schedule, jitter bounds and dead-lettering
+ */
+class RetryPolicyTests {
+
+    private static final LocalDateTime FAILED_AT = LocalDateTime.of(2024, 6, 1, 12, 0);
+    private static final int SAMPLES = 2000;
+
+    private RetryPolicy retryPolicy;
+
+    @BeforeEach
+    void createPolicy() {
+        retryPolicy = new RetryPolicy();
+        ReflectionTestUtils.setField(retryPolicy, "maxAttempts", 5);
+        ReflectionTestUtils.setField(retryPolicy, "initialBackoff", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(retryPolicy, "maxBackoff", Duration.ofMinutes(3));
+        ReflectionTestUtils.setField(retryPolicy, "multiplier", 2.0);
+    }
+
+    // Every sampled delay lies in [delay / 2, delay]
+    private void assertDelayBetween(int attemptsMade, Duration min, Duration max) {
+        Duration shortest = null;
+        Duration longest = null;
+        for (int i = 0; i < SAMPLES; i++) {
+            LocalDateTime next = retryPolicy.nextAttemptAt(attemptsMade, FAILED_AT);
+            assertNotNull(next, "attempt " + attemptsMade + " must be retried");
+            Duration delay = Duration.between(FAILED_AT, next);
+            assertTrue(delay.compareTo(min) >= 0 && delay.compareTo(max) <= 0,
+                    "attempt " + attemptsMade + " delay " + delay + " outside [" + min + ", " + max + "]");
+            shortest = shortest == null || delay.compareTo(shortest) < 0 ? delay : shortest;
+            longest = longest == null || delay.compareTo(longest) > 0 ? delay : longest;
+        }
+        // Jittered, not fixed: the samples spread over most of the range
+        Duration range = max.minus(min);
+        assertTrue(longest.minus(shortest).compareTo(range.multipliedBy(3).dividedBy(4)) >= 0,
+                "attempt " + attemptsMade + " delays only spread from " + shortest + " to " + longest);
+    }
+
+    @Test
+    void delayDoublesWithEqualJitter() {
+        assertDelayBetween(1, Duration.ofSeconds(15), Duration.ofSeconds(30));
+        assertDelayBetween(2, Duration.ofSeconds(30), Duration.ofSeconds(60));
+        assertDelayBetween(3, Duration.ofSeconds(60), Duration.ofSeconds(120));
+    }
+
+    @Test
+    void delayIsCappedAtMaxBackoff() {
+        assertDelayBetween(4, Duration.ofSeconds(90), Duration.ofMinutes(3));
+    }
+
+    @Test
+    void deadLetteredAfterMaxAttempts() {
+        assertNotNull(retryPolicy.nextAttemptAt(4, FAILED_AT));
+        assertNull(retryPolicy.nextAttemptAt(5, FAILED_AT));
+        assertNull(retryPolicy.nextAttemptAt(6, FAILED_AT));
+    }
+}
@@ -0,0 +1,53 @@
+package com.edugrowhub.service.messaging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Token bucket burst, wait and refill
+ */
+class TokenBucketTests {
+
+    @Test
+    void burstThenWait() {
+        TokenBucket bucket = new TokenBucket(2, 3);
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+
+        long waitNanos = bucket.tryAcquire();
+        assertTrue(waitNanos > 0, "empty bucket must ask the caller to wait");
+        assertTrue(waitNanos <= TimeUnit.MILLISECONDS.toNanos(500), "one token takes at most 1/rate: " + waitNanos);
+    }
+
+    @Test
+    void refillsAtTheRate() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(20, 1);
+        assertEquals(0, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0);
+
+        TimeUnit.MILLISECONDS.sleep(60);
+        assertEquals(0, bucket.tryAcquire());
+    }
+
+    @Test
+    void refillStopsAtCapacity() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(100, 2);
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0, "idle time must not build up more than capacity tokens");
+    }
+
+    @Test
+    void rejectsNonPositiveSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0));
+    }
+}
@@ -0,0 +1,148 @@
+package com.edugrowhub.service.messaging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Dispatch order and per-sender rate limiting
+ */
+class WhatsAppDispatcherTests {
+
+    private static final String SENDER = "+10000000001";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private WhatsAppDispatcher dispatcher;
+
+    /**
+     * Transport that records the order of sends; the first send stays open until released
+     */
+    private static class RecordingTransport implements WhatsAppTransport {
+
+        final List<String> sent = Collections.synchronizedList(new ArrayList<>());
+        final CompletableFuture<String> first = new CompletableFuture<>();
+        final CountDownLatch firstStarted = new CountDownLatch(1);
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public String send(OutgoingMessage message) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<String> sendAsync(OutgoingMessage message) {
+            sent.add(message.body());
+            if (firstStarted.getCount() > 0) {
+                firstStarted.countDown();
+                return first;
+            }
+            return CompletableFuture.completedFuture("SM" + message.body());
+        }
+    }
+
+    private WhatsAppDispatcher start(WhatsAppTransport transport, int concurrency, double perSecond, long burst) {
+        dispatcher = new WhatsAppDispatcher(transport, meterRegistry);
+        ReflectionTestUtils.setField(dispatcher, "mode", "pooled");
+        ReflectionTestUtils.setField(dispatcher, "concurrency", concurrency);
+        ReflectionTestUtils.setField(dispatcher, "queueCapacity", 3);
+        ReflectionTestUtils.setField(dispatcher, "permitsPerSecond", perSecond);
+        ReflectionTestUtils.setField(dispatcher, "burst", burst);
+        dispatcher.start();
+        return dispatcher;
+    }
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    private static OutgoingMessage message(String body, MessagePriority priority) {
+        return message(body, priority, SENDER);
+    }
+
+    private static OutgoingMessage message(String body, MessagePriority priority, String from) {
+        return new OutgoingMessage("+919800000000", from, body, priority);
+    }
+
+    @Test
+    void waitingMessagesGoOutByPriorityThenArrival() throws Exception {
+        RecordingTransport transport = new RecordingTransport();
+        start(transport, 1, 1000, 1000);
+        ReflectionTestUtils.setField(dispatcher, "queueCapacity", 100);
+
+        CompletableFuture<String> blocker = dispatcher.submit(message("blocker", MessagePriority.ANNOUNCEMENT));
+        assertTrue(transport.firstStarted.await(5, TimeUnit.SECONDS));
+
+        // The only send slot is taken, so these all wait in the queue
+        List<CompletableFuture<String>> waiting = List.of(
+                dispatcher.submit(message("retry", MessagePriority.RETRY)),
+                dispatcher.submit(message("announcement", MessagePriority.ANNOUNCEMENT)),
+                dispatcher.submit(message("reminder-1", MessagePriority.REMINDER)),
+                dispatcher.submit(message("result", MessagePriority.TEST_RESULT)),
+                dispatcher.submit(message("reminder-2", MessagePriority.REMINDER)),
+                dispatcher.submit(message("enrollment", MessagePriority.ENROLLMENT)));
+
+        transport.first.complete("SMblocker");
+        assertEquals("SMblocker", blocker.get(5, TimeUnit.SECONDS));
+        for (CompletableFuture<String> future : waiting) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(List.of("blocker", "result", "enrollment", "reminder-1", "reminder-2", "announcement", "retry"),
+                transport.sent);
+    }
+
+    @Test
+    void eachSenderHasItsOwnBucket() throws Exception {
+        RecordingTransport transport = new RecordingTransport();
+        transport.first.complete("SMfirst");
+        start(transport, 4, 1, 1);
+
+        dispatcher.submit(message("a-1", MessagePriority.ANNOUNCEMENT)).get(5, TimeUnit.SECONDS);
+        dispatcher.submit(message("b-1", MessagePriority.ANNOUNCEMENT, "+10000000002")).get(5, TimeUnit.SECONDS);
+        assertEquals(0, meterRegistry.counter("whatsapp.dispatcher.throttled").count(),
+                "a second sender must not wait for the first sender's tokens");
+
+        dispatcher.submit(message("a-2", MessagePriority.ANNOUNCEMENT)).get(5, TimeUnit.SECONDS);
+        assertEquals(1, meterRegistry.counter("whatsapp.dispatcher.throttled").count());
+    }
+
+    @Test
+    void fullQueueRejects() throws Exception {
+        RecordingTransport transport = new RecordingTransport();
+        start(transport, 1, 1000, 1000);
+        dispatcher.submit(message("blocker", MessagePriority.ANNOUNCEMENT));
+        assertTrue(transport.firstStarted.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 3; i++) {
+            dispatcher.submit(message("queued-" + i, MessagePriority.ANNOUNCEMENT));
+        }
+        ExecutionException rejected = assertThrows(ExecutionException.class,
+                () -> dispatcher.submit(message("overflow", MessagePriority.TEST_RESULT)).get(1, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, rejected.getCause());
+        assertEquals(0, dispatcher.remainingCapacity());
+
+        transport.first.complete("SMblocker");
+    }
+}
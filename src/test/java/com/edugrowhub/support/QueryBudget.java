@@ -0,0 +1,42 @@
+package com.edugrowhub.support;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * SQL statement budget for tests
+ *
+ * Counts the statements executed through RecordingDataSource, which the
+ * "test" profile installs, including those of JdbcTemplate. Only statements
+ * executed on the calling thread while assertWithin runs are counted, so
+ * background jobs of the application do not disturb the count. MockMvc
+ * requests run on the calling thread.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    /**
+     * Run an action and fail if it executed more than budget statements
+     *
+     * @param budget Maximum number of SQL statements
+     * @param action Action to measure, e.g. a MockMvc request
+     * @return The action's result
+     */
+    public static <T> T assertWithin(int budget, Callable<T> action) throws Exception {
+        T result;
+        List<String> statements;
+        try (SqlRecorder.Scope scope = SqlRecorder.open(null)) {
+            result = action.call();
+            statements = scope.statements();
+        }
+        if (statements.size() > budget) {
+            fail("Expected at most " + budget + " SQL statements, but " + statements.size() + " ran:\n"
+                    + String.join("\n", statements));
+        }
+        return result;
+    }
+}
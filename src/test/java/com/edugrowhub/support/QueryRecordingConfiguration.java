@@ -0,0 +1,71 @@
+package com.edugrowhub.support;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+/**
+ * SQL recording for the "test" profile
+ *
+ * Wraps the DataSource in RecordingDataSource and counts the statements of
+ * each request, keyed by method and mapped path pattern, so that requests for
+ * different IDs add up. Statements of async dispatches (streamed exports) run
+ * on other threads and are reported as background. The report is written
+ * when the test JVM exits.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("test")
+public class QueryRecordingConfiguration {
+
+    static {
+        QueryReport.writeOnExit();
+    }
+
+    @Bean
+    static BeanPostProcessor recordingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof RecordingDataSource)
+                        ? new RecordingDataSource(dataSource)
+                        : bean;
+            }
+        };
+    }
+
+    @Bean
+    FilterRegistrationBean<OncePerRequestFilter> requestStatementCountFilter() {
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(
+                new OncePerRequestFilter() {
+                    @Override
+                    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                                    FilterChain filterChain) throws ServletException, IOException {
+                        try (SqlRecorder.Scope scope = SqlRecorder.open(null)) {
+                            try {
+                                filterChain.doFilter(request, response);
+                            } finally {
+                                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                                String key = request.getMethod() + " "
+                                        + (pattern != null ? pattern : request.getRequestURI());
+                                scope.origin(key);
+                                SqlRecorder.recordRequest(key, scope.statements().size());
+                            }
+                        }
+                    }
+                });
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,204 @@
+package com.edugrowhub.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Query report of a test run
+ *
+ * Writes query-report.md for reading and query-report.json for comparing runs
+ * to target/query-report (query.report.dir). Both list the statements of each
+ * request, every full scan (hot queries first), slow statements, and every
+ * query fingerprint with its timings, origins and plan.
+ *
+ * Hot queries are the repository methods listed in hot-queries.txt, by the
+ * origin RepositoryQueryPlanTests gives them ("StudentRepository.findByEmail").
+ * They run on every request of a page and must use an index.
+ */
+public final class QueryReport {
+
+    private static final Path DIRECTORY = Path.of(System.getProperty("query.report.dir", "target/query-report"));
+    private static final AtomicBoolean HOOKED = new AtomicBoolean();
+
+    private QueryReport() {
+    }
+
+    /**
+     * Write the report when the JVM exits; repeated calls register once
+     */
+    public static void writeOnExit() {
+        if (HOOKED.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    write(DIRECTORY);
+                } catch (IOException e) {
+                    System.err.println("Failed to write query report: " + e.getMessage());
+                }
+            }, "query-report"));
+        }
+    }
+
+    /**
+     * Repository methods whose plans must not contain a full scan
+     */
+    public static Set<String> hotQueries() {
+        try (InputStream in = QueryReport.class.getResourceAsStream("/hot-queries.txt")) {
+            if (in == null) {
+                return Set.of();
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines()
+                    .map(String::strip)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .collect(Collectors.toCollection(TreeSet::new));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Whether a query was run by a hot repository method
+     */
+    public static boolean isHot(SqlRecorder.QueryStats query, Set<String> hotQueries) {
+        return query.origins().stream().anyMatch(hotQueries::contains);
+    }
+
+    public static void write(Path directory) throws IOException {
+        Set<String> hotQueries = hotQueries();
+        List<SqlRecorder.QueryStats> queries = new ArrayList<>(SqlRecorder.queries());
+        queries.sort(Comparator.comparingDouble(SqlRecorder.QueryStats::totalMillis).reversed());
+        List<SqlRecorder.RequestStats> requests = new ArrayList<>(SqlRecorder.requests());
+        requests.sort(Comparator.comparingLong(SqlRecorder.RequestStats::maxStatements).reversed()
+                .thenComparing(SqlRecorder.RequestStats::request));
+        List<SqlRecorder.QueryStats> fullScans = queries.stream()
+                .filter(SqlRecorder.QueryStats::fullScan)
+                .sorted(Comparator.comparing((SqlRecorder.QueryStats query) -> !isHot(query, hotQueries))
+                        .thenComparing(SqlRecorder.QueryStats::fingerprint))
+                .toList();
+        List<SqlRecorder.QueryStats> slow = queries.stream().filter(query -> query.slowCalls() > 0).toList();
+
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve("query-report.md"),
+                markdown(queries, requests, fullScans, slow, hotQueries), StandardCharsets.UTF_8);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("query-report.json").toFile(), json(queries, requests, hotQueries));
+    }
+
+    private static String markdown(List<SqlRecorder.QueryStats> queries, List<SqlRecorder.RequestStats> requests,
+                                   List<SqlRecorder.QueryStats> fullScans, List<SqlRecorder.QueryStats> slow,
+                                   Set<String> hotQueries) {
+        StringBuilder out = new StringBuilder();
+        out.append("# Query report\n\n");
+        out.append("Generated ").append(LocalDateTime.now().withNano(0)).append("\n\n");
+        out.append("- Statements: ").append(queries.stream().mapToLong(SqlRecorder.QueryStats::calls).sum())
+                .append(" in ").append(queries.size()).append(" fingerprints\n");
+        out.append("- Requests: ").append(requests.stream().mapToLong(SqlRecorder.RequestStats::calls).sum())
+                .append(" to ").append(requests.size()).append(" mappings\n");
+        out.append("- Full scans: ").append(fullScans.size()).append(", of hot queries: ")
+                .append(fullScans.stream().filter(query -> isHot(query, hotQueries)).count()).append("\n");
+        out.append("- Slow (>= ").append(SqlRecorder.SLOW_MILLIS).append(" ms): ").append(slow.size()).append("\n\n");
+
+        out.append("## Statements per request\n\n");
+        out.append("| Request | Calls | Statements | Max per call |\n|---|---:|---:|---:|\n");
+        for (SqlRecorder.RequestStats request : requests) {
+            out.append("| `").append(request.request()).append("` | ").append(request.calls())
+                    .append(" | ").append(request.statements()).append(" | ").append(request.maxStatements())
+                    .append(" |\n");
+        }
+
+        out.append("\n## Full scans\n\n");
+        if (fullScans.isEmpty()) {
+            out.append("None.\n");
+        }
+        for (SqlRecorder.QueryStats query : fullScans) {
+            out.append("- ").append(isHot(query, hotQueries) ? "**HOT** " : "")
+                    .append(String.join(", ", query.origins())).append("\n\n")
+                    .append("  ```sql\n  ").append(query.plan().replace("\n", "\n  ")).append("\n  ```\n");
+        }
+
+        out.append("\n## Slow statements\n\n");
+        if (slow.isEmpty()) {
+            out.append("None.\n");
+        }
+        for (SqlRecorder.QueryStats query : slow) {
+            out.append("- ").append(query.slowCalls()).append(" of ").append(query.calls())
+                    .append(" calls, max ").append(millis(query.maxMillis())).append(" ms: `")
+                    .append(query.fingerprint()).append("`\n");
+        }
+
+        out.append("\n## All queries\n\n");
+        out.append("| Calls | Statements | Total ms | Max ms | Scan | Origins | SQL |\n")
+                .append("|---:|---:|---:|---:|---|---|---|\n");
+        for (SqlRecorder.QueryStats query : queries) {
+            out.append("| ").append(query.calls()).append(" | ").append(query.rows())
+                    .append(" | ").append(millis(query.totalMillis())).append(" | ").append(millis(query.maxMillis()))
+                    .append(" | ").append(query.fullScan() ? "yes" : "")
+                    .append(" | ").append(cell(String.join(", ", query.origins())))
+                    .append(" | `").append(cell(query.fingerprint())).append("` |\n");
+        }
+        return out.toString();
+    }
+
+    private static Map<String, Object> json(List<SqlRecorder.QueryStats> queries,
+                                            List<SqlRecorder.RequestStats> requests, Set<String> hotQueries) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", LocalDateTime.now().withNano(0).toString());
+        report.put("slowMillis", SqlRecorder.SLOW_MILLIS);
+        report.put("hotQueries", hotQueries);
+
+        List<Map<String, Object>> requestList = new ArrayList<>();
+        for (SqlRecorder.RequestStats request : requests) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("request", request.request());
+            entry.put("calls", request.calls());
+            entry.put("statements", request.statements());
+            entry.put("maxStatements", request.maxStatements());
+            requestList.add(entry);
+        }
+        report.put("requests", requestList);
+
+        List<Map<String, Object>> queryList = new ArrayList<>();
+        for (SqlRecorder.QueryStats query : queries) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("fingerprint", query.fingerprint());
+            entry.put("sql", query.sql());
+            entry.put("calls", query.calls());
+            entry.put("statements", query.rows());
+            entry.put("totalMillis", query.totalMillis());
+            entry.put("maxMillis", query.maxMillis());
+            entry.put("slowCalls", query.slowCalls());
+            entry.put("fullScan", query.fullScan());
+            entry.put("hot", isHot(query, hotQueries));
+            entry.put("origins", query.origins());
+            entry.put("plan", query.plan());
+            queryList.add(entry);
+        }
+        report.put("queries", queryList);
+        return report;
+    }
+
+    private static String millis(double millis) {
+        return String.format(Locale.ROOT, "%.1f", millis);
+    }
+
+    private static String cell(String text) {
+        return text.replace("|", "\\|");
+    }
+}
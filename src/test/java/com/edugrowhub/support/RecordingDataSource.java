@@ -0,0 +1,183 @@
+package com.edugrowhub.support;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * DataSource that reports every executed statement to SqlRecorder
+ *
+ * Connections and statements are wrapped in JDK proxies, so Hibernate,
+ * JdbcTemplate and the connection pool behave as without the wrapper. The
+ * time recorded is the execute call; rows fetched from a ResultSet afterwards
+ * are not timed.
+ *
+ * On H2 the first execution of each query, update and delete is also run as
+ * EXPLAIN with the same parameter values, and its plan kept with the
+ * statement. In MySQL mode H2 plans index use the way MySQL would for these
+ * queries, which is close enough to catch a missing index.
+ */
+public class RecordingDataSource extends DelegatingDataSource {
+
+    private volatile Boolean explainable;
+
+    public RecordingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) throws SQLException {
+        if (explainable == null) {
+            explainable = connection.getMetaData().getDatabaseProductName().contains("H2");
+        }
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    Object result = invoke(connection, method, args);
+                    return switch (method.getName()) {
+                        case "prepareStatement" -> statement(PreparedStatement.class, (Statement) result,
+                                connection, (String) args[0]);
+                        case "prepareCall" -> statement(CallableStatement.class, (Statement) result,
+                                connection, (String) args[0]);
+                        case "createStatement" -> statement(Statement.class, (Statement) result, connection, null);
+                        default -> result;
+                    };
+                });
+    }
+
+    private Statement statement(Class<? extends Statement> type, Statement statement, Connection connection,
+                                String sql) {
+        return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                new StatementHandler(statement, connection, sql));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parameter setter call, replayed on the EXPLAIN statement
+     */
+    private record Binding(Method method, Object[] args) {
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final Connection connection;
+        private final String preparedSql;
+        private final Map<Integer, Binding> bindings = new TreeMap<>();
+        private final List<String> batch = new ArrayList<>();
+
+        private StatementHandler(Statement statement, Connection connection, String preparedSql) {
+            this.statement = statement;
+            this.connection = connection;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            } else if (name.startsWith("set") && args != null && args.length >= 2 && method.getParameterTypes()[0] == int.class
+                    && preparedSql != null) {
+                bindings.put((Integer) args[0], new Binding(method, args.clone()));
+            } else if (name.equals("clearParameters")) {
+                bindings.clear();
+            } else if (name.equals("addBatch")) {
+                batch.add(args != null ? (String) args[0] : preparedSql);
+            } else if (name.equals("clearBatch")) {
+                batch.clear();
+            } else if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                return executeBatch(method, args);
+            } else if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            return RecordingDataSource.invoke(statement, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            Map<Integer, Binding> values = new TreeMap<>(bindings);
+            long start = System.nanoTime();
+            try {
+                return RecordingDataSource.invoke(statement, method, args);
+            } finally {
+                long nanos = System.nanoTime() - start;
+                if (sql != null) {
+                    SqlRecorder.record(sql, nanos, 1, explainable(sql) ? () -> explain(sql, values) : null);
+                }
+            }
+        }
+
+        private Object executeBatch(Method method, Object[] args) throws Throwable {
+            List<String> statements = new ArrayList<>(batch);
+            batch.clear();
+            long start = System.nanoTime();
+            try {
+                return RecordingDataSource.invoke(statement, method, args);
+            } finally {
+                long nanos = System.nanoTime() - start;
+                if (!statements.isEmpty()) {
+                    // A prepared batch is one statement run with several parameter sets
+                    String sql = preparedSql != null ? preparedSql : String.join(";\n", statements);
+                    SqlRecorder.record(sql, nanos, statements.size(), null);
+                }
+            }
+        }
+
+        private String explain(String sql, Map<Integer, Binding> values) {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (Binding binding : values.values()) {
+                    binding.method().invoke(explain, binding.args());
+                }
+                try (ResultSet plan = explain.executeQuery()) {
+                    return plan.next() ? plan.getString(1) : null;
+                }
+            } catch (Exception e) {
+                Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+                return "EXPLAIN failed: " + cause.getMessage();
+            }
+        }
+    }
+
+    private boolean explainable(String sql) {
+        if (!Boolean.TRUE.equals(explainable)) {
+            return false;
+        }
+        String head = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return head.startsWith("select") || head.startsWith("with") || head.startsWith("update")
+                || head.startsWith("delete");
+    }
+}
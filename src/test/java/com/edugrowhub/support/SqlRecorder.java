@@ -0,0 +1,279 @@
+package com.edugrowhub.support;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Statements executed through RecordingDataSource during a test run
+ *
+ * Statements are grouped by fingerprint: the SQL with literals replaced by ?
+ * and IN lists collapsed, so one repository method maps to one entry however
+ * it is called. Each entry keeps call counts, timings, the EXPLAIN plan of its
+ * first execution and the origins that ran it.
+ *
+ * An origin is the label of the innermost open scope on the executing thread:
+ * a request ("GET /api/student/profile", opened by QueryRecordingConfiguration)
+ * or a label opened by a test. Statements run outside any scope, e.g. by
+ * scheduled jobs, are attributed to "background"; statements in scopes that
+ * are all unlabelled to "unlabelled".
+ */
+public final class SqlRecorder {
+
+    public static final String BACKGROUND = "background";
+    public static final String UNLABELLED = "unlabelled";
+
+    /**
+     * Statements at or above this duration are reported as slow (query.report.slow-ms)
+     */
+    public static final long SLOW_MILLIS = Long.getLong("query.report.slow-ms", 100);
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Map<String, QueryStats> QUERIES = new ConcurrentHashMap<>();
+    private static final Map<String, RequestStats> REQUESTS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Deque<Scope>> SCOPES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private SqlRecorder() {
+    }
+
+    /**
+     * Statistics of one query fingerprint
+     */
+    public static final class QueryStats {
+
+        private final String fingerprint;
+        private final String sql;
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong rows = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLong slowCalls = new AtomicLong();
+        private final Set<String> origins = new ConcurrentSkipListSet<>();
+        private volatile String plan;
+
+        private QueryStats(String fingerprint, String sql) {
+            this.fingerprint = fingerprint;
+            this.sql = sql;
+        }
+
+        public String fingerprint() {
+            return fingerprint;
+        }
+
+        /**
+         * SQL of the first execution, with placeholders
+         */
+        public String sql() {
+            return sql;
+        }
+
+        public long calls() {
+            return calls.get();
+        }
+
+        /**
+         * Statements executed, counting each batched statement
+         */
+        public long rows() {
+            return rows.get();
+        }
+
+        public double totalMillis() {
+            return totalNanos.get() / 1_000_000.0;
+        }
+
+        public double maxMillis() {
+            return maxNanos.get() / 1_000_000.0;
+        }
+
+        public long slowCalls() {
+            return slowCalls.get();
+        }
+
+        public Set<String> origins() {
+            return origins;
+        }
+
+        /**
+         * EXPLAIN output of the first execution, or null if none was captured
+         */
+        public String plan() {
+            return plan;
+        }
+
+        /**
+         * Whether the plan reads any table without an index (H2 marks these "tableScan")
+         */
+        public boolean fullScan() {
+            return plan != null && plan.contains(".tableScan");
+        }
+    }
+
+    /**
+     * Statement counts of one request mapping
+     */
+    public static final class RequestStats {
+
+        private final String request;
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong statements = new AtomicLong();
+        private final AtomicLong maxStatements = new AtomicLong();
+
+        private RequestStats(String request) {
+            this.request = request;
+        }
+
+        public String request() {
+            return request;
+        }
+
+        public long calls() {
+            return calls.get();
+        }
+
+        public long statements() {
+            return statements.get();
+        }
+
+        public long maxStatements() {
+            return maxStatements.get();
+        }
+    }
+
+    /**
+     * Statements executed on one thread between open and close
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final Deque<Scope> stack;
+        private final List<String> fingerprints = new ArrayList<>();
+        private final List<String> statements = new ArrayList<>();
+        private String origin;
+
+        private Scope(Deque<Scope> stack, String origin) {
+            this.stack = stack;
+            this.origin = origin;
+        }
+
+        /**
+         * Label the statements of this scope; applied when the scope closes
+         */
+        public void origin(String origin) {
+            this.origin = origin;
+        }
+
+        /**
+         * SQL of every statement executed in this scope so far
+         */
+        public List<String> statements() {
+            return List.copyOf(statements);
+        }
+
+        @Override
+        public void close() {
+            stack.remove(this);
+            if (stack.isEmpty()) {
+                SCOPES.remove();
+            }
+            if (origin == null && !stack.isEmpty()) {
+                // Unlabelled: leave the statements to the enclosing scope
+                stack.peek().fingerprints.addAll(fingerprints);
+                return;
+            }
+            String attributed = origin != null ? origin : UNLABELLED;
+            fingerprints.forEach(fingerprint -> QUERIES.get(fingerprint).origins.add(attributed));
+        }
+    }
+
+    /**
+     * Start counting the statements executed on the current thread
+     *
+     * @param origin Label for the statements, or null to leave them to an outer scope
+     */
+    public static Scope open(String origin) {
+        Deque<Scope> stack = SCOPES.get();
+        Scope scope = new Scope(stack, origin);
+        stack.push(scope);
+        return scope;
+    }
+
+    /**
+     * Record an executed statement
+     *
+     * @param sql SQL as prepared, with placeholders
+     * @param nanos Execution time
+     * @param batchSize Statements in the batch, 1 if not batched
+     * @param plan Produces the EXPLAIN plan; called once per fingerprint, may be null
+     */
+    static void record(String sql, long nanos, int batchSize, Supplier<String> plan) {
+        String fingerprint = fingerprint(sql);
+        QueryStats stats = QUERIES.computeIfAbsent(fingerprint, key -> new QueryStats(key, sql));
+        stats.calls.incrementAndGet();
+        stats.rows.addAndGet(batchSize);
+        stats.totalNanos.addAndGet(nanos);
+        stats.maxNanos.accumulateAndGet(nanos, Math::max);
+        if (nanos >= TimeUnit.MILLISECONDS.toNanos(SLOW_MILLIS)) {
+            stats.slowCalls.incrementAndGet();
+        }
+        if (stats.plan == null && plan != null) {
+            synchronized (stats) {
+                if (stats.plan == null) {
+                    stats.plan = plan.get();
+                }
+            }
+        }
+
+        Deque<Scope> stack = SCOPES.get();
+        if (stack.isEmpty()) {
+            SCOPES.remove();
+            stats.origins.add(BACKGROUND);
+            return;
+        }
+        for (Scope scope : stack) {
+            scope.statements.add(sql);
+        }
+        stack.peek().fingerprints.add(fingerprint);
+    }
+
+    /**
+     * Record the statement count of one request
+     */
+    static void recordRequest(String request, int statements) {
+        RequestStats stats = REQUESTS.computeIfAbsent(request, RequestStats::new);
+        stats.calls.incrementAndGet();
+        stats.statements.addAndGet(statements);
+        stats.maxStatements.accumulateAndGet(statements, Math::max);
+    }
+
+    /**
+     * SQL normalized so that executions differing only in literal values match
+     */
+    public static String fingerprint(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("in (...)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim().toLowerCase();
+    }
+
+    public static Collection<QueryStats> queries() {
+        return QUERIES.values();
+    }
+
+    public static Collection<RequestStats> requests() {
+        return REQUESTS.values();
+    }
+}